@@ -0,0 +1,53 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar.  Accepts the standard JMH command line
+ * options and always adds the GC profiler, so that every result includes
+ * the allocation rate and bytes allocated per operation along with the
+ * time per operation.
+ */
+public class BenchmarkMain {
+
+	/**
+	 *
+	 */
+	private BenchmarkMain() {
+	}
+
+	/**
+	 * Run the benchmarks selected by the command line arguments, or all
+	 * benchmarks if no arguments are given.
+	 *
+	 * @param args Standard JMH command line arguments, such as a benchmark
+	 *  name regular expression or <code>-f 1 -wi 3</code>.
+	 */
+	public static void main(String[] args) throws Exception {
+		Options options = new OptionsBuilder()
+			.parent(new CommandLineOptions(args))
+			.addProfiler(GCProfiler.class)
+			.build();
+		new Runner(options).run();
+	}
+}
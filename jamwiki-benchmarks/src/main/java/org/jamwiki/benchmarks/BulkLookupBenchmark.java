@@ -0,0 +1,186 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.benchmarks;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.jamwiki.BulkDataHandler;
+import org.jamwiki.model.Topic;
+import org.jamwiki.parser.ParserDocument;
+import org.jamwiki.parser.ParserInput;
+import org.jamwiki.parser.jflex.JFlexParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for parsing a corpus page with a data handler for which
+ * every call takes a fixed time, as it does for a data handler that queries
+ * a database, with and without support for retrieving topics in bulk.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 2)
+public class BulkLookupBenchmark {
+
+	/** Set if the data handler supports bulk retrieval. */
+	@Param({"false", "true"})
+	public boolean bulk;
+	/** Time in microseconds taken by each data handler call. */
+	@Param({"0", "200"})
+	public int latency;
+	/** Name of the corpus page to parse. */
+	@Param({"article", "large"})
+	public String page;
+	private String raw;
+	private String topicName;
+
+	/**
+	 *
+	 */
+	@Setup
+	public void setup() {
+		this.raw = Corpus.getPage(this.page);
+		this.topicName = "Benchmark " + this.page;
+	}
+
+	/**
+	 *
+	 */
+	@Benchmark
+	public ParserDocument parseHTML() throws Exception {
+		ParserInput parserInput = Corpus.newParserInput(this.topicName);
+		parserInput.setDataHandler((this.bulk) ? new BulkRoundTripDataHandler(this.latency) : new RoundTripDataHandler(this.latency));
+		return new JFlexParser(parserInput).parseHTML(this.raw);
+	}
+
+	/**
+	 * Data handler that waits for a fixed time on every call.
+	 */
+	private static class RoundTripDataHandler extends StubDataHandler {
+
+		private final long latencyNanos;
+
+		/**
+		 *
+		 */
+		RoundTripDataHandler(int latency) {
+			this.latencyNanos = latency * 1000L;
+		}
+
+		/**
+		 *
+		 */
+		protected void roundTrip() {
+			if (this.latencyNanos > 0) {
+				LockSupport.parkNanos(this.latencyNanos);
+			}
+		}
+
+		/**
+		 *
+		 */
+		public boolean exists(String virtualWiki, String topic) {
+			this.roundTrip();
+			return this.existsLocally(virtualWiki, topic);
+		}
+
+		/**
+		 * Check whether a topic exists without waiting.
+		 */
+		protected boolean existsLocally(String virtualWiki, String topic) {
+			return super.exists(virtualWiki, topic);
+		}
+
+		/**
+		 *
+		 */
+		public Topic lookupTopic(String virtualWiki, String topicName, boolean deleteOK, Object transactionObject) {
+			this.roundTrip();
+			return this.lookupTopicLocally(virtualWiki, topicName);
+		}
+
+		/**
+		 * Retrieve a topic without waiting.
+		 */
+		protected Topic lookupTopicLocally(String virtualWiki, String topicName) {
+			return super.lookupTopic(virtualWiki, topicName, false, null);
+		}
+	}
+
+	/**
+	 * Data handler that waits for a fixed time on every call and that can
+	 * retrieve any number of topics with one call.
+	 */
+	private static class BulkRoundTripDataHandler extends RoundTripDataHandler implements BulkDataHandler {
+
+		/**
+		 *
+		 */
+		BulkRoundTripDataHandler(int latency) {
+			super(latency);
+		}
+
+		/**
+		 *
+		 */
+		public Collection existsAll(String virtualWiki, Collection topicNames) {
+			this.roundTrip();
+			HashSet existing = new HashSet();
+			for (Iterator iterator = topicNames.iterator(); iterator.hasNext();) {
+				String topicName = (String)iterator.next();
+				if (this.existsLocally(virtualWiki, topicName)) {
+					existing.add(topicName);
+				}
+			}
+			return existing;
+		}
+
+		/**
+		 *
+		 */
+		public Map lookupTopics(String virtualWiki, Collection topicNames) {
+			this.roundTrip();
+			HashMap topics = new HashMap();
+			for (Iterator iterator = topicNames.iterator(); iterator.hasNext();) {
+				String topicName = (String)iterator.next();
+				Topic topic = this.lookupTopicLocally(virtualWiki, topicName);
+				if (topic != null) {
+					topics.put(topicName, topic);
+				}
+			}
+			return topics;
+		}
+	}
+}
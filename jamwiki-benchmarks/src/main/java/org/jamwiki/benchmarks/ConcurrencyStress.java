@@ -0,0 +1,291 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jamwiki.parser.ParserDocument;
+import org.jamwiki.parser.jflex.JFlexParser;
+
+/**
+ * Thread-safety stress test for {@link JFlexParser#parseHTML(String)}.  A
+ * reference result is first produced for every corpus page on a single
+ * thread, then a number of threads parse the corpus pages concurrently and
+ * compare every result with the reference.  Since each thread uses its own
+ * parser input, any difference or exception points to static parser state
+ * that is not safe to share between threads.  Once the threads have finished
+ * every page is parsed on a single thread again and compared with the
+ * reference, so that shared state left corrupted by the concurrent parses
+ * is also reported.
+ *
+ * While the threads run a sampler records the locks that threads are
+ * blocked on together with the code that is waiting for them, and the
+ * report lists the most frequently sampled locks as contention hotspots.
+ *
+ * Usage: <code>java -cp benchmarks.jar org.jamwiki.benchmarks.ConcurrencyStress
+ * [threads] [seconds]</code>.  The process exits with status 1 if any
+ * parse failed or returned a result that differs from the reference.
+ */
+public class ConcurrencyStress {
+
+	/** Maximum number of stack frames recorded for each blocked thread. */
+	private static final int HOTSPOT_DEPTH = 8;
+	/** Maximum number of failures that are printed in full. */
+	private static final int MAX_REPORTED_FAILURES = 5;
+	/** Number of characters shown around the first difference from the reference. */
+	private static final int MISMATCH_CONTEXT = 200;
+	/** Milliseconds between two samples of the worker thread states. */
+	private static final long SAMPLE_INTERVAL = 2;
+
+	private final AtomicLong blockedCount = new AtomicLong();
+	private final AtomicLong blockedTime = new AtomicLong();
+	private final Vector failures = new Vector();
+	/** Map of lock and waiting code to the number of times it was sampled. */
+	private final HashMap hotspots = new HashMap();
+	private final AtomicLong mismatches = new AtomicLong();
+	private final AtomicLong parses = new AtomicLong();
+	private long samples = 0;
+	private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+	/**
+	 *
+	 */
+	private ConcurrencyStress() {
+	}
+
+	/**
+	 * Run the stress test.
+	 *
+	 * @param args An optional number of threads, which defaults to 32,
+	 *  followed by an optional duration in seconds, which defaults to 30.
+	 */
+	public static void main(String[] args) throws Exception {
+		int threads = (args.length > 0) ? Integer.parseInt(args[0]) : 32;
+		int seconds = (args.length > 1) ? Integer.parseInt(args[1]) : 30;
+		boolean success = new ConcurrencyStress().run(threads, seconds);
+		System.exit(success ? 0 : 1);
+	}
+
+	/**
+	 * Return a string containing all parser output that must be identical
+	 * for identical input.
+	 */
+	private static String describe(ParserDocument parserDocument) {
+		StringBuffer result = new StringBuffer();
+		result.append("content=").append(parserDocument.getContent()).append('\n');
+		result.append("links=").append(parserDocument.getLinks()).append('\n');
+		result.append("categories=").append(parserDocument.getCategories()).append('\n');
+		result.append("templates=").append(parserDocument.getTemplates()).append('\n');
+		result.append("redirect=").append(parserDocument.getRedirect()).append('\n');
+		return result.toString();
+	}
+
+	/**
+	 *
+	 */
+	private synchronized void addFailure(String failure) {
+		this.failures.add(failure);
+	}
+
+	/**
+	 * Compare a parser result with the reference result for the same page,
+	 * recording a failure that shows both results from the first position
+	 * at which they differ.
+	 */
+	private void compare(String name, String expected, String actual, String source) {
+		if (actual.equals(expected)) {
+			return;
+		}
+		this.mismatches.incrementAndGet();
+		int pos = 0;
+		while (pos < expected.length() && pos < actual.length() && expected.charAt(pos) == actual.charAt(pos)) {
+			pos++;
+		}
+		int start = Math.max(0, pos - MISMATCH_CONTEXT / 2);
+		StringBuffer failure = new StringBuffer();
+		failure.append("Result for ").append(name).append(" on ").append(source);
+		failure.append(" differs from the sequential parse at position ").append(pos).append(":\n");
+		failure.append("expected: ").append(expected.substring(start, Math.min(expected.length(), pos + MISMATCH_CONTEXT / 2))).append('\n');
+		failure.append("actual:   ").append(actual.substring(start, Math.min(actual.length(), pos + MISMATCH_CONTEXT / 2)));
+		this.addFailure(failure.toString());
+	}
+
+	/**
+	 * Parse every corpus page on the current thread.
+	 *
+	 * @return A map of page name to the description of its parser result.
+	 */
+	private static HashMap parseSequentially(Vector names) throws Exception {
+		HashMap results = new HashMap();
+		for (Iterator iterator = names.iterator(); iterator.hasNext();) {
+			String name = (String)iterator.next();
+			results.put(name, ConcurrencyStress.describe(new JFlexParser(Corpus.newParserInput(name)).parseHTML(Corpus.getPage(name))));
+		}
+		return results;
+	}
+
+	/**
+	 *
+	 */
+	private void printReport(int threads, long elapsed) {
+		System.out.println();
+		System.out.println("Threads:          " + threads);
+		System.out.println("Parses:           " + this.parses.get() + " (" + (this.parses.get() * 1000 / Math.max(elapsed, 1)) + "/s)");
+		System.out.println("Failures:         " + this.failures.size());
+		System.out.println("Mismatches:       " + this.mismatches.get());
+		System.out.println("Blocked:          " + this.blockedCount.get() + " times" + ((this.blockedTime.get() >= 0) ? ", " + this.blockedTime.get() + " ms" : ""));
+		System.out.println("Samples:          " + this.samples);
+		for (int i = 0; i < this.failures.size() && i < MAX_REPORTED_FAILURES; i++) {
+			System.out.println();
+			System.out.println(this.failures.get(i));
+		}
+		Vector entries = new Vector(this.hotspots.entrySet());
+		Collections.sort(entries, new Comparator() {
+			public int compare(Object o1, Object o2) {
+				return ((Long)((Map.Entry)o2).getValue()).compareTo((Long)((Map.Entry)o1).getValue());
+			}
+		});
+		System.out.println();
+		if (entries.isEmpty()) {
+			System.out.println("No worker thread was sampled while blocked on a lock.");
+			return;
+		}
+		System.out.println("Contention hotspots (share of thread samples blocked on each lock):");
+		for (int i = 0; i < entries.size() && i < 15; i++) {
+			Map.Entry entry = (Map.Entry)entries.get(i);
+			long count = ((Long)entry.getValue()).longValue();
+			double share = (this.samples == 0) ? 0.0 : (count * 100.0 / this.samples);
+			System.out.println(String.format("%6.2f%%  %s", share, entry.getKey()));
+		}
+	}
+
+	/**
+	 * Record the locks that blocked worker threads are currently waiting for.
+	 */
+	private void recordSample(long[] threadIds) {
+		ThreadInfo[] threadInfos = this.threadMXBean.getThreadInfo(threadIds, HOTSPOT_DEPTH);
+		for (int i = 0; i < threadInfos.length; i++) {
+			ThreadInfo threadInfo = threadInfos[i];
+			if (threadInfo == null) {
+				continue;
+			}
+			this.samples++;
+			if (threadInfo.getLockName() == null) {
+				continue;
+			}
+			Thread.State state = threadInfo.getThreadState();
+			if (state != Thread.State.BLOCKED && state != Thread.State.WAITING && state != Thread.State.TIMED_WAITING) {
+				continue;
+			}
+			String lockName = threadInfo.getLockName();
+			int pos = lockName.indexOf('@');
+			StringBuffer key = new StringBuffer();
+			key.append(state).append(' ').append((pos == -1) ? lockName : lockName.substring(0, pos));
+			StackTraceElement[] stackTrace = threadInfo.getStackTrace();
+			for (int j = 0; j < stackTrace.length; j++) {
+				// report the first frame of parser code that is waiting
+				if (stackTrace[j].getClassName().startsWith("org.jamwiki.") || j == stackTrace.length - 1) {
+					key.append(" at ").append(stackTrace[j]);
+					break;
+				}
+			}
+			Long count = (Long)this.hotspots.get(key.toString());
+			this.hotspots.put(key.toString(), new Long((count == null) ? 1 : count.longValue() + 1));
+		}
+	}
+
+	/**
+	 *
+	 */
+	private boolean run(final int threads, int seconds) throws Exception {
+		final Vector names = Corpus.getPageNames();
+		final HashMap expected = ConcurrencyStress.parseSequentially(names);
+		if (this.threadMXBean.isThreadContentionMonitoringSupported()) {
+			this.threadMXBean.setThreadContentionMonitoringEnabled(true);
+		} else {
+			this.blockedTime.set(-1);
+		}
+		final long deadline = System.currentTimeMillis() + (seconds * 1000L);
+		final CountDownLatch start = new CountDownLatch(1);
+		final CountDownLatch finish = new CountDownLatch(threads);
+		long[] threadIds = new long[threads];
+		for (int i = 0; i < threads; i++) {
+			final int offset = i;
+			Thread thread = new Thread("parser-stress-" + i) {
+				public void run() {
+					try {
+						start.await();
+						for (int count = offset; System.currentTimeMillis() < deadline; count++) {
+							String name = (String)names.get(count % names.size());
+							String actual;
+							try {
+								actual = ConcurrencyStress.describe(new JFlexParser(Corpus.newParserInput(name)).parseHTML(Corpus.getPage(name)));
+							} catch (Throwable t) {
+								java.io.StringWriter writer = new java.io.StringWriter();
+								t.printStackTrace(new java.io.PrintWriter(writer));
+								addFailure("Exception while parsing " + name + " on " + getName() + ":\n" + writer);
+								continue;
+							} finally {
+								parses.incrementAndGet();
+							}
+							compare(name, (String)expected.get(name), actual, getName());
+						}
+					} catch (InterruptedException e) {
+						addFailure(getName() + " was interrupted");
+					} finally {
+						ThreadInfo threadInfo = threadMXBean.getThreadInfo(getId());
+						blockedCount.addAndGet(threadInfo.getBlockedCount());
+						if (blockedTime.get() >= 0) {
+							blockedTime.addAndGet(threadInfo.getBlockedTime());
+						}
+						finish.countDown();
+					}
+				}
+			};
+			thread.setDaemon(true);
+			threadIds[i] = thread.getId();
+			thread.start();
+		}
+		System.out.println("Parsing " + names.size() + " corpus pages on " + threads + " threads for " + seconds + " seconds");
+		long startTime = System.currentTimeMillis();
+		start.countDown();
+		// do not report threads that are still waking up from the start signal
+		Thread.sleep(100);
+		while (finish.getCount() > 0) {
+			this.recordSample(threadIds);
+			Thread.sleep(SAMPLE_INTERVAL);
+		}
+		long elapsed = System.currentTimeMillis() - startTime;
+		HashMap after = ConcurrencyStress.parseSequentially(names);
+		for (Iterator iterator = names.iterator(); iterator.hasNext();) {
+			String name = (String)iterator.next();
+			this.compare(name, (String)expected.get(name), (String)after.get(name), "the sequential parse after the concurrent parses");
+		}
+		this.printReport(threads, elapsed);
+		return this.failures.isEmpty();
+	}
+}
@@ -0,0 +1,73 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jamwiki.parser.ParserDocument;
+import org.jamwiki.parser.jflex.JFlexParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH throughput benchmark for concurrent calls to
+ * {@link JFlexParser#parseHTML(String)}.  Every benchmark thread renders the
+ * same corpus page with its own parser input, so the only state shared
+ * between threads is the static state of the parser itself, such as caches,
+ * metrics and logger instances.  Run the benchmark with an increasing number
+ * of threads using {@link ScalabilityMain} to see how throughput scales.
+ */
+@BenchmarkMode(Mode.Throughput)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+public class ConcurrentParserBenchmark {
+
+	/** Name of the corpus page to parse. */
+	@Param({"article", "large"})
+	public String page;
+	private String raw;
+	private String topicName;
+
+	/**
+	 *
+	 */
+	@Setup
+	public void setup() {
+		this.raw = Corpus.getPage(this.page);
+		this.topicName = "Benchmark " + this.page;
+	}
+
+	/**
+	 *
+	 */
+	@Benchmark
+	public ParserDocument parseHTML() throws Exception {
+		return new JFlexParser(Corpus.newParserInput(this.topicName)).parseHTML(this.raw);
+	}
+}
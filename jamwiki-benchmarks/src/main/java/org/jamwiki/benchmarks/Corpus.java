@@ -0,0 +1,158 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.benchmarks;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Vector;
+
+import org.jamwiki.parser.ParserInput;
+
+/**
+ * Utility class for loading the wiki pages and templates bundled with the
+ * benchmarks.  Pages are read from <code>/corpus/&lt;name&gt;.txt</code> and
+ * are listed in <code>/corpus/pages.txt</code>; templates are read from
+ * <code>/corpus/templates/&lt;name&gt;.txt</code> and are listed in
+ * <code>/corpus/templates/index.txt</code>.
+ */
+public class Corpus {
+
+	/** Map of page name to page content. */
+	private static final HashMap PAGES = Corpus.load("/corpus/", "pages.txt", false);
+	/** Map of template topic name, such as "Template:Flag", to template content. */
+	private static final HashMap TEMPLATES = Corpus.load("/corpus/templates/", "index.txt", true);
+
+	/**
+	 *
+	 */
+	private Corpus() {
+	}
+
+	/**
+	 * Return the raw wiki text of a bundled page.
+	 *
+	 * @param name The name of the page, such as "article".
+	 * @return The raw wiki text of the page.
+	 * @throws IllegalArgumentException Thrown if no page with the given name
+	 *  is bundled.
+	 */
+	public static String getPage(String name) {
+		String content = (String)PAGES.get(name);
+		if (content == null) {
+			throw new IllegalArgumentException("No corpus page named " + name);
+		}
+		return content;
+	}
+
+	/**
+	 * Create a new parser input for a topic in the "en" virtual wiki that
+	 * uses a {@link StubDataHandler}.
+	 *
+	 * @param topicName The name of the topic being parsed.
+	 * @return A new parser input instance.
+	 */
+	public static ParserInput newParserInput(String topicName) {
+		ParserInput parserInput = new ParserInput();
+		parserInput.setContext("/wiki");
+		parserInput.setDataHandler(new StubDataHandler());
+		parserInput.setLocale(Locale.ENGLISH);
+		parserInput.setTopicName(topicName);
+		parserInput.setUserIpAddress("127.0.0.1");
+		parserInput.setVirtualWiki("en");
+		return parserInput;
+	}
+
+	/**
+	 * Return the names of all bundled pages.
+	 *
+	 * @return A list of the names of all bundled pages.
+	 */
+	public static Vector getPageNames() {
+		return Corpus.readLines("/corpus/pages.txt");
+	}
+
+	/**
+	 * Return the content of a bundled template.
+	 *
+	 * @param topicName The topic name of the template, such as
+	 *  "Template:Flag".
+	 * @return The template content, or <code>null</code> if no such
+	 *  template is bundled.
+	 */
+	public static String getTemplate(String topicName) {
+		return (String)TEMPLATES.get(topicName);
+	}
+
+	/**
+	 *
+	 */
+	private static HashMap load(String directory, String index, boolean templates) {
+		HashMap result = new HashMap();
+		Vector names = Corpus.readLines(directory + index);
+		for (int i = 0; i < names.size(); i++) {
+			String name = (String)names.get(i);
+			String content = Corpus.read(directory + name + ".txt");
+			result.put((templates ? "Template:" + name : name), content);
+		}
+		return result;
+	}
+
+	/**
+	 *
+	 */
+	private static String read(String resource) {
+		InputStream stream = Corpus.class.getResourceAsStream(resource);
+		if (stream == null) {
+			throw new IllegalStateException("Missing corpus resource " + resource);
+		}
+		StringBuffer buffer = new StringBuffer();
+		try {
+			BufferedReader reader = new BufferedReader(new InputStreamReader(stream, "UTF-8"));
+			try {
+				char[] chars = new char[4096];
+				int count;
+				while ((count = reader.read(chars)) != -1) {
+					buffer.append(chars, 0, count);
+				}
+			} finally {
+				reader.close();
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Failure while reading corpus resource " + resource + ": " + e.toString());
+		}
+		return buffer.toString();
+	}
+
+	/**
+	 *
+	 */
+	private static Vector readLines(String resource) {
+		Vector lines = new Vector();
+		String[] values = Corpus.read(resource).split("\n");
+		for (int i = 0; i < values.length; i++) {
+			String value = values[i].trim();
+			if (value.length() > 0) {
+				lines.add(value);
+			}
+		}
+		return lines;
+	}
+}
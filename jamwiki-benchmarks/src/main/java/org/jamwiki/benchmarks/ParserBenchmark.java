@@ -0,0 +1,110 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jamwiki.parser.ParserDocument;
+import org.jamwiki.parser.jflex.JFlexParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for the top-level parser entry points.  Each invocation
+ * parses one bundled corpus page with a new parser input, as happens when a
+ * topic is viewed, saved or edited by section.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 2)
+public class ParserBenchmark {
+
+	/** Name of the corpus page to parse. */
+	@Param({"article", "talk", "tables", "large"})
+	public String page;
+	private String raw;
+	private String topicName;
+
+	/**
+	 *
+	 */
+	@Setup
+	public void setup() {
+		this.raw = Corpus.getPage(this.page);
+		this.topicName = "Benchmark " + this.page;
+	}
+
+	/**
+	 *
+	 */
+	@Benchmark
+	public ParserDocument parseHTML() throws Exception {
+		return new JFlexParser(Corpus.newParserInput(this.topicName)).parseHTML(this.raw);
+	}
+
+	/**
+	 *
+	 */
+	@Benchmark
+	public ParserDocument parseMetadata() throws Exception {
+		return new JFlexParser(Corpus.newParserInput(this.topicName)).parseMetadata(this.raw);
+	}
+
+	/**
+	 *
+	 */
+	@Benchmark
+	public ParserDocument parseSave() throws Exception {
+		return new JFlexParser(Corpus.newParserInput(this.topicName)).parseSave(this.raw);
+	}
+
+	/**
+	 *
+	 */
+	@Benchmark
+	public ParserDocument scanMetadata() throws Exception {
+		return new JFlexParser(Corpus.newParserInput(this.topicName)).scanMetadata(this.raw);
+	}
+
+	/**
+	 *
+	 */
+	@Benchmark
+	public ParserDocument parseSlice() throws Exception {
+		return new JFlexParser(Corpus.newParserInput(this.topicName)).parseSlice(this.raw, 1);
+	}
+
+	/**
+	 *
+	 */
+	@Benchmark
+	public ParserDocument parseSplice() throws Exception {
+		return new JFlexParser(Corpus.newParserInput(this.topicName)).parseSplice(this.raw, 1, "== Replaced ==\nReplacement text with a [[Link]].\n");
+	}
+}
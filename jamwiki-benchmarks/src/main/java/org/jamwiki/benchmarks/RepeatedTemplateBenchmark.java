@@ -0,0 +1,82 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jamwiki.parser.ParserDocument;
+import org.jamwiki.parser.jflex.JFlexParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for a topic consisting of a table in which every row
+ * repeats the same few template calls, as is common for status and flag
+ * templates in tables and lists.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class RepeatedTemplateBenchmark {
+
+	/** Number of table rows. */
+	@Param({"10", "100", "1000"})
+	public int rows;
+	private String raw;
+
+	/**
+	 *
+	 */
+	@Setup
+	public void setup() {
+		StringBuffer raw = new StringBuffer("{| class=\"wikitable\"\n! Course !! Status !! Country\n");
+		for (int i = 0; i < this.rows; i++) {
+			raw.append("|-\n| [[Course ").append(i).append("]] || {{Citation needed}} || {{Flag|");
+			raw.append((i % 2 == 0) ? "Switzerland" : "Germany").append("}}\n");
+		}
+		raw.append("|}\n");
+		this.raw = raw.toString();
+	}
+
+	/**
+	 *
+	 */
+	@Benchmark
+	public ParserDocument parseHTML() throws Exception {
+		return new JFlexParser(Corpus.newParserInput("Benchmark repeated templates")).parseHTML(this.raw);
+	}
+
+	/**
+	 *
+	 */
+	@Benchmark
+	public ParserDocument parseMetadata() throws Exception {
+		return new JFlexParser(Corpus.newParserInput("Benchmark repeated templates")).parseMetadata(this.raw);
+	}
+}
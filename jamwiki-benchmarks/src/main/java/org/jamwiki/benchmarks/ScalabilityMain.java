@@ -0,0 +1,139 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.benchmarks;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Vector;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.profile.StackProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run {@link ConcurrentParserBenchmark} with 1, 2, 4 and so on up to a
+ * maximum number of threads and print a summary of how throughput scales.
+ * Each run also uses the JMH stack profiler, which reports the share of
+ * time that benchmark threads spend <code>BLOCKED</code> or
+ * <code>WAITING</code> together with the hottest stack frames in each state,
+ * so that any lock that limits scaling shows up in the output.
+ *
+ * Usage: <code>java -cp benchmarks.jar org.jamwiki.benchmarks.ScalabilityMain
+ * [maxThreads] [JMH options]</code>.  The maximum number of threads defaults
+ * to twice the number of processors and is at least 32.
+ */
+public class ScalabilityMain {
+
+	/**
+	 *
+	 */
+	private ScalabilityMain() {
+	}
+
+	/**
+	 * Run the scalability benchmark.
+	 *
+	 * @param args An optional maximum number of threads followed by optional
+	 *  standard JMH command line arguments, such as <code>-p page=large</code>.
+	 */
+	public static void main(String[] args) throws Exception {
+		int maxThreads = Math.max(32, Runtime.getRuntime().availableProcessors() * 2);
+		int offset = 0;
+		if (args.length > 0 && args[0].matches("[0-9]+")) {
+			maxThreads = Integer.parseInt(args[0]);
+			offset = 1;
+		}
+		String[] jmhArgs = new String[args.length - offset];
+		System.arraycopy(args, offset, jmhArgs, 0, jmhArgs.length);
+		CommandLineOptions commandLineOptions = new CommandLineOptions(jmhArgs);
+		Vector threadCounts = ScalabilityMain.threadCounts(maxThreads);
+		Vector results = new Vector();
+		for (Iterator iterator = threadCounts.iterator(); iterator.hasNext();) {
+			Integer threads = (Integer)iterator.next();
+			Options options = new OptionsBuilder()
+				.parent(commandLineOptions)
+				.include(ConcurrentParserBenchmark.class.getName())
+				.threads(threads.intValue())
+				.addProfiler(GCProfiler.class)
+				.addProfiler(StackProfiler.class, "lines=3;top=5;detailLine=false")
+				.build();
+			results.add(new Runner(options).run());
+		}
+		ScalabilityMain.printSummary(threadCounts, results);
+	}
+
+	/**
+	 *
+	 */
+	private static void printSummary(Vector threadCounts, Vector results) {
+		System.out.println();
+		System.out.println("Scalability of JFlexParser.parseHTML");
+		System.out.println(String.format("%-10s %8s %14s %10s %10s %12s", "page", "threads", "ops/s", "speedup", "efficiency", "B/op"));
+		// results for each page, in the order in which JMH ran them
+		Collection first = (Collection)results.get(0);
+		for (Iterator pages = first.iterator(); pages.hasNext();) {
+			String page = ((RunResult)pages.next()).getParams().getParam("page");
+			double baseline = 0.0;
+			for (int i = 0; i < results.size(); i++) {
+				RunResult runResult = ScalabilityMain.findResult((Collection)results.get(i), page);
+				if (runResult == null) {
+					continue;
+				}
+				int threads = ((Integer)threadCounts.get(i)).intValue();
+				double score = runResult.getPrimaryResult().getScore();
+				if (i == 0) {
+					baseline = score / threads;
+				}
+				double speedup = (baseline == 0.0) ? 0.0 : score / baseline;
+				Result allocation = (Result)runResult.getSecondaryResults().get("gc.alloc.rate.norm");
+				double bytes = (allocation == null) ? Double.NaN : allocation.getScore();
+				System.out.println(String.format("%-10s %8d %14.1f %9.2fx %9.0f%% %12.0f", page, threads, score, speedup, (speedup * 100.0 / threads), bytes));
+			}
+		}
+	}
+
+	/**
+	 *
+	 */
+	private static RunResult findResult(Collection runResults, String page) {
+		for (Iterator iterator = runResults.iterator(); iterator.hasNext();) {
+			RunResult runResult = (RunResult)iterator.next();
+			if (page.equals(runResult.getParams().getParam("page"))) {
+				return runResult;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Return powers of two from one up to and including the maximum number
+	 * of threads, adding the maximum itself if it is not a power of two.
+	 */
+	private static Vector threadCounts(int maxThreads) {
+		Vector threadCounts = new Vector();
+		for (int threads = 1; threads < maxThreads; threads *= 2) {
+			threadCounts.add(new Integer(threads));
+		}
+		threadCounts.add(new Integer(maxThreads));
+		return threadCounts;
+	}
+}
@@ -0,0 +1,84 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.benchmarks;
+
+import java.io.File;
+
+import org.jamwiki.DataHandler;
+import org.jamwiki.WikiMediaDimension;
+import org.jamwiki.model.Topic;
+import org.jamwiki.model.WikiFile;
+
+/**
+ * In-memory data handler used by the benchmarks.  Templates are served from
+ * the bundled corpus, and whether any other topic exists is decided from a
+ * hash of its name so that a realistic share of links are rendered as links
+ * to missing topics while results stay the same from run to run.  All
+ * methods are thread-safe and return without blocking.
+ */
+public class StubDataHandler implements DataHandler {
+
+	/**
+	 *
+	 */
+	public boolean exists(String virtualWiki, String topic) {
+		if (topic == null) {
+			return false;
+		}
+		if (Corpus.getTemplate(topic) != null) {
+			return true;
+		}
+		// roughly one link in eight points to a missing topic
+		return ((topic.hashCode() & 7) != 0);
+	}
+
+	/**
+	 *
+	 */
+	public WikiMediaDimension getImageDimension(File file) {
+		return null;
+	}
+
+	/**
+	 *
+	 */
+	public WikiMediaDimension getVideoDimension(File file) {
+		return null;
+	}
+
+	/**
+	 *
+	 */
+	public Topic lookupTopic(String virtualWiki, String topicName, boolean deleteOK, Object transactionObject) {
+		String content = Corpus.getTemplate(topicName);
+		if (content == null) {
+			return null;
+		}
+		Topic topic = new Topic();
+		topic.setName(topicName);
+		topic.setTopicContent(content);
+		topic.setVirtualWiki(virtualWiki);
+		return topic;
+	}
+
+	/**
+	 *
+	 */
+	public WikiFile lookupWikiFile(String virtualWiki, String topicName) {
+		return null;
+	}
+}
@@ -0,0 +1,87 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jamwiki.parser.ParserDocument;
+import org.jamwiki.parser.jflex.JFlexParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for topics containing a single very large template call,
+ * such as an infobox with many parameters.  A save does not expand
+ * templates, so the time taken to save the topic is mostly the time taken
+ * by the pre-processor to read the template call and should grow in
+ * proportion to the size of the call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class TemplateCallBenchmark {
+
+	/** Approximate size of the generated template call in characters. */
+	@Param({"10000", "30000", "100000"})
+	public int size;
+	private String raw;
+
+	/**
+	 *
+	 */
+	@Setup
+	public void setup() {
+		StringBuffer call = new StringBuffer("{{Infobox settlement\n|name=Seewil\n|country=Switzerland");
+		int count = 0;
+		while (call.length() < this.size) {
+			call.append("\n|note").append(count).append("=Population of [[District ").append(count);
+			call.append("|district ").append(count).append("]] in {{Flag|Switzerland}}, ");
+			call.append(count * 17).append(" inhabitants as of 2021");
+			count++;
+		}
+		call.append("\n}}");
+		this.raw = "'''Seewil''' is a municipality.\n" + call + "\n\n== History ==\nFirst mentioned in 1255.\n";
+	}
+
+	/**
+	 *
+	 */
+	@Benchmark
+	public ParserDocument parseSave() throws Exception {
+		return new JFlexParser(Corpus.newParserInput("Benchmark template call")).parseSave(this.raw);
+	}
+
+	/**
+	 *
+	 */
+	@Benchmark
+	public ParserDocument scanMetadata() throws Exception {
+		return new JFlexParser(Corpus.newParserInput("Benchmark template call")).scanMetadata(this.raw);
+	}
+}
@@ -0,0 +1,114 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jamwiki.utils.LinkUtil;
+import org.jamwiki.utils.Utilities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmarks for the link and escaping utilities that the parser calls
+ * for every link and text fragment.  Each invocation processes the same
+ * mix of inputs, taken from the kinds of values found in the bundled
+ * corpus.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class UtilityBenchmark {
+
+	private static final String[] HTML = {
+		"Seewil",
+		"Climate data for Seewil (1991–2020)",
+		"<b>Tom & Jerry</b> say \"hello\" to 'everyone'",
+		"Prehistoric pile dwellings around the Alps are a UNESCO World Heritage Site since 2011, see <ref> for details & sources."
+	};
+	private static final String[] LINKS = {
+		"[[Lake Zurich]]",
+		"[[Canton of Zurich|canton]]",
+		"[[Seewil#History|history of the town]]",
+		"[[Category:Populated places on Lake Zurich|Seewil]]",
+		"[[:Image:Seewil lakefront.jpg]]",
+		"[[de:Seewil]]"
+	};
+	private static final String[] URLS = {
+		"Seewil",
+		"Lake Zurich",
+		"Prehistoric pile dwellings around the Alps",
+		"Zürich Hauptbahnhof",
+		"Category:Populated places on Lake Zurich"
+	};
+	private String[] html;
+	private String[] links;
+	private String[] urls;
+
+	/**
+	 *
+	 */
+	@Setup
+	public void setup() {
+		// copy the inputs so that the JIT cannot treat them as constants
+		this.html = (String[])HTML.clone();
+		this.links = (String[])LINKS.clone();
+		this.urls = (String[])URLS.clone();
+	}
+
+	/**
+	 *
+	 */
+	@Benchmark
+	public void encodeForURL(Blackhole blackhole) {
+		for (int i = 0; i < this.urls.length; i++) {
+			blackhole.consume(Utilities.encodeForURL(this.urls[i]));
+		}
+	}
+
+	/**
+	 *
+	 */
+	@Benchmark
+	public void escapeHTML(Blackhole blackhole) {
+		for (int i = 0; i < this.html.length; i++) {
+			blackhole.consume(Utilities.escapeHTML(this.html[i]));
+		}
+	}
+
+	/**
+	 *
+	 */
+	@Benchmark
+	public void parseWikiLink(Blackhole blackhole) {
+		for (int i = 0; i < this.links.length; i++) {
+			blackhole.consume(LinkUtil.parseWikiLink(this.links[i]));
+		}
+	}
+}
@@ -0,0 +1,146 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.parser.jflex;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jamwiki.benchmarks.Corpus;
+import org.jamwiki.benchmarks.StubDataHandler;
+import org.jamwiki.model.Topic;
+import org.jamwiki.parser.ParserContext;
+import org.jamwiki.parser.ParserDocument;
+import org.jamwiki.parser.ParserInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for {@link TemplateTag} with generated navbox-style
+ * templates of increasing size.  Each row of the template body contains a
+ * link, a nested template call and template parameters with and without
+ * default values, so the time taken by each benchmark should grow in
+ * proportion to the template size.  The unbalanced case tokenizes content
+ * of the same size in which no link is ever closed.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class LargeTemplateBenchmark {
+
+	/** Topic name of the generated template. */
+	private static final String TEMPLATE_NAME = "Template:Large navbox";
+
+	/** Approximate size of the generated template body in characters. */
+	@Param({"1000", "10000", "100000"})
+	public int size;
+
+	/** The generated template body, a table containing the generated rows. */
+	private String body;
+	/** The generated table rows. */
+	private String rows;
+	/** Parameters that open links which are never closed. */
+	private String unbalanced;
+	/** A call to the generated template that sets half of its parameters. */
+	private String call;
+
+	/**
+	 *
+	 */
+	@Setup
+	public void setup() {
+		StringBuffer rows = new StringBuffer();
+		int row = 0;
+		while (rows.length() < this.size) {
+			rows.append("|-\n| [[Article ").append(row).append("|Item ").append(row).append("]]");
+			rows.append(" || {{{label").append(row % 10).append("|Default ").append(row).append("}}}");
+			rows.append(" || {{Flag|{{{").append(row % 10).append("}}}}}\n");
+			row++;
+		}
+		this.rows = rows.toString();
+		StringBuffer unbalanced = new StringBuffer("Unbalanced|");
+		while (unbalanced.length() < this.size) {
+			unbalanced.append("[[x");
+		}
+		this.unbalanced = unbalanced.toString();
+		this.body = "{| class=\"navbox\"\n! {{{title|Large navbox}}}\n" + this.rows + "|}\n";
+		StringBuffer call = new StringBuffer("{{Large navbox|title=Benchmark");
+		for (int i = 0; i < 10; i += 2) {
+			call.append("|label").append(i).append("=Label ").append(i);
+			call.append("|").append(i).append("=Switzerland");
+		}
+		call.append("}}");
+		this.call = call.toString();
+	}
+
+	/**
+	 *
+	 */
+	@Benchmark
+	public Object tokenizeParams() {
+		return new TemplateTag().tokenizeParams(this.rows);
+	}
+
+	/**
+	 *
+	 */
+	@Benchmark
+	public Object tokenizeUnbalancedParams() {
+		return new TemplateTag().tokenizeParams(this.unbalanced);
+	}
+
+	/**
+	 *
+	 */
+	@Benchmark
+	public int findMatchingEndTag() {
+		return TemplateTag.findMatchingEndTag(this.body, 0, "{|", "|}");
+	}
+
+	/**
+	 *
+	 */
+	@Benchmark
+	public String expand() throws Exception {
+		final String content = this.body;
+		ParserInput parserInput = Corpus.newParserInput("Benchmark template");
+		parserInput.setDataHandler(new StubDataHandler() {
+			public Topic lookupTopic(String virtualWiki, String topicName, boolean deleteOK, Object transactionObject) {
+				if (!TEMPLATE_NAME.equals(topicName)) {
+					return super.lookupTopic(virtualWiki, topicName, deleteOK, transactionObject);
+				}
+				Topic topic = new Topic();
+				topic.setName(topicName);
+				topic.setTopicContent(content);
+				topic.setVirtualWiki(virtualWiki);
+				return topic;
+			}
+		});
+		parserInput.setParserContext(new ParserContext(parserInput.getTopicName()));
+		return new TemplateTag().parse(parserInput, new ParserDocument(), JFlexParser.MODE_PREPROCESS, this.call);
+	}
+}
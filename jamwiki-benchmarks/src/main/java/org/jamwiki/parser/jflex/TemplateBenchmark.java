@@ -0,0 +1,68 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.parser.jflex;
+
+import java.util.concurrent.TimeUnit;
+
+import org.jamwiki.benchmarks.Corpus;
+import org.jamwiki.parser.ParserContext;
+import org.jamwiki.parser.ParserDocument;
+import org.jamwiki.parser.ParserInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks for the expansion of a single template call by
+ * {@link TemplateTag}, as performed by the preprocessor for every template
+ * call in a topic.  This class is in the parser package so that it can
+ * expand templates in the same mode as the parser does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 1)
+public class TemplateBenchmark {
+
+	/** Template call to expand: a simple call, a call with a default argument value, and a nested infobox. */
+	@Param({
+		"{{Citation needed}}",
+		"{{Flag|Switzerland}}",
+		"{{Cite web|url=http://example.org/census|title=Population by municipality|publisher=Federal Statistical Office|access-date=12 March 2022}}",
+		"{{Infobox settlement|name=Seewil|country=Switzerland|region=Canton of Zurich|population=48,215|population_as_of=2021|area_km2=21.6|elevation_m=412}}"
+	})
+	public String call;
+
+	/**
+	 *
+	 */
+	@Benchmark
+	public String expand() throws Exception {
+		ParserInput parserInput = Corpus.newParserInput("Benchmark template");
+		parserInput.setParserContext(new ParserContext(parserInput.getTopicName()));
+		return new TemplateTag().parse(parserInput, new ParserDocument(), JFlexParser.MODE_PREPROCESS, this.call);
+	}
+}
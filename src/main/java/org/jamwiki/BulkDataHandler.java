@@ -0,0 +1,56 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Optional extension of {@link DataHandler} for persistency classes that can
+ * retrieve many topics with a single query.  When the data handler used by a
+ * parse implements this interface the parser retrieves the templates used by
+ * a document and checks whether its links exist in a few bulk calls before
+ * the document is parsed, rather than making one call for every template
+ * and link as the document is parsed.
+ */
+public interface BulkDataHandler extends DataHandler {
+
+	/**
+	 * Retrieve the Topic objects that match the given virtual wiki and topic
+	 * names.  Deleted topics are not retrieved.
+	 *
+	 * @param virtualWiki The virtual wiki for the topics being queried.
+	 * @param topicNames The names (<code>String</code>) of the topics being
+	 *  queried.
+	 * @return A map of topic name to the matching Topic object.  Topic names
+	 *  with no matching topic may be omitted or mapped to <code>null</code>.
+	 * @throws Exception Thrown if any error occurs during method execution.
+	 */
+	public Map lookupTopics(String virtualWiki, Collection topicNames) throws Exception;
+
+	/**
+	 * Check which of the given topics exist, with the same result for each
+	 * topic as {@link DataHandler#exists(String, String)}.
+	 *
+	 * @param virtualWiki The virtual wiki for the topics being queried.
+	 * @param topicNames The names (<code>String</code>) of the topics being
+	 *  queried.
+	 * @return The names (<code>String</code>) of the given topics that exist.
+	 * @throws Exception Thrown if any error occurs during method execution.
+	 */
+	public Collection existsAll(String virtualWiki, Collection topicNames) throws Exception;
+}
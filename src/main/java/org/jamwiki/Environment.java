@@ -45,9 +45,11 @@ public class Environment {
 	public static final String PROP_BASE_PERSISTENCE_TYPE = "persistenceType";
 	public static final String PROP_BASE_USER_HANDLER = "user-handler";
 	public static final String PROP_BASE_WIKI_VERSION = "wiki-version";
+	public static final String PROP_CACHE_COMPILED_TEMPLATES = "cache-compiled-templates";
 	public static final String PROP_CACHE_INDIVIDUAL_SIZE = "cache-individual-size";
 	public static final String PROP_CACHE_MAX_AGE = "cache-max-age";
 	public static final String PROP_CACHE_MAX_IDLE_AGE = "cache-max-idle-age";
+	public static final String PROP_CACHE_PARSER_DOCUMENT_SIZE = "cache-parser-document-size";
 	public static final String PROP_CACHE_TOTAL_SIZE = "cache-total-size";
 	public static final String PROP_DB_DRIVER= "driver";
 	public static final String PROP_DB_PASSWORD = "db-password";
@@ -90,6 +92,14 @@ public class Environment {
 	public static final String PROP_PARSER_ALLOW_JAVASCRIPT = "allow-javascript";
 	public static final String PROP_PARSER_ALLOW_TEMPLATES = "allow-templates";
 	public static final String PROP_PARSER_CLASS = "parser";
+	public static final String PROP_PARSER_MAX_EXPANDED_SIZE = "max-expanded-size";
+	public static final String PROP_PARSER_MAX_FRAGMENT_PARSES = "max-fragment-parses";
+	public static final String PROP_PARSER_MAX_OUTPUT_SIZE = "max-output-size";
+	public static final String PROP_PARSER_MAX_PARSE_TIME = "max-parse-time";
+	public static final String PROP_PARSER_MAX_TEMPLATE_EXPANSIONS = "max-template-expansions";
+	public static final String PROP_PARSER_METRICS = "parser-metrics";
+	public static final String PROP_PARSER_PROFILE = "parser-profile";
+	public static final String PROP_PARSER_PROFILE_TOPICS = "parser-profile-topics";
 	public static final String PROP_PARSER_SIGNATURE_DATE_PATTERN = "signature-date";
 	public static final String PROP_PARSER_SIGNATURE_USER_PATTERN = "signature-user";
 	public static final String PROP_PARSER_TOC = "allow-toc";
@@ -167,9 +177,13 @@ public class Environment {
 		defaults.setProperty(PROP_BASE_PERSISTENCE_TYPE, "INTERNAL");
 		defaults.setProperty(PROP_BASE_USER_HANDLER, WikiBase.USER_HANDLER_DATABASE);
 		defaults.setProperty(PROP_BASE_WIKI_VERSION, "0.0.0");
+		// maximum number of compiled template bodies to cache, or zero to disable the cache
+		defaults.setProperty(PROP_CACHE_COMPILED_TEMPLATES, "1000");
 		defaults.setProperty(PROP_CACHE_INDIVIDUAL_SIZE, "500");
 		defaults.setProperty(PROP_CACHE_MAX_AGE, "300");
 		defaults.setProperty(PROP_CACHE_MAX_IDLE_AGE, "150");
+		// size in kilobytes of the parsed topic cache, or zero to disable the cache
+		defaults.setProperty(PROP_CACHE_PARSER_DOCUMENT_SIZE, "0");
 		defaults.setProperty(PROP_CACHE_TOTAL_SIZE, "1000");
 		defaults.setProperty(PROP_DB_DRIVER, "org.postgresql.Driver");
 		defaults.setProperty(PROP_DB_PASSWORD, "");
@@ -217,6 +231,17 @@ public class Environment {
 		defaults.setProperty(PROP_PARSER_ALLOW_JAVASCRIPT, "false");
 		defaults.setProperty(PROP_PARSER_ALLOW_TEMPLATES, "true");
 		defaults.setProperty(PROP_PARSER_CLASS, "org.jamwiki.parser.jflex.JFlexParser");
+		// per-parse limits, sizes in characters and time in milliseconds; zero disables a limit
+		defaults.setProperty(PROP_PARSER_MAX_EXPANDED_SIZE, "2097152");
+		defaults.setProperty(PROP_PARSER_MAX_FRAGMENT_PARSES, "50000");
+		defaults.setProperty(PROP_PARSER_MAX_OUTPUT_SIZE, "4194304");
+		defaults.setProperty(PROP_PARSER_MAX_PARSE_TIME, "30000");
+		defaults.setProperty(PROP_PARSER_MAX_TEMPLATE_EXPANSIONS, "10000");
+		// record parser timings and counters, see org.jamwiki.parser.ParserMetrics
+		defaults.setProperty(PROP_PARSER_METRICS, "true");
+		// time every parser tag and keep the slowest topics, see org.jamwiki.parser.ParserProfiler
+		defaults.setProperty(PROP_PARSER_PROFILE, "false");
+		defaults.setProperty(PROP_PARSER_PROFILE_TOPICS, "20");
 		defaults.setProperty(PROP_PARSER_SIGNATURE_DATE_PATTERN, "dd-MMM-yyyy HH:mm zzz");
 		defaults.setProperty(PROP_PARSER_SIGNATURE_USER_PATTERN, "[[{0}|{4}]]");
 		defaults.setProperty(PROP_PARSER_TOC, "true");
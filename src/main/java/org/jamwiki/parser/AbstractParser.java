@@ -16,6 +16,7 @@
  */
 package org.jamwiki.parser;
 
+import java.io.Reader;
 import org.jamwiki.utils.WikiLogger;
 
 /**
@@ -78,6 +79,40 @@ public abstract class AbstractParser {
 	 */
 	public abstract ParserDocument parseHTML(String raw) throws Exception;
 
+	/**
+	 * Returns a HTML representation of the given wiki raw text for online
+	 * representation, writing the parsed content to the specified output
+	 * rather than storing it in the returned ParserDocument.  This method
+	 * allows large topics to be written directly to a servlet response
+	 * without building the full parsed content in memory.  Parsers that are
+	 * able to stream output should override this method; the default
+	 * implementation reads all input, calls {@link #parseHTML(String)} and
+	 * then copies the parsed content to the output.
+	 *
+	 * @param raw A reader that provides the raw Wiki syntax to be converted
+	 *  into HTML.
+	 * @param out The output to which the parsed HTML will be written.
+	 * @return A ParserDocument object containing parser metadata.  The
+	 *  document content is <code>null</code> since all parsed content is
+	 *  written to the output.
+	 * @throws Exception Thrown if any error occurs during parsing or while
+	 *  writing to the output.
+	 */
+	public ParserDocument parseHTML(Reader raw, Appendable out) throws Exception {
+		StringBuffer content = new StringBuffer();
+		char[] buffer = new char[4096];
+		int count = 0;
+		while ((count = raw.read(buffer)) != -1) {
+			content.append(buffer, 0, count);
+		}
+		ParserDocument parserDocument = this.parseHTML(content.toString());
+		if (parserDocument.getContent() != null) {
+			out.append(parserDocument.getContent());
+		}
+		parserDocument.setContent(null);
+		return parserDocument;
+	}
+
 	/**
 	 * This method provides a way to parse content and set all output
 	 * metadata, such as link values used by the search engine.
@@ -130,4 +165,23 @@ public abstract class AbstractParser {
 	 * @throws Exception Thrown if any error occurs during parsing.
 	 */
 	public abstract ParserDocument parseSplice(String raw, int targetSection, String replacementText) throws Exception;
+
+	/**
+	 * Collect the links, categories, templates and redirect of a document
+	 * without producing any parsed content, such as when re-building the
+	 * search index.  Parsers that are able to collect metadata more quickly
+	 * than a full parse should override this method; the default
+	 * implementation calls {@link #parseMetadata(String)} and discards the
+	 * parsed content.
+	 *
+	 * @param raw The raw Wiki syntax to be scanned.
+	 * @return A ParserDocument object containing the document metadata.  The
+	 *  document content is <code>null</code>.
+	 * @throws Exception Thrown if any error occurs during parsing.
+	 */
+	public ParserDocument scanMetadata(String raw) throws Exception {
+		ParserDocument parserDocument = this.parseMetadata(raw);
+		parserDocument.setContent(null);
+		return parserDocument;
+	}
 }
\ No newline at end of file
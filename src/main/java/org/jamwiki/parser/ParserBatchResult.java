@@ -0,0 +1,101 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.parser;
+
+import java.util.LinkedHashMap;
+
+/**
+ * This class holds the results of parsing a batch of topics, such as when
+ * re-rendering all topics in a virtual wiki.  Each topic in the batch is
+ * identified by the {@link ParserInput} that was used to parse it, and
+ * either a parsed document or the failure that prevented the topic from
+ * being parsed is available for every topic.  Results are returned in the
+ * order in which the topics were provided.
+ */
+public class ParserBatchResult {
+
+	private final LinkedHashMap documents;
+	private final LinkedHashMap failures;
+
+	/**
+	 * Create a new batch result.
+	 *
+	 * @param documents A map of parser input to the document produced by
+	 *  parsing it, for each topic that was parsed successfully.
+	 * @param failures A map of parser input to the exception or error thrown
+	 *  while parsing it, for each topic that could not be parsed.
+	 */
+	public ParserBatchResult(LinkedHashMap documents, LinkedHashMap failures) {
+		this.documents = documents;
+		this.failures = failures;
+	}
+
+	/**
+	 * Return the parsed document for a topic in the batch.
+	 *
+	 * @param parserInput The parser input that was used to parse the topic.
+	 * @return The parsed document, or <code>null</code> if the topic could
+	 *  not be parsed or is not part of the batch.
+	 */
+	public ParserDocument getDocument(ParserInput parserInput) {
+		return (ParserDocument)this.documents.get(parserInput);
+	}
+
+	/**
+	 * Return a map of parser input to parsed document for every topic in the
+	 * batch that was parsed successfully.
+	 *
+	 * @return A map of parser input to parsed document, in batch order.
+	 */
+	public LinkedHashMap getDocuments() {
+		return this.documents;
+	}
+
+	/**
+	 * Return the failure that prevented a topic in the batch from being
+	 * parsed.
+	 *
+	 * @param parserInput The parser input that was used to parse the topic.
+	 * @return The exception or error thrown while parsing the topic, or
+	 *  <code>null</code> if the topic was parsed successfully or is not part
+	 *  of the batch.
+	 */
+	public Throwable getFailure(ParserInput parserInput) {
+		return (Throwable)this.failures.get(parserInput);
+	}
+
+	/**
+	 * Return a map of parser input to failure for every topic in the batch
+	 * that could not be parsed.
+	 *
+	 * @return A map of parser input to the exception or error thrown while
+	 *  parsing the topic, in batch order.
+	 */
+	public LinkedHashMap getFailures() {
+		return this.failures;
+	}
+
+	/**
+	 * Return <code>true</code> if any topic in the batch could not be parsed.
+	 *
+	 * @return <code>true</code> if any topic in the batch could not be
+	 *  parsed, <code>false</code> otherwise.
+	 */
+	public boolean hasFailures() {
+		return !this.failures.isEmpty();
+	}
+}
@@ -0,0 +1,505 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.parser;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.Vector;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.jamwiki.BulkDataHandler;
+import org.jamwiki.DataHandler;
+import org.jamwiki.Environment;
+import org.jamwiki.model.Topic;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Values shared by every parser stage and nested fragment parse of a single
+ * top-level parse, such as parsing a topic for display.  The context is
+ * created when the top-level parse begins and discarded when it ends, so
+ * work that only needs to be done once per document, such as reading parser
+ * settings from the {@link Environment} and timing the parse, is not
+ * repeated for every template, link caption and other fragment that is
+ * parsed as part of the document.
+ *
+ * The context also tracks the work done by the parse against the parser
+ * limits configured in the {@link Environment}, such as
+ * {@link Environment#PROP_PARSER_MAX_TEMPLATE_EXPANSIONS}.  Once a limit is
+ * exceeded the parser stops expanding templates and parsing fragments, so
+ * that a single page cannot use an unbounded amount of time or memory, and
+ * the name of the limit is reported by {@link #getLimitExceeded}.  Parser
+ * stages may run concurrently, so all counters are thread-safe.
+ *
+ * Topics retrieved from the data handler and checks for whether a topic
+ * exists are remembered for the rest of the parse, so a template or link
+ * that is used many times by a document only results in one data handler
+ * call.  If the data handler is a {@link BulkDataHandler} then the topics
+ * can also be retrieved in bulk before they are used, see
+ * {@link #prefetchTopics} and {@link #prefetchExists}.
+ */
+public class ParserContext {
+
+	/** Value stored for topics that do not exist, since the topic map cannot hold <code>null</code>. */
+	private static final Object MISSING_TOPIC = new Object();
+
+	private final boolean allowHtml;
+	private final boolean allowJavascript;
+	private final boolean allowTemplates;
+	private final AtomicInteger dataHandlerCalls = new AtomicInteger();
+	/** Time in milliseconds after which the parse is abandoned, or zero if there is no deadline. */
+	private final long deadline;
+	/** Map of virtual wiki and topic name to <code>Boolean.TRUE</code> if the topic exists. */
+	private final ConcurrentHashMap existingTopics = new ConcurrentHashMap();
+	private final AtomicLong expandedSize = new AtomicLong();
+	/** Fingerprint of the parser-related environment properties, or <code>null</code> if not yet built. */
+	private volatile String environmentFingerprint = null;
+	private final AtomicInteger fragmentParses = new AtomicInteger();
+	/** Name of the first parser limit that was exceeded, or <code>null</code> if no limit has been exceeded. */
+	private volatile String limitExceeded = null;
+	private final long maxExpandedSize;
+	private final int maxFragmentParses;
+	private final long maxOutputSize;
+	private final int maxTemplateExpansions;
+	/** Names of topics requested while prefetching that have not yet been retrieved, or <code>null</code> if not prefetching. */
+	private volatile Set pendingTopics = null;
+	/** Virtual wiki of the topics being prefetched. */
+	private volatile String prefetchVirtualWiki = null;
+	/** Profile of the time spent by each parser tag, or <code>null</code> if profiling is disabled. */
+	private final ParserProfiler.Profile profile;
+	/** Set if timings and counters for the parse should be added to the {@link ParserMetrics}. */
+	private final boolean metrics;
+	/** Value of <code>System.nanoTime()</code> when the top-level parse began. */
+	private final long startNanos;
+	/** Time in milliseconds at which the top-level parse began. */
+	private final long startTime;
+	/** Name of the topic being parsed, which nested parses may change in the parser input. */
+	private final String topicName;
+	private final AtomicInteger templateExpansions = new AtomicInteger();
+	private final AtomicInteger tokens = new AtomicInteger();
+	/** Map of virtual wiki and topic name to the retrieved topic, or {@link #MISSING_TOPIC}. */
+	private final ConcurrentHashMap topics = new ConcurrentHashMap();
+
+	/**
+	 * Create a new context for a top-level parse, reading the current parser
+	 * settings.
+	 *
+	 * @param topicName The name of the topic being parsed, or
+	 *  <code>null</code> if the content being parsed is not a topic.
+	 */
+	public ParserContext(String topicName) {
+		this.allowHtml = Environment.getBooleanValue(Environment.PROP_PARSER_ALLOW_HTML);
+		this.allowJavascript = Environment.getBooleanValue(Environment.PROP_PARSER_ALLOW_JAVASCRIPT);
+		this.allowTemplates = Environment.getBooleanValue(Environment.PROP_PARSER_ALLOW_TEMPLATES);
+		this.maxExpandedSize = Environment.getLongValue(Environment.PROP_PARSER_MAX_EXPANDED_SIZE);
+		this.maxFragmentParses = Environment.getIntValue(Environment.PROP_PARSER_MAX_FRAGMENT_PARSES);
+		this.maxOutputSize = Environment.getLongValue(Environment.PROP_PARSER_MAX_OUTPUT_SIZE);
+		this.maxTemplateExpansions = Environment.getIntValue(Environment.PROP_PARSER_MAX_TEMPLATE_EXPANSIONS);
+		this.metrics = Environment.getBooleanValue(Environment.PROP_PARSER_METRICS);
+		this.profile = (Environment.getBooleanValue(Environment.PROP_PARSER_PROFILE)) ? new ParserProfiler.Profile() : null;
+		this.startNanos = System.nanoTime();
+		this.startTime = System.currentTimeMillis();
+		long maxParseTime = Environment.getLongValue(Environment.PROP_PARSER_MAX_PARSE_TIME);
+		this.deadline = (maxParseTime > 0) ? this.startTime + maxParseTime : 0;
+		this.topicName = topicName;
+	}
+
+	/**
+	 * Record a call made to the data handler during the parse, such as a
+	 * topic lookup.
+	 */
+	public void addDataHandlerCall() {
+		this.dataHandlerCalls.incrementAndGet();
+	}
+
+	/**
+	 * Record the output of a template expansion.
+	 *
+	 * @param length The length of the expanded template.
+	 * @return <code>false</code> if the total length of all template
+	 *  expansions exceeds the {@link Environment#PROP_PARSER_MAX_EXPANDED_SIZE}
+	 *  limit and the template should not be expanded.
+	 */
+	public boolean addExpandedSize(int length) {
+		long total = this.expandedSize.addAndGet(length);
+		if (this.maxExpandedSize > 0 && total > this.maxExpandedSize) {
+			return this.exceeded(Environment.PROP_PARSER_MAX_EXPANDED_SIZE);
+		}
+		return true;
+	}
+
+	/**
+	 * Record that a fragment, such as a template body or link caption, is
+	 * about to be parsed.
+	 *
+	 * @return <code>false</code> if the fragment should not be parsed
+	 *  because the {@link Environment#PROP_PARSER_MAX_FRAGMENT_PARSES} limit
+	 *  or the parse deadline has been exceeded.
+	 */
+	public boolean addFragmentParse() {
+		if (this.isExpired()) {
+			return this.exceeded(Environment.PROP_PARSER_MAX_PARSE_TIME);
+		}
+		int total = this.fragmentParses.incrementAndGet();
+		if (this.maxFragmentParses > 0 && total > this.maxFragmentParses) {
+			return this.exceeded(Environment.PROP_PARSER_MAX_FRAGMENT_PARSES);
+		}
+		return true;
+	}
+
+	/**
+	 * Record that a template is about to be expanded.
+	 *
+	 * @return <code>false</code> if the template should not be expanded
+	 *  because the {@link Environment#PROP_PARSER_MAX_TEMPLATE_EXPANSIONS}
+	 *  limit or the parse deadline has been exceeded.
+	 */
+	public boolean addTemplateExpansion() {
+		if (this.isExpired()) {
+			return this.exceeded(Environment.PROP_PARSER_MAX_PARSE_TIME);
+		}
+		int total = this.templateExpansions.incrementAndGet();
+		if (this.maxTemplateExpansions > 0 && total > this.maxTemplateExpansions) {
+			return this.exceeded(Environment.PROP_PARSER_MAX_TEMPLATE_EXPANSIONS);
+		}
+		return true;
+	}
+
+	/**
+	 * Record tokens that were handled by parser tags during the parse.
+	 *
+	 * @param count The number of tokens to add.
+	 */
+	public void addTokens(int count) {
+		this.tokens.addAndGet(count);
+	}
+
+	/**
+	 * Begin scanning a document for the topics that it uses so that they
+	 * can be retrieved in bulk.  Until {@link #endPrefetch} is called any
+	 * request for a topic of the given virtual wiki that has not already
+	 * been retrieved returns <code>null</code> and the topic name is added
+	 * to the pending topics returned by {@link #getPendingTopics}.
+	 *
+	 * @param virtualWiki The virtual wiki of the topics being prefetched.
+	 */
+	public void beginPrefetch(String virtualWiki) {
+		this.prefetchVirtualWiki = virtualWiki;
+		this.pendingTopics = Collections.newSetFromMap(new ConcurrentHashMap());
+	}
+
+	/**
+	 * Determine whether parser output of the specified length is within the
+	 * {@link Environment#PROP_PARSER_MAX_OUTPUT_SIZE} limit.
+	 *
+	 * @param length The length of the parser output.
+	 * @return <code>false</code> if the output exceeds the limit and should
+	 *  be truncated to {@link #getMaxOutputSize} characters.
+	 */
+	public boolean checkOutputSize(int length) {
+		if (this.maxOutputSize > 0 && length > this.maxOutputSize) {
+			return this.exceeded(Environment.PROP_PARSER_MAX_OUTPUT_SIZE);
+		}
+		return true;
+	}
+
+	/**
+	 *
+	 */
+	private boolean exceeded(String limit) {
+		if (this.limitExceeded == null) {
+			this.limitExceeded = limit;
+		}
+		return false;
+	}
+
+	/**
+	 * Stop recording pending topics, so that any topic that has not been
+	 * retrieved is retrieved from the data handler when it is requested.
+	 */
+	public void endPrefetch() {
+		this.pendingTopics = null;
+		this.prefetchVirtualWiki = null;
+	}
+
+	/**
+	 * Determine whether a topic exists, calling the data handler only if
+	 * the topic has not already been checked during the parse.
+	 *
+	 * @param dataHandler The data handler used by the parse.
+	 * @param virtualWiki The virtual wiki for the topic being queried.
+	 * @param topicName The name of the topic being queried.
+	 * @return <code>true</code> if the topic exists.
+	 */
+	public boolean exists(DataHandler dataHandler, String virtualWiki, String topicName) {
+		String key = virtualWiki + "/" + topicName;
+		Boolean exists = (Boolean)this.existingTopics.get(key);
+		if (exists == null) {
+			this.addDataHandlerCall();
+			exists = Boolean.valueOf(dataHandler.exists(virtualWiki, topicName));
+			this.existingTopics.put(key, exists);
+		}
+		return exists.booleanValue();
+	}
+
+	/**
+	 * Return the value of the {@link Environment#PROP_PARSER_ALLOW_HTML}
+	 * property when the parse began.
+	 */
+	public boolean getAllowHtml() {
+		return this.allowHtml;
+	}
+
+	/**
+	 * Return the value of the {@link Environment#PROP_PARSER_ALLOW_JAVASCRIPT}
+	 * property when the parse began.
+	 */
+	public boolean getAllowJavascript() {
+		return this.allowJavascript;
+	}
+
+	/**
+	 * Return the value of the {@link Environment#PROP_PARSER_ALLOW_TEMPLATES}
+	 * property when the parse began.
+	 */
+	public boolean getAllowTemplates() {
+		return this.allowTemplates;
+	}
+
+	/**
+	 * Return the number of calls made to the data handler during the parse.
+	 */
+	public int getDataHandlerCalls() {
+		return this.dataHandlerCalls.get();
+	}
+
+	/**
+	 * Return the number of nanoseconds that have elapsed since the parse
+	 * began.
+	 */
+	public long getElapsedNanos() {
+		return System.nanoTime() - this.startNanos;
+	}
+
+	/**
+	 * Return the number of milliseconds that have elapsed since the parse
+	 * began.
+	 */
+	public long getElapsedTime() {
+		return System.currentTimeMillis() - this.startTime;
+	}
+
+	/**
+	 * Return the fingerprint of the parser-related environment properties
+	 * used as part of the {@link ParserDocumentCache} keys, building it on
+	 * first use so that it is built at most once per parse.
+	 */
+	String getEnvironmentFingerprint() {
+		String environmentFingerprint = this.environmentFingerprint;
+		if (environmentFingerprint == null) {
+			environmentFingerprint = ParserDocumentCache.environmentFingerprint();
+			this.environmentFingerprint = environmentFingerprint;
+		}
+		return environmentFingerprint;
+	}
+
+	/**
+	 * Return the number of fragments parsed during the parse.
+	 */
+	public int getFragmentParses() {
+		return this.fragmentParses.get();
+	}
+
+	/**
+	 * Return the name of the first parser limit that was exceeded during the
+	 * parse, such as {@link Environment#PROP_PARSER_MAX_TEMPLATE_EXPANSIONS},
+	 * or <code>null</code> if the parse is within all limits.
+	 */
+	public String getLimitExceeded() {
+		return this.limitExceeded;
+	}
+
+	/**
+	 * Return the value of the {@link Environment#PROP_PARSER_MAX_OUTPUT_SIZE}
+	 * property when the parse began.
+	 */
+	public long getMaxOutputSize() {
+		return this.maxOutputSize;
+	}
+
+	/**
+	 * Return the value of the {@link Environment#PROP_PARSER_METRICS}
+	 * property when the parse began.
+	 */
+	public boolean getMetrics() {
+		return this.metrics;
+	}
+
+	/**
+	 * Return the names of the topics that were requested while prefetching
+	 * and have not yet been retrieved.
+	 *
+	 * @return The names (<code>String</code>) of the pending topics, or an
+	 *  empty list if there are none or no prefetch is in progress.
+	 */
+	public Vector getPendingTopics() {
+		Set pendingTopics = this.pendingTopics;
+		return (pendingTopics == null) ? new Vector() : new Vector(pendingTopics);
+	}
+
+	/**
+	 * Return the profile of the time spent by each parser tag during the
+	 * parse, or <code>null</code> if the
+	 * {@link Environment#PROP_PARSER_PROFILE} property was not set when the
+	 * parse began.
+	 */
+	public ParserProfiler.Profile getProfile() {
+		return this.profile;
+	}
+
+	/**
+	 * Return the number of templates expanded during the parse.
+	 */
+	public int getTemplateExpansions() {
+		return this.templateExpansions.get();
+	}
+
+	/**
+	 * Return the number of tokens handled by parser tags during the parse.
+	 */
+	public int getTokens() {
+		return this.tokens.get();
+	}
+
+	/**
+	 * Return the name of the topic whose parse created this context.
+	 */
+	public String getTopicName() {
+		return this.topicName;
+	}
+
+	/**
+	 *
+	 */
+	private boolean isExpired() {
+		return (this.deadline > 0 && System.currentTimeMillis() > this.deadline);
+	}
+
+	/**
+	 * Retrieve a topic that is not deleted, calling the data handler only if
+	 * the topic has not already been retrieved during the parse.  While a
+	 * prefetch is in progress topics that have not been retrieved are
+	 * recorded as pending and <code>null</code> is returned.
+	 *
+	 * @param dataHandler The data handler used by the parse.
+	 * @param virtualWiki The virtual wiki for the topic being queried.
+	 * @param topicName The name of the topic being queried.
+	 * @return The matching topic, or <code>null</code> if no matching topic
+	 *  exists.
+	 * @throws Exception Thrown if any error occurs while retrieving the
+	 *  topic.
+	 */
+	public Topic lookupTopic(DataHandler dataHandler, String virtualWiki, String topicName) throws Exception {
+		String key = virtualWiki + "/" + topicName;
+		Object topic = this.topics.get(key);
+		if (topic == null) {
+			Set pendingTopics = this.pendingTopics;
+			if (pendingTopics != null && ObjectUtils.nullSafeEquals(virtualWiki, this.prefetchVirtualWiki)) {
+				// retrieved in bulk once the current prefetch scan is complete
+				pendingTopics.add(topicName);
+				return null;
+			}
+			this.addDataHandlerCall();
+			topic = dataHandler.lookupTopic(virtualWiki, topicName, false, null);
+			this.topics.put(key, (topic == null) ? MISSING_TOPIC : topic);
+		}
+		return (topic == MISSING_TOPIC) ? null : (Topic)topic;
+	}
+
+	/**
+	 * Check whether each of the given topics exists with a single data
+	 * handler call, so that later calls to {@link #exists} for these topics
+	 * do not call the data handler.
+	 *
+	 * @param dataHandler The data handler used by the parse.
+	 * @param virtualWiki The virtual wiki for the topics being queried.
+	 * @param topicNames The names (<code>String</code>) of the topics being
+	 *  queried.
+	 * @throws Exception Thrown if any error occurs while checking the topics.
+	 */
+	public void prefetchExists(BulkDataHandler dataHandler, String virtualWiki, Collection topicNames) throws Exception {
+		LinkedHashSet unknown = new LinkedHashSet();
+		for (Iterator iterator = topicNames.iterator(); iterator.hasNext();) {
+			String topicName = (String)iterator.next();
+			if (!this.existingTopics.containsKey(virtualWiki + "/" + topicName)) {
+				unknown.add(topicName);
+			}
+		}
+		if (unknown.isEmpty()) {
+			return;
+		}
+		this.addDataHandlerCall();
+		Collection existing = dataHandler.existsAll(virtualWiki, unknown);
+		for (Iterator iterator = unknown.iterator(); iterator.hasNext();) {
+			String topicName = (String)iterator.next();
+			boolean exists = (existing != null && existing.contains(topicName));
+			this.existingTopics.put(virtualWiki + "/" + topicName, Boolean.valueOf(exists));
+		}
+	}
+
+	/**
+	 * Retrieve the given topics with a single data handler call, so that
+	 * later calls to {@link #lookupTopic} for these topics do not call the
+	 * data handler.  The topics are no longer pending.
+	 *
+	 * @param dataHandler The data handler used by the parse.
+	 * @param virtualWiki The virtual wiki for the topics being queried.
+	 * @param topicNames The names (<code>String</code>) of the topics being
+	 *  queried.
+	 * @throws Exception Thrown if any error occurs while retrieving the
+	 *  topics.
+	 */
+	public void prefetchTopics(BulkDataHandler dataHandler, String virtualWiki, Collection topicNames) throws Exception {
+		this.addDataHandlerCall();
+		Map results = dataHandler.lookupTopics(virtualWiki, topicNames);
+		for (Iterator iterator = topicNames.iterator(); iterator.hasNext();) {
+			String topicName = (String)iterator.next();
+			Object topic = (results == null) ? null : results.get(topicName);
+			this.topics.put(virtualWiki + "/" + topicName, (topic == null) ? MISSING_TOPIC : topic);
+		}
+		Set pendingTopics = this.pendingTopics;
+		if (pendingTopics != null) {
+			pendingTopics.removeAll(topicNames);
+		}
+	}
+
+	/**
+	 * Discard the work recorded against all parser limits other than the
+	 * parse deadline, typically because the document is about to be parsed
+	 * again from the beginning.
+	 */
+	public void resetLimits() {
+		this.expandedSize.set(0);
+		this.fragmentParses.set(0);
+		this.templateExpansions.set(0);
+		this.limitExceeded = null;
+	}
+}
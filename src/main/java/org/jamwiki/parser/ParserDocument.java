@@ -22,13 +22,17 @@ import java.util.LinkedHashMap;
 
 /**
  * This class represents the output from the JAMWiki parser.  It holds parsed
- * output text as well as metadata that is generated by the parser.
+ * output text as well as metadata that is generated by the parser.  When
+ * parsed output is streamed to a caller-supplied output (see
+ * {@link AbstractParser#parseHTML(java.io.Reader, Appendable)}) the document
+ * holds only metadata and its content is <code>null</code>.
  */
 public class ParserDocument implements Serializable {
 
 	private boolean cacheable = true;
 	private LinkedHashMap categories = new LinkedHashMap();
 	private String content = null;
+	private String limitExceeded = null;
 	private Vector links = new Vector();
 	private String redirect = null;
 	private String sectionName = null;
@@ -120,7 +124,9 @@ public class ParserDocument implements Serializable {
 	/**
 	 * Return the parsed content for the document currently being parsed.
 	 *
-	 * @return The parsed content for the document currently being parsed.
+	 * @return The parsed content for the document currently being parsed, or
+	 *  <code>null</code> if the parsed content was written directly to an
+	 *  output.
 	 */
 	public String getContent() {
 		return this.content;
@@ -136,6 +142,31 @@ public class ParserDocument implements Serializable {
 		this.content = content;
 	}
 
+	/**
+	 * Return the name of the parser limit, such as
+	 * {@link org.jamwiki.Environment#PROP_PARSER_MAX_TEMPLATE_EXPANSIONS},
+	 * that was exceeded while parsing the document.  When a limit is
+	 * exceeded the parser stops expanding templates and parsing nested
+	 * content, so the document is incomplete.
+	 *
+	 * @return The name of the parser limit that was exceeded, or
+	 *  <code>null</code> if the document was parsed within all limits.
+	 */
+	public String getLimitExceeded() {
+		return this.limitExceeded;
+	}
+
+	/**
+	 * Set the name of the parser limit that was exceeded while parsing the
+	 * document.
+	 *
+	 * @param limitExceeded The name of the parser limit that was exceeded,
+	 *  or <code>null</code> if the document was parsed within all limits.
+	 */
+	public void setLimitExceeded(String limitExceeded) {
+		this.limitExceeded = limitExceeded;
+	}
+
 	/**
 	 * For the document being parsed, return the current collection of topic
 	 * names for all topics that are linked to from the current document.
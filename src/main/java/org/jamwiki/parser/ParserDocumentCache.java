@@ -0,0 +1,498 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.parser;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Vector;
+import org.jamwiki.DataHandler;
+import org.jamwiki.Environment;
+import org.jamwiki.utils.WikiLogger;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Cache of parsed topic content.  Parsing a topic runs every parser stage
+ * over the entire topic, so for topics that are read far more often than
+ * they are edited the parsed {@link ParserDocument} is kept and returned
+ * for later requests to parse the same topic content with the same parser
+ * settings.
+ *
+ * Entries are keyed by the data handler, virtual wiki, topic name, the raw
+ * topic content, the parser input settings that affect parsed
+ * output, and the values of all parser-related {@link Environment}
+ * properties.  Documents that are not cacheable (see
+ * {@link ParserDocument#getCacheable}) are never cached.  The total size of
+ * the cached documents is limited by the
+ * {@link Environment#PROP_CACHE_PARSER_DOCUMENT_SIZE} property, and the
+ * least-recently used documents are discarded once that size is exceeded.
+ *
+ * Since the raw content is part of the key, editing a topic automatically
+ * causes it to be re-parsed.  However, parsed output also depends on the
+ * templates that a topic uses and on whether linked topics exist, so
+ * {@link #removeTopic} must be called whenever a topic is changed, and
+ * {@link #removeLinksTo} whenever a topic is added or deleted.  Topics that
+ * use a changed template are found using the
+ * {@link TemplateDependencyIndex}, so invalidating a template only touches
+ * the topics that depend on it.
+ *
+ * When the cache is enabled the parser may also cache the output of each
+ * section of a topic (see {@link #addSection}), so that after one section
+ * of a large topic is edited only that section needs to be parsed again.
+ * Section entries share the cache size limit with topic documents and are
+ * removed along with the documents of their topic.
+ *
+ * Cached documents are shared between callers and must not be modified.
+ */
+public class ParserDocumentCache {
+
+	private static final WikiLogger logger = WikiLogger.getLogger(ParserDocumentCache.class.getName());
+	/** Approximate size in bytes of a cache entry, excluding the size of its text. */
+	private static final int ENTRY_OVERHEAD = 256;
+	/** Approximate size in bytes of a link, template or category, excluding the size of its text. */
+	private static final int METADATA_OVERHEAD = 48;
+	/** Environment properties whose values affect parsed output. */
+	private static final String[] PARSER_PROPERTIES = {
+		Environment.PROP_BASE_FILE_DIR,
+		Environment.PROP_IMAGE_RESIZE_INCREMENT,
+		Environment.PROP_PARSER_ALLOW_HTML,
+		Environment.PROP_PARSER_ALLOW_JAVASCRIPT,
+		Environment.PROP_PARSER_ALLOW_TEMPLATES,
+		Environment.PROP_PARSER_CLASS,
+		Environment.PROP_PARSER_SIGNATURE_DATE_PATTERN,
+		Environment.PROP_PARSER_SIGNATURE_USER_PATTERN,
+		Environment.PROP_PARSER_TOC,
+		Environment.PROP_PARSER_TOC_DEPTH
+	};
+	/** Map of cache key to cache entry, ordered from least to most recently used. */
+	private static final LinkedHashMap CACHE = new LinkedHashMap(16, 0.75f, true);
+	/** Map of virtual wiki and topic name to the set of cache keys for that topic. */
+	private static final HashMap TOPIC_KEYS = new HashMap();
+	/** Approximate total size in bytes of all cached entries. */
+	private static volatile long cacheSize = 0;
+
+	/**
+	 *
+	 */
+	private ParserDocumentCache() {
+	}
+
+	/**
+	 *
+	 */
+	private static void addToCache(CacheKey key, ParserDocument parserDocument, long maxSize) {
+		CacheEntry entry = new CacheEntry(key, parserDocument);
+		if (entry.size > maxSize) {
+			logger.fine("Parsed topic " + key.topicName + " is too large to be cached");
+			return;
+		}
+		synchronized (CACHE) {
+			CacheEntry previous = (CacheEntry)CACHE.put(key, entry);
+			if (previous != null) {
+				cacheSize -= previous.size;
+			}
+			cacheSize += entry.size;
+			String topicKey = ParserDocumentCache.topicKey(key.virtualWiki, key.topicName);
+			HashSet keys = (HashSet)TOPIC_KEYS.get(topicKey);
+			if (keys == null) {
+				keys = new HashSet();
+				TOPIC_KEYS.put(topicKey, keys);
+			}
+			keys.add(key);
+			ParserDocumentCache.evict(maxSize);
+		}
+	}
+
+	/**
+	 * Add the parsed output of one section of a topic to the cache, allowing
+	 * the section to be re-used when the topic is parsed again after another
+	 * section has been edited.  Section entries share the cache size limit
+	 * with topic documents and are removed along with the topic's documents.
+	 *
+	 * @param parserInput The parser input used to parse the topic.
+	 * @param topicName The name of the topic that contains the section, which
+	 *  may differ from the parser input's current topic name.
+	 * @param state A description of all parser state that affected the parsed
+	 *  section output, such as the parser stage and the number of headings
+	 *  preceding the section.
+	 * @param raw The section text that was parsed.
+	 * @param parserDocument The parsed section.
+	 */
+	public static void addSection(ParserInput parserInput, String topicName, String state, String raw, ParserDocument parserDocument) {
+		long maxSize = ParserDocumentCache.maxSize();
+		if (maxSize > 0 && parserDocument.getCacheable()) {
+			ParserDocumentCache.addToCache(new CacheKey(parserInput, topicName, state, raw), parserDocument, maxSize);
+		}
+	}
+
+	/**
+	 * Return <code>true</code> if documents parsed with the specified parser
+	 * input can be split into sections that are cached individually, see
+	 * {@link #addSection}.
+	 *
+	 * @param parserInput The parser input that is about to be used to parse
+	 *  a topic.
+	 * @return <code>true</code> if the cache is enabled and the parser input
+	 *  does not contain state from an earlier parse.
+	 */
+	public static boolean allowSections(ParserInput parserInput) {
+		return (ParserDocumentCache.maxSize() > 0 && ParserDocumentCache.isCacheable(parserInput));
+	}
+
+	/**
+	 *
+	 */
+	private static CacheKey buildKey(ParserInput parserInput, String raw) {
+		if (raw == null || !ParserDocumentCache.isCacheable(parserInput)) {
+			return null;
+		}
+		return new CacheKey(parserInput, parserInput.getTopicName(), null, raw);
+	}
+
+	/**
+	 * Remove all documents from the cache.
+	 */
+	public static void clear() {
+		synchronized (CACHE) {
+			CACHE.clear();
+			TOPIC_KEYS.clear();
+			cacheSize = 0;
+		}
+	}
+
+	/**
+	 * Build a fingerprint of the parser-related environment properties, used
+	 * to avoid returning documents that were parsed using different property
+	 * values.  During a parse the fingerprint is only built once, see
+	 * {@link ParserContext#getEnvironmentFingerprint}.
+	 */
+	static String environmentFingerprint() {
+		StringBuffer fingerprint = new StringBuffer();
+		for (int i = 0; i < PARSER_PROPERTIES.length; i++) {
+			fingerprint.append(Environment.getValue(PARSER_PROPERTIES[i])).append('\n');
+		}
+		return fingerprint.toString();
+	}
+
+	/**
+	 * Discard least-recently used entries until the total cache size no
+	 * longer exceeds the maximum size.  Callers must hold the cache lock.
+	 */
+	private static void evict(long maxSize) {
+		Iterator iterator = CACHE.values().iterator();
+		while (cacheSize > maxSize && iterator.hasNext()) {
+			CacheEntry entry = (CacheEntry)iterator.next();
+			iterator.remove();
+			ParserDocumentCache.removed(entry);
+		}
+	}
+
+	/**
+	 * Return a previously cached section of a topic, see {@link #addSection}.
+	 *
+	 * @param parserInput The parser input being used to parse the topic.
+	 * @param topicName The name of the topic that contains the section.
+	 * @param state A description of all parser state that affects the parsed
+	 *  section output.
+	 * @param raw The section text to be parsed.
+	 * @return The cached section, or <code>null</code> if the section has not
+	 *  been cached.  The section may be shared with other callers and must
+	 *  not be modified.
+	 */
+	public static ParserDocument getSection(ParserInput parserInput, String topicName, String state, String raw) {
+		if (ParserDocumentCache.maxSize() <= 0) {
+			return null;
+		}
+		CacheKey key = new CacheKey(parserInput, topicName, state, raw);
+		synchronized (CACHE) {
+			CacheEntry entry = (CacheEntry)CACHE.get(key);
+			return (entry == null) ? null : entry.parserDocument;
+		}
+	}
+
+	/**
+	 * Return a 64-bit FNV-1a hash of the specified text.  The hash is not
+	 * collision-resistant, so it is only used to find candidate entries and
+	 * the text itself is compared before an entry is used.
+	 */
+	private static long hash(String text) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < text.length(); i++) {
+			hash ^= text.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return hash;
+	}
+
+	/**
+	 * Parse topic content using the specified parser, returning a cached
+	 * document if the same topic content has already been parsed with the
+	 * same parser settings.  If the cache is disabled, or if the parser input
+	 * contains state from an earlier parse, then the content is always
+	 * parsed and the result is not cached.
+	 *
+	 * @param parser The parser used to parse the content if no document has
+	 *  been cached.
+	 * @param parserInput The parser input used by the parser.
+	 * @param raw The raw topic content to be parsed.
+	 * @return A ParserDocument object with parsed topic content and other
+	 *  parser output fields set.  The document may be shared with other
+	 *  callers and must not be modified.
+	 * @throws Exception Thrown if there are any parsing errors.
+	 */
+	public static ParserDocument parseHTML(AbstractParser parser, ParserInput parserInput, String raw) throws Exception {
+		long maxSize = ParserDocumentCache.maxSize();
+		if (maxSize <= 0) {
+			if (cacheSize > 0) {
+				// the cache has been disabled
+				ParserDocumentCache.clear();
+			}
+			return parser.parseHTML(raw);
+		}
+		// build the key before parsing since the parser may modify the parser input
+		CacheKey key = ParserDocumentCache.buildKey(parserInput, raw);
+		if (key == null) {
+			return parser.parseHTML(raw);
+		}
+		CacheEntry entry = null;
+		synchronized (CACHE) {
+			entry = (CacheEntry)CACHE.get(key);
+		}
+		if (entry != null) {
+			logger.fine("Using cached parser output for " + key.topicName);
+			return entry.parserDocument;
+		}
+		ParserDocument parserDocument = parser.parseHTML(raw);
+		if (parserDocument.getCacheable()) {
+			ParserDocumentCache.addToCache(key, parserDocument, maxSize);
+		}
+		return parserDocument;
+	}
+
+	/**
+	 *
+	 */
+	private static boolean isCacheable(ParserInput parserInput) {
+		if (parserInput == null) {
+			return false;
+		}
+		if (parserInput.getVirtualWiki() == null || parserInput.getTopicName() == null) {
+			return false;
+		}
+		// state left over from an earlier parse may change the parsed output
+		if (parserInput.getDepth() != 0 || !parserInput.getTempParams().isEmpty()) {
+			return false;
+		}
+		TableOfContents toc = parserInput.getTableOfContents();
+		return (toc != null && toc.size() == 0 && toc.getStatus() == TableOfContents.STATUS_TOC_UNINITIALIZED);
+	}
+
+	/**
+	 *
+	 */
+	private static long maxSize() {
+		return Environment.getIntValue(Environment.PROP_CACHE_PARSER_DOCUMENT_SIZE) * 1024L;
+	}
+
+	/**
+	 * Update the cache size and topic index after an entry has been removed
+	 * from the cache.  Callers must hold the cache lock.
+	 */
+	private static void removed(CacheEntry entry) {
+		cacheSize -= entry.size;
+		String topicKey = ParserDocumentCache.topicKey(entry.key.virtualWiki, entry.key.topicName);
+		HashSet keys = (HashSet)TOPIC_KEYS.get(topicKey);
+		if (keys != null) {
+			keys.remove(entry.key);
+			if (keys.isEmpty()) {
+				TOPIC_KEYS.remove(topicKey);
+			}
+		}
+	}
+
+	/**
+	 * Remove cached documents for all topics that link to the specified
+	 * topic.  Links are displayed differently depending on whether the
+	 * linked topic exists, so this method should be called whenever a topic
+	 * is added or deleted.  Unlike {@link #removeTopic} this method examines
+	 * every cached document.
+	 *
+	 * @param virtualWiki The virtual wiki of the topic that has been added or
+	 *  deleted.
+	 * @param topicName The name of the topic that has been added or deleted.
+	 */
+	public static void removeLinksTo(String virtualWiki, String topicName) {
+		synchronized (CACHE) {
+			for (Iterator iterator = CACHE.values().iterator(); iterator.hasNext();) {
+				CacheEntry entry = (CacheEntry)iterator.next();
+				if (ObjectUtils.nullSafeEquals(virtualWiki, entry.key.virtualWiki) && entry.parserDocument.getLinks().contains(topicName)) {
+					iterator.remove();
+					ParserDocumentCache.removed(entry);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Remove cached documents that are affected by a change to the specified
+	 * topic, which are the documents for the topic itself and for all topics
+	 * that use it as a template.  This method should be called whenever a
+	 * topic is changed or deleted.
+	 *
+	 * @param virtualWiki The virtual wiki of the topic that has changed.
+	 * @param topicName The name of the topic that has changed.
+	 */
+	public static void removeTopic(String virtualWiki, String topicName) {
+		Vector topicNames = new Vector(TemplateDependencyIndex.getDependents(virtualWiki, topicName));
+		topicNames.add(topicName);
+		synchronized (CACHE) {
+			for (Iterator iterator = topicNames.iterator(); iterator.hasNext();) {
+				HashSet keys = (HashSet)TOPIC_KEYS.remove(ParserDocumentCache.topicKey(virtualWiki, (String)iterator.next()));
+				if (keys == null) {
+					continue;
+				}
+				for (Iterator keyIterator = keys.iterator(); keyIterator.hasNext();) {
+					CacheEntry entry = (CacheEntry)CACHE.remove(keyIterator.next());
+					if (entry != null) {
+						cacheSize -= entry.size;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 *
+	 */
+	private static String topicKey(String virtualWiki, String topicName) {
+		return virtualWiki + '\n' + topicName;
+	}
+
+	/**
+	 *
+	 */
+	private static class CacheEntry {
+
+		private final CacheKey key;
+		private final ParserDocument parserDocument;
+		/** Approximate size of the entry in bytes. */
+		private final long size;
+
+		/**
+		 *
+		 */
+		CacheEntry(CacheKey key, ParserDocument parserDocument) {
+			this.key = key;
+			this.parserDocument = parserDocument;
+			long size = ENTRY_OVERHEAD;
+			if (key.state != null) {
+				size += 2L * key.state.length();
+			}
+			size += 2L * key.raw.length();
+			if (parserDocument.getContent() != null) {
+				size += 2L * parserDocument.getContent().length();
+			}
+			size += CacheEntry.metadataSize(parserDocument.getLinks());
+			size += CacheEntry.metadataSize(parserDocument.getTemplates());
+			size += CacheEntry.metadataSize(parserDocument.getCategories().keySet());
+			this.size = size;
+		}
+
+		/**
+		 *
+		 */
+		private static long metadataSize(Collection values) {
+			long size = 0;
+			for (Iterator iterator = values.iterator(); iterator.hasNext();) {
+				String value = (String)iterator.next();
+				size += METADATA_OVERHEAD + 2L * value.length();
+			}
+			return size;
+		}
+	}
+
+	/**
+	 *
+	 */
+	private static class CacheKey {
+
+		private final DataHandler dataHandler;
+		private final String virtualWiki;
+		private final String topicName;
+		private final String context;
+		private final String locale;
+		private final boolean allowSectionEdit;
+		/** Parser state for a cached section, or <code>null</code> for a topic document. */
+		private final String state;
+		/** The raw text that was parsed. */
+		private final String raw;
+		private final long hash;
+		private final String environment;
+		private final int hashCode;
+
+		/**
+		 *
+		 */
+		CacheKey(ParserInput parserInput, String topicName, String state, String raw) {
+			this.dataHandler = parserInput.getDataHandler();
+			this.virtualWiki = parserInput.getVirtualWiki();
+			this.topicName = topicName;
+			this.context = parserInput.getContext();
+			this.locale = (parserInput.getLocale() == null) ? null : parserInput.getLocale().toString();
+			this.allowSectionEdit = parserInput.getAllowSectionEdit();
+			this.state = state;
+			this.raw = raw;
+			this.hash = ParserDocumentCache.hash(raw);
+			ParserContext parserContext = parserInput.getParserContext();
+			this.environment = (parserContext != null) ? parserContext.getEnvironmentFingerprint() : ParserDocumentCache.environmentFingerprint();
+			int result = this.virtualWiki.hashCode();
+			result = 31 * result + this.topicName.hashCode();
+			result = 31 * result + (int)(this.hash ^ (this.hash >>> 32));
+			this.hashCode = result;
+		}
+
+		/**
+		 *
+		 */
+		public boolean equals(Object object) {
+			if (!(object instanceof CacheKey)) {
+				return false;
+			}
+			CacheKey key = (CacheKey)object;
+			return (this.dataHandler == key.dataHandler
+					&& this.hash == key.hash
+					&& this.allowSectionEdit == key.allowSectionEdit
+					&& this.virtualWiki.equals(key.virtualWiki)
+					&& this.topicName.equals(key.topicName)
+					&& ObjectUtils.nullSafeEquals(this.state, key.state)
+					&& ObjectUtils.nullSafeEquals(this.context, key.context)
+					&& ObjectUtils.nullSafeEquals(this.locale, key.locale)
+					&& this.environment.equals(key.environment)
+					// the hash may collide, so only identical text matches
+					&& this.raw.equals(key.raw));
+		}
+
+		/**
+		 *
+		 */
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+}
@@ -16,8 +16,10 @@
  */
 package org.jamwiki.parser;
 
+import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Locale;
+import java.util.concurrent.Executor;
 
 import org.jamwiki.DataHandler;
 import org.jamwiki.model.WikiUser;
@@ -33,7 +35,13 @@ public class ParserInput {
 	private String context = null;
 	/** Depth is used to prevent infinite nesting of templates and other objects. */
 	private int depth = 0;
+	/** Map of previously expanded template calls to their results, valid for the duration of a single parse. */
+	private HashMap expandedTemplates = new HashMap();
 	private Locale locale = null;
+	/** Context of the top-level parse currently using this parser input, if any. */
+	private ParserContext parserContext = null;
+	/** Map of previously parsed fragments to their results, valid for the duration of a single parse. */
+	private HashMap parsedFragments = new HashMap();
 	private TableOfContents tableOfContents = new TableOfContents();
 	/** Hashtable of generic temporary objects used during parsing. */
 	private Hashtable tempParams = new Hashtable();
@@ -46,6 +54,8 @@ public class ParserInput {
 	private WikiUserInfo userInfo;
 	private DataHandler dataHandler;
 	private String target;
+	/** Optional executor used to run parser stages concurrently. */
+	private Executor executor = null;
 
 	/**
 	 *
@@ -53,6 +63,34 @@ public class ParserInput {
 	public ParserInput() {
 	}
 
+	/**
+	 * Create a copy of an existing parser input instance.  The temporary
+	 * parameters are copied into a new Hashtable so that changes made to
+	 * them by the copy are not visible to the original, and the copy starts
+	 * with an empty set of parsed fragments; all other values,
+	 * including the table of contents and the parser context, are shared
+	 * with the original.
+	 *
+	 * @param parserInput The parser input instance to copy.
+	 */
+	public ParserInput(ParserInput parserInput) {
+		this.allowSectionEdit = parserInput.allowSectionEdit;
+		this.context = parserInput.context;
+		this.depth = parserInput.depth;
+		this.locale = parserInput.locale;
+		this.parserContext = parserInput.parserContext;
+		this.tableOfContents = parserInput.tableOfContents;
+		this.tempParams = new Hashtable(parserInput.tempParams);
+		this.topicName = parserInput.topicName;
+		this.userIpAddress = parserInput.userIpAddress;
+		this.virtualWiki = parserInput.virtualWiki;
+		this.wikiUser = parserInput.wikiUser;
+		this.userInfo = parserInput.userInfo;
+		this.dataHandler = parserInput.dataHandler;
+		this.target = parserInput.target;
+		this.executor = parserInput.executor;
+	}
+
 	/**
 	 * This method will return <code>true</code> if edit links are allowed
 	 * next to each section heading.  During preview and in some other
@@ -139,6 +177,32 @@ public class ParserInput {
 		this.depth = depth;
 	}
 
+	/**
+	 * Return the executor used to run parser stages concurrently, or
+	 * <code>null</code> if all parser stages are run on the calling thread.
+	 *
+	 * @return The executor used to run parser stages concurrently, or
+	 *  <code>null</code> if parser stages are not run concurrently.
+	 */
+	public Executor getExecutor() {
+		return this.executor;
+	}
+
+	/**
+	 * Set an executor used to run parser stages concurrently.  When an
+	 * executor is set the first stage of the parser runs on the executor
+	 * while the second stage consumes its output, so any
+	 * {@link DataHandler} used with this parser input instance must support
+	 * being called from executor threads.
+	 *
+	 * @param executor The executor used to run parser stages concurrently,
+	 *  or <code>null</code> if all parser stages should be run on the
+	 *  calling thread.
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
 	/**
 	 * Get the locale associated with the current parser input instance.
 	 * Locale is used primarily when building links or displaying messages.
@@ -184,6 +248,56 @@ public class ParserInput {
 		this.tableOfContents = tableOfContents;
 	}
 
+	/**
+	 * Get the map of template calls that have already been expanded during
+	 * the current parse along with their results.  The parser uses this map
+	 * to avoid expanding identical template calls more than once, and clears
+	 * it at the start of each top-level parse.
+	 *
+	 * @return The map of previously expanded template calls for the current
+	 *  parse.
+	 */
+	public HashMap getExpandedTemplates() {
+		return this.expandedTemplates;
+	}
+
+	/**
+	 * Get the map of fragments, such as link captions and template arguments,
+	 * that have already been parsed during the current parse along with
+	 * their results.  The parser uses this map to avoid parsing identical
+	 * fragments more than once, and clears it at the start of each top-level
+	 * parse.
+	 *
+	 * @return The map of previously parsed fragments for the current parse.
+	 */
+	public HashMap getParsedFragments() {
+		return this.parsedFragments;
+	}
+
+	/**
+	 * Get the context of the top-level parse that is currently using this
+	 * parser input.  The context is set by the parser when a top-level parse
+	 * begins and removed when it ends, and is shared by all nested fragment
+	 * parses.
+	 *
+	 * @return The context of the current top-level parse, or
+	 *  <code>null</code> if no top-level parse is in progress.
+	 */
+	public ParserContext getParserContext() {
+		return this.parserContext;
+	}
+
+	/**
+	 * Set the context of the top-level parse that is using this parser
+	 * input.  This method is normally only called by the parser.
+	 *
+	 * @param parserContext The context of the current top-level parse, or
+	 *  <code>null</code> once the parse has completed.
+	 */
+	public void setParserContext(ParserContext parserContext) {
+		this.parserContext = parserContext;
+	}
+
 	/**
 	 * Get the Hashtable of arbitrary temporary parameters associated with
 	 * the current parser input instance.  This hashtable provides a method
@@ -0,0 +1,478 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.parser;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Vector;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanException;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import org.jamwiki.Environment;
+import org.jamwiki.utils.WikiLogger;
+
+/**
+ * Registry of parser timings and counters, recorded separately for each
+ * virtual wiki.  For each top-level parse the time taken by each parser
+ * stage and by the parse as a whole is added to a latency histogram, and
+ * the work done by the parse, such as the number of templates expanded, is
+ * added to a set of counters.  Metrics can be read using the methods of this
+ * class, and each virtual wiki's metrics are also registered with the
+ * platform MBean server under the name
+ * <code>org.jamwiki:type=ParserMetrics,virtualWiki="name"</code>, where
+ * histogram values are reported in milliseconds.
+ *
+ * Metrics are only recorded if the {@link Environment#PROP_PARSER_METRICS}
+ * property is set.
+ */
+public class ParserMetrics {
+
+	private static final WikiLogger logger = WikiLogger.getLogger(ParserMetrics.class.getName());
+
+	/** Counter of calls made to the data handler. */
+	public static final String COUNTER_DATA_HANDLER_CALLS = "dataHandlerCalls";
+	/** Counter of nested fragments parsed, such as template bodies and link captions. */
+	public static final String COUNTER_FRAGMENT_PARSES = "fragmentParses";
+	/** Counter of parses that exceeded a parser limit, see {@link ParserContext#getLimitExceeded}. */
+	public static final String COUNTER_LIMIT_EXCEEDED = "limitExceeded";
+	/** Counter of templates expanded. */
+	public static final String COUNTER_TEMPLATE_EXPANSIONS = "templateExpansions";
+	/** Counter of tokens, such as links, HTML tags and headings, that were handled by a parser tag. */
+	public static final String COUNTER_TOKENS = "tokens";
+	/** Histogram of the time taken to parse a topic into HTML. */
+	public static final String STAGE_HTML = "html";
+	/** Histogram of the time taken to parse topic metadata. */
+	public static final String STAGE_METADATA = "metadata";
+	/** Histogram of the time taken by the post-processor stage when parsing HTML. */
+	public static final String STAGE_POSTPROCESS = "postprocess";
+	/** Histogram of the time taken by each bulk retrieval of the templates or links used by a topic that is being parsed into HTML. */
+	public static final String STAGE_PREFETCH = "prefetch";
+	/** Histogram of the time taken by the pre-processor stage when parsing HTML. */
+	public static final String STAGE_PREPROCESS = "preprocess";
+	/** Histogram of the time taken by the processor stage when parsing HTML. */
+	public static final String STAGE_PROCESS = "process";
+	/** Histogram of the time taken to parse a topic that is being saved. */
+	public static final String STAGE_SAVE = "save";
+	/** Histogram of the time taken to scan topic metadata without parsing the topic. */
+	public static final String STAGE_SCAN = "scan";
+	/** Histogram of the time taken to retrieve a section of a topic. */
+	public static final String STAGE_SLICE = "slice";
+	/** Histogram of the time taken to replace a section of a topic. */
+	public static final String STAGE_SPLICE = "splice";
+	private static final String[] COUNTERS = {COUNTER_DATA_HANDLER_CALLS, COUNTER_FRAGMENT_PARSES, COUNTER_LIMIT_EXCEEDED, COUNTER_TEMPLATE_EXPANSIONS, COUNTER_TOKENS};
+	private static final String[] STAGES = {STAGE_HTML, STAGE_METADATA, STAGE_POSTPROCESS, STAGE_PREFETCH, STAGE_PREPROCESS, STAGE_PROCESS, STAGE_SAVE, STAGE_SCAN, STAGE_SLICE, STAGE_SPLICE};
+	/** Map of virtual wiki name to the metrics for that virtual wiki. */
+	private static final HashMap WIKIS = new HashMap();
+
+	/**
+	 *
+	 */
+	private ParserMetrics() {
+	}
+
+	/**
+	 * Return the value of a counter for a virtual wiki.
+	 *
+	 * @param virtualWiki The name of the virtual wiki.
+	 * @param counter The name of the counter, such as
+	 *  {@link #COUNTER_TEMPLATE_EXPANSIONS}.
+	 * @return The total value of the counter for all parses of topics in the
+	 *  virtual wiki since metrics were last reset.
+	 */
+	public static long getCounter(String virtualWiki, String counter) {
+		AtomicLong value = (AtomicLong)ParserMetrics.getMetrics(virtualWiki).counters.get(counter);
+		if (value == null) {
+			throw new IllegalArgumentException("Invalid parser metrics counter " + counter);
+		}
+		return value.get();
+	}
+
+	/**
+	 * Return the latency histogram of a parser stage for a virtual wiki.
+	 *
+	 * @param virtualWiki The name of the virtual wiki.
+	 * @param stage The name of the parser stage, such as
+	 *  {@link #STAGE_HTML}.
+	 * @return The histogram of times taken by the stage, in microseconds,
+	 *  for all parses of topics in the virtual wiki since metrics were last
+	 *  reset.
+	 */
+	public static Histogram getHistogram(String virtualWiki, String stage) {
+		Histogram histogram = (Histogram)ParserMetrics.getMetrics(virtualWiki).histograms.get(stage);
+		if (histogram == null) {
+			throw new IllegalArgumentException("Invalid parser metrics stage " + stage);
+		}
+		return histogram;
+	}
+
+	/**
+	 * Return the metrics for a virtual wiki, creating and registering them
+	 * the first time the virtual wiki is used.
+	 */
+	private static WikiMetrics getMetrics(String virtualWiki) {
+		String name = (virtualWiki == null) ? "" : virtualWiki;
+		synchronized (WIKIS) {
+			WikiMetrics metrics = (WikiMetrics)WIKIS.get(name);
+			if (metrics == null) {
+				metrics = new WikiMetrics(name);
+				WIKIS.put(name, metrics);
+			}
+			return metrics;
+		}
+	}
+
+	/**
+	 * Return the names of all virtual wikis for which metrics have been
+	 * recorded.
+	 */
+	public static Vector getVirtualWikis() {
+		synchronized (WIKIS) {
+			return new Vector(WIKIS.keySet());
+		}
+	}
+
+	/**
+	 * Record the time taken by a top-level parse and add the work done by
+	 * the parse to the counters for the virtual wiki that was parsed.  This
+	 * method is normally only called by the parser when a top-level parse
+	 * completes.
+	 *
+	 * @param parserInput The parser input used for the parse.
+	 * @param stage The type of parse, such as {@link #STAGE_HTML}.
+	 * @param context The context of the parse.
+	 */
+	public static void recordParse(ParserInput parserInput, String stage, ParserContext context) {
+		if (!context.getMetrics()) {
+			return;
+		}
+		WikiMetrics metrics = ParserMetrics.getMetrics(parserInput.getVirtualWiki());
+		((Histogram)metrics.histograms.get(stage)).record(context.getElapsedNanos() / 1000);
+		((AtomicLong)metrics.counters.get(COUNTER_DATA_HANDLER_CALLS)).addAndGet(context.getDataHandlerCalls());
+		((AtomicLong)metrics.counters.get(COUNTER_FRAGMENT_PARSES)).addAndGet(context.getFragmentParses());
+		((AtomicLong)metrics.counters.get(COUNTER_TEMPLATE_EXPANSIONS)).addAndGet(context.getTemplateExpansions());
+		((AtomicLong)metrics.counters.get(COUNTER_TOKENS)).addAndGet(context.getTokens());
+		if (context.getLimitExceeded() != null) {
+			((AtomicLong)metrics.counters.get(COUNTER_LIMIT_EXCEEDED)).incrementAndGet();
+		}
+	}
+
+	/**
+	 * Record the time taken by one stage of a top-level parse.  This method
+	 * is normally only called by the parser.
+	 *
+	 * @param parserInput The parser input used for the parse.
+	 * @param stage The parser stage, such as {@link #STAGE_PREPROCESS}.
+	 * @param start The value of <code>System.nanoTime()</code> when the
+	 *  stage began.
+	 */
+	public static void recordStage(ParserInput parserInput, String stage, long start) {
+		ParserContext context = parserInput.getParserContext();
+		if (context == null || !context.getMetrics()) {
+			return;
+		}
+		WikiMetrics metrics = ParserMetrics.getMetrics(parserInput.getVirtualWiki());
+		((Histogram)metrics.histograms.get(stage)).record((System.nanoTime() - start) / 1000);
+	}
+
+	/**
+	 * Discard all recorded metrics.
+	 */
+	public static void reset() {
+		synchronized (WIKIS) {
+			for (Iterator iterator = WIKIS.values().iterator(); iterator.hasNext();) {
+				((WikiMetrics)iterator.next()).reset();
+			}
+		}
+	}
+
+	/**
+	 * Histogram of recorded values, such as parse times in microseconds.
+	 * Values are counted in buckets whose width is one quarter of the power
+	 * of two below the value, so percentiles are accurate to within 25%
+	 * while recording a value needs only a few atomic updates and no
+	 * locking.
+	 */
+	public static class Histogram {
+
+		/** Buckets for values up to about 2^40, larger values are counted in the last bucket. */
+		private static final int BUCKETS = 160;
+		private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+		private final AtomicLong count = new AtomicLong();
+		private final AtomicLong max = new AtomicLong();
+		private final AtomicLong total = new AtomicLong();
+
+		/**
+		 *
+		 */
+		private static int bucket(long value) {
+			if (value < 4) {
+				return (int)value;
+			}
+			int msb = 63 - Long.numberOfLeadingZeros(value);
+			int bucket = (4 * (msb - 1)) + ((int)(value >>> (msb - 2)) & 3);
+			return Math.min(bucket, BUCKETS - 1);
+		}
+
+		/**
+		 * Return the largest value counted in a bucket.
+		 */
+		private static long bucketLimit(int bucket) {
+			if (bucket < 4) {
+				return bucket;
+			}
+			int msb = (bucket / 4) + 1;
+			return ((long)(4 + (bucket % 4) + 1) << (msb - 2)) - 1;
+		}
+
+		/**
+		 * Return the number of values recorded.
+		 */
+		public long getCount() {
+			return this.count.get();
+		}
+
+		/**
+		 * Return the largest value recorded, or zero if no values have been
+		 * recorded.
+		 */
+		public long getMax() {
+			return this.max.get();
+		}
+
+		/**
+		 * Return the mean of all values recorded, or zero if no values have
+		 * been recorded.
+		 */
+		public double getMean() {
+			long count = this.count.get();
+			return (count == 0) ? 0 : (double)this.total.get() / count;
+		}
+
+		/**
+		 * Return an estimate of the value below which the specified
+		 * percentage of recorded values fall.
+		 *
+		 * @param percentile The percentile, such as 99 for the 99th
+		 *  percentile.
+		 * @return An upper bound for the percentile value that is no more than
+		 *  25% above the actual value, or zero if no values have been
+		 *  recorded.
+		 */
+		public long getPercentile(double percentile) {
+			long count = this.count.get();
+			if (count == 0) {
+				return 0;
+			}
+			long target = (long)Math.ceil((percentile / 100) * count);
+			long seen = 0;
+			for (int i = 0; i < BUCKETS; i++) {
+				seen += this.buckets.get(i);
+				if (seen >= target) {
+					return Math.min(Histogram.bucketLimit(i), this.max.get());
+				}
+			}
+			return this.max.get();
+		}
+
+		/**
+		 * Return the sum of all values recorded.
+		 */
+		public long getTotal() {
+			return this.total.get();
+		}
+
+		/**
+		 * Add a value to the histogram.
+		 *
+		 * @param value The value to record.  Negative values are recorded as
+		 *  zero.
+		 */
+		public void record(long value) {
+			if (value < 0) {
+				value = 0;
+			}
+			this.buckets.incrementAndGet(Histogram.bucket(value));
+			this.total.addAndGet(value);
+			this.count.incrementAndGet();
+			long current = this.max.get();
+			while (value > current && !this.max.compareAndSet(current, value)) {
+				current = this.max.get();
+			}
+		}
+
+		/**
+		 *
+		 */
+		private void reset() {
+			for (int i = 0; i < BUCKETS; i++) {
+				this.buckets.set(i, 0);
+			}
+			this.count.set(0);
+			this.max.set(0);
+			this.total.set(0);
+		}
+	}
+
+	/**
+	 * The histograms and counters of a single virtual wiki, which are also
+	 * exposed as the attributes of an MBean.  Histogram attributes are named
+	 * "stage.statistic", such as "html.p99".
+	 */
+	private static class WikiMetrics implements DynamicMBean {
+
+		private static final String[] STATISTICS = {"count", "max", "mean", "p50", "p90", "p99"};
+		/** Map of counter name to AtomicLong value, not modified after construction. */
+		private final LinkedHashMap counters = new LinkedHashMap();
+		/** Map of stage name to Histogram, not modified after construction. */
+		private final LinkedHashMap histograms = new LinkedHashMap();
+
+		/**
+		 *
+		 */
+		WikiMetrics(String virtualWiki) {
+			for (int i = 0; i < COUNTERS.length; i++) {
+				this.counters.put(COUNTERS[i], new AtomicLong());
+			}
+			for (int i = 0; i < STAGES.length; i++) {
+				this.histograms.put(STAGES[i], new Histogram());
+			}
+			try {
+				ObjectName name = new ObjectName("org.jamwiki:type=ParserMetrics,virtualWiki=" + ObjectName.quote(virtualWiki));
+				if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+					ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+				}
+			} catch (Exception e) {
+				logger.warning("Unable to register parser metrics for virtual wiki " + virtualWiki, e);
+			}
+		}
+
+		/**
+		 *
+		 */
+		public Object getAttribute(String attribute) throws AttributeNotFoundException {
+			AtomicLong counter = (AtomicLong)this.counters.get(attribute);
+			if (counter != null) {
+				return new Long(counter.get());
+			}
+			int pos = attribute.indexOf('.');
+			Histogram histogram = (pos == -1) ? null : (Histogram)this.histograms.get(attribute.substring(0, pos));
+			if (histogram == null) {
+				throw new AttributeNotFoundException(attribute);
+			}
+			String statistic = attribute.substring(pos + 1);
+			if (statistic.equals("count")) {
+				return new Long(histogram.getCount());
+			}
+			if (statistic.equals("max")) {
+				return new Double(histogram.getMax() / 1000.0);
+			}
+			if (statistic.equals("mean")) {
+				return new Double(histogram.getMean() / 1000.0);
+			}
+			if (statistic.startsWith("p")) {
+				try {
+					return new Double(histogram.getPercentile(Double.parseDouble(statistic.substring(1))) / 1000.0);
+				} catch (NumberFormatException e) {
+					// fall through
+				}
+			}
+			throw new AttributeNotFoundException(attribute);
+		}
+
+		/**
+		 *
+		 */
+		public AttributeList getAttributes(String[] attributes) {
+			AttributeList list = new AttributeList();
+			for (int i = 0; i < attributes.length; i++) {
+				try {
+					list.add(new Attribute(attributes[i], this.getAttribute(attributes[i])));
+				} catch (AttributeNotFoundException e) {
+					// attributes that are not found are omitted from the list
+				}
+			}
+			return list;
+		}
+
+		/**
+		 *
+		 */
+		public MBeanInfo getMBeanInfo() {
+			Vector attributes = new Vector();
+			for (int i = 0; i < STAGES.length; i++) {
+				for (int j = 0; j < STATISTICS.length; j++) {
+					String type = (j == 0) ? "java.lang.Long" : "java.lang.Double";
+					String description = (j == 0) ? "Number of " + STAGES[i] + " parses" : STATISTICS[j] + " " + STAGES[i] + " time in milliseconds";
+					attributes.add(new MBeanAttributeInfo(STAGES[i] + "." + STATISTICS[j], type, description, true, false, false));
+				}
+			}
+			for (int i = 0; i < COUNTERS.length; i++) {
+				attributes.add(new MBeanAttributeInfo(COUNTERS[i], "java.lang.Long", "Total " + COUNTERS[i] + " for all parses", true, false, false));
+			}
+			MBeanOperationInfo[] operations = {new MBeanOperationInfo("reset", "Discard all recorded metrics", null, "void", MBeanOperationInfo.ACTION)};
+			return new MBeanInfo(this.getClass().getName(), "JAMWiki parser metrics", (MBeanAttributeInfo[])attributes.toArray(new MBeanAttributeInfo[attributes.size()]), null, operations, null);
+		}
+
+		/**
+		 *
+		 */
+		public Object invoke(String actionName, Object[] params, String[] signature) throws MBeanException, ReflectionException {
+			if (!actionName.equals("reset")) {
+				throw new ReflectionException(new NoSuchMethodException(actionName));
+			}
+			this.reset();
+			return null;
+		}
+
+		/**
+		 *
+		 */
+		private void reset() {
+			for (Iterator iterator = this.counters.values().iterator(); iterator.hasNext();) {
+				((AtomicLong)iterator.next()).set(0);
+			}
+			for (Iterator iterator = this.histograms.values().iterator(); iterator.hasNext();) {
+				((Histogram)iterator.next()).reset();
+			}
+		}
+
+		/**
+		 *
+		 */
+		public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+			throw new AttributeNotFoundException("Parser metrics are read-only");
+		}
+
+		/**
+		 *
+		 */
+		public AttributeList setAttributes(AttributeList attributes) {
+			return new AttributeList();
+		}
+	}
+}
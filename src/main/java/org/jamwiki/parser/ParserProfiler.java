@@ -0,0 +1,456 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.parser;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Vector;
+import org.jamwiki.Environment;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Optional profiler that records the time spent by each parser tag, such as
+ * the link, template and heading tags, so that the content responsible for
+ * a slow page can be identified in production.  When the
+ * {@link Environment#PROP_PARSER_PROFILE} property is set, every token that
+ * a lexer passes to a parser tag is timed, and the count, total time and
+ * self time (total time less the time spent in nested tokens, such as the
+ * links within a template) are recorded for the tag class and for the
+ * grammar rule that matched the token.  Rules are identified by lexer,
+ * lexical state and tag, such as "JAMWikiPreProcessor.NORMAL:TemplateTag".
+ *
+ * When a top-level parse completes its profile is added to totals for all
+ * parses, and the
+ * {@link Environment#PROP_PARSER_PROFILE_TOPICS} slowest topics are kept
+ * along with their profiles.  Profiling times every token, so it adds
+ * noticeable overhead and should only be enabled while investigating
+ * slow pages.
+ */
+public class ParserProfiler {
+
+	/** Time spent in tokens that have completed on the current thread, used to compute self times. */
+	private static final ThreadLocal COMPLETED_TIME = new ThreadLocal() {
+		protected Object initialValue() {
+			return new long[1];
+		}
+	};
+	/** Profile of all parses since the profiler was last reset. */
+	private static Profile TOTAL = new Profile();
+	/** Slowest topics parsed since the profiler was last reset, slowest first. */
+	private static final Vector SLOWEST_TOPICS = new Vector();
+
+	/**
+	 *
+	 */
+	private ParserProfiler() {
+	}
+
+	/**
+	 * Return a report of all profiled parses and of the slowest topics.
+	 *
+	 * @return A plain text report listing tags and rules by self time, and
+	 *  the slowest topics with the tags that took the most time in each.
+	 */
+	public static String dump() {
+		StringBuffer buffer = new StringBuffer();
+		Profile total = ParserProfiler.getTotal();
+		buffer.append("Parser tags (").append(total.getParses()).append(" parses)\n");
+		ParserProfiler.dumpEntries(buffer, total.getTags(), Integer.MAX_VALUE, "  ");
+		buffer.append("Grammar rules\n");
+		ParserProfiler.dumpEntries(buffer, total.getRules(), Integer.MAX_VALUE, "  ");
+		buffer.append("Slowest topics\n");
+		for (Iterator iterator = ParserProfiler.getSlowestTopics().iterator(); iterator.hasNext();) {
+			SlowTopic slowTopic = (SlowTopic)iterator.next();
+			buffer.append("  ").append(ParserProfiler.millis(slowTopic.getElapsedNanos())).append(" ms ");
+			buffer.append(slowTopic.getVirtualWiki()).append(':').append(slowTopic.getTopicName());
+			buffer.append(" (").append(slowTopic.getStage()).append(", ").append(slowTopic.getDate()).append(")\n");
+			ParserProfiler.dumpEntries(buffer, slowTopic.getProfile().getTags(), 5, "    ");
+		}
+		return buffer.toString();
+	}
+
+	/**
+	 *
+	 */
+	private static void dumpEntries(StringBuffer buffer, Vector entries, int max, String indent) {
+		for (int i = 0; i < entries.size() && i < max; i++) {
+			Entry entry = (Entry)entries.elementAt(i);
+			buffer.append(indent).append(entry.getName());
+			buffer.append(": count=").append(entry.getCount());
+			buffer.append(" total=").append(ParserProfiler.millis(entry.getTotalNanos())).append(" ms");
+			buffer.append(" self=").append(ParserProfiler.millis(entry.getSelfNanos())).append(" ms\n");
+		}
+	}
+
+	/**
+	 * Return the slowest topics parsed since the profiler was last reset,
+	 * slowest first.  Each topic is listed once, with the profile of its
+	 * slowest parse.
+	 */
+	public static Vector getSlowestTopics() {
+		synchronized (SLOWEST_TOPICS) {
+			return new Vector(SLOWEST_TOPICS);
+		}
+	}
+
+	/**
+	 * Return the combined profile of all parses since the profiler was last
+	 * reset.
+	 */
+	public static Profile getTotal() {
+		synchronized (SLOWEST_TOPICS) {
+			return TOTAL;
+		}
+	}
+
+	/**
+	 *
+	 */
+	private static String millis(long nanos) {
+		return Long.toString(nanos / 1000000) + '.' + Long.toString(((nanos / 100000) % 10));
+	}
+
+	/**
+	 * Add the profile of a completed top-level parse to the totals for all
+	 * parses, and to the list of slowest topics if it is among the slowest.
+	 * This method is normally only called by the parser.
+	 *
+	 * @param parserInput The parser input used for the parse.
+	 * @param stage The type of parse, such as {@link ParserMetrics#STAGE_HTML}.
+	 * @param context The context of the parse.
+	 */
+	public static void record(ParserInput parserInput, String stage, ParserContext context) {
+		Profile profile = context.getProfile();
+		if (profile == null) {
+			return;
+		}
+		profile.parses = 1;
+		SlowTopic slowTopic = new SlowTopic(parserInput.getVirtualWiki(), context.getTopicName(), stage, context.getElapsedNanos(), profile);
+		int max = Environment.getIntValue(Environment.PROP_PARSER_PROFILE_TOPICS);
+		synchronized (SLOWEST_TOPICS) {
+			TOTAL.add(profile);
+			if (max <= 0 || context.getTopicName() == null) {
+				return;
+			}
+			for (int i = 0; i < SLOWEST_TOPICS.size(); i++) {
+				SlowTopic existing = (SlowTopic)SLOWEST_TOPICS.elementAt(i);
+				if (existing.isTopic(slowTopic)) {
+					if (existing.getElapsedNanos() >= slowTopic.getElapsedNanos()) {
+						return;
+					}
+					SLOWEST_TOPICS.removeElementAt(i);
+					break;
+				}
+			}
+			int pos = 0;
+			while (pos < SLOWEST_TOPICS.size() && ((SlowTopic)SLOWEST_TOPICS.elementAt(pos)).getElapsedNanos() >= slowTopic.getElapsedNanos()) {
+				pos++;
+			}
+			if (pos < max) {
+				SLOWEST_TOPICS.insertElementAt(slowTopic, pos);
+			}
+			while (SLOWEST_TOPICS.size() > max) {
+				SLOWEST_TOPICS.removeElementAt(SLOWEST_TOPICS.size() - 1);
+			}
+		}
+	}
+
+	/**
+	 * Discard all profiles and the list of slowest topics.
+	 */
+	public static void reset() {
+		synchronized (SLOWEST_TOPICS) {
+			TOTAL = new Profile();
+			SLOWEST_TOPICS.clear();
+		}
+	}
+
+	/**
+	 * The count, total time and self time recorded for a parser tag or
+	 * grammar rule.
+	 */
+	public static class Entry {
+
+		private final String name;
+		private long count = 0;
+		private long selfNanos = 0;
+		private long totalNanos = 0;
+
+		/**
+		 *
+		 */
+		Entry(String name) {
+			this.name = name;
+		}
+
+		/**
+		 *
+		 */
+		Entry(Entry entry) {
+			this.name = entry.name;
+			this.count = entry.count;
+			this.selfNanos = entry.selfNanos;
+			this.totalNanos = entry.totalNanos;
+		}
+
+		/**
+		 * Return the number of tokens parsed.
+		 */
+		public long getCount() {
+			return this.count;
+		}
+
+		/**
+		 * Return the name of the parser tag class or grammar rule.
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		/**
+		 * Return the time in nanoseconds spent parsing tokens, excluding the
+		 * time spent parsing tokens nested within them.
+		 */
+		public long getSelfNanos() {
+			return this.selfNanos;
+		}
+
+		/**
+		 * Return the time in nanoseconds spent parsing tokens, including the
+		 * time spent parsing tokens nested within them.
+		 */
+		public long getTotalNanos() {
+			return this.totalNanos;
+		}
+	}
+
+	/**
+	 * The times recorded for each parser tag and grammar rule during one or
+	 * more parses.  Parser stages may run concurrently, so recording is
+	 * synchronized.
+	 */
+	public static class Profile {
+
+		private int parses = 0;
+		/** Map of grammar rule name to Entry. */
+		private final HashMap rules = new HashMap();
+		/** Map of parser tag class name to Entry. */
+		private final HashMap tags = new HashMap();
+
+		/**
+		 * Create an empty profile.
+		 */
+		public Profile() {
+		}
+
+		/**
+		 *
+		 */
+		private synchronized void add(Profile profile) {
+			synchronized (profile) {
+				this.parses += profile.parses;
+				Profile.add(this.rules, profile.rules);
+				Profile.add(this.tags, profile.tags);
+			}
+		}
+
+		/**
+		 *
+		 */
+		private static void add(HashMap entries, HashMap source) {
+			for (Iterator iterator = source.values().iterator(); iterator.hasNext();) {
+				Entry entry = (Entry)iterator.next();
+				Entry total = Profile.entry(entries, entry.name);
+				total.count += entry.count;
+				total.selfNanos += entry.selfNanos;
+				total.totalNanos += entry.totalNanos;
+			}
+		}
+
+		/**
+		 * Return a value to pass to {@link #end} when a token has been
+		 * parsed.  This method must be called immediately before the token is
+		 * parsed.
+		 *
+		 * @return The time already accounted for by tokens parsed on the
+		 *  current thread.
+		 */
+		public long begin() {
+			return ((long[])COMPLETED_TIME.get())[0];
+		}
+
+		/**
+		 * Record the time taken to parse a token.
+		 *
+		 * @param rule The name of the grammar rule that matched the token.
+		 * @param tag The name of the parser tag class that parsed the token.
+		 * @param start The value of <code>System.nanoTime()</code> when
+		 *  parsing of the token began.
+		 * @param completed The value returned by {@link #begin}.
+		 */
+		public void end(String rule, String tag, long start, long completed) {
+			long total = System.nanoTime() - start;
+			long[] completedTime = (long[])COMPLETED_TIME.get();
+			// nested tokens have added their self times to the completed time of this thread
+			long self = total - (completedTime[0] - completed);
+			completedTime[0] += self;
+			synchronized (this) {
+				Profile.record(this.rules, rule, total, self);
+				Profile.record(this.tags, tag, total, self);
+			}
+		}
+
+		/**
+		 *
+		 */
+		private static Entry entry(HashMap entries, String name) {
+			Entry entry = (Entry)entries.get(name);
+			if (entry == null) {
+				entry = new Entry(name);
+				entries.put(name, entry);
+			}
+			return entry;
+		}
+
+		/**
+		 *
+		 */
+		private static Vector entries(HashMap entries) {
+			Vector result = new Vector();
+			for (Iterator iterator = entries.values().iterator(); iterator.hasNext();) {
+				result.add(new Entry((Entry)iterator.next()));
+			}
+			Collections.sort(result, new Comparator() {
+				public int compare(Object o1, Object o2) {
+					long self1 = ((Entry)o1).selfNanos;
+					long self2 = ((Entry)o2).selfNanos;
+					return (self1 > self2) ? -1 : ((self1 < self2) ? 1 : 0);
+				}
+			});
+			return result;
+		}
+
+		/**
+		 * Return the number of top-level parses included in the profile.
+		 */
+		public synchronized int getParses() {
+			return this.parses;
+		}
+
+		/**
+		 * Return copies of the entries for all grammar rules, sorted by self
+		 * time with the slowest first.
+		 */
+		public synchronized Vector getRules() {
+			return Profile.entries(this.rules);
+		}
+
+		/**
+		 * Return copies of the entries for all parser tag classes, sorted by
+		 * self time with the slowest first.
+		 */
+		public synchronized Vector getTags() {
+			return Profile.entries(this.tags);
+		}
+
+		/**
+		 *
+		 */
+		private static void record(HashMap entries, String name, long total, long self) {
+			Entry entry = Profile.entry(entries, name);
+			entry.count++;
+			entry.selfNanos += self;
+			entry.totalNanos += total;
+		}
+	}
+
+	/**
+	 * A topic in the list of slowest topics.
+	 */
+	public static class SlowTopic {
+
+		private final Date date = new Date();
+		private final long elapsedNanos;
+		private final Profile profile;
+		private final String stage;
+		private final String topicName;
+		private final String virtualWiki;
+
+		/**
+		 *
+		 */
+		SlowTopic(String virtualWiki, String topicName, String stage, long elapsedNanos, Profile profile) {
+			this.virtualWiki = virtualWiki;
+			this.topicName = topicName;
+			this.stage = stage;
+			this.elapsedNanos = elapsedNanos;
+			this.profile = profile;
+		}
+
+		/**
+		 * Return the time at which the parse completed.
+		 */
+		public Date getDate() {
+			return this.date;
+		}
+
+		/**
+		 * Return the time in nanoseconds taken by the parse.
+		 */
+		public long getElapsedNanos() {
+			return this.elapsedNanos;
+		}
+
+		/**
+		 * Return the profile of the parse.
+		 */
+		public Profile getProfile() {
+			return this.profile;
+		}
+
+		/**
+		 * Return the type of parse, such as {@link ParserMetrics#STAGE_HTML}.
+		 */
+		public String getStage() {
+			return this.stage;
+		}
+
+		/**
+		 * Return the name of the topic that was parsed.
+		 */
+		public String getTopicName() {
+			return this.topicName;
+		}
+
+		/**
+		 * Return the virtual wiki of the topic that was parsed.
+		 */
+		public String getVirtualWiki() {
+			return this.virtualWiki;
+		}
+
+		/**
+		 *
+		 */
+		private boolean isTopic(SlowTopic slowTopic) {
+			return (this.topicName.equals(slowTopic.topicName) && ObjectUtils.nullSafeEquals(this.virtualWiki, slowTopic.virtualWiki));
+		}
+	}
+}
@@ -19,6 +19,9 @@ package org.jamwiki.parser;
 /**
  * A tag parses a specific set of Wiki syntax that has been passed to it.  This
  * interface defines methods that must be implemented by each parser tag.
+ * A single instance of each tag is shared by all parsers, so implementations
+ * must be stateless and thread-safe, with any state that is needed while
+ * parsing a token kept in local variables or in the parser input.
  */
 public interface ParserTag {
 
@@ -127,6 +127,21 @@ public class TableOfContents {
 		if (level < minLevel) minLevel = level;
 	}
 
+	/**
+	 * Add all entries from another table of contents object to this table of
+	 * contents, in order, exactly as if each entry had been added using
+	 * {@link #addEntry}.
+	 *
+	 * @param tableOfContents The table of contents whose entries are to be
+	 *  added.
+	 */
+	public void addEntries(TableOfContents tableOfContents) {
+		for (Enumeration e = tableOfContents.entries.elements(); e.hasMoreElements();) {
+			TableOfContentsEntry entry = (TableOfContentsEntry)e.nextElement();
+			this.addEntry(entry.name, entry.text, entry.level);
+		}
+	}
+
 	/**
 	 * This method checks to see if a TOC is allowed to be inserted, and if so
 	 * returns an HTML representation of the TOC.
@@ -167,6 +182,34 @@ public class TableOfContents {
 		}
 	}
 
+	/**
+	 * Return a new table of contents object containing the entries of this
+	 * table of contents starting with the specified entry, such as the
+	 * entries added while parsing one section of a document.  Only entries
+	 * are copied; the new table of contents has the default status.
+	 *
+	 * @param start The index of the first entry to copy.
+	 * @return A new table of contents containing the copied entries.
+	 */
+	public TableOfContents copyEntries(int start) {
+		TableOfContents tableOfContents = new TableOfContents();
+		for (int i = start; i < this.entries.size(); i++) {
+			TableOfContentsEntry entry = (TableOfContentsEntry)this.entries.elementAt(i);
+			tableOfContents.entries.add(tableOfContents.new TableOfContentsEntry(entry.name, entry.text, entry.level));
+		}
+		return tableOfContents;
+	}
+
+	/**
+	 * Return <code>true</code> if a TOC is being forced to appear, even if
+	 * there are fewer than four headings.
+	 *
+	 * @return <code>true</code> if a TOC is being forced to appear.
+	 */
+	public boolean getForceTOC() {
+		return this.forceTOC;
+	}
+
 	/**
 	 * Return the current table of contents status, such as "no table of contents
 	 * allowed" or "uninitialized".
@@ -0,0 +1,153 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.parser;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Vector;
+
+/**
+ * In-memory index of the templates used by each topic, and of the topics
+ * that use each template.  The index is updated from the metadata of every
+ * topic that is parsed, so when a template changes the topics whose parsed
+ * output is now out of date can be found without re-parsing or scanning
+ * every topic in the wiki.  Since nested templates are reported as
+ * templates of the topic being parsed (see
+ * {@link ParserDocument#getTemplates}), a topic that uses a template
+ * indirectly through another template is also returned as a dependent.
+ *
+ * The index only knows about topics that have been parsed since it was
+ * created, so it is a guide to which topics need to be re-parsed rather
+ * than a complete record of template usage.
+ */
+public class TemplateDependencyIndex {
+
+	/** Map of virtual wiki and template name to the set of topic names that use the template. */
+	private static final HashMap DEPENDENTS = new HashMap();
+	/** Map of virtual wiki and topic name to the set of template names that the topic uses. */
+	private static final HashMap TEMPLATES = new HashMap();
+
+	/**
+	 *
+	 */
+	private TemplateDependencyIndex() {
+	}
+
+	/**
+	 * Remove all entries from the index.
+	 */
+	public static void clear() {
+		synchronized (DEPENDENTS) {
+			DEPENDENTS.clear();
+			TEMPLATES.clear();
+		}
+	}
+
+	/**
+	 * Return the names of all topics that were using the specified template
+	 * when they were last parsed.
+	 *
+	 * @param virtualWiki The virtual wiki of the template.
+	 * @param templateName The name of the template, such as
+	 *  "Template:Example".
+	 * @return A collection containing the names of all topics that use the
+	 *  template.  The collection is a copy and is empty if no topics are
+	 *  known to use the template.
+	 */
+	public static Collection getDependents(String virtualWiki, String templateName) {
+		synchronized (DEPENDENTS) {
+			HashSet dependents = (HashSet)DEPENDENTS.get(TemplateDependencyIndex.key(virtualWiki, templateName));
+			return (dependents == null) ? new Vector() : new Vector(dependents);
+		}
+	}
+
+	/**
+	 *
+	 */
+	private static String key(String virtualWiki, String name) {
+		return virtualWiki + '\n' + name;
+	}
+
+	/**
+	 * Remove a topic from the index, typically because the topic has been
+	 * deleted.  Topics that use the removed topic as a template remain in the
+	 * index.
+	 *
+	 * @param virtualWiki The virtual wiki of the topic.
+	 * @param topicName The name of the topic to remove.
+	 */
+	public static void removeTopic(String virtualWiki, String topicName) {
+		TemplateDependencyIndex.updateTopic(virtualWiki, topicName, new Vector());
+	}
+
+	/**
+	 * Record the templates used by a topic, replacing any templates that were
+	 * recorded when the topic was previously parsed.
+	 *
+	 * @param virtualWiki The virtual wiki of the topic.
+	 * @param topicName The name of the topic that was parsed.
+	 * @param templates The names of all templates used by the topic, as
+	 *  returned by {@link ParserDocument#getTemplates}.
+	 */
+	public static void updateTopic(String virtualWiki, String topicName, Collection templates) {
+		if (virtualWiki == null || topicName == null) {
+			return;
+		}
+		String topicKey = TemplateDependencyIndex.key(virtualWiki, topicName);
+		HashSet current = new HashSet(templates);
+		synchronized (DEPENDENTS) {
+			HashSet previous = (HashSet)TEMPLATES.get(topicKey);
+			if (previous == null) {
+				previous = new HashSet();
+			}
+			if (previous.equals(current)) {
+				return;
+			}
+			for (Iterator iterator = previous.iterator(); iterator.hasNext();) {
+				String templateName = (String)iterator.next();
+				if (current.contains(templateName)) {
+					continue;
+				}
+				String templateKey = TemplateDependencyIndex.key(virtualWiki, templateName);
+				HashSet dependents = (HashSet)DEPENDENTS.get(templateKey);
+				if (dependents != null) {
+					dependents.remove(topicName);
+					if (dependents.isEmpty()) {
+						DEPENDENTS.remove(templateKey);
+					}
+				}
+			}
+			for (Iterator iterator = current.iterator(); iterator.hasNext();) {
+				String templateName = (String)iterator.next();
+				String templateKey = TemplateDependencyIndex.key(virtualWiki, templateName);
+				HashSet dependents = (HashSet)DEPENDENTS.get(templateKey);
+				if (dependents == null) {
+					dependents = new HashSet();
+					DEPENDENTS.put(templateKey, dependents);
+				}
+				dependents.add(topicName);
+			}
+			if (current.isEmpty()) {
+				TEMPLATES.remove(topicKey);
+			} else {
+				TEMPLATES.put(topicKey, current);
+			}
+		}
+	}
+}
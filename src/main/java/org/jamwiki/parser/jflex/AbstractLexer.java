@@ -16,9 +16,18 @@
  */
 package org.jamwiki.parser.jflex;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.CharBuffer;
+import java.util.HashMap;
 import java.util.Stack;
+import org.jamwiki.parser.ParserContext;
 import org.jamwiki.parser.ParserDocument;
 import org.jamwiki.parser.ParserInput;
+import org.jamwiki.parser.ParserProfiler;
 import org.jamwiki.parser.ParserTag;
 import org.jamwiki.utils.WikiLogger;
 
@@ -30,14 +39,156 @@ public abstract class AbstractLexer {
 
 	private static final WikiLogger logger = WikiLogger.getLogger(AbstractLexer.class.getName());
 
+	/** Status returned by {@link #yylex} once all input has been parsed. */
+	public static final int YYEOF = -1;
+	/** Status returned by {@link #yylex} when closing output was written at the end of the input and {@link #yylex} must be called again. */
+	protected static final int YYCONTINUE = 0;
+	/** Maximum size of the lexer input buffer, used when the length of the input is not known. */
+	protected static final int MAX_BUFFER_SIZE = 16384;
+	/** Map of lexer class to a map of lexical state number to state name, used when profiling. */
+	private static final HashMap STATE_NAMES = new HashMap();
+
 	/** Member variable used to keep track of the state history for the lexer. */
 	protected Stack states = new Stack();
 	/** Parser configuration information. */
 	protected ParserInput parserInput = null;
+	/** Context of the top-level parse from which the lexer's parser tags and settings were last loaded. */
+	private ParserContext parserContext = null;
 	/** Parser parsing results. */
 	protected ParserDocument parserDocument = null;
 	/** Parser mode, which provides input to the parser about what steps to take. */
 	protected int mode = JFlexParser.MODE_LAYOUT;
+	/** Number of tokens passed to {@link #parseToken} since the lexer was reset. */
+	private int tokenCount = 0;
+	/** Output to which lexer rules write parsed text. */
+	private Appendable output = null;
+	/** Set if the input ended while the lexer was inside markup that had to be closed, such as a table or an unfinished template. */
+	protected boolean unterminated = false;
+
+	/**
+	 * Append a single character to the lexer output.
+	 *
+	 * @param c The character to append.
+	 */
+	protected void append(char c) throws IOException {
+		this.output.append(c);
+	}
+
+	/**
+	 * Append text to the lexer output.  If the text is <code>null</code>
+	 * then nothing is appended.
+	 *
+	 * @param text The text to append.
+	 */
+	protected void append(CharSequence text) throws IOException {
+		if (text != null) {
+			this.output.append(text);
+		}
+	}
+
+	/**
+	 * Append a portion of text to the lexer output.
+	 *
+	 * @param text The text from which a portion is to be appended.
+	 * @param start The index of the first character to append.
+	 * @param end The index after the last character to append.
+	 */
+	protected void append(CharSequence text, int start, int end) throws IOException {
+		this.output.append(text, start, end);
+	}
+
+	/**
+	 * Append a portion of a character array to the lexer output.  This
+	 * method is used to copy text directly from the lexer input buffer
+	 * without creating a String.
+	 *
+	 * @param buffer The array from which characters are to be appended.
+	 * @param offset The index of the first character to append.
+	 * @param length The number of characters to append.
+	 */
+	protected void append(char[] buffer, int offset, int length) throws IOException {
+		if (this.output instanceof StringBuilder) {
+			((StringBuilder)this.output).append(buffer, offset, length);
+		} else if (this.output instanceof StringBuffer) {
+			((StringBuffer)this.output).append(buffer, offset, length);
+		} else if (this.output instanceof Writer) {
+			((Writer)this.output).write(buffer, offset, length);
+		} else {
+			this.output.append(CharBuffer.wrap(buffer, offset, length));
+		}
+	}
+
+	/**
+	 * Append a single character of plain text to the lexer output, escaping
+	 * characters that have a special meaning in HTML in the same way as
+	 * {@link org.jamwiki.utils.Utilities#escapeHTML}.
+	 *
+	 * @param c The character to append.
+	 */
+	protected void appendEscaped(char c) throws IOException {
+		String entity = AbstractLexer.entity(c);
+		if (entity != null) {
+			this.output.append(entity);
+		} else {
+			this.output.append(c);
+		}
+	}
+
+	/**
+	 * Append a portion of a character array of plain text to the lexer
+	 * output, escaping characters that have a special meaning in HTML in the
+	 * same way as {@link #appendEscaped(char)}.  Text between escaped
+	 * characters is copied in bulk.
+	 *
+	 * @param buffer The array from which characters are to be appended.
+	 * @param offset The index of the first character to append.
+	 * @param length The number of characters to append.
+	 */
+	protected void appendEscaped(char[] buffer, int offset, int length) throws IOException {
+		int start = offset;
+		int end = offset + length;
+		for (int i = offset; i < end; i++) {
+			String entity = AbstractLexer.entity(buffer[i]);
+			if (entity == null) {
+				continue;
+			}
+			if (i > start) {
+				this.append(buffer, start, i - start);
+			}
+			this.output.append(entity);
+			start = i + 1;
+		}
+		if (end > start) {
+			this.append(buffer, start, end - start);
+		}
+	}
+
+	/**
+	 * Append the text matched by the current lexer rule to the lexer output
+	 * without creating a String.
+	 */
+	protected abstract void appendMatchedText() throws IOException;
+
+	/**
+	 * Return the HTML entity used to escape the specified character, or
+	 * <code>null</code> if the character does not need to be escaped.
+	 */
+	private static String entity(char c) {
+		switch (c) {
+			case '&':
+				return "&amp;";
+			case '>':
+				return "&gt;";
+			case '<':
+				return "&lt;";
+			case '"':
+				return "&quot;";
+			case '\'':
+				return "&#39;";
+			default:
+				return null;
+		}
+	}
 
 	/**
 	 * Begin a new parser state and store the old state onto the stack.
@@ -65,6 +216,17 @@ public abstract class AbstractLexer {
 		yybegin(next);
 	}
 
+	/**
+	 * Return the size of the lexer input buffer.
+	 */
+	protected abstract int getBufferSize();
+
+	/**
+	 * Replace the lexer input buffer with a new buffer of the specified size.
+	 * This method must only be called before the lexer begins reading input.
+	 */
+	protected abstract void setBufferSize(int size);
+
 	/**
 	 * This method is used to set the ParserDocument field, which is used to retrieve
 	 * parsed information from the parser.
@@ -75,6 +237,28 @@ public abstract class AbstractLexer {
 		return this.parserDocument;
 	}
 
+	/**
+	 * Return the number of tokens that have been handled by parser tags
+	 * since the lexer was last reset.
+	 */
+	public int getTokenCount() {
+		return this.tokenCount;
+	}
+
+	/**
+	 * Return <code>true</code> if the input ended while the lexer was inside
+	 * markup that continues beyond the end of the input, such as a table,
+	 * bold text or an unfinished template.  Output for such input differs
+	 * from the output produced when the same text is parsed as part of a
+	 * larger document.
+	 *
+	 * @return <code>true</code> if markup was still open at the end of the
+	 *  input.
+	 */
+	public boolean isUnterminated() {
+		return this.unterminated;
+	}
+
 	/**
 	 * Set the parser settings.  This method should also validate that
 	 * all settings required for the parser have been set, and if not it
@@ -91,10 +275,40 @@ public abstract class AbstractLexer {
 	 */
 	public abstract void init(ParserInput parserInput, ParserDocument parserDocument, int mode) throws Exception;
 
+	/**
+	 * Load the parser tags and settings used by the lexer from the context
+	 * of the top-level parse, see {@link ParserInput#getParserContext}.  A
+	 * pooled lexer is typically re-used for many fragments of the same
+	 * document, so values are only loaded the first time that the lexer is
+	 * initialized during each top-level parse.  This method must be called
+	 * by {@link #init} once the parser input has been set.
+	 */
+	protected void loadContext() {
+		ParserContext context = this.parserInput.getParserContext();
+		if (context == null) {
+			// the lexer is being used outside of a top-level parse
+			context = new ParserContext(this.parserInput.getTopicName());
+		} else if (context == this.parserContext) {
+			return;
+		}
+		this.parserContext = context;
+		this.loadSettings(context);
+	}
+
+	/**
+	 * Load all lexer-specific parser tags and settings that remain the same
+	 * for the duration of a top-level parse.
+	 *
+	 * @param context The context of the top-level parse.
+	 */
+	protected abstract void loadSettings(ParserContext context);
+
 	/**
 	 * Parse a token using the specified parser tag handler.  If an error
 	 * occurs during processing then this method will return the raw text
-	 * that was passed to it.
+	 * that was passed to it.  If the parse is being profiled (see
+	 * {@link ParserProfiler}) then the time taken to parse the token is
+	 * recorded.
 	 *
 	 * @param raw The raw token text that is to be parsed.
 	 * @param parserTag The parser tag handler to use when parsing the token.
@@ -102,6 +316,25 @@ public abstract class AbstractLexer {
 	 *  text that was passed to this method.
 	 */
 	protected String parseToken(String raw, ParserTag parserTag) {
+		this.tokenCount++;
+		ParserProfiler.Profile profile = this.parserContext.getProfile();
+		if (profile == null) {
+			return this.parseTokenInternal(raw, parserTag);
+		}
+		String rule = this.ruleName(parserTag);
+		long completed = profile.begin();
+		long start = System.nanoTime();
+		try {
+			return this.parseTokenInternal(raw, parserTag);
+		} finally {
+			profile.end(rule, parserTag.getClass().getName(), start, completed);
+		}
+	}
+
+	/**
+	 *
+	 */
+	private String parseTokenInternal(String raw, ParserTag parserTag) {
 		try {
 			return parserTag.parse(this.parserInput, this.parserDocument, this.mode, raw);
 		} catch (Exception e) {
@@ -110,15 +343,97 @@ public abstract class AbstractLexer {
 		}
 	}
 
+	/**
+	 * Return a name for the grammar rule that matched the current token, made
+	 * up of the lexer class, the current lexical state and the parser tag
+	 * class, such as "JAMWikiProcessor.NORMAL:WikiLinkTag".  The names of
+	 * lexical states are read from the constants of the generated lexer.
+	 */
+	private String ruleName(ParserTag parserTag) {
+		HashMap stateNames = null;
+		synchronized (STATE_NAMES) {
+			stateNames = (HashMap)STATE_NAMES.get(this.getClass());
+			if (stateNames == null) {
+				stateNames = new HashMap();
+				Field[] fields = this.getClass().getFields();
+				for (int i = 0; i < fields.length; i++) {
+					int modifiers = fields[i].getModifiers();
+					if (fields[i].getType() != int.class || !Modifier.isStatic(modifiers) || !Modifier.isFinal(modifiers) || fields[i].getName().equals("YYEOF")) {
+						continue;
+					}
+					try {
+						stateNames.put(new Integer(fields[i].getInt(null)), fields[i].getName());
+					} catch (IllegalAccessException e) {
+						// only public constants are lexical states
+					}
+				}
+				STATE_NAMES.put(this.getClass(), stateNames);
+			}
+		}
+		String state = (String)stateNames.get(new Integer(this.yystate()));
+		String tag = parserTag.getClass().getName();
+		return this.getClass().getSimpleName() + "." + ((state == null) ? Integer.toString(this.yystate()) : state) + ":" + tag.substring(tag.lastIndexOf('.') + 1);
+	}
+
+	/**
+	 * Prepare the lexer to read new input, discarding any state remaining
+	 * from a previous parse.  This method allows a single lexer instance to
+	 * be re-used for many parses, and {@link #init} must be called again
+	 * before the lexer is used.
+	 *
+	 * @param reader The reader that provides the input to be parsed.
+	 * @param length The length of the input, or -1 if the length is not
+	 *  known.  Short input is read using a buffer that is only as large as
+	 *  the input rather than a buffer of {@link #MAX_BUFFER_SIZE} characters.
+	 */
+	public void reset(Reader reader, int length) {
+		this.yyreset(reader);
+		int size = (length < 0 || length >= MAX_BUFFER_SIZE) ? MAX_BUFFER_SIZE : length + 1;
+		if (this.getBufferSize() < size) {
+			this.setBufferSize(size);
+		}
+		this.parserInput = null;
+		this.parserDocument = null;
+		this.output = null;
+		this.mode = JFlexParser.MODE_LAYOUT;
+		this.unterminated = false;
+		this.tokenCount = 0;
+		this.states.clear();
+		this.resetState();
+	}
+
+	/**
+	 * Reset all lexer-specific state to the values that it had when the lexer
+	 * was created, including the initial lexer state.
+	 */
+	protected abstract void resetState();
+
+	/**
+	 * Set the output to which lexer rules write parsed text.  The output must
+	 * be set before {@link #yylex} is called.
+	 *
+	 * @param output The output to which parsed text is written.
+	 */
+	public void setOutput(Appendable output) {
+		this.output = output;
+	}
+
 	/**
 	 * JFlex internal method used to change the lexer state values.
 	 */
 	public abstract void yybegin(int newState);
 
 	/**
-	 * JFlex internal method used to parse the next token.
+	 * JFlex internal method used to parse input.  All parsed text is written
+	 * to the lexer output, and the returned value is a status that is
+	 * {@link #YYEOF} once all input has been parsed.
+	 */
+	public abstract int yylex() throws Exception;
+
+	/**
+	 * JFlex internal method used to reset the lexer to read from a new input.
 	 */
-	public abstract String yylex() throws Exception;
+	public abstract void yyreset(Reader reader);
 
 	/**
 	 * JFlex internal method used to retrieve the current lexer state value.
@@ -0,0 +1,209 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.parser.jflex;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.Writer;
+
+/**
+ * Bounded character buffer used to connect two parser stages that are
+ * running on different threads.  One thread writes to the channel writer
+ * while another thread reads from the channel reader; the writer blocks
+ * when the buffer is full and the reader blocks when the buffer is empty.
+ * Unlike <code>java.io.PipedReader</code> blocks of characters are copied
+ * in bulk and the channel does not depend on the lifetime of the threads
+ * that use it.
+ */
+class CharChannel {
+
+	private final char[] buffer;
+	/** Position of the next character to be read. */
+	private int head = 0;
+	/** Number of characters currently available for reading. */
+	private int count = 0;
+	/** Set when the writer has finished writing. */
+	private boolean closed = false;
+	/** Set when the reader is no longer reading, causing writes to fail. */
+	private boolean cancelled = false;
+	/** If the writer failed then the reader reports this error. */
+	private Throwable failure = null;
+	private final Reader reader = new ChannelReader();
+	private final Writer writer = new ChannelWriter();
+
+	/**
+	 * Create a new channel that can hold the specified number of characters
+	 * that have been written but not yet read.
+	 */
+	CharChannel(int capacity) {
+		this.buffer = new char[capacity];
+	}
+
+	/**
+	 * Mark the channel as failed.  Any characters that have already been
+	 * written remain readable, after which the reader throws an exception
+	 * with the specified cause instead of reporting the end of the stream.
+	 */
+	synchronized void fail(Throwable t) {
+		this.failure = t;
+		this.closed = true;
+		this.notifyAll();
+	}
+
+	/**
+	 * Return the reader used to consume characters from this channel.
+	 */
+	Reader getReader() {
+		return this.reader;
+	}
+
+	/**
+	 * Return the writer used to add characters to this channel.
+	 */
+	Writer getWriter() {
+		return this.writer;
+	}
+
+	/**
+	 *
+	 */
+	private synchronized int read(char[] cbuf, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		while (this.count == 0) {
+			if (this.failure != null) {
+				IOException e = new IOException("Failure while writing to parser channel");
+				e.initCause(this.failure);
+				throw e;
+			}
+			if (this.closed) {
+				return -1;
+			}
+			this.await();
+		}
+		int total = Math.min(len, this.count);
+		int first = Math.min(total, this.buffer.length - this.head);
+		System.arraycopy(this.buffer, this.head, cbuf, off, first);
+		System.arraycopy(this.buffer, 0, cbuf, off + first, total - first);
+		this.head = (this.head + total) % this.buffer.length;
+		this.count -= total;
+		this.notifyAll();
+		return total;
+	}
+
+	/**
+	 *
+	 */
+	private synchronized void write(char[] cbuf, int off, int len) throws IOException {
+		while (len > 0) {
+			while (this.count == this.buffer.length && !this.cancelled) {
+				this.await();
+			}
+			if (this.cancelled) {
+				throw new IOException("Parser channel reader has been closed");
+			}
+			if (this.closed) {
+				throw new IOException("Parser channel writer has been closed");
+			}
+			int tail = (this.head + this.count) % this.buffer.length;
+			int total = Math.min(len, this.buffer.length - this.count);
+			int first = Math.min(total, this.buffer.length - tail);
+			System.arraycopy(cbuf, off, this.buffer, tail, first);
+			System.arraycopy(cbuf, off + first, this.buffer, 0, total - first);
+			this.count += total;
+			off += total;
+			len -= total;
+			this.notifyAll();
+		}
+	}
+
+	/**
+	 *
+	 */
+	private void await() throws IOException {
+		try {
+			this.wait();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for parser channel");
+		}
+	}
+
+	/**
+	 *
+	 */
+	private class ChannelReader extends Reader {
+
+		/**
+		 *
+		 */
+		public int read(char[] cbuf, int off, int len) throws IOException {
+			return CharChannel.this.read(cbuf, off, len);
+		}
+
+		/**
+		 * Stop reading from the channel, causing any further writes to fail.
+		 */
+		public void close() {
+			synchronized (CharChannel.this) {
+				CharChannel.this.cancelled = true;
+				CharChannel.this.notifyAll();
+			}
+		}
+	}
+
+	/**
+	 *
+	 */
+	private class ChannelWriter extends Writer {
+
+		/**
+		 *
+		 */
+		public void write(char[] cbuf, int off, int len) throws IOException {
+			CharChannel.this.write(cbuf, off, len);
+		}
+
+		/**
+		 *
+		 */
+		public void write(String str, int off, int len) throws IOException {
+			char[] chars = new char[len];
+			str.getChars(off, off + len, chars, 0);
+			CharChannel.this.write(chars, 0, len);
+		}
+
+		/**
+		 *
+		 */
+		public void flush() {
+		}
+
+		/**
+		 * Finish writing, allowing the reader to reach the end of the stream
+		 * once all remaining characters have been read.
+		 */
+		public void close() {
+			synchronized (CharChannel.this) {
+				CharChannel.this.closed = true;
+				CharChannel.this.notifyAll();
+			}
+		}
+	}
+}
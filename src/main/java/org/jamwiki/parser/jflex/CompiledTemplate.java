@@ -0,0 +1,295 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.parser.jflex;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Vector;
+import org.jamwiki.Environment;
+import org.jamwiki.model.Topic;
+import org.jamwiki.parser.ParserDocument;
+import org.jamwiki.parser.ParserInput;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Template body that has been split into literal text and template
+ * parameter slots of the form "{{{name|default}}}", so that a template
+ * called many times only has to be searched for parameters once.  Expanding
+ * a compiled template concatenates its literal text with the values of its
+ * parameters; the result must then be parsed as a fragment exactly as an
+ * uncompiled template body would be.
+ *
+ * Compiled templates are cached by virtual wiki and template name.  A cache
+ * entry is only used if the template topic still has the same version (or,
+ * for data handlers that do not provide version information, the same
+ * content) as when it was compiled, so an edited template is recompiled the
+ * next time it is used.  The number of cached templates is limited by the
+ * {@link Environment#PROP_CACHE_COMPILED_TEMPLATES} property.
+ *
+ * Compiled templates are shared by all parsers and are not modified after
+ * they have been created.
+ */
+class CompiledTemplate {
+
+	/** Map of virtual wiki and template name to compiled template, ordered from least to most recently used. */
+	private static final LinkedHashMap CACHE = new LinkedHashMap(16, 0.75f, true) {
+		protected boolean removeEldestEntry(Map.Entry eldest) {
+			return (this.size() > Environment.getIntValue(Environment.PROP_CACHE_COMPILED_TEMPLATES));
+		}
+	};
+	/** The template content that was compiled. */
+	private final String content;
+	/** Set if the name of any parameter used by the template depends on the template call. */
+	private boolean dynamicParameterNames = false;
+	/** Names of the parameters used by the template, excluding any names that depend on the template call. */
+	private final HashSet parameterNames = new HashSet();
+	/** Literal text segments (<code>String</code>) and parameter slots (<code>Slot</code>) in order of appearance. */
+	private final Object[] segments;
+	/** Version of the template topic that was compiled, or <code>null</code> if not known. */
+	private final Integer versionId;
+
+	/**
+	 *
+	 */
+	private CompiledTemplate(String content, Integer versionId) throws Exception {
+		this.content = content;
+		this.versionId = versionId;
+		this.segments = CompiledTemplate.split(content);
+		for (int i = 0; i < this.segments.length; i++) {
+			if (!(this.segments[i] instanceof Slot)) {
+				continue;
+			}
+			Slot slot = (Slot)this.segments[i];
+			if (slot.parameterName != null) {
+				this.parameterNames.add(slot.parameterName);
+			} else {
+				this.dynamicParameterNames = true;
+			}
+			// parameters nested within a slot are always substituted
+			this.parameterNames.addAll(slot.inner.parameterNames);
+			this.dynamicParameterNames = (this.dynamicParameterNames || slot.inner.dynamicParameterNames);
+		}
+	}
+
+	/**
+	 * Compile template content that is not cached, such as the content of a
+	 * template parameter slot.
+	 *
+	 * @param content The template content to compile.
+	 * @return The compiled template content.
+	 * @throws Exception Thrown if the content contains a template parameter
+	 *  that is not terminated.
+	 */
+	protected static CompiledTemplate compile(String content) throws Exception {
+		return new CompiledTemplate(content, null);
+	}
+
+	/**
+	 * Return the compiled body of a template topic, compiling the template
+	 * if it has not been compiled or has changed since it was compiled.
+	 *
+	 * @param templateTopic The template topic.
+	 * @return The compiled template body.
+	 * @throws Exception Thrown if the template body contains a template
+	 *  parameter that is not terminated.
+	 */
+	protected static CompiledTemplate getCompiledTemplate(Topic templateTopic) throws Exception {
+		String content = templateTopic.getTopicContent();
+		if (content == null) {
+			content = "";
+		}
+		if (Environment.getIntValue(Environment.PROP_CACHE_COMPILED_TEMPLATES) <= 0) {
+			return CompiledTemplate.compile(content);
+		}
+		String key = templateTopic.getVirtualWiki() + "/" + templateTopic.getName();
+		CompiledTemplate compiledTemplate = null;
+		synchronized (CACHE) {
+			compiledTemplate = (CompiledTemplate)CACHE.get(key);
+		}
+		if (compiledTemplate != null && compiledTemplate.isCurrent(templateTopic.getCurrentVersionId(), content)) {
+			return compiledTemplate;
+		}
+		compiledTemplate = new CompiledTemplate(content, templateTopic.getCurrentVersionId());
+		synchronized (CACHE) {
+			CACHE.put(key, compiledTemplate);
+		}
+		return compiledTemplate;
+	}
+
+	/**
+	 * Determine if this compiled template was compiled from a specific
+	 * template version.  Version numbers identify template content, so the
+	 * content is only compared in full if no version is available.
+	 */
+	private boolean isCurrent(Integer currentVersionId, String currentContent) {
+		if (!ObjectUtils.nullSafeEquals(this.versionId, currentVersionId)) {
+			return false;
+		}
+		if (this.content.length() != currentContent.length()) {
+			return false;
+		}
+		return (this.versionId != null || this.content.equals(currentContent));
+	}
+
+	/**
+	 * Determine if the value of a parameter may be used when this template
+	 * is expanded, which is the case if the template contains a parameter
+	 * slot with the given name, or a parameter slot whose name is only known
+	 * once the template is called.
+	 *
+	 * @param name The parameter name.
+	 * @return <code>true</code> if the parameter value may be used when the
+	 *  template is expanded.
+	 */
+	protected boolean usesParameter(String name) {
+		return (this.dynamicParameterNames || this.parameterNames.contains(name));
+	}
+
+	/**
+	 * Determine if text would be returned unchanged by the pre-processor,
+	 * which is the case when it contains no character that can start a
+	 * template, link, tag or signature.
+	 */
+	private static boolean isPlainText(String text) {
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '{' || c == '[' || c == '<' || c == '~') {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 *
+	 */
+	private static Object[] split(String content) throws Exception {
+		Vector segments = new Vector();
+		int pos = 0;
+		int paramPos = -1;
+		while ((paramPos = content.indexOf("{{{", pos)) != -1) {
+			if (paramPos > pos) {
+				segments.add(content.substring(pos, paramPos));
+			}
+			int endPos = TemplateTag.findMatchingEndTag(content, paramPos, "{{{", "}}}");
+			if (endPos == -1) {
+				throw new Exception("Unmatched template parameter in " + content);
+			}
+			segments.add(new Slot(content.substring(paramPos, endPos)));
+			pos = endPos;
+		}
+		if (pos < content.length()) {
+			segments.add(content.substring(pos));
+		}
+		return segments.toArray();
+	}
+
+	/**
+	 * Replace each template parameter slot with the corresponding parameter
+	 * value, or with its default value if no value was given.  Parameters
+	 * with neither a value nor a default are left as they are.
+	 *
+	 * @param templateTag The template tag expanding the template.
+	 * @param parserInput The parser input for the document being parsed.
+	 * @param parserDocument The document containing the template call.
+	 * @param parameterValues The parameter values of the template call.
+	 * @return The template content with parameters replaced, which has not
+	 *  yet been parsed.
+	 * @throws Exception Thrown if any error occurs while parsing a parameter.
+	 */
+	protected String substitute(TemplateTag templateTag, ParserInput parserInput, ParserDocument parserDocument, TemplateParameters parameterValues) throws Exception {
+		if (this.segments.length == 1 && this.segments[0] instanceof String) {
+			return this.content;
+		}
+		StringBuffer output = new StringBuffer(this.content.length());
+		for (int i = 0; i < this.segments.length; i++) {
+			if (this.segments[i] instanceof Slot) {
+				output.append(((Slot)this.segments[i]).apply(templateTag, parserInput, parserDocument, parameterValues));
+			} else {
+				output.append((String)this.segments[i]);
+			}
+		}
+		return output.toString();
+	}
+
+	/**
+	 * A template parameter slot of the form "{{{name}}}" or
+	 * "{{{name|default}}}".  Parameters and defaults may themselves contain
+	 * templates or parameters, in which case the slot content must be parsed
+	 * for each template call before its name and default are known.
+	 * Otherwise the name and default are determined when the slot is
+	 * compiled.
+	 */
+	private static class Slot {
+
+		/** Default value for a slot of plain text, or <code>null</code> if there is no default. */
+		private String defaultValue = null;
+		/** Slot content between the "{{{" and "}}}", compiled. */
+		private final CompiledTemplate inner;
+		/** Parameter name for a slot of plain text, otherwise <code>null</code>. */
+		private String name = null;
+		/** Parameter name if it does not contain markup, otherwise <code>null</code>. */
+		private String parameterName = null;
+		/** The complete slot text, including the "{{{" and "}}}". */
+		private final String raw;
+
+		/**
+		 *
+		 */
+		Slot(String raw) throws Exception {
+			this.raw = raw;
+			String content = raw.substring("{{{".length(), raw.length() - "}}}".length());
+			this.inner = CompiledTemplate.compile(content);
+			int pos = content.indexOf('|');
+			String name = ((pos == -1) ? content : content.substring(0, pos));
+			if (!CompiledTemplate.isPlainText(name) || name.trim().length() == 0) {
+				// an error is reported for an empty name when the slot is applied
+				return;
+			}
+			// markup following the name does not change the name once parsed
+			this.parameterName = name.trim();
+			if (!CompiledTemplate.isPlainText(content)) {
+				return;
+			}
+			this.name = this.parameterName;
+			this.defaultValue = (pos == -1) ? null : content.substring(pos + 1);
+		}
+
+		/**
+		 * Return the value of this slot for a template call.  See
+		 * {@link TemplateTag#parseParamName} and
+		 * {@link TemplateTag#parseParamDefaultValue} for the handling of
+		 * slots that are not plain text.
+		 */
+		String apply(TemplateTag templateTag, ParserInput parserInput, ParserDocument parserDocument, TemplateParameters parameterValues) throws Exception {
+			if (parameterValues == null) return this.raw;
+			String name = this.name;
+			String defaultValue = this.defaultValue;
+			if (name == null) {
+				// re-parse in case of embedded templates or params
+				String content = this.inner.substitute(templateTag, parserInput, parserDocument, parameterValues);
+				content = ParserUtil.parseFragment(parserInput, parserDocument, content, JFlexParser.MODE_TEMPLATE);
+				name = templateTag.parseParamName(content);
+				defaultValue = templateTag.parseParamDefaultValue(parserInput, parserDocument, content);
+			}
+			String value = parameterValues.get(parserInput, parserDocument, name);
+			if (value == null && defaultValue == null) return this.raw;
+			return (value == null) ? defaultValue : value;
+		}
+	}
+}
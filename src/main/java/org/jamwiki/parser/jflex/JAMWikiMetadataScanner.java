@@ -0,0 +1,1066 @@
+/* The following code was generated by JFlex 1.4.1 on 10/18/26, 1:15 AM */
+
+/*
+ * The metadata scanner collects the links, categories and templates of a
+ * document without producing any output.  The grammar matches the grammar
+ * of the pre-processor so that the same tokens are found in the same lexical
+ * states, but templates are scanned for the templates that they use rather
+ * than being expanded.
+ */
+package org.jamwiki.parser.jflex;
+
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Vector;
+import java.util.regex.Pattern;
+import org.jamwiki.model.Topic;
+import org.jamwiki.parser.ParserContext;
+import org.jamwiki.parser.ParserInput;
+import org.jamwiki.parser.ParserDocument;
+import org.jamwiki.parser.ParserTag;
+import org.jamwiki.utils.NamespaceHandler;
+import org.jamwiki.utils.WikiLogger;
+
+
+/**
+ * This class is a scanner generated by 
+ * <a href="http://www.jflex.de/">JFlex</a> 1.4.1
+ * on 10/18/26, 1:15 AM from the specification file
+ * <tt>src/main/resources/jamwiki-metadata.jflex</tt>
+ */
+public class JAMWikiMetadataScanner extends AbstractLexer {
+
+  /** This character denotes the end of file */
+  public static final int YYEOF = -1;
+
+  /** initial size of the lookahead buffer */
+  private static final int ZZ_BUFFERSIZE = 256;
+
+  /** lexical states */
+  public static final int TEMPLATE = 8;
+  public static final int WIKIPRE = 6;
+  public static final int YYINITIAL = 0;
+  public static final int PRE = 4;
+  public static final int NORMAL = 2;
+
+  /**
+   * ZZ_LEXSTATE[l] is the state in the DFA for the lexical state l
+   * ZZ_LEXSTATE[l+1] is the state in the DFA for the lexical state l
+   *                  at the beginning of a line
+   * l is of the form l = 2*k, k a non negative integer
+   */
+  private static final int ZZ_LEXSTATE[] = { 
+     0,  0,  1,  2,  3,  3,  4,  5,  6, 6
+  };
+
+  /** 
+   * Translates characters to character classes
+   */
+  private static final String ZZ_CMAP_PACKED = 
+    "\11\0\1\3\1\2\1\4\1\4\1\1\22\0\1\5\1\21\13\0"+
+    "\1\22\1\0\1\15\12\0\1\27\1\0\1\6\1\0\1\14\2\0"+
+    "\1\32\1\0\1\40\1\42\1\20\1\34\1\35\1\25\1\12\1\0"+
+    "\1\13\1\33\1\31\1\7\1\10\1\16\1\0\1\17\1\30\1\26"+
+    "\1\41\1\0\1\11\1\0\1\43\1\0\1\23\1\0\1\24\3\0"+
+    "\1\32\1\0\1\40\1\42\1\20\1\34\1\35\1\25\1\12\1\0"+
+    "\1\13\1\33\1\31\1\7\1\10\1\16\1\0\1\17\1\30\1\26"+
+    "\1\41\1\0\1\11\1\0\1\43\1\0\1\36\1\0\1\37\1\44"+
+    "\6\0\1\4\u1fa2\0\2\4\udfd6\0";
+
+  /** 
+   * Translates characters to character classes
+   */
+  private static final char [] ZZ_CMAP = zzUnpackCMap(ZZ_CMAP_PACKED);
+
+  /** 
+   * Translates DFA states to action switch labels.
+   */
+  private static final int [] ZZ_ACTION = zzUnpackAction();
+
+  private static final String ZZ_ACTION_PACKED_0 =
+    "\7\0\12\1\3\2\2\3\1\4\1\5\6\0\1\6"+
+    "\1\0\1\7\7\0\1\6\10\0\1\10\13\0\1\10"+
+    "\4\0\1\11\1\0\1\12\2\0\1\10\7\0\1\13"+
+    "\3\0\1\14\1\0\1\15\44\0\1\12\34\0\1\16"+
+    "\15\0\1\12\15\0\1\17\4\0\1\20";
+
+  private static int [] zzUnpackAction() {
+    int [] result = new int[185];
+    int offset = 0;
+    offset = zzUnpackAction(ZZ_ACTION_PACKED_0, offset, result);
+    return result;
+  }
+
+  private static int zzUnpackAction(String packed, int offset, int [] result) {
+    int i = 0;       /* index in packed string  */
+    int j = offset;  /* index in unpacked array */
+    int l = packed.length();
+    while (i < l) {
+      int count = packed.charAt(i++);
+      int value = packed.charAt(i++);
+      do result[j++] = value; while (--count > 0);
+    }
+    return j;
+  }
+
+
+  /** 
+   * Translates a state to a row index in the transition table
+   */
+  private static final int [] ZZ_ROWMAP = zzUnpackRowMap();
+
+  private static final String ZZ_ROWMAP_PACKED_0 =
+    "\0\0\0\45\0\112\0\157\0\224\0\271\0\336\0\u0103"+
+    "\0\u0128\0\0\0\u014d\0\u0172\0\u0197\0\u01bc\0\u01e1\0\u0206"+
+    "\0\u022b\0\0\0\u0250\0\u022b\0\u0275\0\u029a\0\u02bf\0\0"+
+    "\0\u02e4\0\u0309\0\u032e\0\u0353\0\u0378\0\u039d\0\u03c2\0\u03e7"+
+    "\0\0\0\u01e1\0\u0206\0\u040c\0\u0431\0\u022b\0\u029a\0\u0456"+
+    "\0\0\0\u047b\0\u04a0\0\u04c5\0\u04ea\0\u050f\0\u0534\0\u0559"+
+    "\0\u057e\0\u05a3\0\u05c8\0\u05ed\0\u0612\0\u0637\0\u065c\0\u0681"+
+    "\0\u06a6\0\u06cb\0\u06f0\0\u0715\0\u073a\0\u075f\0\u0784\0\u07a9"+
+    "\0\u07ce\0\u07f3\0\0\0\u0818\0\0\0\u083d\0\u0862\0\0"+
+    "\0\u0887\0\u08ac\0\u08d1\0\u08f6\0\u091b\0\u0940\0\u0965\0\0"+
+    "\0\u098a\0\u09af\0\u09d4\0\0\0\u09f9\0\0\0\u0a1e\0\u0a43"+
+    "\0\u0a68\0\u0a8d\0\u0ab2\0\u0ad7\0\u0afc\0\u0b21\0\u0b46\0\u0b6b"+
+    "\0\u0b90\0\u0bb5\0\u0bda\0\u0bff\0\u0c24\0\u0c49\0\u0c6e\0\u0c93"+
+    "\0\u0cb8\0\u0cdd\0\u0d02\0\u0d27\0\u0d4c\0\u0d71\0\u0d96\0\u0dbb"+
+    "\0\u0de0\0\u0e05\0\u0e2a\0\u0e4f\0\u0e74\0\u0e99\0\u0ebe\0\u0ee3"+
+    "\0\u0f08\0\u0f2d\0\u0f52\0\u0f77\0\u0f9c\0\u0fc1\0\u0fe6\0\u100b"+
+    "\0\u1030\0\u0f52\0\u1055\0\u107a\0\u109f\0\u10c4\0\u10e9\0\u110e"+
+    "\0\u1133\0\u1158\0\u117d\0\u11a2\0\u11c7\0\u11ec\0\u1211\0\u1236"+
+    "\0\u125b\0\u1280\0\u12a5\0\u12ca\0\u12ef\0\u1314\0\u1339\0\0"+
+    "\0\u135e\0\u1383\0\u13a8\0\u13cd\0\u13f2\0\u1417\0\u143c\0\u1461"+
+    "\0\u1486\0\u14ab\0\u14d0\0\u14f5\0\u151a\0\u06f0\0\u153f\0\u1564"+
+    "\0\u1589\0\u15ae\0\u15d3\0\u15f8\0\u161d\0\u1642\0\u1667\0\u168c"+
+    "\0\u16b1\0\u16d6\0\u16fb\0\0\0\u1720\0\u1745\0\u176a\0\u178f"+
+    "\0\0";
+
+  private static int [] zzUnpackRowMap() {
+    int [] result = new int[185];
+    int offset = 0;
+    offset = zzUnpackRowMap(ZZ_ROWMAP_PACKED_0, offset, result);
+    return result;
+  }
+
+  private static int zzUnpackRowMap(String packed, int offset, int [] result) {
+    int i = 0;  /* index in packed string  */
+    int j = offset;  /* index in unpacked array */
+    int l = packed.length();
+    while (i < l) {
+      int high = packed.charAt(i++) << 16;
+      result[j++] = high | packed.charAt(i++);
+    }
+    return j;
+  }
+
+  /** 
+   * The transition table of the DFA
+   */
+  private static final int [] ZZ_TRANS = zzUnpackTrans();
+
+  private static final String ZZ_TRANS_PACKED_0 =
+    "\45\0\1\10\1\11\1\12\1\10\2\12\1\13\14\10"+
+    "\1\14\12\10\1\15\5\10\1\16\1\10\1\11\1\12"+
+    "\1\10\1\12\1\17\1\13\14\10\1\14\12\10\1\15"+
+    "\5\10\1\16\1\10\1\11\1\12\1\10\2\12\1\20"+
+    "\14\10\1\12\12\10\1\12\5\10\2\12\1\11\4\12"+
+    "\1\21\36\12\1\22\1\23\3\22\1\17\1\24\36\22"+
+    "\6\25\1\26\27\25\1\27\1\30\5\25\1\10\2\0"+
+    "\1\10\1\0\1\10\1\0\14\10\1\0\12\10\1\0"+
+    "\5\10\3\0\1\12\47\0\1\31\1\0\1\32\2\0"+
+    "\1\33\3\0\1\34\2\0\1\35\46\0\1\36\57\0"+
+    "\1\37\52\0\1\40\1\41\3\0\1\41\1\42\37\41"+
+    "\5\0\1\43\1\0\1\44\5\0\1\45\34\0\1\46"+
+    "\1\0\1\44\37\0\1\22\42\0\6\25\1\0\27\25"+
+    "\2\0\5\25\5\0\1\47\1\0\1\50\2\0\1\33"+
+    "\70\0\1\51\13\0\1\31\1\0\1\32\2\0\1\33"+
+    "\3\0\1\34\36\0\1\52\43\0\1\53\54\0\1\54"+
+    "\47\0\1\55\22\0\1\56\2\0\2\56\1\57\4\56"+
+    "\1\60\11\56\1\0\20\56\36\0\1\61\52\0\1\62"+
+    "\10\0\1\63\41\0\1\45\10\0\1\64\36\0\1\65"+
+    "\45\0\1\66\1\67\72\0\1\70\24\0\1\71\46\0"+
+    "\1\72\22\0\1\56\2\0\21\56\1\73\21\56\2\0"+
+    "\2\56\1\57\4\56\1\60\11\56\1\73\21\56\2\0"+
+    "\21\56\1\73\4\56\1\74\13\56\1\75\2\0\33\75"+
+    "\2\0\5\75\44\0\1\76\11\0\1\66\52\0\1\77"+
+    "\37\0\1\67\44\0\1\100\41\0\1\101\70\0\1\102"+
+    "\16\0\1\71\6\0\1\103\30\0\22\72\1\104\22\72"+
+    "\24\0\1\105\20\0\1\56\2\0\21\56\1\73\5\56"+
+    "\1\106\12\56\1\75\2\0\33\75\1\0\1\107\5\75"+
+    "\44\0\1\110\20\0\1\111\37\0\1\112\71\0\1\113"+
+    "\45\0\1\114\3\0\22\72\1\115\22\72\1\56\2\0"+
+    "\21\56\1\73\10\56\1\116\7\56\37\0\1\117\12\0"+
+    "\1\111\6\0\1\120\42\0\1\121\65\0\1\122\53\0"+
+    "\1\123\2\0\14\72\1\124\5\72\1\115\22\72\1\56"+
+    "\2\0\15\56\1\125\3\56\1\73\20\56\37\0\1\126"+
+    "\12\0\1\121\6\0\1\127\71\0\1\130\23\0\1\131"+
+    "\24\0\1\56\2\0\21\56\1\73\2\56\1\132\15\56"+
+    "\6\127\1\133\36\127\42\0\1\134\12\0\1\135\34\0"+
+    "\1\132\2\0\20\132\1\136\1\73\20\132\5\127\2\133"+
+    "\6\127\1\137\27\127\20\0\1\140\33\0\1\141\35\0"+
+    "\1\56\2\0\20\56\1\142\1\73\1\143\3\56\1\144"+
+    "\2\56\1\145\10\56\5\127\1\137\1\133\1\146\35\127"+
+    "\5\0\1\140\6\0\1\147\1\150\62\0\1\151\11\0"+
+    "\1\152\2\0\21\152\1\73\20\152\1\56\2\0\21\56"+
+    "\1\73\1\56\1\153\17\56\2\0\21\56\1\73\5\56"+
+    "\1\154\13\56\2\0\7\56\1\155\11\56\1\73\1\56"+
+    "\1\156\16\56\6\127\1\133\1\127\1\157\34\127\6\147"+
+    "\1\160\36\147\5\0\1\150\6\0\1\147\73\0\1\161"+
+    "\1\0\1\152\2\0\21\152\1\162\20\152\1\56\2\0"+
+    "\21\56\1\73\1\56\1\163\17\56\2\0\7\56\1\164"+
+    "\11\56\1\73\21\56\2\0\21\56\1\73\6\56\1\165"+
+    "\12\56\2\0\13\56\1\166\5\56\1\73\20\56\6\127"+
+    "\1\133\2\127\1\167\33\127\5\147\2\160\6\147\1\170"+
+    "\27\147\5\0\1\161\6\0\1\171\1\172\53\0\1\173"+
+    "\20\0\1\56\2\0\13\56\1\174\5\56\1\73\21\56"+
+    "\2\0\21\56\1\73\6\56\1\175\12\56\2\0\15\56"+
+    "\1\166\3\56\1\73\21\56\2\0\21\56\1\73\2\56"+
+    "\1\176\15\56\6\127\1\133\3\127\1\177\32\127\5\147"+
+    "\1\170\1\160\1\200\35\147\6\171\1\201\36\171\5\0"+
+    "\1\172\6\0\1\171\30\0\1\202\2\0\20\202\1\203"+
+    "\1\73\20\202\1\56\2\0\21\56\1\73\2\56\1\176"+
+    "\1\166\15\56\2\0\21\56\1\73\1\56\1\204\17\56"+
+    "\2\0\12\56\1\205\6\56\1\73\20\56\6\127\1\133"+
+    "\4\127\1\206\31\127\6\147\1\160\1\147\1\207\34\147"+
+    "\5\171\2\201\6\171\1\210\27\171\23\0\1\211\1\0"+
+    "\1\212\3\0\1\213\2\0\1\214\10\0\1\56\2\0"+
+    "\5\56\1\215\13\56\1\73\21\56\2\0\12\56\1\216"+
+    "\6\56\1\73\20\56\6\127\1\133\3\127\1\217\32\127"+
+    "\6\147\1\160\3\147\1\220\32\147\5\171\1\210\1\201"+
+    "\3\171\1\221\32\171\1\222\2\0\21\222\1\0\20\222"+
+    "\26\0\1\223\50\0\1\224\24\0\1\225\13\0\1\226"+
+    "\16\0\1\56\2\0\21\56\1\73\2\56\1\216\15\56"+
+    "\1\227\2\0\21\227\1\73\20\227\5\127\1\217\1\133"+
+    "\5\127\1\230\30\127\6\147\1\160\1\231\35\147\6\171"+
+    "\1\201\1\232\35\171\1\222\2\0\21\222\1\233\20\222"+
+    "\26\0\1\234\30\0\1\235\65\0\1\236\27\0\1\237"+
+    "\26\0\1\227\2\0\21\227\1\240\20\227\6\147\1\160"+
+    "\31\147\1\241\4\147\6\171\1\201\31\171\1\242\4\171"+
+    "\24\0\1\202\36\0\1\243\61\0\1\244\31\0\1\237"+
+    "\53\0\1\245\15\0\1\202\2\0\20\202\1\203\1\246"+
+    "\20\202\6\147\1\160\24\147\1\247\11\147\6\171\1\201"+
+    "\24\171\1\250\11\171\27\0\1\245\1\237\42\0\1\251"+
+    "\33\0\1\252\27\0\6\147\1\160\32\147\1\253\3\147"+
+    "\6\171\1\201\32\171\1\254\3\171\10\0\1\255\51\0"+
+    "\1\256\27\0\6\147\1\160\33\147\1\257\2\147\6\171"+
+    "\1\201\33\171\1\260\2\171\27\0\1\256\15\0\1\261"+
+    "\2\0\21\261\1\0\20\261\6\147\1\160\11\147\1\262"+
+    "\24\147\6\171\1\201\11\171\1\263\24\171\1\261\2\0"+
+    "\21\261\1\202\20\261\5\147\1\262\1\160\5\147\1\264"+
+    "\30\147\6\171\1\201\1\171\1\265\42\171\1\201\1\266"+
+    "\43\171\1\201\24\171\1\267\17\171\1\201\34\171\1\270"+
+    "\6\171\1\270\1\201\5\171\1\271\30\171";
+
+  private static int [] zzUnpackTrans() {
+    int [] result = new int[6068];
+    int offset = 0;
+    offset = zzUnpackTrans(ZZ_TRANS_PACKED_0, offset, result);
+    return result;
+  }
+
+  private static int zzUnpackTrans(String packed, int offset, int [] result) {
+    int i = 0;       /* index in packed string  */
+    int j = offset;  /* index in unpacked array */
+    int l = packed.length();
+    while (i < l) {
+      int count = packed.charAt(i++);
+      int value = packed.charAt(i++);
+      value--;
+      do result[j++] = value; while (--count > 0);
+    }
+    return j;
+  }
+
+
+  /* error codes */
+  private static final int ZZ_UNKNOWN_ERROR = 0;
+  private static final int ZZ_NO_MATCH = 1;
+  private static final int ZZ_PUSHBACK_2BIG = 2;
+
+  /* error messages for the codes above */
+  private static final String ZZ_ERROR_MSG[] = {
+    "Unkown internal scanner error",
+    "Error: could not match input",
+    "Error: pushback value was too large"
+  };
+
+  /**
+   * ZZ_ATTRIBUTE[aState] contains the attributes of state <code>aState</code>
+   */
+  private static final int [] ZZ_ATTRIBUTE = zzUnpackAttribute();
+
+  private static final String ZZ_ATTRIBUTE_PACKED_0 =
+    "\1\10\6\0\2\1\1\11\7\1\1\11\5\1\1\11"+
+    "\6\0\1\1\1\0\1\11\7\0\1\11\10\0\1\1"+
+    "\13\0\1\1\4\0\1\11\1\0\1\11\2\0\1\11"+
+    "\7\0\1\11\3\0\1\11\1\0\1\11\44\0\1\1"+
+    "\34\0\1\11\15\0\1\1\15\0\1\11\4\0\1\11";
+
+  private static int [] zzUnpackAttribute() {
+    int [] result = new int[185];
+    int offset = 0;
+    offset = zzUnpackAttribute(ZZ_ATTRIBUTE_PACKED_0, offset, result);
+    return result;
+  }
+
+  private static int zzUnpackAttribute(String packed, int offset, int [] result) {
+    int i = 0;       /* index in packed string  */
+    int j = offset;  /* index in unpacked array */
+    int l = packed.length();
+    while (i < l) {
+      int count = packed.charAt(i++);
+      int value = packed.charAt(i++);
+      do result[j++] = value; while (--count > 0);
+    }
+    return j;
+  }
+
+  /** the input device */
+  private java.io.Reader zzReader;
+
+  /** the current state of the DFA */
+  private int zzState;
+
+  /** the current lexical state */
+  private int zzLexicalState = YYINITIAL;
+
+  /** this buffer contains the current text to be matched and is
+      the source of the yytext() string */
+  private char zzBuffer[] = new char[ZZ_BUFFERSIZE];
+
+  /** the textposition at the last accepting state */
+  private int zzMarkedPos;
+
+  /** the textposition at the last state to be included in yytext */
+  private int zzPushbackPos;
+
+  /** the current text position in the buffer */
+  private int zzCurrentPos;
+
+  /** startRead marks the beginning of the yytext() string in the buffer */
+  private int zzStartRead;
+
+  /** endRead marks the last character in the buffer, that has been read
+      from input */
+  private int zzEndRead;
+
+  /** number of newlines encountered up to the start of the matched text */
+  private int yyline;
+
+  /** the number of characters up to the start of the matched text */
+  private int yychar;
+
+  /**
+   * the number of characters from the last newline up to the start of the 
+   * matched text
+   */
+  private int yycolumn;
+
+  /** 
+   * zzAtBOL == true <=> the scanner is currently at the beginning of a line
+   */
+  private boolean zzAtBOL = true;
+
+  /** zzAtEOF == true <=> the scanner is at the EOF */
+  private boolean zzAtEOF;
+
+  /* user code: */
+    protected static WikiLogger logger = WikiLogger.getLogger(JAMWikiMetadataScanner.class.getName());
+    /**
+     * Pattern matching template content in which a template name is built
+     * from a template parameter, such as "{{{{{1}}}}}", so that the templates
+     * used cannot be found without expanding the template.
+     */
+    private static final Pattern DYNAMIC_TEMPLATE_PATTERN = Pattern.compile("\\{\\{[^\\|\\}]*\\{\\{\\{");
+    /** Value stored in the template topic map for templates that do not exist. */
+    private static final Object MISSING_TOPIC = new Object();
+    protected boolean allowHTML = false;
+    protected boolean allowTemplates = false;
+    protected int templateCharCount = 0;
+    protected StringBuilder templateString = new StringBuilder();
+    /**
+     * Map of template name to <code>Boolean.TRUE</code> if the template content
+     * must be expanded to find the templates that it uses, shared by all lexers
+     * of the same scan.  Template content is only scanned the first time that
+     * the template is used.
+     */
+    protected HashMap scannedTemplates = null;
+    /** Map of template name to template topic, shared by all lexers of the same scan. */
+    protected HashMap templateTopics = null;
+    protected ParserTag templateTag = null;
+    protected ParserTag wikiLinkTag = null;
+    protected ParserTag wikiSignatureTag = null;
+
+    /**
+     *
+     */
+    public void init(ParserInput parserInput, ParserDocument parserDocument, int mode) throws Exception {
+        this.parserInput = parserInput;
+        this.parserDocument = parserDocument;
+        this.mode = mode;
+        boolean validated = true;
+        // validate parser settings
+        if (this.mode != JFlexParser.MODE_METADATA && this.mode != JFlexParser.MODE_TEMPLATE) validated = false;
+        if (this.parserInput.getVirtualWiki() == null) validated = false;
+        if (this.parserInput.getTopicName() == null) validated = false;
+        if (!validated) {
+            throw new Exception("Parser info not properly initialized");
+        }
+        this.scannedTemplates = new HashMap();
+        this.templateTopics = new HashMap();
+        this.loadContext();
+    }
+
+    /**
+     *
+     */
+    protected void appendMatchedText() throws java.io.IOException {
+        // no output is produced while scanning
+    }
+
+    /**
+     *
+     */
+    protected int getBufferSize() {
+        return this.zzBuffer.length;
+    }
+
+    /**
+     *
+     */
+    protected void setBufferSize(int size) {
+        this.zzBuffer = new char[size];
+    }
+
+    /**
+     *
+     */
+    protected void loadSettings(ParserContext context) {
+        templateTag = ParserTagRegistry.getTag(TemplateTag.class);
+        wikiLinkTag = ParserTagRegistry.getTag(WikiLinkTag.class);
+        wikiSignatureTag = ParserTagRegistry.getTag(WikiSignatureTag.class);
+        allowHTML = context.getAllowHtml();
+        allowTemplates = context.getAllowTemplates();
+    }
+
+    /**
+     *
+     */
+    protected void resetState() {
+        templateCharCount = 0;
+        templateString.setLength(0);
+        scannedTemplates = null;
+        templateTopics = null;
+        yybegin(NORMAL);
+        states.add(new Integer(yystate()));
+    }
+
+    /**
+     * Add a template to the document metadata.  Templates used by template
+     * content or parameter values are only added once, as they are when a
+     * template fragment is merged into the document that contains it.
+     */
+    private void addTemplate(String name) {
+        if (this.mode == JFlexParser.MODE_METADATA) {
+            this.parserDocument.addLink(name);
+            this.parserDocument.addTemplate(name);
+        } else if (!this.parserDocument.getTemplates().contains(name)) {
+            this.parserDocument.addTemplate(name);
+        }
+    }
+
+    /**
+     * Expand a call to a template whose content builds template names from
+     * template parameters, adding the templates used by the expanded
+     * template to the document metadata.
+     */
+    private void expandTemplate(String raw) throws Exception {
+        ParserDocument templateDocument = new ParserDocument();
+        this.templateTag.parse(this.parserInput, templateDocument, JFlexParser.MODE_TEMPLATE, raw);
+        for (Iterator iterator = templateDocument.getTemplates().iterator(); iterator.hasNext();) {
+            String template = (String)iterator.next();
+            if (!this.parserDocument.getTemplates().contains(template)) {
+                this.parserDocument.addTemplate(template);
+            }
+        }
+        if (this.mode == JFlexParser.MODE_METADATA) {
+            for (Iterator iterator = templateDocument.getLinks().iterator(); iterator.hasNext();) {
+                this.parserDocument.addLink((String)iterator.next());
+            }
+        }
+    }
+
+    /**
+     * Return the topic for a template, or <code>null</code> if the template
+     * does not exist.  Each template is only retrieved once per scan.
+     */
+    private Topic lookupTemplate(String name) throws Exception {
+        Object topic = this.templateTopics.get(name);
+        if (topic == null) {
+            ParserContext context = this.parserInput.getParserContext();
+            if (context != null) {
+                topic = context.lookupTopic(this.parserInput.getDataHandler(), this.parserInput.getVirtualWiki(), name);
+            } else {
+                topic = this.parserInput.getDataHandler().lookupTopic(this.parserInput.getVirtualWiki(), name, false, null);
+            }
+            this.templateTopics.put(name, (topic == null) ? MISSING_TOPIC : topic);
+        }
+        return (topic == MISSING_TOPIC) ? null : (Topic)topic;
+    }
+
+    /**
+     * Scan a fragment of template content or a template parameter value for
+     * the templates that it uses.
+     */
+    private void scan(String raw) throws Exception {
+        if (raw.indexOf("{{") == -1) {
+            return;
+        }
+        JAMWikiMetadataScanner lexer = (JAMWikiMetadataScanner)LexerPool.acquire(JAMWikiMetadataScanner.class, new StringReader(raw), raw.length());
+        try {
+            lexer.init(this.parserInput, this.parserDocument, JFlexParser.MODE_TEMPLATE);
+            lexer.scannedTemplates = this.scannedTemplates;
+            lexer.templateTopics = this.templateTopics;
+            while (lexer.yylex() != YYEOF) {
+                // no output is produced while scanning
+            }
+        } finally {
+            LexerPool.release(lexer);
+        }
+    }
+
+    /**
+     * Scan template content for the templates that it uses.  Parameters are
+     * replaced throughout the template content before it is parsed, and the
+     * value and default value of every parameter are parsed as they are
+     * replaced, so parameters are scanned even where they appear within
+     * content that is not included, such as a noinclude tag.
+     */
+    private void scanContent(String content) throws Exception {
+        int pos = content.indexOf("{{{");
+        while (pos != -1) {
+            int endPos = TemplateTag.findMatchingEndTag(content, pos, "{{{", "}}}");
+            if (endPos == -1) {
+                break;
+            }
+            this.scanContent(content.substring(pos + "{{{".length(), endPos - "}}}".length()));
+            pos = content.indexOf("{{{", endPos);
+        }
+        this.scan(content);
+    }
+
+    /**
+     * Record the metadata for a call to a template of the form
+     * "{{template|param1|param2}}" and scan the parameter values and the
+     * template content for any other templates used.
+     */
+    private void scanTemplate(String raw) {
+        try {
+            TemplateTag tag = (TemplateTag)this.templateTag;
+            String name = tag.parseTemplateName(raw);
+            if (tag.isMagicWord(name)) {
+                return;
+            }
+            boolean inclusion = false;
+            if (name.startsWith(NamespaceHandler.NAMESPACE_SEPARATOR)) {
+                name = name.substring(1);
+                inclusion = true;
+            }
+            Topic templateTopic = this.lookupTemplate(name);
+            if (templateTopic != null) {
+                name = templateTopic.getName();
+            }
+            if (inclusion || templateTopic == null || templateTopic.getTopicType() == Topic.TYPE_REDIRECT) {
+                // included topics and missing templates are not parsed
+                this.addTemplate(name);
+                return;
+            }
+            Boolean dynamic = (Boolean)this.scannedTemplates.get(name);
+            if (dynamic == null) {
+                dynamic = Boolean.valueOf(DYNAMIC_TEMPLATE_PATTERN.matcher(templateTopic.getTopicContent()).find());
+                this.scannedTemplates.put(name, dynamic);
+                if (!dynamic.booleanValue()) {
+                    this.addTemplate(name);
+                    this.scanParameters(raw, templateTopic);
+                    this.scanContent(templateTopic.getTopicContent());
+                    return;
+                }
+            }
+            if (dynamic.booleanValue()) {
+                this.expandTemplate(raw);
+                return;
+            }
+            this.addTemplate(name);
+            this.scanParameters(raw, templateTopic);
+        } catch (Exception e) {
+            logger.info("Unable to scan " + raw, e);
+        }
+    }
+
+    /**
+     * Scan the parameter values of a template call for any templates used.
+     * Parameter values are only parsed if the template uses them, so values
+     * of parameters that the template does not use are not scanned.
+     */
+    private void scanParameters(String raw, Topic templateTopic) throws Exception {
+        if (raw.indexOf("{{", "{{".length()) == -1) {
+            // no parameter value uses a template
+            return;
+        }
+        CompiledTemplate compiledTemplate = CompiledTemplate.getCompiledTemplate(templateTopic);
+        TemplateTag tag = (TemplateTag)this.templateTag;
+        Vector tokens = tag.tokenizeParams(raw.substring("{{".length(), raw.length() - "}}".length()));
+        // first token is template name
+        for (int i = 1; i < tokens.size(); i++) {
+            String token = (String)tokens.get(i);
+            if (token.indexOf("{{") == -1) {
+                continue;
+            }
+            String[] nameValue = tag.tokenizeNameValue(token);
+            String name = (nameValue[0] == null) ? Integer.toString(i) : nameValue[0];
+            if (nameValue[1] != null && compiledTemplate.usesParameter(name)) {
+                this.scan(nameValue[1].trim());
+            }
+        }
+    }
+
+
+  /**
+   * Creates a new scanner
+   * There is also a java.io.InputStream version of this constructor.
+   *
+   * @param   in  the java.io.Reader to read input from.
+   */
+  public JAMWikiMetadataScanner(java.io.Reader in) {
+      this.resetState();
+    this.zzReader = in;
+  }
+
+  /**
+   * Creates a new scanner.
+   * There is also java.io.Reader version of this constructor.
+   *
+   * @param   in  the java.io.Inputstream to read input from.
+   */
+  public JAMWikiMetadataScanner(java.io.InputStream in) {
+    this(new java.io.InputStreamReader(in));
+  }
+
+  /** 
+   * Unpacks the compressed character translation table.
+   *
+   * @param packed   the packed character translation table
+   * @return         the unpacked character translation table
+   */
+  private static char [] zzUnpackCMap(String packed) {
+    char [] map = new char[0x10000];
+    int i = 0;  /* index in packed string  */
+    int j = 0;  /* index in unpacked array */
+    while (i < 170) {
+      int  count = packed.charAt(i++);
+      char value = packed.charAt(i++);
+      do map[j++] = value; while (--count > 0);
+    }
+    return map;
+  }
+
+
+  /**
+   * Refills the input buffer.
+   *
+   * @return      <code>false</code>, iff there was new input.
+   * 
+   * @exception   java.io.IOException  if any I/O-Error occurs
+   */
+  private boolean zzRefill() throws java.io.IOException {
+
+    /* first: make room (if you can) */
+    if (zzStartRead > 0) {
+      System.arraycopy(zzBuffer, zzStartRead,
+                       zzBuffer, 0,
+                       zzEndRead-zzStartRead);
+
+      /* translate stored positions */
+      zzEndRead-= zzStartRead;
+      zzCurrentPos-= zzStartRead;
+      zzMarkedPos-= zzStartRead;
+      zzPushbackPos-= zzStartRead;
+      zzStartRead = 0;
+    }
+
+    /* is the buffer big enough? */
+    if (zzCurrentPos >= zzBuffer.length) {
+      /* if not: blow it up */
+      char newBuffer[] = new char[zzCurrentPos*2];
+      System.arraycopy(zzBuffer, 0, newBuffer, 0, zzBuffer.length);
+      zzBuffer = newBuffer;
+    }
+
+    /* finally: fill the buffer with new input */
+    int numRead = zzReader.read(zzBuffer, zzEndRead,
+                                            zzBuffer.length-zzEndRead);
+
+    if (numRead < 0) {
+      return true;
+    }
+    else {
+      zzEndRead+= numRead;
+      return false;
+    }
+  }
+
+    
+  /**
+   * Closes the input stream.
+   */
+  public final void yyclose() throws java.io.IOException {
+    zzAtEOF = true;            /* indicate end of file */
+    zzEndRead = zzStartRead;  /* invalidate buffer    */
+
+    if (zzReader != null)
+      zzReader.close();
+  }
+
+
+  /**
+   * Resets the scanner to read from a new input stream.
+   * Does not close the old reader.
+   *
+   * All internal variables are reset, the old input stream 
+   * <b>cannot</b> be reused (internal buffer is discarded and lost).
+   * Lexical state is set to <tt>ZZ_INITIAL</tt>.
+   *
+   * @param reader   the new input stream 
+   */
+  public final void yyreset(java.io.Reader reader) {
+    zzReader = reader;
+    zzAtBOL  = true;
+    zzAtEOF  = false;
+    zzEndRead = zzStartRead = 0;
+    zzCurrentPos = zzMarkedPos = zzPushbackPos = 0;
+    yyline = yychar = yycolumn = 0;
+    zzLexicalState = YYINITIAL;
+  }
+
+
+  /**
+   * Returns the current lexical state.
+   */
+  public final int yystate() {
+    return zzLexicalState;
+  }
+
+
+  /**
+   * Enters a new lexical state
+   *
+   * @param newState the new lexical state
+   */
+  public final void yybegin(int newState) {
+    zzLexicalState = newState;
+  }
+
+
+  /**
+   * Returns the text matched by the current regular expression.
+   */
+  public final String yytext() {
+    return new String( zzBuffer, zzStartRead, zzMarkedPos-zzStartRead );
+  }
+
+
+  /**
+   * Returns the character at position <tt>pos</tt> from the 
+   * matched text. 
+   * 
+   * It is equivalent to yytext().charAt(pos), but faster
+   *
+   * @param pos the position of the character to fetch. 
+   *            A value from 0 to yylength()-1.
+   *
+   * @return the character at position pos
+   */
+  public final char yycharat(int pos) {
+    return zzBuffer[zzStartRead+pos];
+  }
+
+
+  /**
+   * Returns the length of the matched text region.
+   */
+  public final int yylength() {
+    return zzMarkedPos-zzStartRead;
+  }
+
+
+  /**
+   * Reports an error that occured while scanning.
+   *
+   * In a wellformed scanner (no or only correct usage of 
+   * yypushback(int) and a match-all fallback rule) this method 
+   * will only be called with things that "Can't Possibly Happen".
+   * If this method is called, something is seriously wrong
+   * (e.g. a JFlex bug producing a faulty scanner etc.).
+   *
+   * Usual syntax/scanner level error handling should be done
+   * in error fallback rules.
+   *
+   * @param   errorCode  the code of the errormessage to display
+   */
+  private void zzScanError(int errorCode) {
+    String message;
+    try {
+      message = ZZ_ERROR_MSG[errorCode];
+    }
+    catch (ArrayIndexOutOfBoundsException e) {
+      message = ZZ_ERROR_MSG[ZZ_UNKNOWN_ERROR];
+    }
+
+    throw new Error(message);
+  } 
+
+
+  /**
+   * Pushes the specified amount of characters back into the input stream.
+   *
+   * They will be read again by then next call of the scanning method
+   *
+   * @param number  the number of characters to be read again.
+   *                This number must not be greater than yylength()!
+   */
+  public void yypushback(int number)  {
+    if ( number > yylength() )
+      zzScanError(ZZ_PUSHBACK_2BIG);
+
+    zzMarkedPos -= number;
+  }
+
+
+  /**
+   * Resumes scanning until the next regular expression is matched,
+   * the end of input is encountered or an I/O-Error occurs.
+   *
+   * @return      the next token
+   * @exception   java.io.IOException  if any I/O-Error occurs
+   */
+  public int yylex() throws java.io.IOException {
+    int zzInput;
+    int zzAction;
+
+    // cached fields:
+    int zzCurrentPosL;
+    int zzMarkedPosL;
+    int zzEndReadL = zzEndRead;
+    char [] zzBufferL = zzBuffer;
+    char [] zzCMapL = ZZ_CMAP;
+
+    int [] zzTransL = ZZ_TRANS;
+    int [] zzRowMapL = ZZ_ROWMAP;
+    int [] zzAttrL = ZZ_ATTRIBUTE;
+
+    while (true) {
+      zzMarkedPosL = zzMarkedPos;
+
+      if (zzMarkedPosL > zzStartRead) {
+        switch (zzBufferL[zzMarkedPosL-1]) {
+        case '\n':
+        case '\u000B':
+        case '\u000C':
+        case '\u0085':
+        case '\u2028':
+        case '\u2029':
+          zzAtBOL = true;
+          break;
+        case '\r': 
+          if (zzMarkedPosL < zzEndReadL)
+            zzAtBOL = zzBufferL[zzMarkedPosL] != '\n';
+          else if (zzAtEOF)
+            zzAtBOL = false;
+          else {
+            boolean eof = zzRefill();
+            zzMarkedPosL = zzMarkedPos;
+            zzEndReadL = zzEndRead;
+            zzBufferL = zzBuffer;
+            if (eof) 
+              zzAtBOL = false;
+            else 
+              zzAtBOL = zzBufferL[zzMarkedPosL] != '\n';
+          }
+          break;
+        default:
+          zzAtBOL = false;
+        }
+      }
+      zzAction = -1;
+
+      zzCurrentPosL = zzCurrentPos = zzStartRead = zzMarkedPosL;
+  
+      if (zzAtBOL)
+        zzState = ZZ_LEXSTATE[zzLexicalState+1];
+      else
+        zzState = ZZ_LEXSTATE[zzLexicalState];
+
+
+      zzForAction: {
+        while (true) {
+    
+          if (zzCurrentPosL < zzEndReadL)
+            zzInput = zzBufferL[zzCurrentPosL++];
+          else if (zzAtEOF) {
+            zzInput = YYEOF;
+            break zzForAction;
+          }
+          else {
+            // store back cached positions
+            zzCurrentPos  = zzCurrentPosL;
+            zzMarkedPos   = zzMarkedPosL;
+            boolean eof = zzRefill();
+            // get translated positions and possibly new buffer
+            zzCurrentPosL  = zzCurrentPos;
+            zzMarkedPosL   = zzMarkedPos;
+            zzBufferL      = zzBuffer;
+            zzEndReadL     = zzEndRead;
+            if (eof) {
+              zzInput = YYEOF;
+              break zzForAction;
+            }
+            else {
+              zzInput = zzBufferL[zzCurrentPosL++];
+            }
+          }
+          int zzNext = zzTransL[ zzRowMapL[zzState] + zzCMapL[zzInput] ];
+          if (zzNext == -1) break zzForAction;
+          zzState = zzNext;
+
+          int zzAttributes = zzAttrL[zzState];
+          if ( (zzAttributes & 1) == 1 ) {
+            zzAction = zzState;
+            zzMarkedPosL = zzCurrentPosL;
+            if ( (zzAttributes & 8) == 8 ) break zzForAction;
+          }
+
+        }
+      }
+
+      // store back cached position
+      zzMarkedPos = zzMarkedPosL;
+
+      switch (zzAction < 0 ? zzAction : ZZ_ACTION[zzAction]) {
+        case 9: 
+          { if (allowHTML) {
+        beginState(PRE);
+    }
+          }
+        case 17: break;
+        case 12: 
+          { // comments are not scanned
+          }
+        case 18: break;
+        case 6: 
+          { if (this.allowTemplates) {
+        this.templateString.append("{{");
+        this.templateCharCount += 2;
+        if (yystate() != TEMPLATE) {
+            beginState(TEMPLATE);
+        }
+    }
+          }
+        case 19: break;
+        case 2: 
+          { endState();
+    // rollback the one non-pre character so it can be processed
+    yypushback(1);
+          }
+        case 20: break;
+        case 15: 
+          { // noinclude content is not parsed
+          }
+        case 21: break;
+        case 13: 
+          { // parameters are not scanned outside of templates
+          }
+        case 22: break;
+        case 5: 
+          { this.templateString.append('}');
+    this.templateCharCount--;
+    if (this.templateCharCount == 0) {
+        endState();
+        String value = this.templateString.toString();
+        this.templateString.setLength(0);
+        this.scanTemplate(value);
+    }
+          }
+        case 23: break;
+        case 14: 
+          { // nowiki content is not scanned
+          }
+        case 24: break;
+        case 3: 
+          { this.templateString.append(zzBuffer, zzStartRead, zzMarkedPos - zzStartRead);
+          }
+        case 25: break;
+        case 10: 
+          { // links within templates are not part of the document metadata
+    if (this.mode == JFlexParser.MODE_METADATA) {
+        this.parseToken(yytext(), this.wikiLinkTag);
+    }
+          }
+        case 26: break;
+        case 1: 
+          { // no output is produced while scanning
+          }
+        case 27: break;
+        case 8: 
+          { // signatures link to the user page of the current user
+    if (this.mode == JFlexParser.MODE_METADATA) {
+        ((WikiSignatureTag)this.wikiSignatureTag).parseMetadata(this.parserInput, this.parserDocument, yytext());
+    }
+          }
+        case 28: break;
+        case 11: 
+          { // state only changes to pre if allowHTML is true, so no need to check here
+    endState();
+          }
+        case 29: break;
+        case 16: 
+          { // includeonly content is not parsed
+          }
+        case 30: break;
+        case 4: 
+          { this.templateString.append('{');
+    this.templateCharCount++;
+    if (this.templateString.length() == 3) {
+        // param, not a template
+        this.templateCharCount = 0;
+        endState();
+        this.templateString.setLength(0);
+    }
+          }
+        case 31: break;
+        case 7: 
+          { // rollback the one non-pre character so it can be processed
+    yypushback(yytext().length() - 1);
+    if (yystate() != WIKIPRE) {
+        beginState(WIKIPRE);
+    }
+          }
+        case 32: break;
+        default: 
+          if (zzInput == YYEOF && zzStartRead == zzCurrentPos) {
+            zzAtEOF = true;
+              {     if (yystate() == TEMPLATE || yystate() == PRE || this.templateString.length() > 0) {
+        this.unterminated = true;
+    }
+    return YYEOF;
+ }
+          } 
+          else {
+            zzScanError(ZZ_NO_MATCH);
+          }
+      }
+    }
+  }
+
+
+}
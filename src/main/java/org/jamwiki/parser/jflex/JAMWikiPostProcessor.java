@@ -1,20 +1,22 @@
-/* The following code was generated by JFlex 1.4.1 on 1/22/07 9:57 AM */
+/* The following code was generated by JFlex 1.4.1 on 10/17/26, 11:45 PM */
 
 /*
  * This class adds paragraph tags as appropriate.
  */
 package org.jamwiki.parser.jflex;
 
+import org.jamwiki.parser.ParserContext;
 import org.jamwiki.parser.ParserInput;
 import org.jamwiki.parser.ParserDocument;
+import org.jamwiki.parser.ParserTag;
 import org.jamwiki.utils.WikiLogger;
 
 
 /**
  * This class is a scanner generated by 
  * <a href="http://www.jflex.de/">JFlex</a> 1.4.1
- * on 1/22/07 9:57 AM from the specification file
- * <tt>/home/guido/workspace/jamwiki-olat/src/lex/jamwiki-postprocessor.jflex</tt>
+ * on 10/17/26, 11:45 PM from the specification file
+ * <tt>src/main/resources/jamwiki-postprocessor.jflex</tt>
  */
 public class JAMWikiPostProcessor extends AbstractLexer {
 
@@ -22,7 +24,7 @@ public class JAMWikiPostProcessor extends AbstractLexer {
   public static final int YYEOF = -1;
 
   /** initial size of the lookahead buffer */
-  private static final int ZZ_BUFFERSIZE = 16384;
+  private static final int ZZ_BUFFERSIZE = 256;
 
   /** lexical states */
   public static final int YYINITIAL = 0;
@@ -35,14 +37,14 @@ public class JAMWikiPostProcessor extends AbstractLexer {
    * Translates characters to character classes
    */
   private static final String ZZ_CMAP_PACKED = 
-    "\11\0\1\3\1\2\1\0\1\0\1\1\22\0\1\5\16\0\1\14"+
-    "\1\0\1\33\1\33\1\33\1\33\1\33\6\0\1\4\1\36\1\13"+
-    "\2\0\1\27\1\30\1\21\1\25\1\17\1\24\1\0\1\26\1\11"+
-    "\1\0\1\12\1\31\1\35\1\6\1\7\1\15\1\0\1\16\1\20"+
-    "\1\22\1\34\1\32\1\10\7\0\1\23\1\0\1\37\1\30\1\21"+
-    "\1\25\1\17\1\24\1\0\1\26\1\11\1\0\1\12\1\31\1\35"+
-    "\1\6\1\7\1\15\1\0\1\16\1\20\1\22\1\34\1\32\1\10"+
-    "\uff88\0";
+    "\11\0\1\4\1\2\1\3\1\3\1\1\22\0\1\6\16\0\1\15"+
+    "\1\0\1\34\1\34\1\34\1\34\1\34\6\0\1\5\1\37\1\14"+
+    "\2\0\1\30\1\31\1\22\1\26\1\20\1\25\1\0\1\27\1\12"+
+    "\1\0\1\13\1\32\1\36\1\7\1\10\1\16\1\0\1\17\1\21"+
+    "\1\23\1\35\1\33\1\11\7\0\1\24\1\0\1\40\1\31\1\22"+
+    "\1\26\1\20\1\25\1\0\1\27\1\12\1\0\1\13\1\32\1\36"+
+    "\1\7\1\10\1\16\1\0\1\17\1\21\1\23\1\35\1\33\1\11"+
+    "\15\0\1\3\u1fa2\0\2\3\udfd6\0";
 
   /** 
    * Translates characters to character classes
@@ -55,14 +57,14 @@ public class JAMWikiPostProcessor extends AbstractLexer {
   private static final int [] ZZ_ACTION = zzUnpackAction();
 
   private static final String ZZ_ACTION_PACKED_0 =
-    "\5\0\3\1\1\2\2\1\2\2\5\1\22\0\1\3"+
+    "\5\0\4\1\1\2\2\1\2\2\5\1\22\0\1\3"+
     "\6\0\1\4\7\0\1\5\16\0\1\6\10\0\1\6"+
     "\1\0\1\7\1\0\1\10\6\0\1\11\7\0\1\12"+
     "\15\0\1\13\20\0\1\7\1\14\5\0\1\15\12\0"+
     "\1\16\1\17";
 
   private static int [] zzUnpackAction() {
-    int [] result = new int[145];
+    int [] result = new int[146];
     int offset = 0;
     offset = zzUnpackAction(ZZ_ACTION_PACKED_0, offset, result);
     return result;
@@ -87,28 +89,28 @@ public class JAMWikiPostProcessor extends AbstractLexer {
   private static final int [] ZZ_ROWMAP = zzUnpackRowMap();
 
   private static final String ZZ_ROWMAP_PACKED_0 =
-    "\0\0\0\40\0\100\0\140\0\200\0\0\0\240\0\300"+
-    "\0\0\0\340\0\u0100\0\u0120\0\u0140\0\u0160\0\u0180\0\u01a0"+
-    "\0\u0140\0\u0120\0\300\0\u01c0\0\u01e0\0\u0200\0\u0220\0\u0120"+
-    "\0\u0240\0\u0260\0\u0280\0\u02a0\0\u02c0\0\u02e0\0\u0300\0\u0320"+
-    "\0\u0340\0\u0360\0\u0380\0\u03a0\0\u0220\0\u01a0\0\u03c0\0\u03e0"+
-    "\0\u0400\0\u0420\0\u0440\0\0\0\u0460\0\u0480\0\u04a0\0\u04c0"+
-    "\0\u04e0\0\u0500\0\u0520\0\0\0\u0540\0\u0560\0\u0580\0\u05a0"+
-    "\0\u05c0\0\u05e0\0\u0600\0\u0620\0\u0640\0\u0660\0\u0680\0\u06a0"+
-    "\0\u06c0\0\u06e0\0\0\0\u0700\0\u0720\0\u0740\0\u0760\0\u0780"+
-    "\0\u07a0\0\u07c0\0\u07e0\0\u0800\0\u0820\0\0\0\u0840\0\0"+
-    "\0\u0860\0\u0880\0\u08a0\0\u08c0\0\u08e0\0\u0900\0\0\0\u0920"+
-    "\0\u0940\0\u0960\0\u0980\0\u09a0\0\u09c0\0\u09e0\0\0\0\u0a00"+
-    "\0\u0a20\0\u0a40\0\u0a60\0\u0a80\0\u0aa0\0\u0ac0\0\u0ae0\0\u0b00"+
-    "\0\u0b20\0\u0b40\0\u0b60\0\u0b80\0\0\0\u0ba0\0\u0bc0\0\u0be0"+
-    "\0\u0c00\0\u0c20\0\u0c40\0\u0c60\0\u0c80\0\u0ca0\0\u0cc0\0\u0ce0"+
-    "\0\u0d00\0\u0d20\0\u0d40\0\u0d60\0\u0d80\0\u0960\0\0\0\u0da0"+
-    "\0\u0dc0\0\u0de0\0\u0e00\0\u0e20\0\0\0\u0e40\0\u0e60\0\u0e80"+
-    "\0\u0ea0\0\u0ec0\0\u0ee0\0\u0f00\0\u0f20\0\u0f40\0\u0f60\0\0"+
-    "\0\0";
+    "\0\0\0\41\0\102\0\143\0\204\0\245\0\306\0\0"+
+    "\0\347\0\0\0\u0108\0\u0129\0\u014a\0\u016b\0\u018c\0\u01ad"+
+    "\0\u01ce\0\u016b\0\u014a\0\347\0\u01ef\0\u0210\0\u0231\0\u0252"+
+    "\0\u014a\0\u0273\0\u0294\0\u02b5\0\u02d6\0\u02f7\0\u0318\0\u0339"+
+    "\0\u035a\0\u037b\0\u039c\0\u03bd\0\u03de\0\u0252\0\u01ce\0\u03ff"+
+    "\0\u0420\0\u0441\0\u0462\0\u0483\0\0\0\u04a4\0\u04c5\0\u04e6"+
+    "\0\u0507\0\u0528\0\u0549\0\u056a\0\0\0\u058b\0\u05ac\0\u05cd"+
+    "\0\u05ee\0\u060f\0\u0630\0\u0651\0\u0672\0\u0693\0\u06b4\0\u06d5"+
+    "\0\u06f6\0\u0717\0\u0738\0\0\0\u0759\0\u077a\0\u079b\0\u07bc"+
+    "\0\u07dd\0\u07fe\0\u081f\0\u0840\0\u0861\0\u0882\0\0\0\u08a3"+
+    "\0\0\0\u08c4\0\u08e5\0\u0906\0\u0927\0\u0948\0\u0969\0\0"+
+    "\0\u098a\0\u09ab\0\u09cc\0\u09ed\0\u0a0e\0\u0a2f\0\u0a50\0\0"+
+    "\0\u0a71\0\u0a92\0\u0ab3\0\u0ad4\0\u0af5\0\u0b16\0\u0b37\0\u0b58"+
+    "\0\u0b79\0\u0b9a\0\u0bbb\0\u0bdc\0\u0bfd\0\0\0\u0c1e\0\u0c3f"+
+    "\0\u0c60\0\u0c81\0\u0ca2\0\u0cc3\0\u0ce4\0\u0d05\0\u0d26\0\u0d47"+
+    "\0\u0d68\0\u0d89\0\u0daa\0\u0dcb\0\u0dec\0\u0e0d\0\u09cc\0\0"+
+    "\0\u0e2e\0\u0e4f\0\u0e70\0\u0e91\0\u0eb2\0\0\0\u0ed3\0\u0ef4"+
+    "\0\u0f15\0\u0f36\0\u0f57\0\u0f78\0\u0f99\0\u0fba\0\u0fdb\0\u0ffc"+
+    "\0\0\0\0";
 
   private static int [] zzUnpackRowMap() {
-    int [] result = new int[145];
+    int [] result = new int[146];
     int offset = 0;
     offset = zzUnpackRowMap(ZZ_ROWMAP_PACKED_0, offset, result);
     return result;
@@ -131,73 +133,74 @@ public class JAMWikiPostProcessor extends AbstractLexer {
   private static final int [] ZZ_TRANS = zzUnpackTrans();
 
   private static final String ZZ_TRANS_PACKED_0 =
-    "\40\0\1\6\1\7\2\6\1\10\33\6\1\11\1\12"+
-    "\1\13\1\6\1\14\1\6\15\11\1\15\14\11\1\6"+
-    "\1\16\1\17\1\6\1\20\16\6\1\21\15\6\1\7"+
-    "\2\6\1\22\16\6\1\21\14\6\2\0\1\6\42\0"+
-    "\1\23\1\24\5\0\1\25\25\0\1\13\36\0\1\26"+
-    "\1\27\42\0\1\30\1\24\1\31\4\0\1\32\1\33"+
-    "\1\34\1\0\1\35\1\0\1\36\2\0\1\37\1\40"+
-    "\1\41\1\42\3\0\1\31\2\0\1\41\23\0\1\43"+
-    "\16\0\1\17\36\0\1\44\1\45\42\0\1\46\1\24"+
-    "\1\31\4\0\1\32\1\33\1\34\1\0\1\35\1\0"+
-    "\1\47\2\0\1\37\1\50\1\41\1\42\3\0\1\31"+
-    "\2\0\1\41\7\0\1\51\35\0\1\25\7\0\1\52"+
-    "\24\0\1\27\36\0\1\53\1\54\66\0\1\55\13\0"+
-    "\1\32\1\0\1\56\5\0\1\57\2\0\1\60\1\0"+
-    "\1\61\2\0\1\62\1\63\5\0\1\56\3\0\13\55"+
-    "\1\64\1\0\1\55\1\65\21\55\17\0\1\66\35\0"+
-    "\1\67\3\0\1\70\43\0\1\71\1\0\1\72\7\0"+
-    "\1\72\11\0\1\73\17\0\1\55\24\0\1\74\14\0"+
-    "\1\55\11\0\1\41\1\75\47\0\1\76\43\0\1\77"+
-    "\17\0\1\45\62\0\1\100\1\0\1\72\7\0\1\72"+
-    "\33\0\1\55\14\0\1\101\45\0\1\102\23\0\1\54"+
-    "\35\0\13\55\1\64\1\0\23\55\31\0\1\57\13\0"+
-    "\1\57\5\0\1\103\41\0\1\104\47\0\1\105\1\0"+
-    "\1\106\7\0\1\106\11\0\1\107\17\0\1\57\41\0"+
-    "\1\57\4\0\13\55\1\64\1\0\2\55\1\110\20\55"+
-    "\24\0\1\111\42\0\1\112\7\0\1\112\16\0\1\113"+
-    "\21\0\13\71\1\114\1\0\23\71\30\0\1\115\41\0"+
-    "\1\55\5\0\13\74\1\116\24\74\27\0\1\117\7\0"+
-    "\1\117\5\0\1\76\5\0\1\120\1\121\32\0\1\122"+
-    "\30\0\13\100\1\103\1\0\23\100\11\0\1\123\45\0"+
-    "\1\124\47\0\1\125\7\0\1\125\5\0\1\105\5\0"+
-    "\1\64\54\0\1\126\41\0\1\57\5\0\5\55\1\110"+
-    "\5\55\1\127\1\0\23\55\17\0\1\130\26\0\1\55"+
-    "\42\0\1\131\26\0\2\132\1\0\35\132\31\0\1\133"+
-    "\43\0\1\134\7\0\1\121\5\0\1\120\45\0\1\135"+
-    "\30\0\1\136\32\0\1\124\5\0\1\137\32\0\1\57"+
-    "\62\0\1\140\24\0\1\141\36\0\1\142\22\0\2\132"+
-    "\1\143\1\132\1\144\33\132\17\0\1\55\37\0\1\145"+
-    "\43\0\1\146\25\0\1\147\45\0\1\57\37\0\1\150"+
-    "\42\0\1\151\21\0\1\152\33\0\2\132\1\143\1\132"+
-    "\2\144\6\132\1\153\23\132\5\0\1\145\30\0\1\154"+
-    "\24\0\1\155\21\0\1\147\5\0\1\156\32\0\1\157"+
-    "\31\0\13\151\1\160\24\151\5\0\1\152\6\0\1\161"+
-    "\23\0\2\132\1\143\1\132\1\144\1\153\14\132\1\162"+
-    "\15\132\14\163\1\0\23\163\4\156\1\164\33\156\21\0"+
-    "\1\165\16\0\4\160\1\166\33\160\5\0\1\161\14\0"+
-    "\1\167\15\0\2\132\1\143\1\132\1\144\20\132\1\170"+
-    "\12\132\14\163\1\171\23\163\4\156\2\164\6\156\1\172"+
-    "\23\156\17\0\1\173\20\0\4\160\2\166\6\160\1\174"+
-    "\23\160\25\0\1\175\12\0\2\132\1\143\1\132\1\144"+
-    "\1\170\5\132\1\176\24\132\5\0\1\171\5\0\1\177"+
-    "\23\0\1\200\4\156\1\164\1\172\1\201\31\156\20\0"+
-    "\1\202\17\0\4\160\1\166\1\174\12\160\1\203\17\160"+
-    "\5\0\1\175\5\0\1\116\31\0\1\200\5\0\1\177"+
-    "\24\0\4\156\1\164\2\156\1\204\30\156\5\0\1\202"+
-    "\5\0\1\205\1\206\23\0\4\160\1\166\14\160\1\207"+
-    "\16\160\4\156\1\164\3\156\1\210\27\156\5\0\1\206"+
-    "\5\0\1\205\24\0\4\160\1\166\11\160\1\211\21\160"+
-    "\4\156\1\164\4\156\1\212\26\156\4\160\1\166\4\160"+
-    "\1\213\26\160\4\156\1\164\5\156\1\214\25\156\4\160"+
-    "\1\166\10\160\1\215\22\160\4\156\1\164\4\156\1\216"+
-    "\26\156\4\160\1\166\15\160\1\217\15\160\4\156\1\164"+
-    "\1\216\5\156\1\220\24\156\4\160\1\166\1\217\5\160"+
-    "\1\221\24\160";
+    "\41\0\1\6\1\7\2\10\1\6\1\11\16\6\1\10"+
+    "\14\6\1\12\1\13\1\14\1\12\1\10\1\15\1\10"+
+    "\15\12\1\16\14\12\1\6\1\17\1\20\1\10\1\6"+
+    "\1\21\16\6\1\22\15\6\1\7\2\10\1\6\1\23"+
+    "\16\6\1\22\15\6\3\0\1\6\1\0\16\6\1\0"+
+    "\14\6\2\0\1\10\44\0\1\24\1\25\5\0\1\26"+
+    "\25\0\1\14\37\0\1\27\1\30\44\0\1\31\1\25"+
+    "\1\32\4\0\1\33\1\34\1\35\1\0\1\36\1\0"+
+    "\1\37\2\0\1\40\1\41\1\42\1\43\3\0\1\32"+
+    "\2\0\1\42\24\0\1\44\16\0\1\20\37\0\1\45"+
+    "\1\46\44\0\1\47\1\25\1\32\4\0\1\33\1\34"+
+    "\1\35\1\0\1\36\1\0\1\50\2\0\1\40\1\51"+
+    "\1\42\1\43\3\0\1\32\2\0\1\42\10\0\1\52"+
+    "\36\0\1\26\7\0\1\53\24\0\1\30\37\0\1\54"+
+    "\1\55\70\0\1\56\14\0\1\33\1\0\1\57\5\0"+
+    "\1\60\2\0\1\61\1\0\1\62\2\0\1\63\1\64"+
+    "\5\0\1\57\3\0\14\56\1\65\1\0\1\56\1\66"+
+    "\21\56\20\0\1\67\36\0\1\70\3\0\1\71\44\0"+
+    "\1\72\1\0\1\73\7\0\1\73\12\0\1\74\17\0"+
+    "\1\56\25\0\1\75\14\0\1\56\12\0\1\42\1\76"+
+    "\50\0\1\77\44\0\1\100\17\0\1\46\64\0\1\101"+
+    "\1\0\1\73\7\0\1\73\34\0\1\56\15\0\1\102"+
+    "\46\0\1\103\23\0\1\55\36\0\14\56\1\65\1\0"+
+    "\23\56\32\0\1\60\14\0\1\60\5\0\1\104\42\0"+
+    "\1\105\50\0\1\106\1\0\1\107\7\0\1\107\12\0"+
+    "\1\110\17\0\1\60\42\0\1\60\4\0\14\56\1\65"+
+    "\1\0\2\56\1\111\20\56\25\0\1\112\43\0\1\113"+
+    "\7\0\1\113\17\0\1\114\21\0\14\72\1\115\1\0"+
+    "\23\72\31\0\1\116\42\0\1\56\5\0\14\75\1\117"+
+    "\24\75\30\0\1\120\7\0\1\120\6\0\1\77\5\0"+
+    "\1\121\1\122\33\0\1\123\30\0\14\101\1\104\1\0"+
+    "\23\101\12\0\1\124\46\0\1\125\50\0\1\126\7\0"+
+    "\1\126\6\0\1\106\5\0\1\65\55\0\1\127\42\0"+
+    "\1\60\5\0\6\56\1\111\5\56\1\130\1\0\23\56"+
+    "\20\0\1\131\27\0\1\56\43\0\1\132\26\0\2\133"+
+    "\1\0\36\133\32\0\1\134\44\0\1\135\10\0\1\122"+
+    "\5\0\1\121\46\0\1\136\31\0\1\137\33\0\1\125"+
+    "\5\0\1\140\33\0\1\60\63\0\1\141\25\0\1\142"+
+    "\37\0\1\143\22\0\2\133\1\144\2\133\1\145\33\133"+
+    "\20\0\1\56\40\0\1\146\44\0\1\147\26\0\1\150"+
+    "\46\0\1\60\40\0\1\151\43\0\1\152\22\0\1\153"+
+    "\33\0\2\133\1\144\2\133\2\145\6\133\1\154\23\133"+
+    "\6\0\1\146\30\0\1\155\25\0\1\156\22\0\1\150"+
+    "\5\0\1\157\33\0\1\160\31\0\14\152\1\161\24\152"+
+    "\6\0\1\153\6\0\1\162\23\0\2\133\1\144\2\133"+
+    "\1\145\1\154\14\133\1\163\15\133\15\164\1\0\23\164"+
+    "\5\157\1\165\33\157\22\0\1\166\16\0\5\161\1\167"+
+    "\33\161\6\0\1\162\14\0\1\170\15\0\2\133\1\144"+
+    "\2\133\1\145\20\133\1\171\12\133\15\164\1\172\23\164"+
+    "\5\157\2\165\6\157\1\173\23\157\20\0\1\174\20\0"+
+    "\5\161\2\167\6\161\1\175\23\161\26\0\1\176\12\0"+
+    "\2\133\1\144\2\133\1\145\1\171\5\133\1\177\24\133"+
+    "\6\0\1\172\5\0\1\200\23\0\1\201\5\157\1\165"+
+    "\1\173\1\202\31\157\21\0\1\203\17\0\5\161\1\167"+
+    "\1\175\12\161\1\204\17\161\6\0\1\176\5\0\1\117"+
+    "\32\0\1\201\5\0\1\200\24\0\5\157\1\165\2\157"+
+    "\1\205\30\157\6\0\1\203\5\0\1\206\1\207\23\0"+
+    "\5\161\1\167\14\161\1\210\16\161\5\157\1\165\3\157"+
+    "\1\211\27\157\6\0\1\207\5\0\1\206\24\0\5\161"+
+    "\1\167\11\161\1\212\21\161\5\157\1\165\4\157\1\213"+
+    "\26\157\5\161\1\167\4\161\1\214\26\161\5\157\1\165"+
+    "\5\157\1\215\25\157\5\161\1\167\10\161\1\216\22\161"+
+    "\5\157\1\165\4\157\1\217\26\157\5\161\1\167\15\161"+
+    "\1\220\15\161\5\157\1\165\1\217\5\157\1\221\24\157"+
+    "\5\161\1\167\1\220\5\161\1\222\24\161";
 
   private static int [] zzUnpackTrans() {
-    int [] result = new int[3968];
+    int [] result = new int[4125];
     int offset = 0;
     offset = zzUnpackTrans(ZZ_TRANS_PACKED_0, offset, result);
     return result;
@@ -235,14 +238,14 @@ public class JAMWikiPostProcessor extends AbstractLexer {
   private static final int [] ZZ_ATTRIBUTE = zzUnpackAttribute();
 
   private static final String ZZ_ATTRIBUTE_PACKED_0 =
-    "\1\10\4\0\1\11\2\1\1\11\11\1\22\0\1\1"+
-    "\6\0\1\11\7\0\1\11\16\0\1\11\10\0\1\1"+
-    "\1\0\1\11\1\0\1\11\6\0\1\11\7\0\1\11"+
-    "\15\0\1\11\20\0\1\1\1\11\5\0\1\11\12\0"+
-    "\2\11";
+    "\1\10\4\0\2\1\1\11\1\1\1\11\11\1\22\0"+
+    "\1\1\6\0\1\11\7\0\1\11\16\0\1\11\10\0"+
+    "\1\1\1\0\1\11\1\0\1\11\6\0\1\11\7\0"+
+    "\1\11\15\0\1\11\20\0\1\1\1\11\5\0\1\11"+
+    "\12\0\2\11";
 
   private static int [] zzUnpackAttribute() {
-    int [] result = new int[145];
+    int [] result = new int[146];
     int offset = 0;
     offset = zzUnpackAttribute(ZZ_ATTRIBUTE_PACKED_0, offset, result);
     return result;
@@ -311,6 +314,9 @@ public class JAMWikiPostProcessor extends AbstractLexer {
 
   /* user code: */
     protected static WikiLogger logger = WikiLogger.getLogger(JAMWikiPostProcessor.class.getName());
+    protected ParserTag htmlPreTag = null;
+    protected ParserTag wikiNowikiTag = null;
+    protected ParserTag wikiReferencesTag = null;
     
     /**
      *
@@ -327,6 +333,45 @@ public class JAMWikiPostProcessor extends AbstractLexer {
         if (!validated) {
             throw new Exception("Parser info not properly initialized");
         }
+        this.loadContext();
+    }
+    
+    /**
+     *
+     */
+    protected void appendMatchedText() throws java.io.IOException {
+        this.append(zzBuffer, zzStartRead, zzMarkedPos - zzStartRead);
+    }
+    
+    /**
+     *
+     */
+    protected int getBufferSize() {
+        return this.zzBuffer.length;
+    }
+    
+    /**
+     *
+     */
+    protected void setBufferSize(int size) {
+        this.zzBuffer = new char[size];
+    }
+    
+    /**
+     *
+     */
+    protected void loadSettings(ParserContext context) {
+        htmlPreTag = ParserTagRegistry.getTag(HtmlPreTag.class);
+        wikiNowikiTag = ParserTagRegistry.getTag(WikiNowikiTag.class);
+        wikiReferencesTag = ParserTagRegistry.getTag(WikiReferencesTag.class);
+    }
+    
+    /**
+     *
+     */
+    protected void resetState() {
+        yybegin(NORMAL);
+        states.add(new Integer(yystate()));
     }
 
 
@@ -337,8 +382,7 @@ public class JAMWikiPostProcessor extends AbstractLexer {
    * @param   in  the java.io.Reader to read input from.
    */
   public JAMWikiPostProcessor(java.io.Reader in) {
-      yybegin(NORMAL);
-    states.add(new Integer(yystate()));
+      this.resetState();
     this.zzReader = in;
   }
 
@@ -362,7 +406,7 @@ public class JAMWikiPostProcessor extends AbstractLexer {
     char [] map = new char[0x10000];
     int i = 0;  /* index in packed string  */
     int j = 0;  /* index in unpacked array */
-    while (i < 142) {
+    while (i < 150) {
       int  count = packed.charAt(i++);
       char value = packed.charAt(i++);
       do map[j++] = value; while (--count > 0);
@@ -549,7 +593,7 @@ public class JAMWikiPostProcessor extends AbstractLexer {
    * @return      the next token
    * @exception   java.io.IOException  if any I/O-Error occurs
    */
-  public String yylex() throws java.io.IOException {
+  public int yylex() throws java.io.IOException {
     int zzInput;
     int zzAction;
 
@@ -621,106 +665,101 @@ public class JAMWikiPostProcessor extends AbstractLexer {
       switch (zzAction < 0 ? zzAction : ZZ_ACTION[zzAction]) {
         case 14: 
           { logger.finer("nowiki: " + yytext() + " (" + yystate() + ")");
-    WikiNowikiTag parserTag = new WikiNowikiTag();
-    return this.parseToken(yytext(), parserTag);
+    this.append(this.parseToken(yytext(), this.wikiNowikiTag));
           }
         case 16: break;
-        case 5: 
-          { logger.finer("nonparagraphstart: " + yytext() + " (" + yystate() + ")");
-    StringBuffer output = new StringBuffer();
-    if (yystate() == P) {
-        output.append("</p>");
-        endState();
-    }
-    beginState(NONPARAGRAPH);
-    return output.toString() + yytext();
+        case 11: 
+          { logger.finer("toc: " + yytext() + " (" + yystate() + ")");
+    this.append(this.parserInput.getTableOfContents().attemptTOCInsertion());
           }
         case 17: break;
-        case 10: 
-          { logger.finer("htmlpreend: " + yytext() + " (" + yystate() + ")");
-    endState();
-    HtmlPreTag parserTag = new HtmlPreTag();
-    return this.parseToken(yytext(), parserTag);
+        case 1: 
+          { // no need to log this
+    this.appendMatchedText();
           }
         case 18: break;
-        case 6: 
-          { logger.finer("nonparagraphend: " + yytext() + " (" + yystate() + ")");
-    if (yystate() == NONPARAGRAPH) {
-        endState();
-    } else {
-        logger.warning("Attempt to end nonparagraph state while state is not nonparagraph for text: " + yytext());
-    }
-    return yytext();
+        case 13: 
+          { logger.finer("references: " + yytext() + " (" + yystate() + ")");
+    this.append(this.parseToken(yytext(), this.wikiReferencesTag));
           }
         case 19: break;
         case 3: 
           { logger.finer("end of paragraph: " + yytext() + " (" + yystate() + ")");
     endState();
-    return "</p>" + yytext();
+    this.append("</p>");
+    this.appendMatchedText();
           }
         case 20: break;
-        case 8: 
-          { // for layout purposes <br> tags should not affect paragraph layout in any way.
-    logger.finer("break: " + yytext() + " (" + yystate() + ")");
-    return yytext();
+        case 2: 
+          { logger.finer("paragraphstart: " + yytext() + " (" + yystate() + ")");
+    beginState(P);
+    this.append("<p>");
+    this.appendMatchedText();
           }
         case 21: break;
-        case 4: 
-          { logger.finer("emptyline: " + yytext() + " (" + yystate() + ")");
-    StringBuffer output = new StringBuffer();
-    if (yystate() == P) {
-        output.append("</p>");
+        case 6: 
+          { logger.finer("nonparagraphend: " + yytext() + " (" + yystate() + ")");
+    if (yystate() == NONPARAGRAPH) {
         endState();
+    } else {
+        logger.warning("Attempt to end nonparagraph state while state is not nonparagraph for text: " + yytext());
     }
-    return output.toString() + "\n<p><br /></p>";
+    this.appendMatchedText();
           }
         case 22: break;
-        case 1: 
-          { // no need to log this
-    CharacterTag parserTag = new CharacterTag();
-    return this.parseToken(yytext(), parserTag);
+        case 7: 
+          { // <hr> and <td> tags _with no newlines_ should be ignored for the sake of paragraph parsing
+    logger.finer("noparagraph: " + yytext() + " (" + yystate() + ")");
+    this.appendMatchedText();
           }
         case 23: break;
-        case 12: 
-          { // for layout purposes and <a name="foo"></a> link should be returned without
-    // changes, but should not affect paragraph layout in any way.
-    logger.finer("anchorname: " + yytext() + " (" + yystate() + ")");
-    return yytext();
+        case 10: 
+          { logger.finer("htmlpreend: " + yytext() + " (" + yystate() + ")");
+    endState();
+    this.append(this.parseToken(yytext(), this.htmlPreTag));
           }
         case 24: break;
-        case 11: 
-          { logger.finer("toc: " + yytext() + " (" + yystate() + ")");
-    return this.parserInput.getTableOfContents().attemptTOCInsertion();
+        case 5: 
+          { logger.finer("nonparagraphstart: " + yytext() + " (" + yystate() + ")");
+    if (yystate() == P) {
+        this.append("</p>");
+        endState();
+    }
+    beginState(NONPARAGRAPH);
+    this.appendMatchedText();
           }
         case 25: break;
-        case 13: 
-          { logger.finer("references: " + yytext() + " (" + yystate() + ")");
-    WikiReferencesTag parserTag = new WikiReferencesTag();
-    return this.parseToken(yytext(), parserTag);
+        case 4: 
+          { logger.finer("emptyline: " + yytext() + " (" + yystate() + ")");
+    if (yystate() == P) {
+        this.append("</p>");
+        endState();
+    }
+    this.append("\n<p><br /></p>");
           }
         case 26: break;
-        case 7: 
-          { // <hr> and <td> tags _with no newlines_ should be ignored for the sake of paragraph parsing
-    logger.finer("noparagraph: " + yytext() + " (" + yystate() + ")");
-    return yytext();
+        case 12: 
+          { // for layout purposes and <a name="foo"></a> link should be returned without
+    // changes, but should not affect paragraph layout in any way.
+    logger.finer("anchorname: " + yytext() + " (" + yystate() + ")");
+    this.appendMatchedText();
           }
         case 27: break;
-        case 15: 
-          { logger.finer("javascript: " + yytext() + " (" + yystate() + ")");
-    return yytext();
+        case 8: 
+          { // for layout purposes <br> tags should not affect paragraph layout in any way.
+    logger.finer("break: " + yytext() + " (" + yystate() + ")");
+    this.appendMatchedText();
           }
         case 28: break;
-        case 2: 
-          { logger.finer("paragraphstart: " + yytext() + " (" + yystate() + ")");
-    beginState(P);
-    return "<p>" + yytext();
+        case 15: 
+          { logger.finer("javascript: " + yytext() + " (" + yystate() + ")");
+    this.appendMatchedText();
           }
         case 29: break;
         case 9: 
           { logger.finer("htmlprestart: " + yytext() + " (" + yystate() + ")");
     beginState(PRE);
-    HtmlPreTag parserTag = new HtmlPreTag();
-    return this.parseToken(yytext(), parserTag);
+    this.append(this.parseToken(yytext(), this.htmlPreTag));
           }
         case 30: break;
         default: 
@@ -731,7 +770,11 @@ public class JAMWikiPostProcessor extends AbstractLexer {
         endState();
         output.append("</p>");
     }
-    return (output.length() == 0) ? null : output.toString();
+    if (output.length() == 0) {
+        return YYEOF;
+    }
+    this.append(output);
+    return YYCONTINUE;
  }
           } 
           else {
@@ -1,4 +1,4 @@
-/* The following code was generated by JFlex 1.4.1 on 1/22/07 9:57 AM */
+/* The following code was generated by JFlex 1.4.1 on 10/18/26, 12:38 AM */
 
 /*
  * The pre-processor performs initial parsing steps used to initialize
@@ -7,18 +7,18 @@
  */
 package org.jamwiki.parser.jflex;
 
-import org.jamwiki.Environment;
+import org.jamwiki.parser.ParserContext;
 import org.jamwiki.parser.ParserInput;
 import org.jamwiki.parser.ParserDocument;
+import org.jamwiki.parser.ParserTag;
 import org.jamwiki.utils.WikiLogger;
-import org.springframework.util.StringUtils;
 
 
 /**
  * This class is a scanner generated by 
  * <a href="http://www.jflex.de/">JFlex</a> 1.4.1
- * on 1/22/07 9:57 AM from the specification file
- * <tt>/home/guido/workspace/jamwiki-olat/src/lex/jamwiki-preprocessor.jflex</tt>
+ * on 10/18/26, 12:38 AM from the specification file
+ * <tt>src/main/resources/jamwiki-preprocessor.jflex</tt>
  */
 public class JAMWikiPreProcessor extends AbstractLexer {
 
@@ -26,7 +26,7 @@ public class JAMWikiPreProcessor extends AbstractLexer {
   public static final int YYEOF = -1;
 
   /** initial size of the lookahead buffer */
-  private static final int ZZ_BUFFERSIZE = 16384;
+  private static final int ZZ_BUFFERSIZE = 256;
 
   /** lexical states */
   public static final int TEMPLATE = 8;
@@ -49,15 +49,15 @@ public class JAMWikiPreProcessor extends AbstractLexer {
    * Translates characters to character classes
    */
   private static final String ZZ_CMAP_PACKED = 
-    "\11\0\1\17\1\2\1\0\1\0\1\1\22\0\1\4\1\20\13\0"+
-    "\1\21\1\0\1\13\12\0\1\26\1\0\1\3\1\0\1\12\2\0"+
-    "\1\31\1\0\1\37\1\41\1\16\1\33\1\34\1\24\1\10\1\0"+
-    "\1\11\1\32\1\30\1\5\1\6\1\14\1\0\1\15\1\27\1\25"+
-    "\1\40\1\0\1\7\1\0\1\42\1\0\1\22\1\0\1\23\3\0"+
-    "\1\31\1\0\1\37\1\41\1\16\1\33\1\34\1\24\1\10\1\0"+
-    "\1\11\1\32\1\30\1\5\1\6\1\14\1\0\1\15\1\27\1\25"+
-    "\1\40\1\0\1\7\1\0\1\42\1\0\1\35\1\0\1\36\1\43"+
-    "\uff81\0";
+    "\11\0\1\3\1\2\1\4\1\4\1\1\22\0\1\5\1\21\13\0"+
+    "\1\22\1\0\1\15\12\0\1\27\1\0\1\6\1\0\1\14\2\0"+
+    "\1\32\1\0\1\40\1\42\1\20\1\34\1\35\1\25\1\12\1\0"+
+    "\1\13\1\33\1\31\1\7\1\10\1\16\1\0\1\17\1\30\1\26"+
+    "\1\41\1\0\1\11\1\0\1\43\1\0\1\23\1\0\1\24\3\0"+
+    "\1\32\1\0\1\40\1\42\1\20\1\34\1\35\1\25\1\12\1\0"+
+    "\1\13\1\33\1\31\1\7\1\10\1\16\1\0\1\17\1\30\1\26"+
+    "\1\41\1\0\1\11\1\0\1\43\1\0\1\36\1\0\1\37\1\44"+
+    "\6\0\1\4\u1fa2\0\2\4\udfd6\0";
 
   /** 
    * Translates characters to character classes
@@ -70,7 +70,7 @@ public class JAMWikiPreProcessor extends AbstractLexer {
   private static final int [] ZZ_ACTION = zzUnpackAction();
 
   private static final String ZZ_ACTION_PACKED_0 =
-    "\7\0\11\1\3\2\3\3\1\4\1\5\6\0\1\6"+
+    "\7\0\12\1\3\2\2\3\1\4\1\5\6\0\1\6"+
     "\1\0\1\7\7\0\1\6\10\0\1\10\13\0\1\10"+
     "\4\0\1\11\1\0\1\12\2\0\1\10\7\0\1\13"+
     "\3\0\1\14\1\0\1\15\44\0\1\12\22\0\1\16"+
@@ -102,30 +102,30 @@ public class JAMWikiPreProcessor extends AbstractLexer {
   private static final int [] ZZ_ROWMAP = zzUnpackRowMap();
 
   private static final String ZZ_ROWMAP_PACKED_0 =
-    "\0\0\0\44\0\110\0\154\0\220\0\264\0\330\0\0"+
-    "\0\374\0\u0120\0\u0144\0\u0168\0\u018c\0\u01b0\0\u01d4\0\u01f8"+
-    "\0\0\0\u021c\0\u01f8\0\0\0\u0240\0\u0264\0\u0288\0\0"+
-    "\0\u02ac\0\u02d0\0\u02f4\0\u0318\0\u033c\0\u0360\0\u0384\0\u03a8"+
-    "\0\0\0\u01b0\0\u01d4\0\u03cc\0\u03f0\0\u01f8\0\u0264\0\u0414"+
-    "\0\0\0\u0438\0\u045c\0\u0480\0\u04a4\0\u04c8\0\u04ec\0\u0510"+
-    "\0\u0534\0\u0558\0\u057c\0\u05a0\0\u05c4\0\u05e8\0\u060c\0\u0630"+
-    "\0\u0654\0\u0678\0\u069c\0\u06c0\0\u06e4\0\u0708\0\u072c\0\u0750"+
-    "\0\u0774\0\u0798\0\0\0\u07bc\0\0\0\u07e0\0\u0804\0\0"+
-    "\0\u0828\0\u084c\0\u0870\0\u0894\0\u08b8\0\u08dc\0\u0900\0\0"+
-    "\0\u0924\0\u0948\0\u096c\0\0\0\u0990\0\0\0\u09b4\0\u09d8"+
-    "\0\u09fc\0\u0a20\0\u0a44\0\u0a68\0\u0a8c\0\u0ab0\0\u0ad4\0\u0af8"+
-    "\0\u0b1c\0\u0b40\0\u0b64\0\u0b88\0\u0bac\0\u0bd0\0\u0bf4\0\u0c18"+
-    "\0\u0c3c\0\u0c60\0\u0c84\0\u0ca8\0\u0ccc\0\u0cf0\0\u0d14\0\u0d38"+
-    "\0\u0d5c\0\u0d80\0\u0da4\0\u0dc8\0\u0dec\0\u0e10\0\u0e34\0\u0e58"+
-    "\0\u0e7c\0\u0ea0\0\u0ec4\0\u0ee8\0\u0f0c\0\u0f30\0\u0f54\0\u0f78"+
-    "\0\u0f9c\0\u0ec4\0\u0fc0\0\u0fe4\0\u1008\0\u102c\0\u1050\0\u1074"+
-    "\0\u1098\0\u10bc\0\u10e0\0\u1104\0\u1128\0\0\0\u114c\0\u1170"+
-    "\0\u1194\0\u11b8\0\u11dc\0\u1200\0\u1224\0\u1248\0\u126c\0\u1290"+
-    "\0\u12b4\0\0\0\u12d8\0\u12fc\0\u1320\0\u1344\0\u1368\0\u138c"+
-    "\0\u13b0\0\u13d4\0\u13f8\0\u141c\0\u1440\0\u1464\0\u1488\0\u0fe4"+
-    "\0\u14ac\0\u14d0\0\u14f4\0\u1518\0\u153c\0\u1560\0\u1584\0\u15a8"+
-    "\0\u15cc\0\u15f0\0\u1614\0\u1638\0\u165c\0\0\0\u1680\0\u16a4"+
-    "\0\u16c8\0\u16ec\0\0";
+    "\0\0\0\45\0\112\0\157\0\224\0\271\0\336\0\u0103"+
+    "\0\u0128\0\0\0\u014d\0\u0172\0\u0197\0\u01bc\0\u01e1\0\u0206"+
+    "\0\u022b\0\0\0\u0250\0\u022b\0\u0275\0\u029a\0\u02bf\0\0"+
+    "\0\u02e4\0\u0309\0\u032e\0\u0353\0\u0378\0\u039d\0\u03c2\0\u03e7"+
+    "\0\0\0\u01e1\0\u0206\0\u040c\0\u0431\0\u022b\0\u029a\0\u0456"+
+    "\0\0\0\u047b\0\u04a0\0\u04c5\0\u04ea\0\u050f\0\u0534\0\u0559"+
+    "\0\u057e\0\u05a3\0\u05c8\0\u05ed\0\u0612\0\u0637\0\u065c\0\u0681"+
+    "\0\u06a6\0\u06cb\0\u06f0\0\u0715\0\u073a\0\u075f\0\u0784\0\u07a9"+
+    "\0\u07ce\0\u07f3\0\0\0\u0818\0\0\0\u083d\0\u0862\0\0"+
+    "\0\u0887\0\u08ac\0\u08d1\0\u08f6\0\u091b\0\u0940\0\u0965\0\0"+
+    "\0\u098a\0\u09af\0\u09d4\0\0\0\u09f9\0\0\0\u0a1e\0\u0a43"+
+    "\0\u0a68\0\u0a8d\0\u0ab2\0\u0ad7\0\u0afc\0\u0b21\0\u0b46\0\u0b6b"+
+    "\0\u0b90\0\u0bb5\0\u0bda\0\u0bff\0\u0c24\0\u0c49\0\u0c6e\0\u0c93"+
+    "\0\u0cb8\0\u0cdd\0\u0d02\0\u0d27\0\u0d4c\0\u0d71\0\u0d96\0\u0dbb"+
+    "\0\u0de0\0\u0e05\0\u0e2a\0\u0e4f\0\u0e74\0\u0e99\0\u0ebe\0\u0ee3"+
+    "\0\u0f08\0\u0f2d\0\u0f52\0\u0f77\0\u0f9c\0\u0fc1\0\u0fe6\0\u100b"+
+    "\0\u1030\0\u0f52\0\u1055\0\u107a\0\u109f\0\u10c4\0\u10e9\0\u110e"+
+    "\0\u1133\0\u1158\0\u117d\0\u11a2\0\u11c7\0\0\0\u11ec\0\u1211"+
+    "\0\u1236\0\u125b\0\u1280\0\u12a5\0\u12ca\0\u12ef\0\u1314\0\u1339"+
+    "\0\u135e\0\0\0\u1383\0\u13a8\0\u13cd\0\u13f2\0\u1417\0\u143c"+
+    "\0\u1461\0\u1486\0\u14ab\0\u14d0\0\u14f5\0\u151a\0\u153f\0\u107a"+
+    "\0\u1564\0\u1589\0\u15ae\0\u15d3\0\u15f8\0\u161d\0\u1642\0\u1667"+
+    "\0\u168c\0\u16b1\0\u16d6\0\u16fb\0\u1720\0\0\0\u1745\0\u176a"+
+    "\0\u178f\0\u17b4\0\0";
 
   private static int [] zzUnpackRowMap() {
     int [] result = new int[187];
@@ -151,97 +151,100 @@ public class JAMWikiPreProcessor extends AbstractLexer {
   private static final int [] ZZ_TRANS = zzUnpackTrans();
 
   private static final String ZZ_TRANS_PACKED_0 =
-    "\44\0\1\10\1\11\1\10\1\12\16\10\1\13\12\10"+
-    "\1\14\5\10\1\15\1\10\1\11\1\10\1\12\1\16"+
-    "\15\10\1\13\12\10\1\14\5\10\1\15\1\10\1\11"+
-    "\1\10\1\17\41\10\1\11\1\10\1\20\40\10\1\21"+
-    "\1\22\1\21\1\23\1\16\37\21\1\24\1\25\1\24"+
-    "\1\26\31\24\1\27\1\30\5\24\2\0\1\10\45\0"+
-    "\1\31\1\32\2\0\1\33\3\0\1\34\3\0\1\35"+
-    "\45\0\1\36\56\0\1\37\51\0\1\40\1\41\2\0"+
-    "\1\41\1\42\12\41\1\0\24\41\4\0\1\43\1\44"+
-    "\5\0\1\45\34\0\1\46\1\44\40\0\1\21\43\0"+
-    "\1\24\45\0\1\47\1\50\2\0\1\33\70\0\1\51"+
-    "\12\0\1\31\1\32\2\0\1\33\3\0\1\34\35\0"+
-    "\1\52\42\0\1\53\53\0\1\54\47\0\1\55\22\0"+
-    "\1\56\2\0\1\56\1\57\3\56\1\60\12\56\1\0"+
-    "\20\56\35\0\1\61\51\0\1\62\6\0\1\63\41\0"+
-    "\1\45\7\0\1\64\35\0\1\65\44\0\1\66\1\67"+
-    "\72\0\1\70\22\0\1\71\46\0\1\72\22\0\1\56"+
-    "\2\0\20\56\1\73\21\56\2\0\1\56\1\57\3\56"+
-    "\1\60\12\56\1\73\21\56\2\0\20\56\1\73\4\56"+
-    "\1\74\13\56\1\75\2\0\32\75\2\0\5\75\43\0"+
-    "\1\76\7\0\1\66\51\0\1\77\36\0\1\67\43\0"+
-    "\1\100\40\0\1\101\70\0\1\102\15\0\1\71\5\0"+
-    "\1\103\31\0\21\72\1\104\22\72\23\0\1\105\20\0"+
-    "\1\56\2\0\20\56\1\73\5\56\1\106\12\56\1\75"+
-    "\2\0\32\75\1\0\1\107\5\75\43\0\1\110\16\0"+
-    "\1\111\36\0\1\112\71\0\1\113\44\0\1\114\3\0"+
-    "\21\72\1\115\22\72\1\56\2\0\20\56\1\73\10\56"+
-    "\1\116\7\56\36\0\1\117\11\0\1\111\5\0\1\120"+
-    "\41\0\1\121\65\0\1\122\52\0\1\123\2\0\12\72"+
-    "\1\124\6\72\1\115\22\72\1\56\2\0\13\56\1\125"+
-    "\4\56\1\73\20\56\36\0\1\126\11\0\1\121\5\0"+
-    "\1\127\71\0\1\130\21\0\1\131\25\0\1\56\2\0"+
-    "\20\56\1\73\2\56\1\132\15\56\3\127\1\133\40\127"+
-    "\41\0\1\134\10\0\1\135\35\0\1\132\2\0\17\132"+
-    "\1\136\1\73\20\132\3\127\2\133\6\127\1\137\30\127"+
-    "\16\0\1\140\32\0\1\141\36\0\1\56\2\0\17\56"+
-    "\1\142\1\73\1\143\3\56\1\144\2\56\1\145\10\56"+
-    "\3\127\1\133\1\137\1\146\36\127\4\0\1\140\5\0"+
-    "\1\147\1\150\62\0\1\151\11\0\1\152\2\0\20\152"+
-    "\1\73\20\152\1\56\2\0\20\56\1\73\1\56\1\153"+
-    "\17\56\2\0\20\56\1\73\5\56\1\154\13\56\2\0"+
-    "\5\56\1\155\12\56\1\73\1\56\1\156\16\56\3\127"+
-    "\1\133\2\127\1\157\35\127\3\147\1\160\40\147\4\0"+
-    "\1\150\5\0\1\147\73\0\1\161\1\0\1\152\2\0"+
-    "\20\152\1\162\20\152\1\56\2\0\20\56\1\73\1\56"+
-    "\1\163\17\56\2\0\5\56\1\164\12\56\1\73\21\56"+
-    "\2\0\20\56\1\73\6\56\1\165\12\56\2\0\11\56"+
-    "\1\166\6\56\1\73\20\56\3\127\1\133\3\127\1\167"+
-    "\34\127\3\147\2\160\6\147\1\170\30\147\4\0\1\161"+
-    "\5\0\1\171\1\172\53\0\1\173\20\0\1\56\2\0"+
-    "\11\56\1\174\6\56\1\73\21\56\2\0\20\56\1\73"+
-    "\6\56\1\175\12\56\2\0\13\56\1\166\4\56\1\73"+
-    "\21\56\2\0\20\56\1\73\2\56\1\176\15\56\3\127"+
-    "\1\133\4\127\1\177\33\127\3\147\1\160\1\170\1\200"+
-    "\36\147\3\171\1\201\40\171\4\0\1\172\5\0\1\171"+
-    "\31\0\1\202\2\0\17\202\1\203\1\204\20\202\1\56"+
-    "\2\0\20\56\1\73\2\56\1\176\1\166\15\56\2\0"+
-    "\20\56\1\73\1\56\1\205\17\56\2\0\10\56\1\206"+
-    "\7\56\1\73\20\56\3\127\1\133\5\127\1\207\32\127"+
-    "\3\147\1\160\2\147\1\210\35\147\3\171\2\201\6\171"+
-    "\1\211\30\171\22\0\1\212\1\0\1\213\3\0\1\214"+
-    "\2\0\1\215\33\0\1\216\20\0\1\56\2\0\3\56"+
-    "\1\217\14\56\1\73\21\56\2\0\10\56\1\220\7\56"+
-    "\1\73\20\56\3\127\1\133\4\127\1\221\33\127\3\147"+
-    "\1\160\4\147\1\222\33\147\3\171\1\201\1\211\3\171"+
-    "\1\223\33\171\1\224\2\0\20\224\1\0\20\224\25\0"+
-    "\1\225\47\0\1\226\22\0\1\227\14\0\1\230\16\0"+
-    "\1\56\2\0\20\56\1\73\2\56\1\220\15\56\1\231"+
-    "\2\0\20\231\1\73\20\231\3\127\1\133\1\221\5\127"+
-    "\1\232\31\127\3\147\1\160\1\147\1\233\36\147\3\171"+
-    "\1\201\1\171\1\234\36\171\1\224\2\0\20\224\1\235"+
-    "\20\224\25\0\1\236\26\0\1\237\65\0\1\240\25\0"+
-    "\1\241\27\0\1\231\2\0\20\231\1\242\20\231\3\147"+
-    "\1\160\33\147\1\243\4\147\3\171\1\201\33\171\1\244"+
-    "\4\171\23\0\1\202\34\0\1\245\61\0\1\246\27\0"+
-    "\1\241\53\0\1\247\15\0\1\202\2\0\17\202\1\203"+
-    "\1\250\20\202\3\147\1\160\26\147\1\251\11\147\3\171"+
-    "\1\201\26\171\1\252\11\171\26\0\1\247\1\241\41\0"+
-    "\1\253\31\0\1\254\30\0\3\147\1\160\34\147\1\255"+
-    "\3\147\3\171\1\201\34\171\1\256\3\171\6\0\1\257"+
-    "\50\0\1\260\30\0\3\147\1\160\35\147\1\261\2\147"+
-    "\3\171\1\201\35\171\1\262\2\171\26\0\1\260\15\0"+
-    "\1\263\2\0\20\263\1\0\20\263\3\147\1\160\12\147"+
-    "\1\264\25\147\3\171\1\201\12\171\1\265\25\171\1\263"+
-    "\2\0\20\263\1\202\20\263\3\147\1\160\1\264\5\147"+
-    "\1\266\31\147\3\171\1\201\2\171\1\267\40\171\1\201"+
-    "\1\171\1\270\41\171\1\201\26\171\1\271\14\171\1\201"+
-    "\36\171\1\272\4\171\1\201\1\272\5\171\1\273\31\171";
+    "\45\0\1\10\1\11\1\12\1\10\2\12\1\13\14\10"+
+    "\1\14\12\10\1\15\5\10\1\16\1\10\1\11\1\12"+
+    "\1\10\1\12\1\17\1\13\14\10\1\14\12\10\1\15"+
+    "\5\10\1\16\1\10\1\11\1\12\1\10\2\12\1\20"+
+    "\14\10\1\12\12\10\1\12\5\10\2\12\1\11\4\12"+
+    "\1\21\36\12\1\22\1\23\3\22\1\17\1\24\36\22"+
+    "\6\25\1\26\27\25\1\27\1\30\5\25\1\10\2\0"+
+    "\1\10\1\0\1\10\1\0\14\10\1\0\12\10\1\0"+
+    "\5\10\3\0\1\12\47\0\1\31\1\0\1\32\2\0"+
+    "\1\33\3\0\1\34\2\0\1\35\46\0\1\36\57\0"+
+    "\1\37\52\0\1\40\1\41\3\0\1\41\1\42\37\41"+
+    "\5\0\1\43\1\0\1\44\5\0\1\45\34\0\1\46"+
+    "\1\0\1\44\37\0\1\22\42\0\6\25\1\0\27\25"+
+    "\2\0\5\25\5\0\1\47\1\0\1\50\2\0\1\33"+
+    "\70\0\1\51\13\0\1\31\1\0\1\32\2\0\1\33"+
+    "\3\0\1\34\36\0\1\52\43\0\1\53\54\0\1\54"+
+    "\47\0\1\55\22\0\1\56\2\0\2\56\1\57\4\56"+
+    "\1\60\11\56\1\0\20\56\36\0\1\61\52\0\1\62"+
+    "\10\0\1\63\41\0\1\45\10\0\1\64\36\0\1\65"+
+    "\45\0\1\66\1\67\72\0\1\70\24\0\1\71\46\0"+
+    "\1\72\22\0\1\56\2\0\21\56\1\73\21\56\2\0"+
+    "\2\56\1\57\4\56\1\60\11\56\1\73\21\56\2\0"+
+    "\21\56\1\73\4\56\1\74\13\56\1\75\2\0\33\75"+
+    "\2\0\5\75\44\0\1\76\11\0\1\66\52\0\1\77"+
+    "\37\0\1\67\44\0\1\100\41\0\1\101\70\0\1\102"+
+    "\16\0\1\71\6\0\1\103\30\0\22\72\1\104\22\72"+
+    "\24\0\1\105\20\0\1\56\2\0\21\56\1\73\5\56"+
+    "\1\106\12\56\1\75\2\0\33\75\1\0\1\107\5\75"+
+    "\44\0\1\110\20\0\1\111\37\0\1\112\71\0\1\113"+
+    "\45\0\1\114\3\0\22\72\1\115\22\72\1\56\2\0"+
+    "\21\56\1\73\10\56\1\116\7\56\37\0\1\117\12\0"+
+    "\1\111\6\0\1\120\42\0\1\121\65\0\1\122\53\0"+
+    "\1\123\2\0\14\72\1\124\5\72\1\115\22\72\1\56"+
+    "\2\0\15\56\1\125\3\56\1\73\20\56\37\0\1\126"+
+    "\12\0\1\121\6\0\1\127\71\0\1\130\23\0\1\131"+
+    "\24\0\1\56\2\0\21\56\1\73\2\56\1\132\15\56"+
+    "\6\127\1\133\36\127\42\0\1\134\12\0\1\135\34\0"+
+    "\1\132\2\0\20\132\1\136\1\73\20\132\5\127\2\133"+
+    "\6\127\1\137\27\127\20\0\1\140\33\0\1\141\35\0"+
+    "\1\56\2\0\20\56\1\142\1\73\1\143\3\56\1\144"+
+    "\2\56\1\145\10\56\5\127\1\137\1\133\1\146\35\127"+
+    "\5\0\1\140\6\0\1\147\1\150\62\0\1\151\11\0"+
+    "\1\152\2\0\21\152\1\73\20\152\1\56\2\0\21\56"+
+    "\1\73\1\56\1\153\17\56\2\0\21\56\1\73\5\56"+
+    "\1\154\13\56\2\0\7\56\1\155\11\56\1\73\1\56"+
+    "\1\156\16\56\6\127\1\133\1\127\1\157\34\127\6\147"+
+    "\1\160\36\147\5\0\1\150\6\0\1\147\73\0\1\161"+
+    "\1\0\1\152\2\0\21\152\1\162\20\152\1\56\2\0"+
+    "\21\56\1\73\1\56\1\163\17\56\2\0\7\56\1\164"+
+    "\11\56\1\73\21\56\2\0\21\56\1\73\6\56\1\165"+
+    "\12\56\2\0\13\56\1\166\5\56\1\73\20\56\6\127"+
+    "\1\133\2\127\1\167\33\127\5\147\2\160\6\147\1\170"+
+    "\27\147\5\0\1\161\6\0\1\171\1\172\53\0\1\173"+
+    "\20\0\1\56\2\0\13\56\1\174\5\56\1\73\21\56"+
+    "\2\0\21\56\1\73\6\56\1\175\12\56\2\0\15\56"+
+    "\1\166\3\56\1\73\21\56\2\0\21\56\1\73\2\56"+
+    "\1\176\15\56\6\127\1\133\3\127\1\177\32\127\5\147"+
+    "\1\170\1\160\1\200\35\147\6\171\1\201\36\171\5\0"+
+    "\1\172\6\0\1\171\30\0\1\202\2\0\20\202\1\203"+
+    "\1\204\20\202\1\56\2\0\21\56\1\73\2\56\1\176"+
+    "\1\166\15\56\2\0\21\56\1\73\1\56\1\205\17\56"+
+    "\2\0\12\56\1\206\6\56\1\73\20\56\6\127\1\133"+
+    "\4\127\1\207\31\127\6\147\1\160\1\147\1\210\34\147"+
+    "\5\171\2\201\6\171\1\211\27\171\23\0\1\212\1\0"+
+    "\1\213\3\0\1\214\2\0\1\215\34\0\1\216\20\0"+
+    "\1\56\2\0\5\56\1\217\13\56\1\73\21\56\2\0"+
+    "\12\56\1\220\6\56\1\73\20\56\6\127\1\133\3\127"+
+    "\1\221\32\127\6\147\1\160\3\147\1\222\32\147\5\171"+
+    "\1\211\1\201\3\171\1\223\32\171\1\224\2\0\21\224"+
+    "\1\0\20\224\26\0\1\225\50\0\1\226\24\0\1\227"+
+    "\13\0\1\230\16\0\1\56\2\0\21\56\1\73\2\56"+
+    "\1\220\15\56\1\231\2\0\21\231\1\73\20\231\5\127"+
+    "\1\221\1\133\5\127\1\232\30\127\6\147\1\160\1\233"+
+    "\35\147\6\171\1\201\1\234\35\171\1\224\2\0\21\224"+
+    "\1\235\20\224\26\0\1\236\30\0\1\237\65\0\1\240"+
+    "\27\0\1\241\26\0\1\231\2\0\21\231\1\242\20\231"+
+    "\6\147\1\160\31\147\1\243\4\147\6\171\1\201\31\171"+
+    "\1\244\4\171\24\0\1\202\36\0\1\245\61\0\1\246"+
+    "\31\0\1\241\53\0\1\247\15\0\1\202\2\0\20\202"+
+    "\1\203\1\250\20\202\6\147\1\160\24\147\1\251\11\147"+
+    "\6\171\1\201\24\171\1\252\11\171\27\0\1\247\1\241"+
+    "\42\0\1\253\33\0\1\254\27\0\6\147\1\160\32\147"+
+    "\1\255\3\147\6\171\1\201\32\171\1\256\3\171\10\0"+
+    "\1\257\51\0\1\260\27\0\6\147\1\160\33\147\1\261"+
+    "\2\147\6\171\1\201\33\171\1\262\2\171\27\0\1\260"+
+    "\15\0\1\263\2\0\21\263\1\0\20\263\6\147\1\160"+
+    "\11\147\1\264\24\147\6\171\1\201\11\171\1\265\24\171"+
+    "\1\263\2\0\21\263\1\202\20\263\5\147\1\264\1\160"+
+    "\5\147\1\266\30\147\6\171\1\201\1\171\1\267\42\171"+
+    "\1\201\1\270\43\171\1\201\24\171\1\271\17\171\1\201"+
+    "\34\171\1\272\6\171\1\272\1\201\5\171\1\273\30\171";
 
   private static int [] zzUnpackTrans() {
-    int [] result = new int[5904];
+    int [] result = new int[6105];
     int offset = 0;
     offset = zzUnpackTrans(ZZ_TRANS_PACKED_0, offset, result);
     return result;
@@ -279,12 +282,12 @@ public class JAMWikiPreProcessor extends AbstractLexer {
   private static final int [] ZZ_ATTRIBUTE = zzUnpackAttribute();
 
   private static final String ZZ_ATTRIBUTE_PACKED_0 =
-    "\1\10\6\0\1\11\10\1\1\11\2\1\1\11\3\1"+
-    "\1\11\6\0\1\1\1\0\1\11\7\0\1\11\10\0"+
-    "\1\1\13\0\1\1\4\0\1\11\1\0\1\11\2\0"+
-    "\1\11\7\0\1\11\3\0\1\11\1\0\1\11\44\0"+
-    "\1\1\22\0\1\11\13\0\1\11\15\0\1\1\15\0"+
-    "\1\11\4\0\1\11";
+    "\1\10\6\0\2\1\1\11\7\1\1\11\5\1\1\11"+
+    "\6\0\1\1\1\0\1\11\7\0\1\11\10\0\1\1"+
+    "\13\0\1\1\4\0\1\11\1\0\1\11\2\0\1\11"+
+    "\7\0\1\11\3\0\1\11\1\0\1\11\44\0\1\1"+
+    "\22\0\1\11\13\0\1\11\15\0\1\1\15\0\1\11"+
+    "\4\0\1\11";
 
   private static int [] zzUnpackAttribute() {
     int [] result = new int[187];
@@ -357,8 +360,18 @@ public class JAMWikiPreProcessor extends AbstractLexer {
   /* user code: */
     protected static WikiLogger logger = WikiLogger.getLogger(JAMWikiPreProcessor.class.getName());
     protected boolean allowHTML = false;
+    protected boolean allowTemplates = false;
     protected int templateCharCount = 0;
-    protected String templateString = "";
+    /** Text of the template call currently being read, re-used for every call. */
+    protected StringBuilder templateString = new StringBuilder();
+    protected ParserTag htmlCommentTag = null;
+    protected ParserTag htmlPreTag = null;
+    protected ParserTag includeOnlyTag = null;
+    protected ParserTag noIncludeTag = null;
+    protected ParserTag templateTag = null;
+    protected ParserTag wikiLinkTag = null;
+    protected ParserTag wikiNowikiTag = null;
+    protected ParserTag wikiSignatureTag = null;
     
     /**
      *
@@ -380,6 +393,54 @@ public class JAMWikiPreProcessor extends AbstractLexer {
         if (!validated) {
             throw new Exception("Parser info not properly initialized");
         }
+        this.loadContext();
+    }
+    
+    /**
+     *
+     */
+    protected void appendMatchedText() throws java.io.IOException {
+        this.append(zzBuffer, zzStartRead, zzMarkedPos - zzStartRead);
+    }
+    
+    /**
+     *
+     */
+    protected int getBufferSize() {
+        return this.zzBuffer.length;
+    }
+    
+    /**
+     *
+     */
+    protected void setBufferSize(int size) {
+        this.zzBuffer = new char[size];
+    }
+    
+    /**
+     *
+     */
+    protected void loadSettings(ParserContext context) {
+        htmlCommentTag = ParserTagRegistry.getTag(HtmlCommentTag.class);
+        htmlPreTag = ParserTagRegistry.getTag(HtmlPreTag.class);
+        includeOnlyTag = ParserTagRegistry.getTag(IncludeOnlyTag.class);
+        noIncludeTag = ParserTagRegistry.getTag(NoIncludeTag.class);
+        templateTag = ParserTagRegistry.getTag(TemplateTag.class);
+        wikiLinkTag = ParserTagRegistry.getTag(WikiLinkTag.class);
+        wikiNowikiTag = ParserTagRegistry.getTag(WikiNowikiTag.class);
+        wikiSignatureTag = ParserTagRegistry.getTag(WikiSignatureTag.class);
+        allowHTML = context.getAllowHtml();
+        allowTemplates = context.getAllowTemplates();
+    }
+    
+    /**
+     *
+     */
+    protected void resetState() {
+        templateCharCount = 0;
+        templateString.setLength(0);
+        yybegin(NORMAL);
+        states.add(new Integer(yystate()));
     }
 
 
@@ -390,9 +451,7 @@ public class JAMWikiPreProcessor extends AbstractLexer {
    * @param   in  the java.io.Reader to read input from.
    */
   public JAMWikiPreProcessor(java.io.Reader in) {
-      allowHTML = Environment.getBooleanValue(Environment.PROP_PARSER_ALLOW_HTML);
-    yybegin(NORMAL);
-    states.add(new Integer(yystate()));
+      this.resetState();
     this.zzReader = in;
   }
 
@@ -416,7 +475,7 @@ public class JAMWikiPreProcessor extends AbstractLexer {
     char [] map = new char[0x10000];
     int i = 0;  /* index in packed string  */
     int j = 0;  /* index in unpacked array */
-    while (i < 162) {
+    while (i < 170) {
       int  count = packed.charAt(i++);
       char value = packed.charAt(i++);
       do map[j++] = value; while (--count > 0);
@@ -603,7 +662,7 @@ public class JAMWikiPreProcessor extends AbstractLexer {
    * @return      the next token
    * @exception   java.io.IOException  if any I/O-Error occurs
    */
-  public String yylex() throws java.io.IOException {
+  public int yylex() throws java.io.IOException {
     int zzInput;
     int zzAction;
 
@@ -706,60 +765,16 @@ public class JAMWikiPreProcessor extends AbstractLexer {
       zzMarkedPos = zzMarkedPosL;
 
       switch (zzAction < 0 ? zzAction : ZZ_ACTION[zzAction]) {
-        case 15: 
-          { logger.finer("nowiki: " + yytext() + " (" + yystate() + ")");
-    WikiNowikiTag parserTag = new WikiNowikiTag();
-    return this.parseToken(yytext(), parserTag);
+        case 8: 
+          { logger.finer("wikisignature: " + yytext() + " (" + yystate() + ")");
+    this.append(this.parseToken(yytext(), this.wikiSignatureTag));
           }
         case 18: break;
-        case 16: 
-          { logger.finer("noinclude: " + yytext() + " (" + yystate() + ")");
-    NoIncludeTag parserTag = new NoIncludeTag();
-    return this.parseToken(yytext(), parserTag);
+        case 12: 
+          { logger.finer("htmlcomment: " + yytext() + " (" + yystate() + ")");
+    this.append(this.parseToken(yytext(), this.htmlCommentTag));
           }
         case 19: break;
-        case 5: 
-          { logger.finer("templateendchar: " + yytext() + " (" + yystate() + ")");
-    String raw = yytext();
-    this.templateString += raw;
-    this.templateCharCount -= raw.length();
-    if (this.templateCharCount == 0) {
-        endState();
-        String value = new String(this.templateString);
-        this.templateString = "";
-        TemplateTag parserTag = new TemplateTag();
-        return this.parseToken(value, parserTag);
-    }
-    return "";
-          }
-        case 20: break;
-        case 6: 
-          { logger.finer("templatestart: " + yytext() + " (" + yystate() + ")");
-    String raw = yytext();
-    if (!Environment.getBooleanValue(Environment.PROP_PARSER_ALLOW_TEMPLATES)) {
-        return yytext();
-    }
-    this.templateString += raw;
-    this.templateCharCount += 2;
-    if (yystate() != TEMPLATE) {
-        beginState(TEMPLATE);
-    }
-    return "";
-          }
-        case 21: break;
-        case 3: 
-          { // no need to log this
-    String raw = yytext();
-    this.templateString += raw;
-    return "";
-          }
-        case 22: break;
-        case 10: 
-          { logger.finer("wikilink: " + yytext() + " (" + yystate() + ")");
-    WikiLinkTag parserTag = new WikiLinkTag();
-    return this.parseToken(yytext(), parserTag);
-          }
-        case 23: break;
         case 7: 
           { logger.finer("wikiprestart: " + yytext() + " (" + yystate() + ")");
     // rollback the one non-pre character so it can be processed
@@ -767,76 +782,102 @@ public class JAMWikiPreProcessor extends AbstractLexer {
     if (yystate() != WIKIPRE) {
         beginState(WIKIPRE);
     }
-    return yytext();
+    this.appendMatchedText();
           }
-        case 24: break;
-        case 9: 
-          { logger.finer("htmlprestart: " + yytext() + " (" + yystate() + ")");
-    if (allowHTML) {
-        beginState(PRE);
-    }
-    HtmlPreTag parserTag = new HtmlPreTag();
-    return this.parseToken(yytext(), parserTag);
-          }
-        case 25: break;
-        case 8: 
-          { logger.finer("wikisignature: " + yytext() + " (" + yystate() + ")");
-    WikiSignatureTag parserTag = new WikiSignatureTag();
-    return this.parseToken(yytext(), parserTag);
+        case 20: break;
+        case 15: 
+          { logger.finer("nowiki: " + yytext() + " (" + yystate() + ")");
+    this.append(this.parseToken(yytext(), this.wikiNowikiTag));
           }
-        case 26: break;
+        case 21: break;
         case 11: 
           { logger.finer("htmlpreend: " + yytext() + " (" + yystate() + ")");
     // state only changes to pre if allowHTML is true, so no need to check here
     endState();
-    HtmlPreTag parserTag = new HtmlPreTag();
-    return this.parseToken(yytext(), parserTag);
+    this.append(this.parseToken(yytext(), this.htmlPreTag));
           }
-        case 27: break;
+        case 22: break;
         case 1: 
           { // no need to log this
-    CharacterTag parserTag = new CharacterTag();
-    return this.parseToken(yytext(), parserTag);
+    this.appendMatchedText();
           }
-        case 28: break;
-        case 13: 
-          { logger.finer("templateparam: " + yytext() + " (" + yystate() + ")");
+        case 23: break;
+        case 6: 
+          { logger.finer("templatestart: " + yytext() + " (" + yystate() + ")");
     String raw = yytext();
-    return raw;
+    if (!this.allowTemplates) {
+        this.append(raw);
+    } else {
+        this.templateString.append(raw);
+        this.templateCharCount += 2;
+        if (yystate() != TEMPLATE) {
+            beginState(TEMPLATE);
+        }
+    }
           }
-        case 29: break;
+        case 24: break;
+        case 17: 
+          { logger.finer("includeonly: " + yytext() + " (" + yystate() + ")");
+    this.append(this.parseToken(yytext(), this.includeOnlyTag));
+          }
+        case 25: break;
         case 4: 
           { logger.finer("templatestartchar: " + yytext() + " (" + yystate() + ")");
-    String raw = yytext();
-    this.templateString += raw;
-    this.templateCharCount += raw.length();
-    if (this.templateString.equals("{{{")) {
-        // param, not a template
+    this.templateString.append('{');
+    this.templateCharCount++;
+    if (this.templateString.length() == 3) {
+        // "{{{" is a param, not a template
         this.templateCharCount = 0;
         endState();
-        String value = new String(this.templateString);
-        this.templateString = "";
-        return value;
+        String value = this.templateString.toString();
+        this.templateString.setLength(0);
+        this.append(value);
     }
-    return "";
           }
-        case 30: break;
+        case 26: break;
+        case 13: 
+          { logger.finer("templateparam: " + yytext() + " (" + yystate() + ")");
+    this.appendMatchedText();
+          }
+        case 27: break;
+        case 3: 
+          { // no need to log this
+    this.templateString.append(zzBuffer, zzStartRead, zzMarkedPos - zzStartRead);
+          }
+        case 28: break;
         case 14: 
           { logger.finer("imagelinkcaption: " + yytext() + " (" + yystate() + ")");
-    WikiLinkTag parserTag = new WikiLinkTag();
-    return this.parseToken(yytext(), parserTag);
+    this.append(this.parseToken(yytext(), this.wikiLinkTag));
+          }
+        case 29: break;
+        case 9: 
+          { logger.finer("htmlprestart: " + yytext() + " (" + yystate() + ")");
+    if (allowHTML) {
+        beginState(PRE);
+    }
+    this.append(this.parseToken(yytext(), this.htmlPreTag));
+          }
+        case 30: break;
+        case 5: 
+          { logger.finer("templateendchar: " + yytext() + " (" + yystate() + ")");
+    this.templateString.append('}');
+    this.templateCharCount--;
+    if (this.templateCharCount == 0) {
+        endState();
+        String value = this.templateString.toString();
+        this.templateString.setLength(0);
+        this.append(this.parseToken(value, this.templateTag));
+    }
           }
         case 31: break;
-        case 17: 
-          { logger.finer("includeonly: " + yytext() + " (" + yystate() + ")");
-    IncludeOnlyTag parserTag = new IncludeOnlyTag();
-    return this.parseToken(yytext(), parserTag);
+        case 10: 
+          { logger.finer("wikilink: " + yytext() + " (" + yystate() + ")");
+    this.append(this.parseToken(yytext(), this.wikiLinkTag));
           }
         case 32: break;
-        case 12: 
-          { logger.finer("htmlcomment: " + yytext() + " (" + yystate() + ")");
-    HtmlCommentTag parserTag = new HtmlCommentTag();
-    return this.parseToken(yytext(), parserTag);
+        case 16: 
+          { logger.finer("noinclude: " + yytext() + " (" + yystate() + ")");
+    this.append(this.parseToken(yytext(), this.noIncludeTag));
           }
         case 33: break;
         case 2: 
@@ -844,19 +885,26 @@ public class JAMWikiPreProcessor extends AbstractLexer {
     endState();
     // rollback the one non-pre character so it can be processed
     yypushback(1);
-    return yytext();
+    this.appendMatchedText();
           }
         case 34: break;
         default: 
           if (zzInput == YYEOF && zzStartRead == zzCurrentPos) {
             zzAtEOF = true;
-              {     StringBuffer output = new StringBuffer();
-    if (StringUtils.hasText(this.templateString)) {
+              {     if (yystate() == TEMPLATE || yystate() == PRE || this.templateString.length() > 0) {
+        this.unterminated = true;
+    }
+    StringBuffer output = new StringBuffer();
+    if (this.templateString.length() > 0) {
         // FIXME - this leaves unparsed text
         output.append(this.templateString);
-        this.templateString = "";
+        this.templateString.setLength(0);
+    }
+    if (output.length() == 0) {
+        return YYEOF;
     }
-    return (output.length() == 0) ? null : output.toString();
+    this.append(output);
+    return YYCONTINUE;
  }
           } 
           else {
@@ -1,4 +1,4 @@
-/* The following code was generated by JFlex 1.4.1 on 1/22/07 9:57 AM */
+/* The following code was generated by JFlex 1.4.1 on 10/17/26, 11:45 PM */
 
 /*
  * This class provides the capability to slice and splice an article to
@@ -8,17 +8,19 @@
  */
 package org.jamwiki.parser.jflex;
 
-import org.jamwiki.Environment;
+import java.util.Vector;
+import org.jamwiki.parser.ParserContext;
 import org.jamwiki.parser.ParserInput;
 import org.jamwiki.parser.ParserDocument;
+import org.jamwiki.parser.ParserTag;
 import org.jamwiki.utils.WikiLogger;
 
 
 /**
  * This class is a scanner generated by 
  * <a href="http://www.jflex.de/">JFlex</a> 1.4.1
- * on 1/22/07 9:57 AM from the specification file
- * <tt>/home/guido/workspace/jamwiki-olat/src/lex/jamwiki-spliceprocessor.jflex</tt>
+ * on 10/17/26, 11:45 PM from the specification file
+ * <tt>src/main/resources/jamwiki-spliceprocessor.jflex</tt>
  */
 public class JAMWikiSpliceProcessor extends AbstractLexer {
 
@@ -26,7 +28,7 @@ public class JAMWikiSpliceProcessor extends AbstractLexer {
   public static final int YYEOF = -1;
 
   /** initial size of the lookahead buffer */
-  private static final int ZZ_BUFFERSIZE = 16384;
+  private static final int ZZ_BUFFERSIZE = 256;
 
   /** lexical states */
   public static final int YYINITIAL = 0;
@@ -47,11 +49,11 @@ public class JAMWikiSpliceProcessor extends AbstractLexer {
    * Translates characters to character classes
    */
   private static final String ZZ_CMAP_PACKED = 
-    "\11\0\1\0\1\2\1\0\1\0\1\1\22\0\1\5\1\20\13\0"+
-    "\1\21\1\0\1\14\14\0\1\4\1\3\1\13\6\0\1\17\3\0"+
-    "\1\11\1\0\1\12\2\0\1\6\1\7\1\15\1\0\1\16\4\0"+
-    "\1\10\15\0\1\17\3\0\1\11\1\0\1\12\2\0\1\6\1\7"+
-    "\1\15\1\0\1\16\4\0\1\10\uff88\0";
+    "\11\0\1\0\1\2\1\3\1\3\1\1\22\0\1\6\1\21\13\0"+
+    "\1\22\1\0\1\15\14\0\1\5\1\4\1\14\6\0\1\20\3\0"+
+    "\1\12\1\0\1\13\2\0\1\7\1\10\1\16\1\0\1\17\4\0"+
+    "\1\11\15\0\1\20\3\0\1\12\1\0\1\13\2\0\1\7\1\10"+
+    "\1\16\1\0\1\17\4\0\1\11\15\0\1\3\u1fa2\0\2\3\udfd6\0";
 
   /** 
    * Translates characters to character classes
@@ -64,14 +66,14 @@ public class JAMWikiSpliceProcessor extends AbstractLexer {
   private static final int [] ZZ_ACTION = zzUnpackAction();
 
   private static final String ZZ_ACTION_PACKED_0 =
-    "\4\0\5\1\13\0\1\2\13\0\1\3\1\0\1\4"+
+    "\4\0\6\1\13\0\1\2\13\0\1\3\1\0\1\4"+
     "\6\0\1\4\3\0\1\5\1\0\1\6\1\7\3\0"+
     "\1\7\3\0\1\7\1\10\2\0\1\10\2\0\1\10"+
     "\1\11\1\0\1\10\1\11\1\0\1\11\1\0\1\11"+
     "\1\0\1\11\1\0\1\12";
 
   private static int [] zzUnpackAction() {
-    int [] result = new int[76];
+    int [] result = new int[77];
     int offset = 0;
     offset = zzUnpackAction(ZZ_ACTION_PACKED_0, offset, result);
     return result;
@@ -96,19 +98,19 @@ public class JAMWikiSpliceProcessor extends AbstractLexer {
   private static final int [] ZZ_ROWMAP = zzUnpackRowMap();
 
   private static final String ZZ_ROWMAP_PACKED_0 =
-    "\0\0\0\22\0\44\0\66\0\0\0\110\0\132\0\154"+
-    "\0\176\0\220\0\242\0\264\0\306\0\330\0\352\0\176"+
-    "\0\374\0\u010e\0\u0120\0\u0132\0\0\0\u0144\0\u0156\0\u0168"+
-    "\0\u017a\0\u018c\0\u019e\0\u01b0\0\u01c2\0\u01d4\0\u01e6\0\u01f8"+
-    "\0\0\0\u020a\0\u021c\0\u022e\0\u0240\0\u0252\0\u0264\0\u0276"+
-    "\0\u0288\0\0\0\u029a\0\u02ac\0\u02be\0\0\0\u02d0\0\0"+
-    "\0\u02e2\0\u02f4\0\u0306\0\u0318\0\u032a\0\u033c\0\u034e\0\u0360"+
-    "\0\0\0\u0372\0\u0384\0\u0396\0\u03a8\0\u03ba\0\u03cc\0\u03de"+
-    "\0\u03f0\0\u0402\0\0\0\u0414\0\u0426\0\u0438\0\u044a\0\u045c"+
-    "\0\u046e\0\0\0\u0480\0\0";
+    "\0\0\0\23\0\46\0\71\0\114\0\137\0\0\0\162"+
+    "\0\205\0\230\0\253\0\276\0\321\0\344\0\367\0\u010a"+
+    "\0\230\0\u011d\0\u0130\0\u0143\0\u0156\0\0\0\u0169\0\u017c"+
+    "\0\u018f\0\u01a2\0\u01b5\0\u01c8\0\u01db\0\u01ee\0\u0201\0\u0214"+
+    "\0\u0227\0\0\0\u023a\0\u024d\0\u0260\0\u0273\0\u0286\0\u0299"+
+    "\0\u02ac\0\u02bf\0\0\0\u02d2\0\u02e5\0\u02f8\0\0\0\u030b"+
+    "\0\0\0\u031e\0\u0331\0\u0344\0\u0357\0\u036a\0\u037d\0\u0390"+
+    "\0\u03a3\0\0\0\u03b6\0\u03c9\0\u03dc\0\u03ef\0\u0402\0\u0415"+
+    "\0\u0428\0\u043b\0\u044e\0\0\0\u0461\0\u0474\0\u0487\0\u049a"+
+    "\0\u04ad\0\u04c0\0\0\0\u04d3\0\0";
 
   private static int [] zzUnpackRowMap() {
-    int [] result = new int[76];
+    int [] result = new int[77];
     int offset = 0;
     offset = zzUnpackRowMap(ZZ_ROWMAP_PACKED_0, offset, result);
     return result;
@@ -131,37 +133,38 @@ public class JAMWikiSpliceProcessor extends AbstractLexer {
   private static final int [] ZZ_TRANS = zzUnpackTrans();
 
   private static final String ZZ_TRANS_PACKED_0 =
-    "\22\0\1\5\1\6\2\5\1\7\16\5\1\6\1\5"+
-    "\1\10\1\7\16\5\1\6\2\5\1\11\15\5\2\0"+
-    "\1\5\24\0\1\12\1\13\6\0\1\14\2\0\1\15"+
-    "\1\0\2\16\1\0\1\17\16\16\5\0\1\20\1\13"+
-    "\5\0\1\21\12\0\1\12\1\13\6\0\1\14\13\0"+
-    "\1\22\30\0\1\23\24\0\1\24\3\16\1\25\16\16"+
-    "\2\26\1\0\1\27\16\26\5\0\1\21\7\0\1\30"+
-    "\14\0\1\31\30\0\1\32\23\0\1\33\3\26\1\34"+
-    "\16\26\2\35\1\0\1\36\16\35\16\0\1\37\14\0"+
-    "\1\40\15\0\1\32\5\0\1\41\6\0\21\33\1\42"+
-    "\3\26\1\43\16\26\3\35\1\44\16\35\2\45\1\0"+
-    "\1\46\16\45\17\0\1\47\14\0\1\50\7\0\21\33"+
-    "\1\51\3\0\1\52\16\0\3\35\1\53\16\35\3\45"+
-    "\1\54\16\45\2\55\2\0\16\55\5\0\1\47\5\0"+
-    "\1\56\17\0\1\57\10\0\13\33\1\60\5\33\1\51"+
-    "\3\35\1\61\16\35\3\45\1\62\16\45\3\55\1\63"+
-    "\16\55\5\0\1\57\5\0\1\64\11\0\1\65\16\0"+
-    "\3\45\1\66\16\45\3\55\1\67\16\55\4\64\1\70"+
-    "\15\64\3\0\1\71\16\0\3\45\1\72\16\45\3\55"+
-    "\1\73\16\55\4\64\2\70\6\64\1\74\5\64\3\0"+
-    "\1\75\16\0\3\55\1\76\16\55\4\64\1\70\1\74"+
-    "\1\77\13\64\3\0\1\100\16\0\3\55\1\101\16\55"+
-    "\4\64\1\70\2\64\1\102\12\64\3\0\1\103\21\0"+
-    "\1\104\16\0\4\64\1\70\3\64\1\105\11\64\3\0"+
-    "\1\106\16\0\4\64\1\70\4\64\1\107\10\64\3\0"+
-    "\1\110\16\0\4\64\1\70\5\64\1\111\7\64\3\0"+
-    "\1\112\16\0\4\64\1\70\4\64\1\113\14\64\1\70"+
-    "\1\113\5\64\1\114\6\64";
+    "\23\0\1\5\1\6\3\7\1\10\16\5\1\6\2\7"+
+    "\1\11\1\10\16\5\1\6\3\7\1\12\16\5\3\0"+
+    "\1\5\1\0\15\5\2\0\1\7\26\0\1\13\1\14"+
+    "\6\0\1\15\2\0\1\16\1\0\2\17\1\0\1\17"+
+    "\1\20\16\17\6\0\1\21\1\14\5\0\1\22\13\0"+
+    "\1\13\1\14\6\0\1\15\14\0\1\23\31\0\1\24"+
+    "\25\0\1\25\4\17\1\26\16\17\2\27\1\0\1\27"+
+    "\1\30\16\27\6\0\1\22\7\0\1\31\15\0\1\32"+
+    "\31\0\1\33\24\0\1\34\4\27\1\35\16\27\2\36"+
+    "\1\0\1\36\1\37\16\36\17\0\1\40\15\0\1\41"+
+    "\16\0\1\33\5\0\1\42\6\0\22\34\1\43\4\27"+
+    "\1\44\16\27\4\36\1\45\16\36\2\46\1\0\1\46"+
+    "\1\47\16\46\20\0\1\50\15\0\1\51\7\0\22\34"+
+    "\1\52\4\0\1\53\16\0\4\36\1\54\16\36\4\46"+
+    "\1\55\16\46\2\56\1\0\1\56\1\0\16\56\6\0"+
+    "\1\50\5\0\1\57\20\0\1\60\10\0\14\34\1\61"+
+    "\5\34\1\52\4\36\1\62\16\36\4\46\1\63\16\46"+
+    "\4\56\1\64\16\56\6\0\1\60\5\0\1\65\12\0"+
+    "\1\66\16\0\4\46\1\67\16\46\4\56\1\70\16\56"+
+    "\5\65\1\71\15\65\4\0\1\72\16\0\4\46\1\73"+
+    "\16\46\4\56\1\74\16\56\5\65\2\71\6\65\1\75"+
+    "\5\65\4\0\1\76\16\0\4\56\1\77\16\56\5\65"+
+    "\1\71\1\75\1\100\13\65\4\0\1\101\16\0\4\56"+
+    "\1\102\16\56\5\65\1\71\2\65\1\103\12\65\4\0"+
+    "\1\104\22\0\1\105\16\0\5\65\1\71\3\65\1\106"+
+    "\11\65\4\0\1\107\16\0\5\65\1\71\4\65\1\110"+
+    "\10\65\4\0\1\111\16\0\5\65\1\71\5\65\1\112"+
+    "\7\65\4\0\1\113\16\0\5\65\1\71\4\65\1\114"+
+    "\15\65\1\71\1\114\5\65\1\115\6\65";
 
   private static int [] zzUnpackTrans() {
-    int [] result = new int[1170];
+    int [] result = new int[1254];
     int offset = 0;
     offset = zzUnpackTrans(ZZ_TRANS_PACKED_0, offset, result);
     return result;
@@ -199,14 +202,14 @@ public class JAMWikiSpliceProcessor extends AbstractLexer {
   private static final int [] ZZ_ATTRIBUTE = zzUnpackAttribute();
 
   private static final String ZZ_ATTRIBUTE_PACKED_0 =
-    "\1\10\3\0\1\11\4\1\13\0\1\11\13\0\1\11"+
-    "\1\0\1\1\6\0\1\11\3\0\1\11\1\0\1\11"+
-    "\1\1\3\0\1\1\3\0\1\11\1\1\2\0\1\1"+
-    "\2\0\2\1\1\0\1\11\1\1\1\0\1\1\1\0"+
-    "\1\1\1\0\1\11\1\0\1\11";
+    "\1\10\3\0\2\1\1\11\3\1\13\0\1\11\13\0"+
+    "\1\11\1\0\1\1\6\0\1\11\3\0\1\11\1\0"+
+    "\1\11\1\1\3\0\1\1\3\0\1\11\1\1\2\0"+
+    "\1\1\2\0\2\1\1\0\1\11\1\1\1\0\1\1"+
+    "\1\0\1\1\1\0\1\11\1\0\1\11";
 
   private static int [] zzUnpackAttribute() {
-    int [] result = new int[76];
+    int [] result = new int[77];
     int offset = 0;
     offset = zzUnpackAttribute(ZZ_ATTRIBUTE_PACKED_0, offset, result);
     return result;
@@ -281,17 +284,29 @@ public class JAMWikiSpliceProcessor extends AbstractLexer {
     protected int targetSection = 0;
     protected String replacementText = null;
     protected boolean inTargetSection = false;
+    /** Offsets within the input of the start of each heading, in document order. */
+    protected Vector headingOffsets = new Vector();
+    /** Lengths of the heading text of each heading, in document order. */
+    protected Vector headingLengths = new Vector();
+    /** Levels of each heading, in document order. */
+    protected Vector headingLevels = new Vector();
+    protected ParserTag htmlCommentTag = null;
+    protected ParserTag htmlPreTag = null;
+    protected ParserTag wikiHeadingTag = null;
+    protected ParserTag wikiNowikiTag = null;
     
     /**
      *
      */
     protected String processHeading(int level, String headingText) {
         this.section++;
+        this.headingOffsets.add(new Integer(yychar));
+        this.headingLengths.add(new Integer(yylength()));
+        this.headingLevels.add(new Integer(level));
         if (inTargetSection && this.sectionDepth >= level) {
             inTargetSection = false;
         } else if (this.targetSection == this.section) {
-            WikiHeadingTag parserTag = new WikiHeadingTag();
-            this.parseToken(headingText, parserTag);
+            this.parseToken(headingText, this.wikiHeadingTag);
             inTargetSection = true;
             this.sectionDepth = level;
             if (this.mode == JFlexParser.MODE_SPLICE) return this.replacementText;
@@ -299,11 +314,43 @@ public class JAMWikiSpliceProcessor extends AbstractLexer {
         return returnText(headingText);
     }
     
+    /**
+     * Return the offsets within the input of the start of each heading that
+     * begins a section, in document order.  Offsets are only available once
+     * the entire input has been parsed.
+     */
+    public Vector getHeadingOffsets() {
+        return this.headingOffsets;
+    }
+    
+    /**
+     * Return the length of the heading text of each heading that begins a
+     * section, in the same order as {@link #getHeadingOffsets}.
+     */
+    public Vector getHeadingLengths() {
+        return this.headingLengths;
+    }
+    
+    /**
+     * Return the level of each heading that begins a section, such as 2 for
+     * "==heading==", in the same order as {@link #getHeadingOffsets}.
+     */
+    public Vector getHeadingLevels() {
+        return this.headingLevels;
+    }
+    
+    /**
+     *
+     */
+    private boolean includeText() {
+        return !((inTargetSection && this.mode == JFlexParser.MODE_SPLICE) || (!inTargetSection && this.mode == JFlexParser.MODE_SLICE));
+    }
+    
     /**
      *
      */
     private String returnText(String text) {
-        return ((inTargetSection && this.mode == JFlexParser.MODE_SPLICE) || (!inTargetSection && this.mode == JFlexParser.MODE_SLICE)) ? "" : text;
+        return (this.includeText()) ? text : "";
     }
     
     /**
@@ -320,6 +367,7 @@ public class JAMWikiSpliceProcessor extends AbstractLexer {
         if (!validated) {
             throw new Exception("Parser info not properly initialized");
         }
+        this.loadContext();
     }
     
     /**
@@ -340,6 +388,54 @@ public class JAMWikiSpliceProcessor extends AbstractLexer {
     public void setTargetSection(int targetSection) {
         this.targetSection = targetSection;
     }
+    
+    /**
+     *
+     */
+    protected void appendMatchedText() throws java.io.IOException {
+        this.append(zzBuffer, zzStartRead, zzMarkedPos - zzStartRead);
+    }
+    
+    /**
+     *
+     */
+    protected int getBufferSize() {
+        return this.zzBuffer.length;
+    }
+    
+    /**
+     *
+     */
+    protected void setBufferSize(int size) {
+        this.zzBuffer = new char[size];
+    }
+    
+    /**
+     *
+     */
+    protected void loadSettings(ParserContext context) {
+        htmlCommentTag = ParserTagRegistry.getTag(HtmlCommentTag.class);
+        htmlPreTag = ParserTagRegistry.getTag(HtmlPreTag.class);
+        wikiHeadingTag = ParserTagRegistry.getTag(WikiHeadingTag.class);
+        wikiNowikiTag = ParserTagRegistry.getTag(WikiNowikiTag.class);
+        allowHtml = context.getAllowHtml();
+    }
+    
+    /**
+     *
+     */
+    protected void resetState() {
+        section = 0;
+        sectionDepth = 0;
+        targetSection = 0;
+        replacementText = null;
+        inTargetSection = false;
+        headingOffsets = new Vector();
+        headingLengths = new Vector();
+        headingLevels = new Vector();
+        yybegin(NORMAL);
+        states.add(new Integer(yystate()));
+    }
 
 
   /**
@@ -349,9 +445,7 @@ public class JAMWikiSpliceProcessor extends AbstractLexer {
    * @param   in  the java.io.Reader to read input from.
    */
   public JAMWikiSpliceProcessor(java.io.Reader in) {
-      allowHtml = Environment.getBooleanValue(Environment.PROP_PARSER_ALLOW_HTML);
-    yybegin(NORMAL);
-    states.add(new Integer(yystate()));
+      this.resetState();
     this.zzReader = in;
   }
 
@@ -375,7 +469,7 @@ public class JAMWikiSpliceProcessor extends AbstractLexer {
     char [] map = new char[0x10000];
     int i = 0;  /* index in packed string  */
     int j = 0;  /* index in unpacked array */
-    while (i < 92) {
+    while (i < 100) {
       int  count = packed.charAt(i++);
       char value = packed.charAt(i++);
       do map[j++] = value; while (--count > 0);
@@ -562,7 +656,7 @@ public class JAMWikiSpliceProcessor extends AbstractLexer {
    * @return      the next token
    * @exception   java.io.IOException  if any I/O-Error occurs
    */
-  public String yylex() throws java.io.IOException {
+  public int yylex() throws java.io.IOException {
     int zzInput;
     int zzAction;
 
@@ -580,6 +674,8 @@ public class JAMWikiSpliceProcessor extends AbstractLexer {
     while (true) {
       zzMarkedPosL = zzMarkedPos;
 
+      yychar+= zzMarkedPosL-zzStartRead;
+
       if (zzMarkedPosL > zzStartRead) {
         switch (zzBufferL[zzMarkedPosL-1]) {
         case '\n':
@@ -665,62 +761,58 @@ public class JAMWikiSpliceProcessor extends AbstractLexer {
       zzMarkedPos = zzMarkedPosL;
 
       switch (zzAction < 0 ? zzAction : ZZ_ACTION[zzAction]) {
-        case 5: 
-          { // state only changes to pre if allowHTML is true, so no need to check here
-    endState();
-    HtmlPreTag parserTag = new HtmlPreTag();
-    return returnText(this.parseToken(yytext(), parserTag));
+        case 6: 
+          { this.append(returnText(this.parseToken(yytext(), this.htmlCommentTag)));
           }
         case 11: break;
-        case 4: 
-          { return processHeading(2, yytext());
+        case 3: 
+          { if (allowHtml) {
+        beginState(PRE);
+    }
+    this.append(returnText(this.parseToken(yytext(), this.htmlPreTag)));
           }
         case 12: break;
-        case 6: 
-          { HtmlCommentTag parserTag = new HtmlCommentTag();
-    return returnText(this.parseToken(yytext(), parserTag));
+        case 8: 
+          { this.append(processHeading(4, yytext()));
           }
         case 13: break;
-        case 9: 
-          { return processHeading(5, yytext());
+        case 7: 
+          { this.append(processHeading(3, yytext()));
           }
         case 14: break;
-        case 7: 
-          { return processHeading(3, yytext());
+        case 1: 
+          { if (this.includeText()) {
+        this.appendMatchedText();
+    }
           }
         case 15: break;
-        case 10: 
-          { logger.finer("nowiki: " + yytext() + " (" + yystate() + ")");
-    WikiNowikiTag parserTag = new WikiNowikiTag();
-    return returnText(this.parseToken(yytext(), parserTag));
+        case 4: 
+          { this.append(processHeading(2, yytext()));
           }
         case 16: break;
-        case 2: 
-          { return processHeading(1, yytext());
+        case 5: 
+          { // state only changes to pre if allowHTML is true, so no need to check here
+    endState();
+    this.append(returnText(this.parseToken(yytext(), this.htmlPreTag)));
           }
         case 17: break;
-        case 3: 
-          { if (allowHtml) {
-        beginState(PRE);
-    }
-    HtmlPreTag parserTag = new HtmlPreTag();
-    return returnText(this.parseToken(yytext(), parserTag));
+        case 9: 
+          { this.append(processHeading(5, yytext()));
           }
         case 18: break;
-        case 1: 
-          { CharacterTag parserTag = new CharacterTag();
-    return returnText(this.parseToken(yytext(), parserTag));
+        case 10: 
+          { logger.finer("nowiki: " + yytext() + " (" + yystate() + ")");
+    this.append(returnText(this.parseToken(yytext(), this.wikiNowikiTag)));
           }
         case 19: break;
-        case 8: 
-          { return processHeading(4, yytext());
+        case 2: 
+          { this.append(processHeading(1, yytext()));
           }
         case 20: break;
         default: 
           if (zzInput == YYEOF && zzStartRead == zzCurrentPos) {
             zzAtEOF = true;
-              {     StringBuffer output = new StringBuffer();
-    return (output.length() == 0) ? null : output.toString();
+              {     return YYEOF;
  }
           } 
           else {
@@ -16,13 +16,32 @@
  */
 package org.jamwiki.parser.jflex;
 
+import java.io.BufferedWriter;
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.apache.commons.io.input.CharSequenceReader;
+import org.jamwiki.BulkDataHandler;
+import org.jamwiki.model.WikiReference;
 import org.jamwiki.parser.AbstractParser;
+import org.jamwiki.parser.ParserContext;
 import org.jamwiki.parser.ParserDocument;
+import org.jamwiki.parser.ParserDocumentCache;
 import org.jamwiki.parser.ParserInput;
+import org.jamwiki.parser.ParserMetrics;
+import org.jamwiki.parser.ParserProfiler;
+import org.jamwiki.parser.TableOfContents;
 import org.jamwiki.utils.Utilities;
 import org.jamwiki.utils.WikiLogger;
 import org.springframework.util.StringUtils;
@@ -53,12 +72,26 @@ public class JFlexParser extends AbstractParser {
 	/** Layout mode indicates that the pre-processor, processor and post-processor should be run in full, parsing all Wiki syntax into formatted output and adding layout tags such as paragraphs. */
 	protected static final int MODE_LAYOUT = 8;
 
+	/** Maximum number of times a document is scanned for topics to retrieve in bulk, which is also the deepest level of nested templates that is retrieved in bulk. */
+	private static final int MAX_PREFETCH_PASSES = 10;
+	/** Number of characters that may be buffered between concurrently running parser stages. */
+	private static final int PIPELINE_BUFFER_SIZE = 8192;
 	private static Pattern REDIRECT_PATTERN = null;
+	/** Section cache state under which the heading index of a topic is cached. */
+	private static final String SECTION_INDEX_STATE = "index";
+	/** Pattern matching the opening and closing tags of markup that the processor matches across multiple lines. */
+	private static Pattern SECTION_TAG_PATTERN = null;
+	/** Pattern matching processing commands that change the table of contents. */
+	private static Pattern TOC_COMMAND_PATTERN = null;
+	/** Set if the most recently run lexer reached the end of its input while markup was still open. */
+	private boolean unterminated = false;
 
 	static {
 		try {
 			// is the topic a redirect?
 			REDIRECT_PATTERN = Pattern.compile("#REDIRECT[ ]+\\[\\[([^\\n\\r\\]]+)\\]\\]", Pattern.CASE_INSENSITIVE);
+			SECTION_TAG_PATTERN = Pattern.compile("<[ ]*(/?)[ ]*(ref|math)([ ][^>]*)?>", Pattern.CASE_INSENSITIVE);
+			TOC_COMMAND_PATTERN = Pattern.compile("__(NO|FORCE)?TOC__", Pattern.CASE_INSENSITIVE);
 		} catch (Exception e) {
 			logger.severe("Unable to compile pattern", e);
 		}
@@ -89,38 +122,163 @@ public class JFlexParser extends AbstractParser {
 	}
 
 	/**
+	 * Begin a top-level parse of a document, creating the context that is
+	 * shared by all parser stages and nested fragment parses of the
+	 * document and discarding the results of fragments parsed during any
+	 * previous parse that used the same parser input, since the templates
+	 * and other topics that they depend on may have changed.
 	 *
+	 * @return The new parser context, or <code>null</code> if a top-level
+	 *  parse is already in progress, in which case this parse is part of
+	 *  that parse.
 	 */
-	private String isRedirect(String content) {
-		if (!StringUtils.hasText(content)) return null;
-		Matcher m = REDIRECT_PATTERN.matcher(content.trim());
-		return (m.matches()) ? Utilities.decodeFromURL(m.group(1).trim()) : null;
+	private ParserContext beginDocument() {
+		if (this.parserInput.getParserContext() != null) {
+			return null;
+		}
+		ParserContext context = new ParserContext(this.parserInput.getTopicName());
+		this.parserInput.setParserContext(context);
+		this.parserInput.getExpandedTemplates().clear();
+		this.parserInput.getParsedFragments().clear();
+		return context;
 	}
 
 	/**
-	 * Utility method for executing a lexer parse.
+	 * End a top-level parse that was started by {@link #beginDocument},
+	 * logging the time taken to parse the document and recording it in the
+	 * {@link ParserMetrics}.
+	 *
+	 * @param context The context returned by {@link #beginDocument}.  If
+	 *  <code>null</code> then this parse was part of a larger parse and no
+	 *  action is taken.
+	 * @param stage The type of parse, such as {@link ParserMetrics#STAGE_HTML}.
+	 */
+	private void endDocument(ParserContext context, String stage) {
+		if (context == null) {
+			return;
+		}
+		this.parserInput.setParserContext(null);
+		if (context.getLimitExceeded() != null) {
+			logger.warning("Parser limit " + context.getLimitExceeded() + " exceeded while parsing " + context.getTopicName());
+		}
+		ParserMetrics.recordParse(this.parserInput, stage, context);
+		ParserProfiler.record(this.parserInput, stage, context);
+		logger.fine("Parse time (" + stage + ") for " + context.getTopicName() + " (" + (context.getElapsedTime() / 1000.000) + " s.)");
+	}
+
+	/**
+	 * If a parser limit was exceeded during the current parse then record
+	 * the limit in the parsed document and mark the document as not
+	 * cacheable, since it is incomplete.
+	 *
+	 * @return <code>true</code> if a parser limit was exceeded.
 	 */
-	private ParserDocument lex(AbstractLexer lexer, String raw) throws Exception {
-		this.parserInput.incrementDepth();
-		// avoid infinite loops
-		if (this.parserInput.getDepth() > 100) {
-			String topicName = (StringUtils.hasText(this.parserInput.getTopicName())) ? this.parserInput.getTopicName() : null;
-			throw new Exception("Infinite parsing loop - over " + this.parserInput.getDepth() + " parser iterations while parsing topic " + topicName);
+	private boolean checkLimits(ParserDocument parserDocument) {
+		String limit = this.parserInput.getParserContext().getLimitExceeded();
+		if (limit == null) {
+			return false;
 		}
-		StringBuffer content = new StringBuffer();
-		while (true) {
-			String line = lexer.yylex();
-			if (line == null) break;
-			content.append(line);
+		parserDocument.setLimitExceeded(limit);
+		parserDocument.setCacheable(false);
+		return true;
+	}
+
+	/**
+	 * If a parser limit was exceeded during the current parse then record
+	 * the limit in the parsed document and add a message to the end of the
+	 * output explaining that the document has not been displayed in full.
+	 */
+	private void checkLimits(ParserDocument parserDocument, Appendable output) throws IOException {
+		if (this.checkLimits(parserDocument)) {
+			output.append("<div class=\"error\">");
+			output.append(Utilities.formatMessage("topic.parserlimit", this.parserInput.getLocale(), new Object[]{parserDocument.getLimitExceeded()}));
+			output.append("</div>\n");
 		}
-		ParserDocument parserDocument = lexer.getParserDocument();
+	}
+
+	/**
+	 * Determine whether content represents a redirect, and if so return the
+	 * name of the redirect target.  Leading and trailing whitespace is ignored
+	 * without copying the content.
+	 */
+	private String isRedirect(CharSequence content) {
+		if (content == null) return null;
+		int start = 0;
+		int end = content.length();
+		while (start < end && content.charAt(start) <= ' ') start++;
+		while (end > start && content.charAt(end - 1) <= ' ') end--;
+		if (start == end) return null;
+		Matcher m = REDIRECT_PATTERN.matcher(content);
+		m.region(start, end);
+		return (m.matches()) ? Utilities.decodeFromURL(m.group(1).trim()) : null;
+	}
+
+	/**
+	 * Utility method for executing a lexer parse.
+	 */
+	private ParserDocument lex(AbstractLexer lexer) throws Exception {
+		StringBuilder content = new StringBuilder();
+		ParserDocument parserDocument = this.lex(lexer, content);
 		parserDocument.setContent(content.toString());
-		this.parserInput.decrementDepth();
+		return parserDocument;
+	}
+
+	/**
+	 * Utility method for executing a lexer parse, writing all lexer output to
+	 * the specified output.  Once parsing is complete the lexer is returned
+	 * to the lexer pool.  Work that only needs to be done once per document,
+	 * such as checking whether the document is a redirect, is left to the
+	 * top-level parse methods so that it is not repeated for every nested
+	 * fragment.
+	 */
+	private ParserDocument lex(AbstractLexer lexer, Appendable output) throws Exception {
+		ParserDocument parserDocument = null;
+		try {
+			this.parserInput.incrementDepth();
+			// avoid infinite loops
+			if (this.parserInput.getDepth() > 100) {
+				String topicName = (StringUtils.hasText(this.parserInput.getTopicName())) ? this.parserInput.getTopicName() : null;
+				throw new Exception("Infinite parsing loop - over " + this.parserInput.getDepth() + " parser iterations while parsing topic " + topicName);
+			}
+			lexer.setOutput(output);
+			while (lexer.yylex() != AbstractLexer.YYEOF) {
+				// the lexer writes all parsed text directly to the output
+			}
+			parserDocument = lexer.getParserDocument();
+			this.unterminated = lexer.isUnterminated();
+			if (this.parserInput.getParserContext() != null) {
+				this.parserInput.getParserContext().addTokens(lexer.getTokenCount());
+			}
+			this.parserInput.decrementDepth();
+		} finally {
+			LexerPool.release(lexer);
+		}
+		return parserDocument;
+	}
+
+	/**
+	 * Mark the parsed document as a redirect if the raw content is a
+	 * redirect.
+	 */
+	private void setRedirect(ParserDocument parserDocument, CharSequence raw) {
 		String redirect = this.isRedirect(raw);
 		if (StringUtils.hasText(redirect)) {
 			parserDocument.setRedirect(redirect);
 		}
-		return parserDocument;
+	}
+
+	/**
+	 * If processed output exceeds the maximum output size allowed by the
+	 * parser context then discard all output after the last line that fits
+	 * within the limit.
+	 */
+	private void truncateOutput(StringBuilder processed) {
+		ParserContext context = this.parserInput.getParserContext();
+		if (context.checkOutputSize(processed.length())) {
+			return;
+		}
+		int end = processed.lastIndexOf("\n", (int)context.getMaxOutputSize() - 1);
+		processed.setLength(end + 1);
 	}
 
 	/**
@@ -147,27 +305,226 @@ public class JFlexParser extends AbstractParser {
 	}
 
 	/**
-	 * Returns a HTML representation of the given wiki raw text for online representation.
+	 * Returns a HTML representation of the given wiki raw text for online
+	 * representation.  If sections may be cached (see
+	 * {@link ParserDocumentCache#allowSections}) then each section of the
+	 * document is parsed separately so that unchanged sections can be re-used
+	 * when the document is parsed again after an edit.  If the data handler
+	 * is a {@link BulkDataHandler} then the templates and links used by the
+	 * document are retrieved in bulk before it is parsed.
 	 *
 	 * @param raw The raw Wiki syntax to be converted into HTML.
 	 */
 	public ParserDocument parseHTML(String raw) throws Exception {
-		long start = System.currentTimeMillis();
-		// some parser expressions require that lines end in a newline, so add a newline
-		// to the end of the content for good measure
-		raw += '\n';
-		// maintain the original output, which has all of the category and link info
-		ParserDocument parserDocument = new ParserDocument();
-		parserDocument = this.parsePreProcess(raw, parserDocument, JFlexParser.MODE_PREPROCESS);
-		parserDocument = this.parseProcess(parserDocument.getContent(), parserDocument, JFlexParser.MODE_PROCESS);
-		parserDocument = this.parsePostProcess(parserDocument.getContent(), parserDocument, JFlexParser.MODE_LAYOUT);
-//		if (StringUtils.hasText(this.isRedirect(raw))) {
-//			// redirects are parsed differently
-//			parserDocument = this.parseRedirect(raw, parserDocument);
-//		}
-		String topicName = (StringUtils.hasText(this.parserInput.getTopicName())) ? this.parserInput.getTopicName() : null;
-		logger.info("Parse time (parseHTML) for " + topicName + " (" + ((System.currentTimeMillis() - start) / 1000.000) + " s.)");
-		return parserDocument;
+		ParserContext context = this.beginDocument();
+		try {
+			if (context != null) {
+				this.prefetch(raw);
+			}
+			if (ParserDocumentCache.allowSections(this.parserInput)) {
+				ParserDocument parserDocument = this.parseSections(raw);
+				if (parserDocument != null) {
+					return parserDocument;
+				}
+			}
+			StringBuilder content = new StringBuilder(raw.length());
+			ParserDocument parserDocument = this.parseHTML(new StringReader(raw), content);
+			parserDocument.setContent(content.toString());
+			return parserDocument;
+		} finally {
+			this.endDocument(context, ParserMetrics.STAGE_HTML);
+		}
+	}
+
+	/**
+	 * Returns a HTML representation of the given wiki raw text for online
+	 * representation, writing the parsed content directly to the specified
+	 * output.  The output of each intermediate parser stage is buffered only
+	 * once and read in place by the next stage, and the final stage writes to
+	 * the output without building a content string.  If the parser input
+	 * provides an executor then the pre-processor runs on the executor while
+	 * the processor consumes its output.
+	 *
+	 * @param raw A reader that provides the raw Wiki syntax to be converted
+	 *  into HTML.
+	 * @param out The output to which the parsed HTML will be written.
+	 * @return A ParserDocument object containing parser metadata.  The
+	 *  document content is <code>null</code>.
+	 */
+	public ParserDocument parseHTML(Reader raw, Appendable out) throws Exception {
+		ParserContext context = this.beginDocument();
+		try {
+			// maintain the original output, which has all of the category and link info
+			ParserDocument parserDocument = new ParserDocument();
+			StringBuilder processed = null;
+			if (this.isPipelined()) {
+				processed = this.parsePipelined(raw, parserDocument);
+			} else {
+				// some parser expressions require that lines end in a newline, so add a newline
+				// to the end of the content for good measure
+				AbstractLexer preProcessor = LexerPool.acquire(JAMWikiPreProcessor.class, new NewlineTerminatedReader(raw), -1);
+				preProcessor.init(this.parserInput, parserDocument, JFlexParser.MODE_PREPROCESS);
+				StringBuilder preProcessed = new StringBuilder();
+				long start = System.nanoTime();
+				this.lex(preProcessor, preProcessed);
+				ParserMetrics.recordStage(this.parserInput, ParserMetrics.STAGE_PREPROCESS, start);
+				this.prefetchLinks(new CharSequence[]{preProcessed});
+				AbstractLexer processor = LexerPool.acquire(JAMWikiProcessor.class, new CharSequenceReader(preProcessed), preProcessed.length());
+				processor.init(this.parserInput, parserDocument, JFlexParser.MODE_PROCESS);
+				processed = new StringBuilder(preProcessed.length());
+				start = System.nanoTime();
+				this.lex(processor, processed);
+				ParserMetrics.recordStage(this.parserInput, ParserMetrics.STAGE_PROCESS, start);
+				this.setRedirect(parserDocument, preProcessed);
+			}
+			this.truncateOutput(processed);
+			AbstractLexer postProcessor = LexerPool.acquire(JAMWikiPostProcessor.class, new CharSequenceReader(processed), processed.length());
+			postProcessor.init(this.parserInput, parserDocument, JFlexParser.MODE_LAYOUT);
+			long start = System.nanoTime();
+			this.lex(postProcessor, out);
+			ParserMetrics.recordStage(this.parserInput, ParserMetrics.STAGE_POSTPROCESS, start);
+			this.setRedirect(parserDocument, processed);
+			this.checkLimits(parserDocument, out);
+			return parserDocument;
+		} finally {
+			this.endDocument(context, ParserMetrics.STAGE_HTML);
+		}
+	}
+
+	/**
+	 * Determine whether the pre-processor and processor stages can be run
+	 * concurrently.  An executor must be available, and the parse must be a
+	 * top-level parse that has not yet set any table of contents or temporary
+	 * parameter values, since those values are restored if the processor has
+	 * to be re-run.
+	 */
+	private boolean isPipelined() {
+		if (this.parserInput.getExecutor() == null || this.parserInput.getDepth() != 0) {
+			return false;
+		}
+		if (!this.parserInput.getTempParams().isEmpty()) {
+			return false;
+		}
+		TableOfContents toc = this.parserInput.getTableOfContents();
+		return (toc.size() == 0 && toc.getStatus() == TableOfContents.STATUS_TOC_UNINITIALIZED);
+	}
+
+	/**
+	 * Run the pre-processor on the parser input executor while the processor
+	 * consumes its output on the calling thread, connecting the two stages
+	 * with a bounded channel.  The pre-processor works with a copy of the
+	 * parser input so that it sees the same values it would see when run
+	 * before the processor, and processor metadata is added to the parser
+	 * document after all pre-processor metadata, matching the order of a
+	 * sequential parse.  The post-processor needs the complete table of
+	 * contents and reference list, so it is not started until the processor
+	 * has finished.
+	 *
+	 * @return The processor output.
+	 */
+	private StringBuilder parsePipelined(Reader raw, ParserDocument parserDocument) throws Exception {
+		final ParserInput preProcessInput = new ParserInput(this.parserInput);
+		final JFlexParser preProcessParser = new JFlexParser(preProcessInput);
+		final Reader preProcessReader = raw;
+		final ParserDocument preProcessDocument = parserDocument;
+		final CharChannel channel = new CharChannel(PIPELINE_BUFFER_SIZE);
+		FutureTask preProcessTask = new FutureTask(new Callable() {
+			public Object call() throws Exception {
+				// the lexer writes one token or character at a time, so buffer writes to the channel
+				Writer writer = new BufferedWriter(channel.getWriter(), PIPELINE_BUFFER_SIZE / 2);
+				try {
+					// some parser expressions require that lines end in a newline, so add a newline
+					// to the end of the content for good measure
+					AbstractLexer preProcessor = LexerPool.acquire(JAMWikiPreProcessor.class, new NewlineTerminatedReader(preProcessReader), -1);
+					preProcessor.init(preProcessInput, preProcessDocument, JFlexParser.MODE_PREPROCESS);
+					long start = System.nanoTime();
+					preProcessParser.lex(preProcessor, writer);
+					ParserMetrics.recordStage(preProcessInput, ParserMetrics.STAGE_PREPROCESS, start);
+					writer.flush();
+				} catch (Throwable t) {
+					channel.fail(t);
+					throw t;
+				}
+				writer.close();
+				return null;
+			}
+		});
+		String topicName = this.parserInput.getTopicName();
+		this.parserInput.getExecutor().execute(preProcessTask);
+		// keep a copy of the pre-processor output for redirect handling
+		StringBuilder preProcessed = new StringBuilder();
+		Reader reader = new RecordingReader(channel.getReader(), preProcessed);
+		ParserDocument processDocument = new ParserDocument();
+		StringBuilder processed = new StringBuilder();
+		Exception failure = null;
+		// the processor time includes time spent waiting for pre-processor output
+		long start = System.nanoTime();
+		try {
+			AbstractLexer processor = LexerPool.acquire(JAMWikiProcessor.class, reader, -1);
+			processor.init(this.parserInput, processDocument, JFlexParser.MODE_PROCESS);
+			this.lex(processor, processed);
+		} catch (Exception e) {
+			failure = e;
+		} finally {
+			// stop the pre-processor if the processor did not read all of its output
+			reader.close();
+		}
+		try {
+			preProcessTask.get();
+		} catch (ExecutionException e) {
+			// report the pre-processor error unless the processor failed first
+			if (failure == null || failure.getCause() == e.getCause()) {
+				throw (e.getCause() instanceof Exception) ? (Exception)e.getCause() : e;
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+		if (!preProcessInput.getTempParams().isEmpty()) {
+			// the pre-processor set values (such as the template inclusion flag) that
+			// apply to the entire document, so restore the parser input to its
+			// original state and run the processor again with those values
+			this.parserInput.setTopicName(topicName);
+			this.parserInput.setTableOfContents(new TableOfContents());
+			this.parserInput.getTempParams().clear();
+			this.parserInput.getTempParams().putAll(preProcessInput.getTempParams());
+			AbstractLexer processor = LexerPool.acquire(JAMWikiProcessor.class, new CharSequenceReader(preProcessed), preProcessed.length());
+			processDocument = new ParserDocument();
+			processor.init(this.parserInput, processDocument, JFlexParser.MODE_PROCESS);
+			processed = new StringBuilder(preProcessed.length());
+			this.lex(processor, processed);
+		}
+		ParserMetrics.recordStage(this.parserInput, ParserMetrics.STAGE_PROCESS, start);
+		JFlexParser.addMetadata(parserDocument, processDocument);
+		this.setRedirect(parserDocument, preProcessed);
+		return processed;
+	}
+
+	/**
+	 * Add all links, categories, templates and other metadata from one
+	 * parser document to another, preserving the order in which metadata
+	 * values were added.
+	 */
+	private static void addMetadata(ParserDocument parserDocument, ParserDocument source) {
+		for (Iterator iterator = source.getLinks().iterator(); iterator.hasNext();) {
+			parserDocument.addLink((String)iterator.next());
+		}
+		for (Iterator iterator = source.getCategories().entrySet().iterator(); iterator.hasNext();) {
+			Map.Entry entry = (Map.Entry)iterator.next();
+			parserDocument.addCategory((String)entry.getKey(), (String)entry.getValue());
+		}
+		for (Iterator iterator = source.getTemplates().iterator(); iterator.hasNext();) {
+			parserDocument.addTemplate((String)iterator.next());
+		}
+		if (source.getSectionName() != null) {
+			parserDocument.setSectionName(source.getSectionName());
+		}
+		if (source.getRedirect() != null) {
+			parserDocument.setRedirect(source.getRedirect());
+		}
+		if (!source.getCacheable()) {
+			parserDocument.setCacheable(false);
+		}
 	}
 
 	/**
@@ -178,11 +535,46 @@ public class JFlexParser extends AbstractParser {
 	 * @return A ParserDocument object containing results of the parsing process.
 	 */
 	public ParserDocument parseMetadata(String raw) throws Exception {
-		StringReader reader = new StringReader(raw);
-		JAMWikiPreProcessor lexer = new JAMWikiPreProcessor(reader);
-		ParserDocument parserDocument = new ParserDocument();
-		lexer.init(this.parserInput, parserDocument, JFlexParser.MODE_METADATA);
-		return this.lex(lexer, raw);
+		ParserContext context = this.beginDocument();
+		try {
+			AbstractLexer lexer = LexerPool.acquire(JAMWikiPreProcessor.class, new StringReader(raw), raw.length());
+			ParserDocument parserDocument = new ParserDocument();
+			lexer.init(this.parserInput, parserDocument, JFlexParser.MODE_METADATA);
+			parserDocument = this.lex(lexer);
+			this.setRedirect(parserDocument, raw);
+			this.checkLimits(parserDocument);
+			return parserDocument;
+		} finally {
+			this.endDocument(context, ParserMetrics.STAGE_METADATA);
+		}
+	}
+
+	/**
+	 * Collect the links, categories, templates and redirect of a document
+	 * without producing any parsed content.  The metadata is the same as the
+	 * metadata returned by {@link #parseMetadata(String)}, but templates are
+	 * not expanded: each template is retrieved once and its content is
+	 * scanned for the templates that it uses, except for templates that build
+	 * template names from their parameters, which are still expanded.
+	 * Parser limits only apply to templates that are expanded.
+	 *
+	 * @param raw The raw Wiki syntax to be scanned.
+	 * @return A ParserDocument object containing the document metadata.  The
+	 *  document content is <code>null</code>.
+	 */
+	public ParserDocument scanMetadata(String raw) throws Exception {
+		ParserContext context = this.beginDocument();
+		try {
+			AbstractLexer lexer = LexerPool.acquire(JAMWikiMetadataScanner.class, new StringReader(raw), raw.length());
+			ParserDocument parserDocument = new ParserDocument();
+			lexer.init(this.parserInput, parserDocument, JFlexParser.MODE_METADATA);
+			// the scanner does not produce output
+			parserDocument = this.lex(lexer, new StringBuilder(0));
+			this.setRedirect(parserDocument, raw);
+			return parserDocument;
+		} finally {
+			this.endDocument(context, ParserMetrics.STAGE_SCAN);
+		}
 	}
 
 	/**
@@ -195,11 +587,10 @@ public class JFlexParser extends AbstractParser {
 	 * @return A ParserDocument object containing results of the parsing process.
 	 */
 	private ParserDocument parsePreProcess(String raw, ParserDocument parserDocument, int mode) throws Exception {
-		StringReader reader = new StringReader(raw);
-		JAMWikiPreProcessor lexer = new JAMWikiPreProcessor(reader);
+		AbstractLexer lexer = LexerPool.acquire(JAMWikiPreProcessor.class, new StringReader(raw), raw.length());
 		int preMode = (mode > JFlexParser.MODE_PREPROCESS) ? JFlexParser.MODE_PREPROCESS : mode;
 		lexer.init(this.parserInput, parserDocument, preMode);
-		return this.lex(lexer, raw);
+		return this.lex(lexer);
 	}
 
 	/**
@@ -212,27 +603,9 @@ public class JFlexParser extends AbstractParser {
 	 * @return A ParserDocument object containing results of the parsing process.
 	 */
 	private ParserDocument parseProcess(String raw, ParserDocument parserDocument, int mode) throws Exception {
-		StringReader reader = new StringReader(raw);
-		JAMWikiProcessor lexer = new JAMWikiProcessor(reader);
+		AbstractLexer lexer = LexerPool.acquire(JAMWikiProcessor.class, new StringReader(raw), raw.length());
 		lexer.init(this.parserInput, parserDocument, JFlexParser.MODE_PROCESS);
-		return this.lex(lexer, raw);
-	}
-
-	/**
-	 * In most cases this method is the second and final stage of the parser,
-	 * adding paragraph tags and other layout elements that for various reasons
-	 * cannot be added during the first parsing stage.
-	 *
-	 * @param raw The raw Wiki syntax to be converted into HTML.
-	 * @param mode The parser mode to use when parsing.  Mode affects what
-	 *  type of parsing actions are taken when processing raw text.
-	 * @return A ParserDocument object containing results of the parsing process.
-	 */
-	private ParserDocument parsePostProcess(String raw, ParserDocument parserDocument, int mode) throws Exception {
-		StringReader reader = new StringReader(raw);
-		JAMWikiPostProcessor lexer = new JAMWikiPostProcessor(reader);
-		lexer.init(this.parserInput, parserDocument, JFlexParser.MODE_LAYOUT);
-		return this.lex(lexer, raw);
+		return this.lex(lexer);
 	}
 
 	/**
@@ -256,6 +629,388 @@ public class JFlexParser extends AbstractParser {
 //		return parserDocument;
 //	}
 
+	/**
+	 * If the data handler supports bulk retrieval then retrieve the templates
+	 * used by a document before the document is parsed, so that the parse
+	 * itself does not need to call the data handler for them.  The document
+	 * is scanned for the templates that it uses, and the templates that were
+	 * not yet retrieved are then retrieved with a single call and the
+	 * document scanned again, until the scan finds no new templates, so each
+	 * level of nested templates takes one data handler call.  Links are
+	 * normally checked once the document has been pre-processed, see
+	 * {@link #prefetchLinks}, but if the parser stages run concurrently then
+	 * the links found by the final scan are checked instead, which does not
+	 * include links added by templates.  If retrieval fails then the topics
+	 * are retrieved one at a time as the document is parsed.
+	 */
+	private void prefetch(String raw) {
+		if (!(this.parserInput.getDataHandler() instanceof BulkDataHandler)) {
+			return;
+		}
+		BulkDataHandler dataHandler = (BulkDataHandler)this.parserInput.getDataHandler();
+		ParserContext context = this.parserInput.getParserContext();
+		String topicName = this.parserInput.getTopicName();
+		String virtualWiki = this.parserInput.getVirtualWiki();
+		int depth = this.parserInput.getDepth();
+		long start = System.nanoTime();
+		try {
+			ParserDocument parserDocument = null;
+			context.beginPrefetch(virtualWiki);
+			try {
+				for (int i = 0; i < MAX_PREFETCH_PASSES; i++) {
+					parserDocument = this.scanMetadata(raw);
+					Vector pendingTopics = context.getPendingTopics();
+					if (pendingTopics.isEmpty()) {
+						break;
+					}
+					context.prefetchTopics(dataHandler, virtualWiki, pendingTopics);
+				}
+			} finally {
+				context.endPrefetch();
+				// discard anything recorded while scanning with templates missing
+				this.restoreParserInput(topicName);
+			}
+			if (this.isPipelined()) {
+				context.prefetchExists(dataHandler, virtualWiki, parserDocument.getLinks());
+			}
+		} catch (Exception e) {
+			logger.warning("Unable to prefetch topics used by " + topicName, e);
+			this.parserInput.setDepth(depth);
+		}
+		ParserMetrics.recordStage(this.parserInput, ParserMetrics.STAGE_PREFETCH, start);
+	}
+
+	/**
+	 * If the data handler supports bulk retrieval then check whether the
+	 * links in pre-processed content exist with a single data handler call
+	 * before the content is processed.  All templates have been expanded by
+	 * the pre-processor, so this includes the links added by templates.
+	 */
+	private void prefetchLinks(CharSequence[] preProcessed) {
+		ParserContext context = this.parserInput.getParserContext();
+		if (context == null || !(this.parserInput.getDataHandler() instanceof BulkDataHandler)) {
+			return;
+		}
+		BulkDataHandler dataHandler = (BulkDataHandler)this.parserInput.getDataHandler();
+		// scanning must not change the state used by the processor
+		boolean unterminated = this.unterminated;
+		int depth = this.parserInput.getDepth();
+		long start = System.nanoTime();
+		try {
+			ParserDocument parserDocument = new ParserDocument();
+			for (int i = 0; i < preProcessed.length; i++) {
+				AbstractLexer lexer = LexerPool.acquire(JAMWikiMetadataScanner.class, new CharSequenceReader(preProcessed[i]), preProcessed[i].length());
+				lexer.init(this.parserInput, parserDocument, JFlexParser.MODE_METADATA);
+				this.lex(lexer, new StringBuilder(0));
+			}
+			context.prefetchExists(dataHandler, this.parserInput.getVirtualWiki(), parserDocument.getLinks());
+		} catch (Exception e) {
+			logger.warning("Unable to prefetch links used by " + context.getTopicName(), e);
+			this.parserInput.setDepth(depth);
+		}
+		this.unterminated = unterminated;
+		ParserMetrics.recordStage(this.parserInput, ParserMetrics.STAGE_PREFETCH, start);
+	}
+
+	/**
+	 * Parse a document one section at a time, re-using the cached output of
+	 * any section whose text and preceding parser state are unchanged since
+	 * it was last parsed.  Sections begin at each heading recognized by the
+	 * splice processor.  Every section is first pre-processed and then
+	 * processed in document order, threading the table of contents,
+	 * references and other parser input state from one section to the next
+	 * exactly as a parse of the full document would, and the post-processor
+	 * then runs over the combined output to add the table of contents,
+	 * reference lists and layout.
+	 *
+	 * If markup such as a table or an unfinished template continues across
+	 * a section boundary then the sections cannot be parsed separately, so
+	 * the parser input is restored and <code>null</code> is returned, and
+	 * the document must then be parsed in full.
+	 *
+	 * @return A ParserDocument object containing results of the parsing
+	 *  process, or <code>null</code> if the document does not contain
+	 *  multiple sections or cannot be parsed one section at a time.
+	 */
+	private ParserDocument parseSections(String raw) throws Exception {
+		String topicName = this.parserInput.getTopicName();
+		Vector offsets = this.sectionOffsets(raw);
+		if (offsets.size() < 3) {
+			return null;
+		}
+		ParserDocument parserDocument = new ParserDocument();
+		String[] preProcessed = new String[offsets.size() - 1];
+		long start = System.nanoTime();
+		for (int i = 0; i < preProcessed.length; i++) {
+			String section = raw.substring(((Integer)offsets.elementAt(i)).intValue(), ((Integer)offsets.elementAt(i + 1)).intValue());
+			if (i == preProcessed.length - 1) {
+				// some parser expressions require that lines end in a newline, so add a newline
+				// to the end of the content for good measure
+				section += "\n";
+			}
+			SectionDocument sectionDocument = this.preProcessSection(topicName, section);
+			if (sectionDocument == null) {
+				logger.fine("Unable to parse " + topicName + " by section, parsing full topic");
+				this.restoreParserInput(topicName);
+				return null;
+			}
+			JFlexParser.addMetadata(parserDocument, sectionDocument);
+			preProcessed[i] = sectionDocument.getContent();
+		}
+		ParserMetrics.recordStage(this.parserInput, ParserMetrics.STAGE_PREPROCESS, start);
+		this.prefetchLinks(preProcessed);
+		StringBuilder processed = new StringBuilder(raw.length());
+		start = System.nanoTime();
+		for (int i = 0; i < preProcessed.length; i++) {
+			SectionDocument sectionDocument = this.processSection(topicName, preProcessed[i]);
+			if (sectionDocument == null) {
+				logger.fine("Unable to parse " + topicName + " by section, parsing full topic");
+				this.restoreParserInput(topicName);
+				return null;
+			}
+			JFlexParser.addMetadata(parserDocument, sectionDocument);
+			processed.append(sectionDocument.getContent());
+		}
+		ParserMetrics.recordStage(this.parserInput, ParserMetrics.STAGE_PROCESS, start);
+		// a document with a heading cannot be a redirect, so no redirect check is needed
+		this.truncateOutput(processed);
+		StringBuilder content = new StringBuilder(processed.length());
+		AbstractLexer postProcessor = LexerPool.acquire(JAMWikiPostProcessor.class, new CharSequenceReader(processed), processed.length());
+		postProcessor.init(this.parserInput, parserDocument, JFlexParser.MODE_LAYOUT);
+		start = System.nanoTime();
+		this.lex(postProcessor, content);
+		ParserMetrics.recordStage(this.parserInput, ParserMetrics.STAGE_POSTPROCESS, start);
+		this.checkLimits(parserDocument, content);
+		parserDocument.setContent(content.toString());
+		logger.fine("Parsed " + topicName + " by section");
+		return parserDocument;
+	}
+
+	/**
+	 * Pre-process one section of a document, or return the cached result of
+	 * pre-processing the same section text for the same topic.
+	 *
+	 * @return The pre-processed section, or <code>null</code> if the section
+	 *  ends inside markup that continues into the next section.
+	 */
+	private SectionDocument preProcessSection(String topicName, String section) throws Exception {
+		// link tags change the parser input topic name, and the pre-processor output depends on it
+		String state = "preprocess\n" + this.parserInput.getTopicName();
+		SectionDocument sectionDocument = (SectionDocument)ParserDocumentCache.getSection(this.parserInput, topicName, state, section);
+		if (sectionDocument != null) {
+			sectionDocument.apply(this.parserInput);
+			return sectionDocument;
+		}
+		int tocSize = this.parserInput.getTableOfContents().size();
+		AbstractLexer lexer = LexerPool.acquire(JAMWikiPreProcessor.class, new StringReader(section), section.length());
+		sectionDocument = new SectionDocument();
+		lexer.init(this.parserInput, sectionDocument, JFlexParser.MODE_PREPROCESS);
+		StringBuilder content = new StringBuilder(section.length());
+		this.lex(lexer, content);
+		if (this.unterminated) {
+			return null;
+		}
+		sectionDocument.setContent(content.toString());
+		sectionDocument.topicName = this.parserInput.getTopicName();
+		sectionDocument.templateInclusion = this.parserInput.getTempParams().containsKey(TemplateTag.TEMPLATE_INCLUSION);
+		if (this.parserInput.getTableOfContents().size() == tocSize && this.isSectionState() && this.parserInput.getParserContext().getLimitExceeded() == null) {
+			ParserDocumentCache.addSection(this.parserInput, topicName, state, section, sectionDocument);
+		}
+		return sectionDocument;
+	}
+
+	/**
+	 * Process one pre-processed section of a document, or return the cached
+	 * result of processing the same text with the same table of contents,
+	 * references and other parser input state.
+	 *
+	 * @return The processed section, or <code>null</code> if the section
+	 *  ends inside markup that continues into the next section.
+	 */
+	private SectionDocument processSection(String topicName, String section) throws Exception {
+		TableOfContents toc = this.parserInput.getTableOfContents();
+		Vector references = (Vector)this.parserInput.getTempParams().get(WikiReferenceTag.REFERENCES_PARAM);
+		int referenceCount = (references == null) ? 0 : references.size();
+		boolean cacheable = this.isSectionState();
+		String state = null;
+		if (cacheable) {
+			state = "process\n" + this.parserInput.getTopicName() + "\n" + toc.size() + "\n" + toc.getStatus() + "\n" + this.parserInput.getTempParams().containsKey(TemplateTag.TEMPLATE_INCLUSION) + "\n" + referenceCount + "\n" + JFlexParser.referencesHash(references);
+			SectionDocument sectionDocument = (SectionDocument)ParserDocumentCache.getSection(this.parserInput, topicName, state, section);
+			if (sectionDocument != null) {
+				sectionDocument.apply(this.parserInput);
+				return sectionDocument;
+			}
+		}
+		if (JFlexParser.hasOpenSectionTag(section)) {
+			return null;
+		}
+		if (section.indexOf("__") != -1 && TOC_COMMAND_PATTERN.matcher(section).find()) {
+			// commands such as __NOTOC__ change the table of contents in ways that cannot be re-applied
+			cacheable = false;
+		}
+		int tocSize = toc.size();
+		AbstractLexer lexer = LexerPool.acquire(JAMWikiProcessor.class, new StringReader(section), section.length());
+		SectionDocument sectionDocument = new SectionDocument();
+		lexer.init(this.parserInput, sectionDocument, JFlexParser.MODE_PROCESS);
+		StringBuilder content = new StringBuilder(section.length());
+		this.lex(lexer, content);
+		if (this.unterminated) {
+			return null;
+		}
+		sectionDocument.setContent(content.toString());
+		sectionDocument.topicName = this.parserInput.getTopicName();
+		sectionDocument.templateInclusion = this.parserInput.getTempParams().containsKey(TemplateTag.TEMPLATE_INCLUSION);
+		sectionDocument.tableOfContents = toc.copyEntries(tocSize);
+		references = (Vector)this.parserInput.getTempParams().get(WikiReferenceTag.REFERENCES_PARAM);
+		if (references != null && references.size() > referenceCount) {
+			sectionDocument.references = new Vector(references.subList(referenceCount, references.size()));
+		}
+		if (cacheable && this.isSectionState() && this.parserInput.getParserContext().getLimitExceeded() == null) {
+			ParserDocumentCache.addSection(this.parserInput, topicName, state, section, sectionDocument);
+		}
+		return sectionDocument;
+	}
+
+	/**
+	 * Determine whether the opening and closing tags of references and math
+	 * markup in a section are balanced.  The processor matches these tags
+	 * across lines, so an unclosed tag may be closed in a later section.
+	 */
+	private static boolean hasOpenSectionTag(String section) {
+		if (section.indexOf('<') == -1) {
+			return false;
+		}
+		int references = 0;
+		int math = 0;
+		Matcher m = SECTION_TAG_PATTERN.matcher(section);
+		while (m.find()) {
+			if (m.group().endsWith("/>")) {
+				continue;
+			}
+			int change = (m.group(1).length() == 0) ? 1 : -1;
+			if (m.group(2).equalsIgnoreCase("ref")) {
+				references += change;
+			} else {
+				math += change;
+			}
+		}
+		return (references > 0 || math > 0);
+	}
+
+	/**
+	 * Determine whether the only temporary parameters set are those that can
+	 * be recorded and re-applied when a cached section is re-used.
+	 */
+	private boolean isSectionState() {
+		for (Iterator iterator = this.parserInput.getTempParams().keySet().iterator(); iterator.hasNext();) {
+			Object key = iterator.next();
+			if (!key.equals(TemplateTag.TEMPLATE_INCLUSION) && !key.equals(WikiReferenceTag.REFERENCES_PARAM)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Return a hash of the names and citation numbers of the references that
+	 * have already been parsed, which determine the citation numbers assigned
+	 * to the references in the next section.
+	 */
+	private static long referencesHash(Vector references) {
+		if (references == null) {
+			return 0;
+		}
+		long hash = 0;
+		for (Iterator iterator = references.iterator(); iterator.hasNext();) {
+			WikiReference reference = (WikiReference)iterator.next();
+			hash = (hash * 31) + ((reference.getName() == null) ? 0 : reference.getName().hashCode());
+			hash = (hash * 31) + reference.getCitation();
+			hash = (hash * 31) + reference.getCount();
+		}
+		return hash;
+	}
+
+	/**
+	 * Undo any changes made to the parser input while parsing sections, so
+	 * that the document can be parsed in full.
+	 */
+	private void restoreParserInput(String topicName) {
+		this.parserInput.setTopicName(topicName);
+		this.parserInput.setTableOfContents(new TableOfContents());
+		this.parserInput.getTempParams().clear();
+		this.parserInput.getExpandedTemplates().clear();
+		this.parserInput.getParsedFragments().clear();
+		this.parserInput.getParserContext().resetLimits();
+	}
+
+	/**
+	 * Return the index of the headings of a document.  The index is computed
+	 * once for each revision of a topic and cached along with the topic's
+	 * parsed documents, so opening a section for editing, saving the edited
+	 * section and parsing the updated topic only scan the topic once.
+	 */
+	private SectionIndex sectionIndex(String raw) throws Exception {
+		String topicName = this.parserInput.getTopicName();
+		boolean cacheable = (this.parserInput.getVirtualWiki() != null && topicName != null);
+		SectionIndex sectionIndex = null;
+		if (cacheable) {
+			sectionIndex = (SectionIndex)ParserDocumentCache.getSection(this.parserInput, topicName, SECTION_INDEX_STATE, raw);
+			if (sectionIndex != null && sectionIndex.isIndexOf(raw)) {
+				return sectionIndex;
+			}
+			if (sectionIndex != null) {
+				// slicing or splicing with the wrong offsets would corrupt the topic
+				logger.warning("Discarding cached section index that does not match the content of " + topicName);
+			}
+		}
+		JAMWikiSpliceProcessor lexer = (JAMWikiSpliceProcessor)LexerPool.acquire(JAMWikiSpliceProcessor.class, new StringReader(raw), raw.length());
+		try {
+			// slicing with no target section produces no output
+			lexer.init(this.parserInput, new ParserDocument(), JFlexParser.MODE_SLICE);
+			lexer.setOutput(new StringBuilder());
+			while (lexer.yylex() != AbstractLexer.YYEOF) {
+				// only heading offsets are needed
+			}
+			sectionIndex = new SectionIndex(raw.length(), lexer.getHeadingOffsets(), lexer.getHeadingLengths(), lexer.getHeadingLevels());
+		} finally {
+			LexerPool.release(lexer);
+		}
+		if (cacheable) {
+			ParserDocumentCache.addSection(this.parserInput, topicName, SECTION_INDEX_STATE, raw, sectionIndex);
+		}
+		return sectionIndex;
+	}
+
+	/**
+	 * Return the offsets of the start of each section of a document,
+	 * followed by the length of the document.  The first section contains
+	 * any text preceding the first heading, and each subsequent section
+	 * starts with a heading.
+	 */
+	private Vector sectionOffsets(String raw) throws Exception {
+		SectionIndex sectionIndex = this.sectionIndex(raw);
+		Vector offsets = new Vector();
+		offsets.add(new Integer(0));
+		for (int i = 1; i <= sectionIndex.getSectionCount(); i++) {
+			offsets.add(new Integer(sectionIndex.getStart(i)));
+		}
+		offsets.add(new Integer(raw.length()));
+		return offsets;
+	}
+
+	/**
+	 * Set the section name of a sliced or spliced document from the heading
+	 * of the target section.
+	 */
+	private void parseSectionHeading(String raw, SectionIndex sectionIndex, int targetSection, ParserDocument parserDocument, int mode) {
+		String heading = sectionIndex.getHeading(raw, targetSection);
+		try {
+			ParserTagRegistry.getTag(WikiHeadingTag.class).parse(this.parserInput, parserDocument, mode, heading);
+		} catch (Exception e) {
+			logger.info("Unable to parse " + heading, e);
+		}
+	}
+
 	/**
 	 * Parse MediaWiki signatures and other tags that should not be
 	 * saved as part of the topic source.  This method is usually only called
@@ -265,11 +1020,18 @@ public class JFlexParser extends AbstractParser {
 	 * @return A ParserDocument object containing results of the parsing process.
 	 */
 	public ParserDocument parseSave(String raw) throws Exception {
-		StringReader reader = new StringReader(raw);
-		JAMWikiPreProcessor lexer = new JAMWikiPreProcessor(reader);
-		ParserDocument parserDocument = new ParserDocument();
-		lexer.init(this.parserInput, parserDocument, JFlexParser.MODE_SAVE);
-		return this.lex(lexer, raw);
+		ParserContext context = this.beginDocument();
+		try {
+			AbstractLexer lexer = LexerPool.acquire(JAMWikiPreProcessor.class, new StringReader(raw), raw.length());
+			ParserDocument parserDocument = new ParserDocument();
+			lexer.init(this.parserInput, parserDocument, JFlexParser.MODE_SAVE);
+			parserDocument = this.lex(lexer);
+			this.setRedirect(parserDocument, raw);
+			this.checkLimits(parserDocument);
+			return parserDocument;
+		} finally {
+			this.endDocument(context, ParserMetrics.STAGE_SAVE);
+		}
 	}
 
 	/**
@@ -287,16 +1049,21 @@ public class JFlexParser extends AbstractParser {
 	 *  object.
 	 */
 	public ParserDocument parseSlice(String raw, int targetSection) throws Exception {
-		long start = System.currentTimeMillis();
-		StringReader reader = new StringReader(raw);
-		JAMWikiSpliceProcessor lexer = new JAMWikiSpliceProcessor(reader);
-		ParserDocument parserDocument = new ParserDocument();
-		lexer.init(this.parserInput, parserDocument, JFlexParser.MODE_SLICE);
-		lexer.setTargetSection(targetSection);
-		parserDocument = this.lex(lexer, raw);
-		String topicName = (StringUtils.hasText(this.parserInput.getTopicName())) ? this.parserInput.getTopicName() : null;
-		logger.fine("Parse time (parseSlice) for " + topicName + " (" + ((System.currentTimeMillis() - start) / 1000.000) + " s.)");
-		return parserDocument;
+		ParserContext context = this.beginDocument();
+		try {
+			SectionIndex sectionIndex = this.sectionIndex(raw);
+			ParserDocument parserDocument = new ParserDocument();
+			String content = "";
+			if (sectionIndex.contains(targetSection)) {
+				this.parseSectionHeading(raw, sectionIndex, targetSection, parserDocument, JFlexParser.MODE_SLICE);
+				content = raw.substring(sectionIndex.getStart(targetSection), sectionIndex.getEnd(targetSection));
+			}
+			parserDocument.setContent(content);
+			this.setRedirect(parserDocument, raw);
+			return parserDocument;
+		} finally {
+			this.endDocument(context, ParserMetrics.STAGE_SLICE);
+		}
 	}
 
 	/**
@@ -314,16 +1081,262 @@ public class JFlexParser extends AbstractParser {
 	 * @return The new topic markup, contained within a ParserDocument object.
 	 */
 	public ParserDocument parseSplice(String raw, int targetSection, String replacementText) throws Exception {
-		long start = System.currentTimeMillis();
-		StringReader reader = new StringReader(raw);
-		JAMWikiSpliceProcessor lexer = new JAMWikiSpliceProcessor(reader);
-		ParserDocument parserDocument = new ParserDocument();
-		lexer.init(this.parserInput, parserDocument, JFlexParser.MODE_SPLICE);
-		lexer.setReplacementText(replacementText);
-		lexer.setTargetSection(targetSection);
-		parserDocument = this.lex(lexer, raw);
-		String topicName = (StringUtils.hasText(this.parserInput.getTopicName())) ? this.parserInput.getTopicName() : null;
-		logger.fine("Parse time (parseSplice) for " + topicName + " (" + ((System.currentTimeMillis() - start) / 1000.000) + " s.)");
-		return parserDocument;
+		ParserContext context = this.beginDocument();
+		try {
+			SectionIndex sectionIndex = this.sectionIndex(raw);
+			ParserDocument parserDocument = new ParserDocument();
+			String content = raw;
+			if (sectionIndex.contains(targetSection)) {
+				this.parseSectionHeading(raw, sectionIndex, targetSection, parserDocument, JFlexParser.MODE_SPLICE);
+				if (replacementText == null) {
+					replacementText = "";
+				} else if (!replacementText.endsWith("\n") && !replacementText.endsWith("\r")) {
+					// replacementText must end with a newline, otherwise sections get spliced together
+					replacementText += "\r\n";
+				}
+				int end = sectionIndex.getEnd(targetSection);
+				StringBuilder spliced = new StringBuilder(raw.length() + replacementText.length());
+				spliced.append(raw, 0, sectionIndex.getStart(targetSection));
+				spliced.append(replacementText);
+				spliced.append(raw, end, raw.length());
+				content = spliced.toString();
+			}
+			parserDocument.setContent(content);
+			this.setRedirect(parserDocument, raw);
+			return parserDocument;
+		} finally {
+			this.endDocument(context, ParserMetrics.STAGE_SPLICE);
+		}
+	}
+
+	/**
+	 * Reader implementation that appends all characters read from the
+	 * underlying reader to a buffer, allowing content that is streamed
+	 * between parser stages to be examined once the stage has completed.
+	 */
+	private static class RecordingReader extends FilterReader {
+
+		private final StringBuilder recorded;
+
+		/**
+		 *
+		 */
+		RecordingReader(Reader in, StringBuilder recorded) {
+			super(in);
+			this.recorded = recorded;
+		}
+
+		/**
+		 *
+		 */
+		public int read() throws IOException {
+			int c = super.read();
+			if (c != -1) {
+				this.recorded.append((char)c);
+			}
+			return c;
+		}
+
+		/**
+		 *
+		 */
+		public int read(char[] cbuf, int off, int len) throws IOException {
+			int count = super.read(cbuf, off, len);
+			if (count > 0) {
+				this.recorded.append(cbuf, off, count);
+			}
+			return count;
+		}
+	}
+
+	/**
+	 * Parsed output of one section of a document, along with the changes
+	 * that parsing the section made to the parser input so that they can be
+	 * applied again when the cached section is re-used.
+	 */
+	private static class SectionDocument extends ParserDocument {
+
+		/** References added while parsing the section. */
+		private Vector references = null;
+		/** Table of contents entries added while parsing the section. */
+		private TableOfContents tableOfContents = null;
+		/** Set if a template was included in the section or in an earlier section. */
+		private boolean templateInclusion = false;
+		/** Parser input topic name once the section was parsed. */
+		private String topicName = null;
+
+		/**
+		 * Apply the changes made to the parser input when this section was
+		 * parsed.
+		 */
+		void apply(ParserInput parserInput) {
+			parserInput.setTopicName(this.topicName);
+			if (this.templateInclusion) {
+				parserInput.getTempParams().put(TemplateTag.TEMPLATE_INCLUSION, "true");
+			}
+			if (this.tableOfContents != null) {
+				parserInput.getTableOfContents().addEntries(this.tableOfContents);
+			}
+			if (this.references != null) {
+				Vector references = (Vector)parserInput.getTempParams().get(WikiReferenceTag.REFERENCES_PARAM);
+				if (references == null) {
+					references = new Vector();
+					parserInput.getTempParams().put(WikiReferenceTag.REFERENCES_PARAM, references);
+				}
+				references.addAll(this.references);
+			}
+		}
+	}
+
+	/**
+	 * Index of the headings of a document, recording where each section
+	 * starts and ends so that a section can be retrieved or replaced without
+	 * scanning the document again.  Section numbers start at 1 for the
+	 * section that begins with the first heading.  The index extends
+	 * ParserDocument so that it can be cached along with the topic's parsed
+	 * documents.
+	 */
+	private static class SectionIndex extends ParserDocument {
+
+		/** Offset of the end of each section. */
+		private final int[] ends;
+		/** Length of the document that was indexed. */
+		private final int length;
+		/** Length of the heading text of each section. */
+		private final int[] lengths;
+		/** Offset of the heading that starts each section. */
+		private final int[] starts;
+
+		/**
+		 * A section ends at the next heading of the same or a higher level, or
+		 * at the end of the document.
+		 */
+		SectionIndex(int length, Vector offsets, Vector lengths, Vector levels) {
+			int count = offsets.size();
+			this.length = length;
+			this.starts = new int[count];
+			this.lengths = new int[count];
+			this.ends = new int[count];
+			int[] levelValues = new int[count];
+			// indexes of the sections that have not yet ended, from lowest to highest level
+			int[] open = new int[count];
+			int openCount = 0;
+			for (int i = 0; i < count; i++) {
+				this.starts[i] = ((Integer)offsets.elementAt(i)).intValue();
+				this.lengths[i] = ((Integer)lengths.elementAt(i)).intValue();
+				levelValues[i] = ((Integer)levels.elementAt(i)).intValue();
+				while (openCount > 0 && levelValues[open[openCount - 1]] >= levelValues[i]) {
+					openCount--;
+					this.ends[open[openCount]] = this.starts[i];
+				}
+				open[openCount++] = i;
+			}
+			for (int i = 0; i < openCount; i++) {
+				this.ends[open[i]] = length;
+			}
+		}
+
+		/**
+		 *
+		 */
+		boolean contains(int section) {
+			return (section >= 1 && section <= this.starts.length);
+		}
+
+		/**
+		 *
+		 */
+		int getEnd(int section) {
+			return this.ends[section - 1];
+		}
+
+		/**
+		 *
+		 */
+		String getHeading(String raw, int section) {
+			return raw.substring(this.starts[section - 1], this.starts[section - 1] + this.lengths[section - 1]);
+		}
+
+		/**
+		 * Determine whether this index could have been built from the given
+		 * document, which is the case if the document has the same length
+		 * and every indexed heading starts a line with a "=" and fits within
+		 * the document.
+		 */
+		boolean isIndexOf(String raw) {
+			if (raw.length() != this.length) {
+				return false;
+			}
+			for (int i = 0; i < this.starts.length; i++) {
+				int start = this.starts[i];
+				if (start + this.lengths[i] > this.length || raw.charAt(start) != '=') {
+					return false;
+				}
+				if (start > 0 && raw.charAt(start - 1) != '\n' && raw.charAt(start - 1) != '\r') {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 *
+		 */
+		int getSectionCount() {
+			return this.starts.length;
+		}
+
+		/**
+		 *
+		 */
+		int getStart(int section) {
+			return this.starts[section - 1];
+		}
+	}
+
+	/**
+	 * Reader implementation that returns a single newline character after the
+	 * underlying reader has been exhausted.  Some parser expressions require
+	 * that lines end in a newline, and this class allows a newline to be
+	 * added to streamed content without copying it.
+	 */
+	private static class NewlineTerminatedReader extends FilterReader {
+
+		private boolean terminated = false;
+
+		/**
+		 *
+		 */
+		NewlineTerminatedReader(Reader in) {
+			super(in);
+		}
+
+		/**
+		 *
+		 */
+		public int read() throws IOException {
+			int c = super.read();
+			if (c != -1 || this.terminated) {
+				return c;
+			}
+			this.terminated = true;
+			return '\n';
+		}
+
+		/**
+		 *
+		 */
+		public int read(char[] cbuf, int off, int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+			int count = super.read(cbuf, off, len);
+			if (count != -1 || this.terminated) {
+				return count;
+			}
+			this.terminated = true;
+			cbuf[off] = '\n';
+			return 1;
+		}
 	}
 }
@@ -0,0 +1,137 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.parser.jflex;
+
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Stack;
+
+/**
+ * Per-thread pool of JFlex lexer instances.  Every lexer allocates an input
+ * buffer when it is created, and since the parser creates new lexers for
+ * every link caption, template parameter, reference and signature that it
+ * parses, re-using lexers avoids allocating a new buffer for each fragment.
+ * Lexers are reset before being re-used, so a pooled lexer behaves exactly
+ * like a newly created lexer.
+ *
+ * Each thread keeps its own idle lexers, so no synchronization is required.
+ * Applications that run the parser on pooled threads owned by a container
+ * can call {@link #clear} when the thread has finished parsing to release
+ * the idle lexers held for that thread.
+ */
+public class LexerPool {
+
+	/** Maximum number of idle lexers of each type that are kept for a thread. */
+	private static final int MAX_IDLE_LEXERS = 4;
+	private static final ThreadLocal POOLS = new ThreadLocal() {
+		protected Object initialValue() {
+			return new LexerPool();
+		}
+	};
+	/** Map of lexer class to a stack of idle lexers of that class. */
+	private final HashMap idleLexers = new HashMap();
+
+	/**
+	 *
+	 */
+	private LexerPool() {
+	}
+
+	/**
+	 * Retrieve an idle lexer from the current thread's pool, or create a new
+	 * lexer if no idle lexer is available, and reset it to read from the
+	 * specified reader.  Callers must call {@link AbstractLexer#init} before
+	 * using the lexer and should return it to the pool using
+	 * {@link #release} once parsing is complete.
+	 *
+	 * @param lexerClass The class of the lexer to retrieve, such as
+	 *  <code>JAMWikiProcessor.class</code>.
+	 * @param reader The reader that provides the input to be parsed.
+	 * @param length The length of the input, or -1 if the length is not
+	 *  known.
+	 * @return A lexer of the specified class, ready to be initialized.
+	 */
+	protected static AbstractLexer acquire(Class lexerClass, Reader reader, int length) {
+		Stack idle = ((LexerPool)POOLS.get()).idleLexers(lexerClass);
+		AbstractLexer lexer = (idle.empty()) ? LexerPool.newLexer(lexerClass) : (AbstractLexer)idle.pop();
+		lexer.reset(reader, length);
+		return lexer;
+	}
+
+	/**
+	 * Discard all idle lexers held for the current thread.
+	 */
+	public static void clear() {
+		POOLS.remove();
+	}
+
+	/**
+	 *
+	 */
+	private Stack idleLexers(Class lexerClass) {
+		Stack idle = (Stack)this.idleLexers.get(lexerClass);
+		if (idle == null) {
+			idle = new Stack();
+			this.idleLexers.put(lexerClass, idle);
+		}
+		return idle;
+	}
+
+	/**
+	 *
+	 */
+	private static AbstractLexer newLexer(Class lexerClass) {
+		if (lexerClass == JAMWikiMetadataScanner.class) {
+			return new JAMWikiMetadataScanner((Reader)null);
+		}
+		if (lexerClass == JAMWikiPreProcessor.class) {
+			return new JAMWikiPreProcessor((Reader)null);
+		}
+		if (lexerClass == JAMWikiProcessor.class) {
+			return new JAMWikiProcessor((Reader)null);
+		}
+		if (lexerClass == JAMWikiPostProcessor.class) {
+			return new JAMWikiPostProcessor((Reader)null);
+		}
+		if (lexerClass == JAMWikiSpliceProcessor.class) {
+			return new JAMWikiSpliceProcessor((Reader)null);
+		}
+		throw new IllegalArgumentException("Unsupported lexer class " + lexerClass.getName());
+	}
+
+	/**
+	 * Return a lexer to the current thread's pool once parsing is complete.
+	 * Lexers whose input buffer has grown beyond the default maximum size
+	 * are discarded rather than kept, as are lexers in excess of the
+	 * maximum number of idle lexers.
+	 *
+	 * @param lexer The lexer to return to the pool.  The lexer must not be
+	 *  used after it has been released.
+	 */
+	protected static void release(AbstractLexer lexer) {
+		if (lexer.getBufferSize() > AbstractLexer.MAX_BUFFER_SIZE) {
+			return;
+		}
+		Stack idle = ((LexerPool)POOLS.get()).idleLexers(lexer.getClass());
+		if (idle.size() >= MAX_IDLE_LEXERS) {
+			return;
+		}
+		// do not keep references to the input or the parsed document
+		lexer.reset(null, 0);
+		idle.push(lexer);
+	}
+}
@@ -0,0 +1,120 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.parser.jflex;
+
+import java.util.HashMap;
+import org.jamwiki.parser.ParserTag;
+import org.jamwiki.utils.WikiLogger;
+
+/**
+ * Registry of the parser tags used by the JFlex lexers.  Parser tags are
+ * stateless and thread-safe, so a single instance of each tag is shared by
+ * all lexers, and lexers retrieve the tags that they use from this registry
+ * at the start of each top-level parse rather than creating a new tag for
+ * every token.
+ *
+ * Each tag is registered under the class of the default JAMWiki tag that it
+ * implements, allowing applications to replace a default tag with a custom
+ * implementation.  For example, a custom math renderer could be installed
+ * using <code>ParserTagRegistry.setTag(WikiMathTag.class, mathTag)</code>.
+ * Custom tags must not keep any per-call state since they are shared by all
+ * threads that are parsing.
+ */
+public class ParserTagRegistry {
+
+	private static final WikiLogger logger = WikiLogger.getLogger(ParserTagRegistry.class.getName());
+	/** Map of default tag class to the tag registered for that class.  The map is replaced rather than modified so that it can be read without locking. */
+	private static volatile HashMap TAGS = ParserTagRegistry.defaultTags();
+
+	/**
+	 *
+	 */
+	private ParserTagRegistry() {
+	}
+
+	/**
+	 *
+	 */
+	private static HashMap defaultTags() {
+		HashMap tags = new HashMap();
+		tags.put(CharacterTag.class, new CharacterTag());
+		tags.put(HtmlCommentTag.class, new HtmlCommentTag());
+		tags.put(HtmlLinkTag.class, new HtmlLinkTag());
+		tags.put(HtmlPreTag.class, new HtmlPreTag());
+		tags.put(HtmlTag.class, new HtmlTag());
+		tags.put(IncludeOnlyTag.class, new IncludeOnlyTag());
+		tags.put(NoIncludeTag.class, new NoIncludeTag());
+		tags.put(TemplateTag.class, new TemplateTag());
+		tags.put(WikiHeadingTag.class, new WikiHeadingTag());
+		tags.put(WikiLinkTag.class, new WikiLinkTag());
+		tags.put(WikiListTag.class, new WikiListTag());
+		tags.put(WikiMathTag.class, new WikiMathTag());
+		tags.put(WikiNowikiTag.class, new WikiNowikiTag());
+		tags.put(WikiReferenceTag.class, new WikiReferenceTag());
+		tags.put(WikiReferencesTag.class, new WikiReferencesTag());
+		tags.put(WikiSignatureTag.class, new WikiSignatureTag());
+		return tags;
+	}
+
+	/**
+	 * Return the tag that is currently registered for the specified default
+	 * tag class.
+	 *
+	 * @param tagClass The class of the default JAMWiki tag, such as
+	 *  <code>WikiLinkTag.class</code>.
+	 * @return The tag registered for the specified class.
+	 */
+	public static ParserTag getTag(Class tagClass) {
+		ParserTag parserTag = (ParserTag)TAGS.get(tagClass);
+		if (parserTag == null) {
+			throw new IllegalArgumentException("No parser tag registered for " + tagClass.getName());
+		}
+		return parserTag;
+	}
+
+	/**
+	 * Restore all default tags, discarding any custom tags that have been
+	 * registered.
+	 */
+	public static synchronized void reset() {
+		TAGS = ParserTagRegistry.defaultTags();
+	}
+
+	/**
+	 * Register a tag to be used in place of a default JAMWiki tag.  Lexers
+	 * load their tags once for each top-level parse, so documents that are
+	 * currently being parsed continue to use the previously registered tag
+	 * until they finish.
+	 *
+	 * @param tagClass The class of the default JAMWiki tag to be replaced,
+	 *  such as <code>WikiMathTag.class</code>.
+	 * @param parserTag The tag to use in place of the default tag.  The tag
+	 *  must be stateless and thread-safe.
+	 */
+	public static synchronized void setTag(Class tagClass, ParserTag parserTag) {
+		if (parserTag == null) {
+			throw new IllegalArgumentException("Parser tag must not be null");
+		}
+		if (!TAGS.containsKey(tagClass)) {
+			throw new IllegalArgumentException("Unsupported parser tag class " + tagClass.getName());
+		}
+		HashMap tags = new HashMap(TAGS);
+		tags.put(tagClass, parserTag);
+		TAGS = tags;
+		logger.info("Registered parser tag " + parserTag.getClass().getName() + " in place of " + tagClass.getName());
+	}
+}
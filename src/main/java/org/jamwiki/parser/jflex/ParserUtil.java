@@ -16,12 +16,18 @@
  */
 package org.jamwiki.parser.jflex;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.jamwiki.Environment;
+import org.jamwiki.parser.ParserContext;
 import org.jamwiki.parser.ParserInput;
 import org.jamwiki.parser.ParserDocument;
+import org.jamwiki.parser.TableOfContents;
+import org.jamwiki.utils.Utilities;
 import org.jamwiki.utils.WikiLogger;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -48,16 +54,104 @@ public class ParserUtil {
 
 	/**
 	 * Provide a way to run the pre-processor against a fragment of text, such
-	 * as an image caption.  This method should be used sparingly since it is
-	 * not very efficient.
+	 * as an image caption.  Fragments that are parsed more than once during
+	 * the same parse are only parsed the first time, see
+	 * {@link #parseFragment(ParserInput, ParserDocument, String, int, boolean)}.
 	 */
 	protected static String parseFragment(ParserInput parserInput, String raw, int mode) throws Exception {
+		return ParserUtil.parseFragment(parserInput, null, raw, mode, true);
+	}
+
+	/**
+	 * Run the pre-processor against a fragment of text, such as a template
+	 * body, that is part of a larger document.  Templates used by the
+	 * fragment are added to the metadata of the containing document, and if
+	 * the fragment is not cacheable then neither is the containing document.
+	 */
+	protected static String parseFragment(ParserInput parserInput, ParserDocument parentDocument, String raw, int mode) throws Exception {
+		return ParserUtil.parseFragment(parserInput, parentDocument, raw, mode, true);
+	}
+
+	/**
+	 * Run the pre-processor against a fragment of text that is part of a
+	 * larger document.  When memoization is enabled the result is recorded
+	 * in the parser input, and any identical fragment parsed later during
+	 * the same parse with the same mode, topic, nesting depth and template
+	 * inclusion state re-uses the recorded result instead of being parsed
+	 * again.  A result is only recorded if parsing the fragment did not
+	 * modify the table of contents or the parser input's temporary
+	 * parameters, so fragments containing headings, references or other
+	 * content that changes the state of the parse are always re-parsed.
+	 * Once a parser limit has been exceeded (see
+	 * {@link ParserContext#getLimitExceeded}) fragments are no longer parsed
+	 * and the raw fragment text is returned instead, escaped if the mode
+	 * produces HTML.
+	 *
+	 * @param parserInput The parser input for the document being parsed.
+	 * @param parentDocument The document that contains the fragment, or
+	 *  <code>null</code> if fragment metadata should not be merged into a
+	 *  containing document.
+	 * @param raw The raw fragment text to be parsed.
+	 * @param mode The parser mode to use when parsing the fragment.
+	 * @param memoize Set to <code>false</code> for fragments whose parsing
+	 *  has side effects, such as signatures, that must not be skipped.
+	 * @return The parsed fragment content.
+	 */
+	protected static String parseFragment(ParserInput parserInput, ParserDocument parentDocument, String raw, int mode, boolean memoize) throws Exception {
 		if (!StringUtils.hasText(raw)) return raw;
-		JFlexParser parser = new JFlexParser(parserInput);
-		ParserDocument parserDocument = parser.parseFragment(raw, mode);
+		FragmentKey key = null;
+		ParserDocument parserDocument = null;
+		if (memoize) {
+			key = new FragmentKey(parserInput, raw, mode);
+			parserDocument = (ParserDocument)parserInput.getParsedFragments().get(key);
+		}
+		if (parserDocument == null) {
+			ParserContext context = parserInput.getParserContext();
+			if (context != null && !context.addFragmentParse()) {
+				if (parentDocument != null) {
+					parentDocument.setCacheable(false);
+				}
+				return (mode >= JFlexParser.MODE_PROCESS) ? Utilities.escapeHTML(raw) : raw;
+			}
+			int state = (memoize) ? ParserUtil.parseState(parserInput) : 0;
+			JFlexParser parser = new JFlexParser(parserInput);
+			parserDocument = parser.parseFragment(raw, mode);
+			if (memoize && state == ParserUtil.parseState(parserInput)) {
+				parserInput.getParsedFragments().put(key, parserDocument);
+			}
+		}
+		if (parentDocument != null) {
+			for (Iterator iterator = parserDocument.getTemplates().iterator(); iterator.hasNext();) {
+				String template = (String)iterator.next();
+				if (!parentDocument.getTemplates().contains(template)) {
+					parentDocument.addTemplate(template);
+				}
+			}
+			if (!parserDocument.getCacheable()) {
+				parentDocument.setCacheable(false);
+			}
+		}
 		return parserDocument.getContent();
 	}
 
+	/**
+	 * Return a value that changes whenever parsing adds to the table of
+	 * contents or to the parser input's temporary parameters, used to
+	 * determine whether parsing a fragment had side effects.
+	 */
+	protected static int parseState(ParserInput parserInput) {
+		int state = 0;
+		TableOfContents tableOfContents = parserInput.getTableOfContents();
+		if (tableOfContents != null) {
+			state = (tableOfContents.size() * 31) + (tableOfContents.getStatus() * 2) + ((tableOfContents.getForceTOC()) ? 1 : 0);
+		}
+		for (Iterator iterator = parserInput.getTempParams().values().iterator(); iterator.hasNext();) {
+			Object value = iterator.next();
+			state = (state * 31) + ((value instanceof Collection) ? ((Collection)value).size() + 1 : 1);
+		}
+		return state;
+	}
+
 	/**
 	 * Clean up HTML tags to make them XHTML compliant (lowercase, no
 	 * unnecessary spaces).
@@ -148,4 +242,47 @@ public class ParserUtil {
 		}
 		return attributes;
 	}
+
+	/**
+	 * Key used to identify a parsed fragment or an expanded template call
+	 * along with the parser input state that can affect the result of
+	 * parsing it.
+	 */
+	static class FragmentKey {
+
+		private final int depth;
+		private final boolean inclusion;
+		private final int mode;
+		private final String raw;
+		private final String topicName;
+
+		/**
+		 *
+		 */
+		FragmentKey(ParserInput parserInput, String raw, int mode) {
+			this.depth = parserInput.getDepth();
+			this.inclusion = parserInput.getTempParams().containsKey(TemplateTag.TEMPLATE_INCLUSION);
+			this.mode = mode;
+			this.raw = raw;
+			this.topicName = parserInput.getTopicName();
+		}
+
+		/**
+		 *
+		 */
+		public boolean equals(Object object) {
+			if (!(object instanceof FragmentKey)) {
+				return false;
+			}
+			FragmentKey key = (FragmentKey)object;
+			return (this.mode == key.mode && this.depth == key.depth && this.inclusion == key.inclusion && this.raw.equals(key.raw) && ObjectUtils.nullSafeEquals(this.topicName, key.topicName));
+		}
+
+		/**
+		 *
+		 */
+		public int hashCode() {
+			return (this.raw.hashCode() * 31) + this.mode;
+		}
+	}
 }
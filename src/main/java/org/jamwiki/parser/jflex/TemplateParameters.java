@@ -0,0 +1,74 @@
+/**
+ * Licensed under the GNU LESSER GENERAL PUBLIC LICENSE, version 2.1, dated February 1999.
+ *
+ * This program is free software; you can redistribute it and/or modify
+ * it under the terms of the latest version of the GNU Lesser General
+ * Public License as published by the Free Software Foundation;
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program (LICENSE.txt); if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place - Suite 330, Boston, MA  02111-1307, USA.
+ */
+package org.jamwiki.parser.jflex;
+
+import java.util.HashMap;
+import org.jamwiki.parser.ParserDocument;
+import org.jamwiki.parser.ParserInput;
+
+/**
+ * Parameter values of a single template call.  Values are stored as they
+ * appear in the template call and are only parsed when the template body
+ * uses them, so that templates called with many optional parameters do not
+ * pay for parsing parameters that are never used.  Each value is parsed at
+ * most once per template call.
+ */
+class TemplateParameters {
+
+	/** Map of parameter name to parsed parameter value, for values that have been used. */
+	private final HashMap parsedValues = new HashMap();
+	/** Map of parameter name to unparsed parameter value. */
+	private final HashMap rawValues = new HashMap();
+
+	/**
+	 * Return the parsed value of a parameter, parsing the value if it has
+	 * not already been used during this template call.
+	 *
+	 * @param parserInput The parser input for the document being parsed.
+	 * @param parserDocument The document to which the metadata of the parsed
+	 *  value is added.
+	 * @param name The parameter name.
+	 * @return The parsed parameter value, or <code>null</code> if the
+	 *  template call does not set the parameter.
+	 * @throws Exception Thrown if any error occurs while parsing the value.
+	 */
+	protected String get(ParserInput parserInput, ParserDocument parserDocument, String name) throws Exception {
+		String value = (String)this.parsedValues.get(name);
+		if (value != null) {
+			return value;
+		}
+		String raw = (String)this.rawValues.get(name);
+		if (raw == null) {
+			return null;
+		}
+		value = ParserUtil.parseFragment(parserInput, parserDocument, raw, JFlexParser.MODE_TEMPLATE);
+		this.parsedValues.put(name, value);
+		return value;
+	}
+
+	/**
+	 * Set the unparsed value of a parameter, replacing any value previously
+	 * set for the same parameter name.
+	 *
+	 * @param name The parameter name.
+	 * @param raw The unparsed parameter value, or <code>null</code> if the
+	 *  parameter has no value.
+	 */
+	protected void put(String name, String raw) {
+		this.rawValues.put(name, raw);
+	}
+}
@@ -18,9 +18,11 @@ package org.jamwiki.parser.jflex;
 
 import java.text.NumberFormat;
 import java.text.SimpleDateFormat;
+import java.util.Collections;
 import java.util.Date;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.Set;
 import java.util.TimeZone;
 import java.util.Vector;
 import java.util.regex.Matcher;
@@ -28,6 +30,7 @@ import java.util.regex.Pattern;
 
 import org.jamwiki.WikiVersion;
 import org.jamwiki.model.Topic;
+import org.jamwiki.parser.ParserContext;
 import org.jamwiki.parser.ParserDocument;
 import org.jamwiki.parser.ParserInput;
 import org.jamwiki.parser.ParserTag;
@@ -118,111 +121,135 @@ public class TemplateTag implements ParserTag {
 	private static final String MAGIC_SERVER = "SERVER";
 	private static final String MAGIC_SCRIPT_PATH = "SCRIPTPATH";
 	private static final String MAGIC_SERVER_NAME = "SERVERNAME";
-	private static Vector MAGIC_WORDS = new Vector();
+	/** Immutable once built so that lookups from concurrent parses take no lock. */
+	private static final Set MAGIC_WORDS;
+	/** Magic words whose values can change between parses of the same topic content. */
+	private static final Set VOLATILE_MAGIC_WORDS;
 	protected static final String TEMPLATE_INCLUSION = "template-inclusion";
 	private static Pattern PARAM_NAME_VALUE_PATTERN = null;
 
-	private HashMap parameterValues = new HashMap();
-
 	static {
 		try {
 			PARAM_NAME_VALUE_PATTERN = Pattern.compile("[\\s]*([A-Za-z0-9_\\ \\-]+)[\\s]*\\=([\\s\\S]*)");
 		} catch (Exception e) {
 			logger.severe("Unable to compile pattern", e);
 		}
+		Set magicWords = new HashSet();
 		// current date values
-		MAGIC_WORDS.add(MAGIC_CURRENT_DAY);
-		MAGIC_WORDS.add(MAGIC_CURRENT_DAY2);
-		MAGIC_WORDS.add(MAGIC_CURRENT_DAY_NAME);
-		MAGIC_WORDS.add(MAGIC_CURRENT_DAY_OF_WEEK);
-		MAGIC_WORDS.add(MAGIC_CURRENT_MONTH);
-		MAGIC_WORDS.add(MAGIC_CURRENT_MONTH_ABBR);
-		MAGIC_WORDS.add(MAGIC_CURRENT_MONTH_NAME);
-		MAGIC_WORDS.add(MAGIC_CURRENT_TIME);
-		MAGIC_WORDS.add(MAGIC_CURRENT_HOUR);
-		MAGIC_WORDS.add(MAGIC_CURRENT_WEEK);
-		MAGIC_WORDS.add(MAGIC_CURRENT_YEAR);
-		MAGIC_WORDS.add(MAGIC_CURRENT_TIMESTAMP);
+		magicWords.add(MAGIC_CURRENT_DAY);
+		magicWords.add(MAGIC_CURRENT_DAY2);
+		magicWords.add(MAGIC_CURRENT_DAY_NAME);
+		magicWords.add(MAGIC_CURRENT_DAY_OF_WEEK);
+		magicWords.add(MAGIC_CURRENT_MONTH);
+		magicWords.add(MAGIC_CURRENT_MONTH_ABBR);
+		magicWords.add(MAGIC_CURRENT_MONTH_NAME);
+		magicWords.add(MAGIC_CURRENT_TIME);
+		magicWords.add(MAGIC_CURRENT_HOUR);
+		magicWords.add(MAGIC_CURRENT_WEEK);
+		magicWords.add(MAGIC_CURRENT_YEAR);
+		magicWords.add(MAGIC_CURRENT_TIMESTAMP);
 		// local date values
-		MAGIC_WORDS.add(MAGIC_LOCAL_DAY);
-		MAGIC_WORDS.add(MAGIC_LOCAL_DAY2);
-		MAGIC_WORDS.add(MAGIC_LOCAL_DAY_NAME);
-		MAGIC_WORDS.add(MAGIC_LOCAL_DAY_OF_WEEK);
-		MAGIC_WORDS.add(MAGIC_LOCAL_MONTH);
-		MAGIC_WORDS.add(MAGIC_LOCAL_MONTH_ABBR);
-		MAGIC_WORDS.add(MAGIC_LOCAL_MONTH_NAME);
-		MAGIC_WORDS.add(MAGIC_LOCAL_TIME);
-		MAGIC_WORDS.add(MAGIC_LOCAL_HOUR);
-		MAGIC_WORDS.add(MAGIC_LOCAL_WEEK);
-		MAGIC_WORDS.add(MAGIC_LOCAL_YEAR);
-		MAGIC_WORDS.add(MAGIC_LOCAL_TIMESTAMP);
+		magicWords.add(MAGIC_LOCAL_DAY);
+		magicWords.add(MAGIC_LOCAL_DAY2);
+		magicWords.add(MAGIC_LOCAL_DAY_NAME);
+		magicWords.add(MAGIC_LOCAL_DAY_OF_WEEK);
+		magicWords.add(MAGIC_LOCAL_MONTH);
+		magicWords.add(MAGIC_LOCAL_MONTH_ABBR);
+		magicWords.add(MAGIC_LOCAL_MONTH_NAME);
+		magicWords.add(MAGIC_LOCAL_TIME);
+		magicWords.add(MAGIC_LOCAL_HOUR);
+		magicWords.add(MAGIC_LOCAL_WEEK);
+		magicWords.add(MAGIC_LOCAL_YEAR);
+		magicWords.add(MAGIC_LOCAL_TIMESTAMP);
 		// statistics
-		MAGIC_WORDS.add(MAGIC_CURRENT_VERSION);
-		MAGIC_WORDS.add(MAGIC_NUMBER_ARTICLES);
-		MAGIC_WORDS.add(MAGIC_NUMBER_ARTICLES_R);
-		MAGIC_WORDS.add(MAGIC_NUMBER_PAGES);
-		MAGIC_WORDS.add(MAGIC_NUMBER_PAGES_R);
-		MAGIC_WORDS.add(MAGIC_NUMBER_FILES);
-		MAGIC_WORDS.add(MAGIC_NUMBER_FILES_R);
-		MAGIC_WORDS.add(MAGIC_NUMBER_USERS);
-		MAGIC_WORDS.add(MAGIC_NUMBER_USERS_R);
-		MAGIC_WORDS.add(MAGIC_NUMBER_ADMINS);
-		MAGIC_WORDS.add(MAGIC_NUMBER_ADMINS_R);
-		MAGIC_WORDS.add(MAGIC_PAGES_IN_NAMESPACE);
-		MAGIC_WORDS.add(MAGIC_PAGES_IN_NAMESPACE_NS);
-		MAGIC_WORDS.add(MAGIC_PAGES_IN_NAMESPACE_NS_R);
+		magicWords.add(MAGIC_CURRENT_VERSION);
+		magicWords.add(MAGIC_NUMBER_ARTICLES);
+		magicWords.add(MAGIC_NUMBER_ARTICLES_R);
+		magicWords.add(MAGIC_NUMBER_PAGES);
+		magicWords.add(MAGIC_NUMBER_PAGES_R);
+		magicWords.add(MAGIC_NUMBER_FILES);
+		magicWords.add(MAGIC_NUMBER_FILES_R);
+		magicWords.add(MAGIC_NUMBER_USERS);
+		magicWords.add(MAGIC_NUMBER_USERS_R);
+		magicWords.add(MAGIC_NUMBER_ADMINS);
+		magicWords.add(MAGIC_NUMBER_ADMINS_R);
+		magicWords.add(MAGIC_PAGES_IN_NAMESPACE);
+		magicWords.add(MAGIC_PAGES_IN_NAMESPACE_NS);
+		magicWords.add(MAGIC_PAGES_IN_NAMESPACE_NS_R);
 		// page values
-		MAGIC_WORDS.add(MAGIC_PAGE_NAME);
-		MAGIC_WORDS.add(MAGIC_PAGE_NAME_E);
-		MAGIC_WORDS.add(MAGIC_SUB_PAGE_NAME);
-		MAGIC_WORDS.add(MAGIC_SUB_PAGE_NAME_E);
-		MAGIC_WORDS.add(MAGIC_BASE_PAGE_NAME);
-		MAGIC_WORDS.add(MAGIC_BASE_PAGE_NAME_E);
-		MAGIC_WORDS.add(MAGIC_NAMESPACE);
-		MAGIC_WORDS.add(MAGIC_NAMESPACE_E);
-		MAGIC_WORDS.add(MAGIC_FULL_PAGE_NAME);
-		MAGIC_WORDS.add(MAGIC_FULL_PAGE_NAME_E);
-		MAGIC_WORDS.add(MAGIC_TALK_SPACE);
-		MAGIC_WORDS.add(MAGIC_TALK_SPACE_E);
-		MAGIC_WORDS.add(MAGIC_SUBJECT_SPACE);
-		MAGIC_WORDS.add(MAGIC_SUBJECT_SPACE_E);
-		MAGIC_WORDS.add(MAGIC_ARTICLE_SPACE);
-		MAGIC_WORDS.add(MAGIC_ARTICLE_SPACE_E);
-		MAGIC_WORDS.add(MAGIC_TALK_PAGE_NAME);
-		MAGIC_WORDS.add(MAGIC_TALK_PAGE_NAME_E);
-		MAGIC_WORDS.add(MAGIC_SUBJECT_PAGE_NAME);
-		MAGIC_WORDS.add(MAGIC_SUBJECT_PAGE_NAME_E);
-		MAGIC_WORDS.add(MAGIC_ARTICLE_PAGE_NAME);
-		MAGIC_WORDS.add(MAGIC_ARTICLE_PAGE_NAME_E);
-		MAGIC_WORDS.add(MAGIC_REVISION_ID);
-		MAGIC_WORDS.add(MAGIC_REVISION_DAY);
-		MAGIC_WORDS.add(MAGIC_REVISION_DAY2);
-		MAGIC_WORDS.add(MAGIC_REVISION_MONTH);
-		MAGIC_WORDS.add(MAGIC_REVISION_YEAR);
-		MAGIC_WORDS.add(MAGIC_REVISION_TIMESTAMP);
-		MAGIC_WORDS.add(MAGIC_SITE_NAME);
-		MAGIC_WORDS.add(MAGIC_SERVER);
-		MAGIC_WORDS.add(MAGIC_SCRIPT_PATH);
-		MAGIC_WORDS.add(MAGIC_SERVER_NAME);
-	}
-
-	/**
-	 * Once the template call has been parsed and the template values have been
-	 * determined, parse the template body and apply those template values.
-	 * Parameters may be embedded or have default values, so there is some
-	 * voodoo magic that happens here to first parse any embedded values, and
-	 * to apply default values when no template value has been set.
-	 */
-	private String applyParameter(ParserInput parserInput, String param) throws Exception {
-		if (this.parameterValues == null) return param;
-		String content = param.substring("{{{".length(), param.length() - "}}}".length());
-		// re-parse in case of embedded templates or params
-		content = this.parseTemplateBody(parserInput, content);
-		String name = this.parseParamName(content);
-		String defaultValue = this.parseParamDefaultValue(parserInput, content);
-		String value = (String)this.parameterValues.get(name);
-		if (value == null && defaultValue == null) return param;
-		return (value == null) ? defaultValue : value;
+		magicWords.add(MAGIC_PAGE_NAME);
+		magicWords.add(MAGIC_PAGE_NAME_E);
+		magicWords.add(MAGIC_SUB_PAGE_NAME);
+		magicWords.add(MAGIC_SUB_PAGE_NAME_E);
+		magicWords.add(MAGIC_BASE_PAGE_NAME);
+		magicWords.add(MAGIC_BASE_PAGE_NAME_E);
+		magicWords.add(MAGIC_NAMESPACE);
+		magicWords.add(MAGIC_NAMESPACE_E);
+		magicWords.add(MAGIC_FULL_PAGE_NAME);
+		magicWords.add(MAGIC_FULL_PAGE_NAME_E);
+		magicWords.add(MAGIC_TALK_SPACE);
+		magicWords.add(MAGIC_TALK_SPACE_E);
+		magicWords.add(MAGIC_SUBJECT_SPACE);
+		magicWords.add(MAGIC_SUBJECT_SPACE_E);
+		magicWords.add(MAGIC_ARTICLE_SPACE);
+		magicWords.add(MAGIC_ARTICLE_SPACE_E);
+		magicWords.add(MAGIC_TALK_PAGE_NAME);
+		magicWords.add(MAGIC_TALK_PAGE_NAME_E);
+		magicWords.add(MAGIC_SUBJECT_PAGE_NAME);
+		magicWords.add(MAGIC_SUBJECT_PAGE_NAME_E);
+		magicWords.add(MAGIC_ARTICLE_PAGE_NAME);
+		magicWords.add(MAGIC_ARTICLE_PAGE_NAME_E);
+		magicWords.add(MAGIC_REVISION_ID);
+		magicWords.add(MAGIC_REVISION_DAY);
+		magicWords.add(MAGIC_REVISION_DAY2);
+		magicWords.add(MAGIC_REVISION_MONTH);
+		magicWords.add(MAGIC_REVISION_YEAR);
+		magicWords.add(MAGIC_REVISION_TIMESTAMP);
+		magicWords.add(MAGIC_SITE_NAME);
+		magicWords.add(MAGIC_SERVER);
+		magicWords.add(MAGIC_SCRIPT_PATH);
+		magicWords.add(MAGIC_SERVER_NAME);
+		MAGIC_WORDS = Collections.unmodifiableSet(magicWords);
+		// date values and statistics change without the topic changing
+		Set volatileMagicWords = new HashSet();
+		volatileMagicWords.add(MAGIC_CURRENT_DAY);
+		volatileMagicWords.add(MAGIC_CURRENT_DAY2);
+		volatileMagicWords.add(MAGIC_CURRENT_DAY_NAME);
+		volatileMagicWords.add(MAGIC_CURRENT_DAY_OF_WEEK);
+		volatileMagicWords.add(MAGIC_CURRENT_MONTH);
+		volatileMagicWords.add(MAGIC_CURRENT_MONTH_ABBR);
+		volatileMagicWords.add(MAGIC_CURRENT_MONTH_NAME);
+		volatileMagicWords.add(MAGIC_CURRENT_TIME);
+		volatileMagicWords.add(MAGIC_CURRENT_HOUR);
+		volatileMagicWords.add(MAGIC_CURRENT_WEEK);
+		volatileMagicWords.add(MAGIC_CURRENT_YEAR);
+		volatileMagicWords.add(MAGIC_CURRENT_TIMESTAMP);
+		volatileMagicWords.add(MAGIC_LOCAL_DAY);
+		volatileMagicWords.add(MAGIC_LOCAL_DAY2);
+		volatileMagicWords.add(MAGIC_LOCAL_DAY_NAME);
+		volatileMagicWords.add(MAGIC_LOCAL_DAY_OF_WEEK);
+		volatileMagicWords.add(MAGIC_LOCAL_MONTH);
+		volatileMagicWords.add(MAGIC_LOCAL_MONTH_ABBR);
+		volatileMagicWords.add(MAGIC_LOCAL_MONTH_NAME);
+		volatileMagicWords.add(MAGIC_LOCAL_TIME);
+		volatileMagicWords.add(MAGIC_LOCAL_HOUR);
+		volatileMagicWords.add(MAGIC_LOCAL_WEEK);
+		volatileMagicWords.add(MAGIC_LOCAL_YEAR);
+		volatileMagicWords.add(MAGIC_LOCAL_TIMESTAMP);
+		volatileMagicWords.add(MAGIC_NUMBER_ARTICLES);
+		volatileMagicWords.add(MAGIC_NUMBER_ARTICLES_R);
+		volatileMagicWords.add(MAGIC_NUMBER_PAGES);
+		volatileMagicWords.add(MAGIC_NUMBER_PAGES_R);
+		volatileMagicWords.add(MAGIC_NUMBER_FILES);
+		volatileMagicWords.add(MAGIC_NUMBER_FILES_R);
+		volatileMagicWords.add(MAGIC_NUMBER_USERS);
+		volatileMagicWords.add(MAGIC_NUMBER_USERS_R);
+		volatileMagicWords.add(MAGIC_NUMBER_ADMINS);
+		volatileMagicWords.add(MAGIC_NUMBER_ADMINS_R);
+		volatileMagicWords.add(MAGIC_PAGES_IN_NAMESPACE);
+		volatileMagicWords.add(MAGIC_PAGES_IN_NAMESPACE_NS);
+		volatileMagicWords.add(MAGIC_PAGES_IN_NAMESPACE_NS_R);
+		VOLATILE_MAGIC_WORDS = Collections.unmodifiableSet(volatileMagicWords);
 	}
 
 	/**
@@ -234,16 +261,15 @@ public class TemplateTag implements ParserTag {
 	 * "01<b>567</b>23" returns 12.
 	 * "01<b>56<b>01</b>67</b>23" returns 22.
 	 */
-	private int findMatchingEndTag(String content, int start, String startToken, String endToken) {
+	protected static int findMatchingEndTag(String content, int start, String startToken, String endToken) {
 		int pos = start;
 		int count = 0;
-		String substring = "";
 		while (pos < content.length()) {
-			substring = content.substring(pos);
-			if (substring.startsWith(startToken)) {
+			// compare in place rather than creating a substring for every position
+			if (content.startsWith(startToken, pos)) {
 				count++;
 				pos += startToken.length();
-			} else if (substring.startsWith(endToken)) {
+			} else if (content.startsWith(endToken, pos)) {
 				count--;
 				pos += endToken.length();
 			} else {
@@ -254,18 +280,71 @@ public class TemplateTag implements ParserTag {
 		return -1;
 	}
 
+	/**
+	 * Find the position after the matching end tag for every start tag in
+	 * the content in a single pass.  For a start tag beginning at position
+	 * <code>pos</code> the returned array holds the value that
+	 * findMatchingEndTag(content, pos, startToken, endToken) would return at
+	 * index <code>pos + startToken.length()</code>, so start tags that fail
+	 * to match are not scanned again to the end of the content.
+	 *
+	 * Each entry records the position after the first end tag that is not
+	 * closed by a start tag at or after that position, or -1 if there is
+	 * none, and is computed from the entries that follow it.
+	 */
+	protected static int[] findMatchingEndTags(String content, String startToken, String endToken) {
+		int[] ends = new int[content.length() + 1];
+		ends[content.length()] = -1;
+		for (int pos = content.length() - 1; pos >= 0; pos--) {
+			if (content.startsWith(startToken, pos)) {
+				// skip past the matching end tag and find the one after it
+				int endPos = ends[pos + startToken.length()];
+				ends[pos] = (endPos == -1) ? -1 : ends[endPos];
+			} else if (content.startsWith(endToken, pos)) {
+				ends[pos] = pos + endToken.length();
+			} else {
+				ends[pos] = ends[pos + 1];
+			}
+		}
+		return ends;
+	}
+
 	/**
 	 * Determine if a template name corresponds to a magic word requiring
 	 * special handling.  See http://meta.wikimedia.org/wiki/Help:Magic_words
 	 * for a list of Mediawiki magic words.
 	 */
-	private boolean isMagicWord(String name) {
+	protected boolean isMagicWord(String name) {
 		return MAGIC_WORDS.contains(name);
 	}
 
+	/**
+	 * Return the text of a template call with the template name in the form
+	 * returned by {@link #parseTemplateName}, so that calls such as
+	 * "{{ done }}" and "{{Template:done}}" share a memoized expansion.  Calls
+	 * whose template name contains markup are returned unchanged.
+	 */
+	private String normalizeTemplateCall(String raw, String name) {
+		int pos = raw.indexOf('|');
+		if (pos == -1) {
+			pos = raw.length() - "}}".length();
+		}
+		for (int i = "{{".length(); i < pos; i++) {
+			char c = raw.charAt(i);
+			if (c == '{' || c == '[') {
+				return raw;
+			}
+		}
+		return "{{" + name + raw.substring(pos);
+	}
+
 	/**
 	 * Parse a call to a Mediawiki template of the form "{{template|param1|param2}}"
-	 * and return the resulting template output.
+	 * and return the resulting template output.  If the parse has exceeded
+	 * one of its limits (see {@link ParserContext}) then the template call is
+	 * returned unexpanded.  Identical template calls made during the same
+	 * parse are only expanded once unless the expansion is not cacheable,
+	 * for example because the template uses a time-dependent magic word.
 	 */
 	public String parse(ParserInput parserInput, ParserDocument parserDocument, int mode, String raw) throws Exception {
 		// extract the template name
@@ -274,15 +353,50 @@ public class TemplateTag implements ParserTag {
 			if (mode < JFlexParser.MODE_TEMPLATE) {
 				return raw;
 			}
+			if (VOLATILE_MAGIC_WORDS.contains(name)) {
+				// the parsed output depends on when the topic was parsed
+				parserDocument.setCacheable(false);
+			}
 			return this.processMagicWord(parserInput, name);
 		}
+		ParserUtil.FragmentKey key = new ParserUtil.FragmentKey(parserInput, this.normalizeTemplateCall(raw, name), mode);
+		ParserDocument templateDocument = (ParserDocument)parserInput.getExpandedTemplates().get(key);
+		if (templateDocument != null) {
+			return this.reuseTemplate(parserInput, parserDocument, mode, raw, templateDocument);
+		}
+		// expand into a separate document so that the metadata can be re-used
+		templateDocument = new ParserDocument();
+		int state = ParserUtil.parseState(parserInput);
+		String output = null;
+		try {
+			output = this.parseTemplate(parserInput, templateDocument, mode, raw, name);
+		} finally {
+			this.addTemplateMetadata(parserDocument, templateDocument, true);
+		}
+		if (templateDocument.getCacheable() && state == ParserUtil.parseState(parserInput)) {
+			templateDocument.setContent(output);
+			parserInput.getExpandedTemplates().put(key, templateDocument);
+		}
+		return output;
+	}
+
+	/**
+	 * Expand a template call that is not a magic word.
+	 */
+	private String parseTemplate(ParserInput parserInput, ParserDocument parserDocument, int mode, String raw, String name) throws Exception {
 		boolean inclusion = false;
 		if (name.startsWith(NamespaceHandler.NAMESPACE_SEPARATOR)) {
 			name = name.substring(1);
 			inclusion = true;
 		}
 		// get the parsed template body
-		Topic templateTopic =parserInput.getDataHandler().lookupTopic(parserInput.getVirtualWiki(), name, false, null);
+		ParserContext context = parserInput.getParserContext();
+		Topic templateTopic = null;
+		if (context != null) {
+			templateTopic = context.lookupTopic(parserInput.getDataHandler(), parserInput.getVirtualWiki(), name);
+		} else {
+			templateTopic = parserInput.getDataHandler().lookupTopic(parserInput.getVirtualWiki(), name, false, null);
+		}
 		this.processTemplateMetadata(parserInput, parserDocument, templateTopic, raw, name);
 		if (mode < JFlexParser.MODE_TEMPLATE) {
 			return raw;
@@ -296,17 +410,29 @@ public class TemplateTag implements ParserTag {
 			// redirection target does not exist
 			templateTopic = null;
 		}
+		if (context != null && !context.addTemplateExpansion()) {
+			// a parser limit has been exceeded, so leave the template unexpanded
+			parserDocument.setCacheable(false);
+			return raw;
+		}
+		String output = null;
 		if (inclusion) {
-			return this.processTemplateInclusion(parserInput, parserDocument, templateTopic, raw, name);
+			output = this.processTemplateInclusion(parserInput, parserDocument, templateTopic, raw, name);
+		} else {
+			output = this.processTemplateContent(parserInput, parserDocument, templateTopic, raw, name);
 		}
-		return this.processTemplateContent(parserInput, parserDocument, templateTopic, raw, name);
+		if (context != null && output != null && !context.addExpandedSize(output.length())) {
+			parserDocument.setCacheable(false);
+			return raw;
+		}
+		return output;
 	}
 
 	/**
 	 * Given template parameter content of the form "name" or "name|default",
 	 * return the default value if it exists.
 	 */
-	private String parseParamDefaultValue(ParserInput parserInput, String raw) throws Exception {
+	protected String parseParamDefaultValue(ParserInput parserInput, ParserDocument parserDocument, String raw) throws Exception {
 		Vector tokens = this.tokenizeParams(raw);
 		if (tokens.size() < 2) {
 			return null;
@@ -315,14 +441,14 @@ public class TemplateTag implements ParserTag {
 		// the first parameter to avoid having to implement special table logic
 		String param1 = (String)tokens.elementAt(0);
 		String value = raw.substring(param1.length() + 1);
-		return ParserUtil.parseFragment(parserInput, value, JFlexParser.MODE_TEMPLATE);
+		return ParserUtil.parseFragment(parserInput, parserDocument, value, JFlexParser.MODE_TEMPLATE);
 	}
 
 	/**
 	 * Given template parameter content of the form "name" or "name|default",
 	 * return the parameter name.
 	 */
-	private String parseParamName(String raw) throws Exception {
+	protected String parseParamName(String raw) throws Exception {
 		int pos = raw.indexOf('|');
 		String name = null;
 		if (pos != -1) {
@@ -338,37 +464,11 @@ public class TemplateTag implements ParserTag {
 		return name;
 	}
 
-	/**
-	 * After template parameter values have been set, process the template body
-	 * and replace parameters with parameter values or defaults, processing any
-	 * embedded parameters or templates.
-	 */
-	private String parseTemplateBody(ParserInput parserInput, String content) throws Exception {
-		StringBuffer output = new StringBuffer();
-		int pos = 0;
-		while (pos < content.length()) {
-			String substring = content.substring(pos);
-			if (substring.startsWith("{{{")) {
-				// template
-				int endPos = findMatchingEndTag(content, pos, "{{{", "}}}");
-				if (endPos != -1) {
-					String param = content.substring(pos, endPos);
-					output.append(this.applyParameter(parserInput, param));
-				}
-				pos = endPos;
-			} else {
-				output.append(content.charAt(pos));
-				pos++;
-			}
-		}
-		return ParserUtil.parseFragment(parserInput, output.toString(), JFlexParser.MODE_TEMPLATE);
-	}
-
 	/**
 	 * Given a template call of the form "{{template|param|param}}", return
 	 * the template name.
 	 */
-	private String parseTemplateName(String raw) throws Exception {
+	protected String parseTemplateName(String raw) throws Exception {
 		if (!StringUtils.hasText(raw)) {
 			throw new Exception("Empty template text");
 		}
@@ -403,14 +503,18 @@ public class TemplateTag implements ParserTag {
 
 	/**
 	 * Given a template call of the form "{{name|param=value|param=value}}"
-	 * parse the parameter names and values.
+	 * parse the parameter names and values.  Parameter values are specific
+	 * to a single template call, so a new set of values is returned for each
+	 * call rather than storing the values in this tag, which is shared by all
+	 * parsers.  Values are not parsed until the template body uses them.
 	 */
-	private void parseTemplateParameterValues(ParserInput parserInput, String raw) throws Exception {
+	private TemplateParameters parseTemplateParameterValues(String raw) throws Exception {
 		String content = raw.substring("{{".length(), raw.length() - "}}".length());
 		Vector tokens = this.tokenizeParams(content);
 		if (tokens.size() == 0) {
 			throw new Exception("No template name found in " + raw);
 		}
+		TemplateParameters parameterValues = new TemplateParameters();
 		int count = -1;
 		for (Iterator iterator = tokens.iterator(); iterator.hasNext();) {
 			String token = (String)iterator.next();
@@ -424,9 +528,9 @@ public class TemplateTag implements ParserTag {
 			if (name == null) {
 				name = Integer.toString(count);
 			}
-			String value = (nameValue[1] == null) ? null : ParserUtil.parseFragment(parserInput, nameValue[1].trim(), JFlexParser.MODE_TEMPLATE);
-			this.parameterValues.put(name, value);
+			parameterValues.put(name, (nameValue[1] == null) ? null : nameValue[1].trim());
 		}
+		return parameterValues;
 	}
 
 	/**
@@ -651,8 +755,11 @@ public class TemplateTag implements ParserTag {
 			return "[[" + name + "]]";
 		}
 		// set template parameter values
-		this.parseTemplateParameterValues(parserInput, raw);
-		return this.parseTemplateBody(parserInput, templateTopic.getTopicContent());
+		TemplateParameters parameterValues = this.parseTemplateParameterValues(raw);
+		// replace parameters with parameter values or defaults and process the result
+		CompiledTemplate compiledTemplate = CompiledTemplate.getCompiledTemplate(templateTopic);
+		String content = compiledTemplate.substitute(this, parserInput, parserDocument, parameterValues);
+		return ParserUtil.parseFragment(parserInput, parserDocument, content, JFlexParser.MODE_TEMPLATE);
 	}
 
 	/**
@@ -668,6 +775,31 @@ public class TemplateTag implements ParserTag {
 		return templateTopic.getTopicContent();
 	}
 
+	/**
+	 * Add the metadata of an expanded template call to the document that
+	 * contains the call.  The first link and template are those of the
+	 * called template and are always added; templates used by the called
+	 * template are added if the document does not already contain them and
+	 * <code>nested</code> is <code>true</code>.
+	 */
+	private void addTemplateMetadata(ParserDocument parserDocument, ParserDocument templateDocument, boolean nested) {
+		for (Iterator iterator = templateDocument.getLinks().iterator(); iterator.hasNext();) {
+			parserDocument.addLink((String)iterator.next());
+		}
+		Vector templates = templateDocument.getTemplates();
+		for (int i = 0; i < templates.size(); i++) {
+			String template = (String)templates.get(i);
+			if (i == 0) {
+				parserDocument.addTemplate(template);
+			} else if (nested && !parserDocument.getTemplates().contains(template)) {
+				parserDocument.addTemplate(template);
+			}
+		}
+		if (!templateDocument.getCacheable()) {
+			parserDocument.setCacheable(false);
+		}
+	}
+
 	/**
 	 * Process template values, setting link and other metadata output values.
 	 */
@@ -677,10 +809,36 @@ public class TemplateTag implements ParserTag {
 		parserDocument.addTemplate(name);
 	}
 
+	/**
+	 * Return the output of a template call that was already expanded during
+	 * the current parse, applying the same metadata and parser limits as if
+	 * the call had been expanded again.
+	 */
+	private String reuseTemplate(ParserInput parserInput, ParserDocument parserDocument, int mode, String raw, ParserDocument templateDocument) {
+		if (mode < JFlexParser.MODE_TEMPLATE) {
+			this.addTemplateMetadata(parserDocument, templateDocument, true);
+			return raw;
+		}
+		ParserContext context = parserInput.getParserContext();
+		if (context != null && !context.addTemplateExpansion()) {
+			// a parser limit has been exceeded, so leave the template unexpanded
+			this.addTemplateMetadata(parserDocument, templateDocument, false);
+			parserDocument.setCacheable(false);
+			return raw;
+		}
+		this.addTemplateMetadata(parserDocument, templateDocument, true);
+		String output = templateDocument.getContent();
+		if (context != null && output != null && !context.addExpandedSize(output.length())) {
+			parserDocument.setCacheable(false);
+			return raw;
+		}
+		return output;
+	}
+
 	/**
 	 *
 	 */
-	private String[] tokenizeNameValue(String content) {
+	protected String[] tokenizeNameValue(String content) {
 		String[] results = new String[2];
 		results[0] = null;
 		results[1] = content;
@@ -696,44 +854,61 @@ public class TemplateTag implements ParserTag {
 	 * Parse a template string of the form "param1|param2|param3" into
 	 * tokens (param1, param2, and param3 in the example).
 	 */
-	private Vector tokenizeParams(String content) {
+	protected Vector tokenizeParams(String content) {
 		Vector tokens = new Vector();
 		int pos = 0;
 		int endPos = -1;
-		String substring = "";
-		String value = "";
+		StringBuffer value = new StringBuffer();
+		// matching end tag positions, computed once for each type of start tag found
+		int[] paramEnds = null;
+		int[] templateEnds = null;
+		int[] linkEnds = null;
+		int[] tableEnds = null;
 		while (pos < content.length()) {
-			substring = content.substring(pos);
 			endPos = -1;
-			if (substring.startsWith("{{{")) {
+			char current = content.charAt(pos);
+			if (current == '|') {
+				// new token
+				tokens.add(value.toString());
+				value.setLength(0);
+				pos++;
+				continue;
+			}
+			if (current == '{' && content.startsWith("{{{", pos)) {
 				// template parameter
-				endPos = findMatchingEndTag(content, pos, "{{{", "}}}");
-			} else if (substring.startsWith("{{")) {
+				if (paramEnds == null) {
+					paramEnds = findMatchingEndTags(content, "{{{", "}}}");
+				}
+				endPos = paramEnds[pos + "{{{".length()];
+			} else if (current == '{' && content.startsWith("{{", pos)) {
 				// template
-				endPos = findMatchingEndTag(content, pos, "{{", "}}");
-			} else if (substring.startsWith("[[")) {
+				if (templateEnds == null) {
+					templateEnds = findMatchingEndTags(content, "{{", "}}");
+				}
+				endPos = templateEnds[pos + "{{".length()];
+			} else if (current == '[' && content.startsWith("[[", pos)) {
 				// link
-				endPos = findMatchingEndTag(content, pos, "[[", "]]");
-			} else if (substring.startsWith("{|")) {
+				if (linkEnds == null) {
+					linkEnds = findMatchingEndTags(content, "[[", "]]");
+				}
+				endPos = linkEnds[pos + "[[".length()];
+			} else if (current == '{' && content.startsWith("{|", pos)) {
 				// table
-				endPos = findMatchingEndTag(content, pos, "{|", "|}");
-			} else if (content.charAt(pos) == '|') {
-				// new token
-				tokens.add(new String(value));
-				value = "";
-				pos++;
-				continue;
+				if (tableEnds == null) {
+					tableEnds = findMatchingEndTags(content, "{|", "|}");
+				}
+				endPos = tableEnds[pos + "{|".length()];
 			}
 			if (endPos != -1) {
-				value += content.substring(pos, endPos);
+				value.append(content, pos, endPos);
 				pos = endPos;
 			} else {
-				value += content.charAt(pos);
+				value.append(current);
 				pos++;
 			}
 		}
 		// add the last one
-		tokens.add(new String(value));
+		tokens.add(value.toString());
 		return tokens;
 	}
 }
@@ -69,7 +69,7 @@ public class WikiReferencesTag implements ParserTag {
 				html += reference.getCitation() + "</a>&#160;";
 			}
 			html += "</sup>";
-			html += ParserUtil.parseFragment(parserInput, reference.getContent(), JFlexParser.MODE_PROCESS);
+			html += ParserUtil.parseFragment(parserInput, null, reference.getContent(), JFlexParser.MODE_PROCESS, false);
 			html += "</li>";
 		}
 		html += (references.size() > 0) ? "</ol>" : "";
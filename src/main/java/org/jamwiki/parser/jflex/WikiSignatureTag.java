@@ -35,6 +35,36 @@ public class WikiSignatureTag implements ParserTag {
 
 	private static WikiLogger logger = WikiLogger.getLogger(WikiSignatureTag.class.getName());
 
+	/**
+	 * Build the part of a signature that identifies the current user, which
+	 * includes a link to the user's page.
+	 */
+	private String buildUserSignature(ParserInput parserInput) {
+		String login = parserInput.getUserIpAddress();
+		String email = parserInput.getUserIpAddress();
+		String displayName = parserInput.getUserIpAddress();
+		String userId = "-1";
+		if (parserInput.getWikiUser() != null) {
+			WikiUser user = parserInput.getWikiUser();
+			login = user.getUsername();
+			displayName = (user.getDisplayName() != null) ? user.getDisplayName() : user.getUsername();
+			WikiUserInfo userInfo = parserInput.getUserInfo();
+			email = userInfo.getEmail();
+			userId = Integer.toString(user.getUserId());
+		}
+		MessageFormat formatter = new MessageFormat(Environment.getValue(Environment.PROP_PARSER_SIGNATURE_USER_PATTERN));
+		Object params[] = new Object[7];
+		params[0] = NamespaceHandler.NAMESPACE_USER + NamespaceHandler.NAMESPACE_SEPARATOR + login;
+		// FIXME - hard coding
+		params[1] = NamespaceHandler.NAMESPACE_SPECIAL + NamespaceHandler.NAMESPACE_SEPARATOR + "Contributions?contributor=" + login;
+		params[2] = NamespaceHandler.NAMESPACE_USER_COMMENTS + NamespaceHandler.NAMESPACE_SEPARATOR + login;
+		params[3] = login;
+		params[4] = displayName;
+		params[5] = email;
+		params[6] = userId;
+		return formatter.format(params);
+	}
+
 	/**
 	 *
 	 */
@@ -42,34 +72,12 @@ public class WikiSignatureTag implements ParserTag {
 		try {
 			String signature = "";
 			if (includeUser) {
-				String login = parserInput.getUserIpAddress();
-				String email = parserInput.getUserIpAddress();
-				String displayName = parserInput.getUserIpAddress();
-				String userId = "-1";
-				if (parserInput.getWikiUser() != null) {
-					WikiUser user = parserInput.getWikiUser();
-					login = user.getUsername();
-					displayName = (user.getDisplayName() != null) ? user.getDisplayName() : user.getUsername();
-					WikiUserInfo userInfo = parserInput.getUserInfo();
-					email = userInfo.getEmail();
-					userId = Integer.toString(user.getUserId());
-				}
-				MessageFormat formatter = new MessageFormat(Environment.getValue(Environment.PROP_PARSER_SIGNATURE_USER_PATTERN));
-				Object params[] = new Object[7];
-				params[0] = NamespaceHandler.NAMESPACE_USER + NamespaceHandler.NAMESPACE_SEPARATOR + login;
-				// FIXME - hard coding
-				params[1] = NamespaceHandler.NAMESPACE_SPECIAL + NamespaceHandler.NAMESPACE_SEPARATOR + "Contributions?contributor=" + login;
-				params[2] = NamespaceHandler.NAMESPACE_USER_COMMENTS + NamespaceHandler.NAMESPACE_SEPARATOR + login;
-				params[3] = login;
-				params[4] = displayName;
-				params[5] = email;
-				params[6] = userId;
-				signature = formatter.format(params);
+				signature = this.buildUserSignature(parserInput);
 				// parse signature as link in order to store link metadata
-				WikiLinkTag wikiLinkTag = new WikiLinkTag();
+				ParserTag wikiLinkTag = ParserTagRegistry.getTag(WikiLinkTag.class);
 				wikiLinkTag.parse(parserInput, parserDocument, mode, signature);
 				if (mode != JFlexParser.MODE_SAVE) {
-					signature = ParserUtil.parseFragment(parserInput, signature, mode);
+					signature = ParserUtil.parseFragment(parserInput, null, signature, mode, false);
 				}
 			}
 			if (includeUser && includeDate) {
@@ -93,6 +101,10 @@ public class WikiSignatureTag implements ParserTag {
 	 * HTML output.
 	 */
 	public String parse(ParserInput parserInput, ParserDocument parserDocument, int mode, String raw) throws Exception {
+		if (mode != JFlexParser.MODE_SAVE) {
+			// signatures that are not saved depend on the current user and time
+			parserDocument.setCacheable(false);
+		}
 		if (raw.equals("~~~")) {
 			return this.buildWikiSignature(parserInput, parserDocument, mode, true, false);
 		} else if (raw.equals("~~~~")) {
@@ -102,4 +114,24 @@ public class WikiSignatureTag implements ParserTag {
 		}
 		return raw;
 	}
+
+	/**
+	 * Add the link metadata of a Mediawiki signature of the form "~~~~" to
+	 * a document without building the signature.  This method is used when
+	 * scanning a document for its metadata.
+	 */
+	protected void parseMetadata(ParserInput parserInput, ParserDocument parserDocument, String raw) {
+		// signatures that are not saved depend on the current user and time
+		parserDocument.setCacheable(false);
+		if (!raw.equals("~~~") && !raw.equals("~~~~")) {
+			// only signatures that include the user contain a link
+			return;
+		}
+		try {
+			ParserTag wikiLinkTag = ParserTagRegistry.getTag(WikiLinkTag.class);
+			wikiLinkTag.parse(parserInput, parserDocument, JFlexParser.MODE_METADATA, this.buildUserSignature(parserInput));
+		} catch (Exception e) {
+			logger.severe("Failure while building wiki signature", e);
+		}
+	}
 }
@@ -17,14 +17,17 @@
 package org.jamwiki.utils;
 
 import java.io.File;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.apache.commons.io.FilenameUtils;
+import org.jamwiki.DataHandler;
 import org.jamwiki.WikiMediaDimension;
 import org.jamwiki.model.Topic;
 import org.jamwiki.model.WikiFile;
 import org.jamwiki.model.WikiImage;
+import org.jamwiki.parser.ParserContext;
 import org.jamwiki.parser.ParserInput;
 import org.springframework.util.StringUtils;
 
@@ -38,7 +41,8 @@ public class LinkUtil {
 	private static final WikiLogger logger = WikiLogger.getLogger(LinkUtil.class.getName());
 	private static Pattern TOPIC_LINK_PATTERN = null;
 	
-	private static int counter = 0;
+	/** Counter used to generate unique ids for video and audio elements.  Topics may be parsed concurrently, so the counter is atomic. */
+	private static final AtomicInteger counter = new AtomicInteger(0);
 
 	static {
 		try {
@@ -146,11 +150,11 @@ public class LinkUtil {
 	 *  HTML.
 	 */
 	public static String buildImageLinkHtml(ParserInput input, String context, String virtualWiki, String topicName, boolean frame, boolean thumb, String align, String caption, int maxDimension, boolean suppressLink, String style, boolean escapeHtml) throws Exception {
-		Topic topic = input.getDataHandler().lookupTopic(virtualWiki, topicName, false, null);
+		Topic topic = LinkUtil.lookupTopic(input, virtualWiki, topicName);
 		if (topic == null) {
 			return buildNullTopicLinkHtml(input, context, virtualWiki, topicName);
 		}
-		WikiFile wikiFile = input.getDataHandler().lookupWikiFile(virtualWiki, topicName);
+		WikiFile wikiFile = LinkUtil.dataHandler(input).lookupWikiFile(virtualWiki, topicName);
 		if (topic.getTopicType() == Topic.TYPE_FILE) {
 			// file, not an image
 			return buildFileTopicLinkHtml(input, wikiFile, topicName, caption);
@@ -232,21 +236,21 @@ public class LinkUtil {
 	
 	public static String buildVideoHtml(ParserInput input, String context, String virtualWiki, String topicName, String caption)
 	throws Exception {
-		Topic topic = input.getDataHandler().lookupTopic(virtualWiki, topicName, false, null);
+		Topic topic = LinkUtil.lookupTopic(input, virtualWiki, topicName);
 		if (topic == null) {
 			return buildNullTopicLinkHtml(input, context, virtualWiki, topicName);
 		}
-		WikiFile wikiFile = input.getDataHandler().lookupWikiFile(virtualWiki, topicName);
+		WikiFile wikiFile = LinkUtil.dataHandler(input).lookupWikiFile(virtualWiki, topicName);
 		if (topic.getTopicType() == Topic.TYPE_FILE) {
 			return buildFileTopicLinkHtml(input, wikiFile, topicName, caption);
 		}
 
 		StringBuilder html = new StringBuilder();
 		String url = FilenameUtils.normalize(wikiFile.getUrl());
-		html.append("<div id=\"wiki_video_").append(++counter).append("\" class=\"wikivideo\"><video src=\"").append(url).append("\" ");
+		html.append("<div id=\"wiki_video_").append(counter.incrementAndGet()).append("\" class=\"wikivideo\"><video src=\"").append(url).append("\" ");
 		
 		File videoFile = new File(wikiFile.getAbsUrl(), wikiFile.getFileName());
-		WikiMediaDimension size = input.getDataHandler().getVideoDimension(videoFile);
+		WikiMediaDimension size = LinkUtil.dataHandler(input).getVideoDimension(videoFile);
 		if(size != null) {
 			html.append(" width=\"").append(size.getWidth()).append("\"")
 			    .append(" height=\"").append(size.getHeight()).append("\"");
@@ -257,22 +261,59 @@ public class LinkUtil {
 	
 	public static String buildAudioHtml(ParserInput input, String context, String virtualWiki, String topicName, String caption)
 	throws Exception {
-		Topic topic = input.getDataHandler().lookupTopic(virtualWiki, topicName, false, null);
+		Topic topic = LinkUtil.lookupTopic(input, virtualWiki, topicName);
 		if (topic == null) {
 			return buildNullTopicLinkHtml(input, context, virtualWiki, topicName);
 		}
-		WikiFile wikiFile = input.getDataHandler().lookupWikiFile(virtualWiki, topicName);
+		WikiFile wikiFile = LinkUtil.dataHandler(input).lookupWikiFile(virtualWiki, topicName);
 		if (topic.getTopicType() == Topic.TYPE_FILE) {
 			return buildFileTopicLinkHtml(input, wikiFile, topicName, caption);
 		}
 
 		StringBuilder html = new StringBuilder();
 		String url = FilenameUtils.normalize(wikiFile.getUrl());
-		html.append("<div id=\"wiki_audio_").append(++counter)
+		html.append("<div id=\"wiki_audio_").append(counter.incrementAndGet())
 		    .append("\" class=\"wikiaudio\"><audio src=\"").append(url).append("\" controls></audio></div>");
 		return html.toString();
 	}
 
+	/**
+	 * Return the data handler of the parser input, recording the call in the
+	 * context of the current parse (if any) so that data handler usage is
+	 * included in the parser metrics.
+	 */
+	private static DataHandler dataHandler(ParserInput input) {
+		ParserContext parserContext = input.getParserContext();
+		if (parserContext != null) {
+			parserContext.addDataHandlerCall();
+		}
+		return input.getDataHandler();
+	}
+
+	/**
+	 * Determine whether a topic exists.  During a parse each topic is only
+	 * checked once, see {@link ParserContext#exists}.
+	 */
+	private static boolean exists(ParserInput input, String virtualWiki, String topic) {
+		ParserContext parserContext = input.getParserContext();
+		if (parserContext != null) {
+			return parserContext.exists(input.getDataHandler(), virtualWiki, topic);
+		}
+		return input.getDataHandler().exists(virtualWiki, topic);
+	}
+
+	/**
+	 * Retrieve a topic that is not deleted.  During a parse each topic is
+	 * only retrieved once, see {@link ParserContext#lookupTopic}.
+	 */
+	private static Topic lookupTopic(ParserInput input, String virtualWiki, String topicName) throws Exception {
+		ParserContext parserContext = input.getParserContext();
+		if (parserContext != null) {
+			return parserContext.lookupTopic(input.getDataHandler(), virtualWiki, topicName);
+		}
+		return input.getDataHandler().lookupTopic(virtualWiki, topicName, false, null);
+	}
+
 	/**
 	 * Build the HTML anchor link to a topic page for a given WikLink object.
 	 *
@@ -300,7 +341,7 @@ public class LinkUtil {
 		if (StringUtils.hasText(topic) && !StringUtils.hasText(style)) {
 			if (InterWikiHandler.isInterWiki(virtualWiki)) {
 				style = "interwiki";
-			} else if (!input.getDataHandler().exists(virtualWiki, topic)) {
+			} else if (!LinkUtil.exists(input, virtualWiki, topic)) {
 				style = "edit";
 			}
 		}
@@ -362,7 +403,7 @@ public class LinkUtil {
 		if (!StringUtils.hasText(topic) && StringUtils.hasText(section)) {
 			return "#" + Utilities.encodeForURL(section);
 		}
-		if (!parserInput.getDataHandler().exists(parserInput.getVirtualWiki(), topic)) {
+		if (!LinkUtil.exists(parserInput, parserInput.getVirtualWiki(), topic)) {
 			return LinkUtil.buildEditLinkUrl(parserInput, query, -1);
 		}
 		String url = "";
@@ -19,15 +19,23 @@ package org.jamwiki.utils;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.Reader;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.text.MessageFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.StringTokenizer;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.commons.io.FileUtils;
@@ -39,8 +47,11 @@ import org.jamwiki.WikiException;
 import org.jamwiki.WikiMessage;
 import org.jamwiki.WikiVersion;
 import org.jamwiki.parser.AbstractParser;
+import org.jamwiki.parser.ParserBatchResult;
 import org.jamwiki.parser.ParserDocument;
+import org.jamwiki.parser.ParserDocumentCache;
 import org.jamwiki.parser.ParserInput;
+import org.jamwiki.parser.TemplateDependencyIndex;
 import org.springframework.beans.propertyeditors.LocaleEditor;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.StringUtils;
@@ -284,10 +295,13 @@ public class Utilities {
 	 * @return A decoded value.
 	 */
 	public static String decodeFromURL(String url) {
-		try {
-			url = URLDecoder.decode(url, "UTF-8");
-		} catch (Exception e) {
-			logger.info("Failure while decoding url " + url + " with charset UTF-8");
+		// most values, such as link destinations, contain nothing to decode
+		if (url != null && (url.indexOf('%') != -1 || url.indexOf('+') != -1)) {
+			try {
+				url = URLDecoder.decode(url, "UTF-8");
+			} catch (Exception e) {
+				logger.info("Failure while decoding url " + url + " with charset UTF-8");
+			}
 		}
 		return Utilities.decodeFromRequest(url);
 	}
@@ -736,7 +750,10 @@ public class Utilities {
 //	}
 
 	/**
-	 * Using the system parser, parse system content.
+	 * Using the system parser, parse system content.  If the parsed topic
+	 * cache is enabled then a previously parsed document may be returned,
+	 * see {@link ParserDocumentCache}.  The templates used by the topic are
+	 * recorded in the {@link TemplateDependencyIndex}.
 	 *
 	 * @param parserInput A ParserInput object that contains parser
 	 *  configuration information.
@@ -750,7 +767,154 @@ public class Utilities {
 			return null;
 		}
 		AbstractParser parser = parserInstance(parserInput);
-		return parser.parseHTML(content);
+		// the parser may change the topic name, so retrieve it before parsing
+		String topicName = parserInput.getTopicName();
+		ParserDocument parserDocument = ParserDocumentCache.parseHTML(parser, parserInput, content);
+		TemplateDependencyIndex.updateTopic(parserInput.getVirtualWiki(), topicName, parserDocument.getTemplates());
+		return parserDocument;
+	}
+
+	/**
+	 * Using the system parser, parse system content and write the parsed
+	 * content directly to the specified output, such as a servlet response
+	 * writer.  The templates used by the topic are recorded in the
+	 * {@link TemplateDependencyIndex}.
+	 *
+	 * @param parserInput A ParserInput object that contains parser
+	 *  configuration information.
+	 * @param content A reader that provides the raw topic content that is to
+	 *  be parsed.
+	 * @param output The output to which the parsed topic content is written.
+	 * @return A ParserDocument object with parser output fields other than
+	 *  the parsed content set.
+	 * @throws Exception Thrown if there are any parsing errors or if the
+	 *  parsed content cannot be written to the output.
+	 */
+	public static ParserDocument parse(ParserInput parserInput, Reader content, Appendable output) throws Exception {
+		if (content == null) {
+			return null;
+		}
+		AbstractParser parser = parserInstance(parserInput);
+		// the parser may change the topic name, so retrieve it before parsing
+		String topicName = parserInput.getTopicName();
+		ParserDocument parserDocument = parser.parseHTML(content, output);
+		TemplateDependencyIndex.updateTopic(parserInput.getVirtualWiki(), topicName, parserDocument.getTemplates());
+		return parserDocument;
+	}
+
+	/**
+	 * Using the system parser, parse a batch of topics concurrently, such as
+	 * when re-rendering all topics in a virtual wiki after an upgrade or a
+	 * change to parser settings.  Topics are parsed using
+	 * {@link #parse(ParserInput, String)} by one worker per available
+	 * processor, see {@link #parseAll(Map, Executor, int)}.
+	 *
+	 * @param topics A map of ParserInput object to the raw content of the
+	 *  topic to be parsed with it.
+	 * @param executor The executor used to run the workers that parse the
+	 *  topics, or <code>null</code> to parse all topics in the calling
+	 *  thread.
+	 * @return The parsed documents and the failures of all topics in the
+	 *  batch.
+	 * @throws Exception Thrown if the calling thread is interrupted while
+	 *  waiting for the batch to complete.
+	 */
+	public static ParserBatchResult parseAll(Map topics, Executor executor) throws Exception {
+		return Utilities.parseAll(topics, executor, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Using the system parser, parse a batch of topics concurrently, such as
+	 * when re-rendering all topics in a virtual wiki after an upgrade or a
+	 * change to parser settings.  At most <code>parallelism</code> topics are
+	 * parsed at once regardless of the number of threads available to the
+	 * executor, and a failure while parsing one topic is reported in the
+	 * result without affecting the other topics in the batch.
+	 *
+	 * Each topic must be parsed with its own ParserInput object, since the
+	 * parser input holds the state of the parse.  If parser inputs specify an
+	 * executor for pipelined parsing (see {@link ParserInput#setExecutor})
+	 * it should not be the bounded executor used for the batch, since a
+	 * worker waiting for a pipeline stage that cannot be scheduled would
+	 * never complete.
+	 *
+	 * @param topics A map of ParserInput object to the raw content of the
+	 *  topic to be parsed with it.  Results are returned in the iteration
+	 *  order of the map.
+	 * @param executor The executor used to run the workers that parse the
+	 *  topics, or <code>null</code> to parse all topics in the calling
+	 *  thread.  If the executor rejects a worker then that worker is run in
+	 *  the calling thread.
+	 * @param parallelism The maximum number of topics to parse concurrently.
+	 * @return The parsed documents and the failures of all topics in the
+	 *  batch.
+	 * @throws Exception Thrown if the calling thread is interrupted while
+	 *  waiting for the batch to complete.
+	 */
+	public static ParserBatchResult parseAll(Map topics, Executor executor, int parallelism) throws Exception {
+		long start = System.currentTimeMillis();
+		final ParserInput[] parserInputs = new ParserInput[topics.size()];
+		final String[] contents = new String[topics.size()];
+		int count = 0;
+		for (Iterator iterator = topics.entrySet().iterator(); iterator.hasNext();) {
+			Map.Entry entry = (Map.Entry)iterator.next();
+			parserInputs[count] = (ParserInput)entry.getKey();
+			contents[count] = (String)entry.getValue();
+			count++;
+		}
+		final ParserDocument[] documents = new ParserDocument[count];
+		final Throwable[] failures = new Throwable[count];
+		// workers take the next unparsed topic until none remain
+		final AtomicInteger next = new AtomicInteger(0);
+		int workers = (executor == null) ? 1 : Math.max(1, Math.min(parallelism, count));
+		final CountDownLatch done = new CountDownLatch(workers);
+		Runnable worker = new Runnable() {
+			public void run() {
+				try {
+					int i;
+					while ((i = next.getAndIncrement()) < parserInputs.length) {
+						try {
+							documents[i] = Utilities.parse(parserInputs[i], contents[i]);
+						} catch (Throwable t) {
+							logger.warning("Failure while parsing topic " + parserInputs[i].getTopicName(), t);
+							failures[i] = t;
+						}
+					}
+				} finally {
+					done.countDown();
+				}
+			}
+		};
+		for (int i = 0; i < workers; i++) {
+			if (executor == null) {
+				worker.run();
+				continue;
+			}
+			try {
+				executor.execute(worker);
+			} catch (RejectedExecutionException e) {
+				worker.run();
+			}
+		}
+		try {
+			done.await();
+		} catch (InterruptedException e) {
+			// stop workers from starting any further topics
+			next.set(count);
+			Thread.currentThread().interrupt();
+			throw e;
+		}
+		LinkedHashMap parsed = new LinkedHashMap();
+		LinkedHashMap failed = new LinkedHashMap();
+		for (int i = 0; i < count; i++) {
+			if (failures[i] != null) {
+				failed.put(parserInputs[i], failures[i]);
+			} else {
+				parsed.put(parserInputs[i], documents[i]);
+			}
+		}
+		logger.info("Parsed " + count + " topics with " + failed.size() + " failures (" + ((System.currentTimeMillis() - start) / 1000.000) + " s.)");
+		return new ParserBatchResult(parsed, failed);
 	}
 
 	/**
@@ -769,6 +933,24 @@ public class Utilities {
 		return parser.parseMetadata(content);
 	}
 
+	/**
+	 * Collect the links, categories, templates and redirect of a topic without
+	 * parsing the topic content, which is much faster than
+	 * {@link #parseMetadata} when only the metadata is needed, such as when
+	 * re-building the search index.
+	 *
+	 * @param parserInput A ParserInput object that contains parser configuration
+	 *  information.
+	 * @param content The raw topic content that is to be scanned.
+	 * @return Returns a ParserDocument object with the parser metadata fields
+	 *  set and no content.
+	 * @throws Exception Thrown if there are any parsing errors.
+	 */
+	public static ParserDocument scanMetadata(ParserInput parserInput, String content) throws Exception {
+		AbstractParser parser = parserInstance(parserInput);
+		return parser.scanMetadata(content);
+	}
+
 	/**
 	 * Retrieve a default ParserDocument object for a given topic name.  Note that
 	 * the content has almost no parsing performed on it other than to generate